@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.clients;
+
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.client.Stub;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of authenticated admin service stubs, used by {@link AdminServiceStubFactory}.
+ * <p>
+ * The stubs are kept in the order they were last used, and the least recently used stub is dropped once the cache
+ * holds the maximum number of stubs. A dropped stub is not cleaned up, as the client it was handed out to may still
+ * use it. Stubs removed by {@link #invalidate(String)} and {@link #clear()} are cleaned up.
+ */
+class AdminServiceStubCache {
+
+    private static final Log log = LogFactory.getLog(AdminServiceStubCache.class);
+
+    private final int maxStubs;
+    private final LinkedHashMap<String, Stub> stubs = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Create a stub cache.
+     *
+     * @param maxStubs Maximum number of cached stubs.
+     */
+    AdminServiceStubCache(int maxStubs) {
+
+        if (maxStubs < 1) {
+            throw new IllegalArgumentException("Maximum number of cached stubs should be positive: " + maxStubs);
+        }
+        this.maxStubs = maxStubs;
+    }
+
+    /**
+     * Get a cached stub, and mark it as the most recently used one.
+     *
+     * @param key Key of the stub.
+     * @return Cached stub, or null if no stub is cached for the key.
+     */
+    synchronized Stub get(String key) {
+
+        return stubs.get(key);
+    }
+
+    /**
+     * Cache a stub, dropping the least recently used stubs if the cache is full.
+     *
+     * @param key  Key of the stub.
+     * @param stub Stub to cache.
+     */
+    synchronized void put(String key, Stub stub) {
+
+        stubs.put(key, stub);
+        Iterator<String> keys = stubs.keySet().iterator();
+        while (stubs.size() > maxStubs && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Get the number of cached stubs.
+     *
+     * @return Number of cached stubs.
+     */
+    synchronized int size() {
+
+        return stubs.size();
+    }
+
+    /**
+     * Remove and clean up the stubs whose keys end with the given suffix.
+     *
+     * @param keySuffix Suffix of the keys of the stubs to remove.
+     */
+    void invalidate(String keySuffix) {
+
+        List<Stub> removed = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<String, Stub>> entries = stubs.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Stub> entry = entries.next();
+                if (entry.getKey().endsWith(keySuffix)) {
+                    removed.add(entry.getValue());
+                    entries.remove();
+                }
+            }
+        }
+        removed.forEach(AdminServiceStubCache::cleanup);
+    }
+
+    /**
+     * Remove and clean up all the cached stubs.
+     */
+    void clear() {
+
+        List<Stub> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(stubs.values());
+            stubs.clear();
+        }
+        removed.forEach(AdminServiceStubCache::cleanup);
+    }
+
+    private static void cleanup(Stub stub) {
+
+        try {
+            stub.cleanup();
+        } catch (AxisFault e) {
+            log.error("Error while cleaning up the admin service stub.", e);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.clients;
+
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.client.Options;
+import org.apache.axis2.client.Stub;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.axis2.transport.http.HTTPConstants;
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+import org.apache.commons.httpclient.cookie.CookiePolicy;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Objects;
+
+/**
+ * Creates admin service stubs which share a pool of HTTP connections, and caches the authenticated stubs, so that
+ * bulk admin operations over SOAP do not pay for a TCP and TLS handshake, nor for building a stub, on each call.
+ * <p>
+ * All the stubs share one Axis2 configuration context. Connection reuse is opt in: once it is enabled with the
+ * {@value #REUSE_CONNECTIONS_PROPERTY} system property, the stubs created by this factory also share one HTTP client
+ * backed by a {@link MultiThreadedHttpConnectionManager}. The shared client ignores cookies and releases the
+ * connection back to the pool once each response is read, so it is not applied to stubs created elsewhere unless
+ * their client asks for it through {@link #enableConnectionReuse(Stub)}.
+ * <p>
+ * Authenticated stubs are cached per stub class, endpoint, user (including the tenant domain) and thread. Axis2 stubs
+ * are not thread safe, so a cached stub is only handed out to the thread it was created for. The session cookies of a
+ * suite change with every login and server restart, so the cache is bounded by an {@link AdminServiceStubCache}. The
+ * cached stubs and the pool are released by {@link #shutdown()} once the suite is done.
+ * <p>
+ * The factory is configured with the following system properties.
+ * <ul>
+ *     <li>{@value #REUSE_CONNECTIONS_PROPERTY} - Set to true to keep the connections of the stubs alive and share
+ *     them. Default is false, which opens a new connection for each call as Axis2 does by default.</li>
+ *     <li>{@value #MAX_CONNECTIONS_PER_HOST_PROPERTY} - Maximum connections to a host. Default is 20.</li>
+ *     <li>{@value #MAX_TOTAL_CONNECTIONS_PROPERTY} - Maximum connections in the pool. Default is 100.</li>
+ *     <li>{@value #MAX_CACHED_STUBS_PROPERTY} - Maximum cached stubs, read once when the factory is loaded. Default
+ *     is 200.</li>
+ * </ul>
+ */
+public class AdminServiceStubFactory {
+
+    private static final Log log = LogFactory.getLog(AdminServiceStubFactory.class);
+
+    public static final String REUSE_CONNECTIONS_PROPERTY = "admin.clients.reuseConnections";
+    public static final String MAX_CONNECTIONS_PER_HOST_PROPERTY = "admin.clients.maxConnectionsPerHost";
+    public static final String MAX_TOTAL_CONNECTIONS_PROPERTY = "admin.clients.maxTotalConnections";
+    public static final String MAX_CACHED_STUBS_PROPERTY = "admin.clients.maxCachedStubs";
+
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+    private static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 100;
+    private static final int DEFAULT_MAX_CACHED_STUBS = 200;
+    // Same as the timeout set by AuthenticateStub.
+    private static final int SO_TIMEOUT_MILLIS = 5 * 60 * 1000;
+    private static final int CONNECTION_TIMEOUT_MILLIS = 60 * 1000;
+    private static final String KEY_SEPARATOR = "|";
+
+    private static final AdminServiceStubCache STUBS = new AdminServiceStubCache(
+            Integer.getInteger(MAX_CACHED_STUBS_PROPERTY, DEFAULT_MAX_CACHED_STUBS));
+    private static volatile ConfigurationContext configurationContext;
+    private static volatile MultiThreadedHttpConnectionManager connectionManager;
+    private static volatile HttpClient httpClient;
+
+    private AdminServiceStubFactory() {
+
+    }
+
+    /**
+     * Get a stub authenticated with the given session cookie, creating it if it is not cached yet.
+     *
+     * @param stubClass     Class of the stub.
+     * @param endpoint      Endpoint of the admin service, eg: https://localhost:9853/services/UserAdmin.
+     * @param sessionCookie Session cookie of the user.
+     * @param <T>           Type of the stub.
+     * @return Authenticated stub, cached for the current thread.
+     * @throws AxisFault If the stub cannot be created.
+     */
+    public static <T extends Stub> T getStub(Class<T> stubClass, String endpoint, String sessionCookie)
+            throws AxisFault {
+
+        // The session cookie identifies both the user and the tenant.
+        String key = getKey(stubClass, endpoint, "cookie", sessionCookie);
+        Stub stub = STUBS.get(key);
+        if (stub == null) {
+            stub = createStub(stubClass, endpoint);
+            AuthenticateStub.authenticateStub(sessionCookie, stub);
+            STUBS.put(key, stub);
+        }
+        return stubClass.cast(stub);
+    }
+
+    /**
+     * Get a stub authenticated with basic authentication, creating it if it is not cached yet.
+     *
+     * @param stubClass Class of the stub.
+     * @param endpoint  Endpoint of the admin service, eg: https://localhost:9853/services/UserAdmin.
+     * @param userName  Tenant qualified user name.
+     * @param password  Password of the user.
+     * @param <T>       Type of the stub.
+     * @return Authenticated stub, cached for the current thread.
+     * @throws AxisFault If the stub cannot be created.
+     */
+    public static <T extends Stub> T getStub(Class<T> stubClass, String endpoint, String userName, String password)
+            throws AxisFault {
+
+        // The password is part of the key, so that a stub is not reused once the password of the user is changed.
+        String key = getKey(stubClass, endpoint, userName, String.valueOf(Objects.hashCode(password)));
+        Stub stub = STUBS.get(key);
+        if (stub == null) {
+            stub = createStub(stubClass, endpoint);
+            AuthenticateStub.authenticateStub(userName, password, stub);
+            STUBS.put(key, stub);
+        }
+        return stubClass.cast(stub);
+    }
+
+    /**
+     * Create a new stub on the shared configuration context, which uses the shared connection pool. The stub is not
+     * authenticated nor cached.
+     *
+     * @param stubClass Class of the stub.
+     * @param endpoint  Endpoint of the admin service.
+     * @param <T>       Type of the stub.
+     * @return New stub.
+     * @throws AxisFault If the stub cannot be created.
+     */
+    public static <T extends Stub> T createStub(Class<T> stubClass, String endpoint) throws AxisFault {
+
+        T stub;
+        try {
+            stub = stubClass.getConstructor(ConfigurationContext.class, String.class)
+                    .newInstance(getConfigurationContext(), endpoint);
+        } catch (ReflectiveOperationException e) {
+            throw new AxisFault("Error while creating the stub " + stubClass.getName() + " for " + endpoint, e);
+        }
+        enableConnectionReuse(stub);
+        return stub;
+    }
+
+    /**
+     * Make the given stub use the shared connection pool, if connection reuse is enabled with the
+     * {@value #REUSE_CONNECTIONS_PROPERTY} system property. Otherwise the stub is left as it is.
+     *
+     * @param stub Stub to configure.
+     */
+    public static void enableConnectionReuse(Stub stub) {
+
+        if (!isConnectionReuseEnabled()) {
+            return;
+        }
+        Options options = stub._getServiceClient().getOptions();
+        options.setProperty(HTTPConstants.REUSE_HTTP_CLIENT, Boolean.TRUE);
+        options.setProperty(HTTPConstants.CACHED_HTTP_CLIENT, getHttpClient());
+        options.setProperty(HTTPConstants.MULTITHREAD_HTTP_CONNECTION_MANAGER, connectionManager);
+        // Read the whole response and release the connection back to the pool after each call, as the pool would
+        // otherwise run out of connections.
+        options.setCallTransportCleanup(true);
+    }
+
+    /**
+     * Get the configuration context shared by the stubs created by this factory.
+     *
+     * @return Shared configuration context.
+     * @throws AxisFault If the configuration context cannot be created.
+     */
+    public static synchronized ConfigurationContext getConfigurationContext() throws AxisFault {
+
+        if (configurationContext == null) {
+            configurationContext = ConfigurationContextFactory.createConfigurationContextFromFileSystem(null, null);
+            if (isConnectionReuseEnabled()) {
+                configurationContext.setProperty(HTTPConstants.REUSE_HTTP_CLIENT, Boolean.TRUE);
+                configurationContext.setProperty(HTTPConstants.CACHED_HTTP_CLIENT, getHttpClient());
+                configurationContext.setProperty(HTTPConstants.MULTITHREAD_HTTP_CONNECTION_MANAGER,
+                        connectionManager);
+            }
+        }
+        return configurationContext;
+    }
+
+    /**
+     * Get the number of cached stubs.
+     *
+     * @return Number of cached stubs.
+     */
+    public static int getCachedStubCount() {
+
+        return STUBS.size();
+    }
+
+    /**
+     * Remove the cached stubs authenticated with the given session cookie, eg: once the user logged out or the server
+     * was restarted.
+     *
+     * @param sessionCookie Session cookie of the stubs.
+     */
+    public static void invalidate(String sessionCookie) {
+
+        STUBS.invalidate(KEY_SEPARATOR + "cookie" + KEY_SEPARATOR + sessionCookie);
+    }
+
+    /**
+     * Remove all the cached stubs and close the pooled connections. The factory can still be used afterwards, in
+     * which case a new pool is created.
+     */
+    public static synchronized void shutdown() {
+
+        STUBS.clear();
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+            connectionManager = null;
+            httpClient = null;
+        }
+        if (configurationContext != null) {
+            try {
+                configurationContext.terminate();
+            } catch (AxisFault e) {
+                log.error("Error while terminating the configuration context of the admin service stubs.", e);
+            }
+            configurationContext = null;
+        }
+    }
+
+    private static synchronized HttpClient getHttpClient() {
+
+        if (httpClient == null) {
+            connectionManager = new MultiThreadedHttpConnectionManager();
+            HttpConnectionManagerParams params = connectionManager.getParams();
+            params.setDefaultMaxConnectionsPerHost(Integer.getInteger(MAX_CONNECTIONS_PER_HOST_PROPERTY,
+                    DEFAULT_MAX_CONNECTIONS_PER_HOST));
+            params.setMaxTotalConnections(Integer.getInteger(MAX_TOTAL_CONNECTIONS_PROPERTY,
+                    DEFAULT_MAX_TOTAL_CONNECTIONS));
+            // Pooled connections are closed by the server when it is restarted, so check them before reusing.
+            params.setStaleCheckingEnabled(true);
+            params.setSoTimeout(SO_TIMEOUT_MILLIS);
+            params.setConnectionTimeout(CONNECTION_TIMEOUT_MILLIS);
+            httpClient = new HttpClient(connectionManager);
+            // The client is shared by all the users, so it must not keep the cookies of one user and send them with
+            // the calls of another. Axis2 sends the session cookie of each stub as a header of its own.
+            httpClient.getParams().setCookiePolicy(CookiePolicy.IGNORE_COOKIES);
+        }
+        return httpClient;
+    }
+
+    private static boolean isConnectionReuseEnabled() {
+
+        return Boolean.getBoolean(REUSE_CONNECTIONS_PROPERTY);
+    }
+
+    static String getKey(Class<? extends Stub> stubClass, String endpoint, String user, String credential) {
+
+        return stubClass.getName() + KEY_SEPARATOR + endpoint + KEY_SEPARATOR + Thread.currentThread().getId() +
+                KEY_SEPARATOR + user + KEY_SEPARATOR + credential;
+    }
+}
@@ -51,15 +51,15 @@ public class ResourceAdminServiceClient {
 
      public ResourceAdminServiceClient(String serviceUrl, String sessionCookie) throws AxisFault {
          String endPoint = serviceUrl + serviceName;
-         resourceAdminServiceStub = new ResourceAdminServiceStub(endPoint);
-         AuthenticateStub.authenticateStub(sessionCookie, resourceAdminServiceStub);
+         resourceAdminServiceStub = AdminServiceStubFactory.getStub(
+                 ResourceAdminServiceStub.class, endPoint, sessionCookie);
      }
 
      public ResourceAdminServiceClient(String backEndUrl, String userName, String password)
              throws AxisFault {
          String endPoint = backEndUrl + serviceName;
-         resourceAdminServiceStub = new ResourceAdminServiceStub(endPoint);
-         AuthenticateStub.authenticateStub(userName, password, resourceAdminServiceStub);
+         resourceAdminServiceStub = AdminServiceStubFactory.getStub(
+                 ResourceAdminServiceStub.class, endPoint, userName, password);
      }
 
      public boolean addResource(String destinationPath, String mediaType,
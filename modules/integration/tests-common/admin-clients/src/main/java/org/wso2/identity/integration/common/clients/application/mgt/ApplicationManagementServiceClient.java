@@ -37,6 +37,7 @@ import org.wso2.carbon.identity.application.mgt.stub.IdentityApplicationManageme
 import org.wso2.carbon.integration.common.admin.client.utils.AuthenticateStubUtil;
 import org.wso2.carbon.user.mgt.stub.UserAdminStub;
 import org.wso2.carbon.user.mgt.stub.types.carbon.UserStoreInfo;
+import org.wso2.identity.integration.common.clients.AdminServiceStubFactory;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
@@ -64,6 +65,8 @@ public class ApplicationManagementServiceClient {
         String userAdminServiceURL = backendServerURL + "UserAdmin";
         stub = new IdentityApplicationManagementServiceStub(configCtx, serviceURL);
         userAdminStub = new UserAdminStub(configCtx, userAdminServiceURL);
+        AdminServiceStubFactory.enableConnectionReuse(stub);
+        AdminServiceStubFactory.enableConnectionReuse(userAdminStub);
 
         ServiceClient client = stub._getServiceClient();
         Options option = client.getOptions();
@@ -97,6 +100,8 @@ public class ApplicationManagementServiceClient {
         String userAdminServiceURL = backendServerURL + "UserAdmin";
         stub = new IdentityApplicationManagementServiceStub(configCtx, serviceURL);
         userAdminStub = new UserAdminStub(configCtx, userAdminServiceURL);
+        AdminServiceStubFactory.enableConnectionReuse(stub);
+        AdminServiceStubFactory.enableConnectionReuse(userAdminStub);
 
         ServiceClient client = stub._getServiceClient();
         Options option = client.getOptions();
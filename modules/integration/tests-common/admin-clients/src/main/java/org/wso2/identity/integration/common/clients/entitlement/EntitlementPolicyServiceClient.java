@@ -27,7 +27,7 @@ import org.wso2.carbon.identity.entitlement.stub.EntitlementPolicyAdminServiceSt
 import org.wso2.carbon.identity.entitlement.stub.dto.PaginatedStatusHolder;
 import org.wso2.carbon.identity.entitlement.stub.dto.PolicyDTO;
 import org.wso2.carbon.identity.entitlement.stub.dto.PublisherDataHolder;
-import org.wso2.identity.integration.common.clients.AuthenticateStub;
+import org.wso2.identity.integration.common.clients.AdminServiceStubFactory;
 import org.xml.sax.SAXException;
 
 import javax.activation.DataHandler;
@@ -53,15 +53,15 @@ public class EntitlementPolicyServiceClient {
     public EntitlementPolicyServiceClient(String backEndUrl, String sessionCookie)
             throws AxisFault {
         this.endPoint = backEndUrl + serviceName;
-        entitlementPolicyAdminServiceStub = new EntitlementPolicyAdminServiceStub(endPoint);
-        AuthenticateStub.authenticateStub(sessionCookie, entitlementPolicyAdminServiceStub);
+        entitlementPolicyAdminServiceStub = AdminServiceStubFactory.getStub(
+                EntitlementPolicyAdminServiceStub.class, endPoint, sessionCookie);
     }
 
     public EntitlementPolicyServiceClient(String backEndUrl, String userName, String password)
             throws AxisFault {
         this.endPoint = backEndUrl + serviceName;
-        entitlementPolicyAdminServiceStub = new EntitlementPolicyAdminServiceStub(endPoint);
-        AuthenticateStub.authenticateStub(userName, password, entitlementPolicyAdminServiceStub);
+        entitlementPolicyAdminServiceStub = AdminServiceStubFactory.getStub(
+                EntitlementPolicyAdminServiceStub.class, endPoint, userName, password);
     }
 
     public void addPolicies(File policyFile)
@@ -34,7 +34,8 @@ import static org.wso2.identity.integration.common.clients.sts.ws.trust.constant
 import static org.wso2.identity.integration.common.clients.sts.ws.trust.constants.Constants.VALIDATE_ST_TEMPLATE;
 
 /**
- * RequestConstructor class builds the RequestSecurityTokens for each action performed.
+ * RequestConstructor class builds the RequestSecurityTokens for each action performed. The methods are thread safe,
+ * so that concurrent clients can build their requests at the same time.
  */
 public class RequestConstructor {
 
@@ -43,7 +44,6 @@ public class RequestConstructor {
     private static Template requestSTTemplate;
     private static Template renewSTTemplate;
     private static Template validateSTTemplate;
-    private static StringWriter stringWriter = new StringWriter();
 
     /**
      * Build a RST which is required for requesting a security token
@@ -57,7 +57,7 @@ public class RequestConstructor {
     public static String buildRSTToRequestSecurityToken(String creationTime, String expiryTime) {
 
         initVelocityEngine();
-        clearStringWriter();
+        StringWriter stringWriter = new StringWriter();
 
         VelocityContext velocityContext = new VelocityContext();
         velocityContext.put(CREATION_TIME, creationTime);
@@ -81,7 +81,7 @@ public class RequestConstructor {
     public static String buildRSTToRenewSecurityToken(String creationTime, String expiryTime, String uri) {
 
         initVelocityEngine();
-        clearStringWriter();
+        StringWriter stringWriter = new StringWriter();
 
         VelocityContext velocityContext = new VelocityContext();
         velocityContext.put(CREATION_TIME, creationTime);
@@ -106,7 +106,7 @@ public class RequestConstructor {
     public static String buildRSTToValidateSecurityToken(String creationTime, String expiryTime, String uri) {
 
         initVelocityEngine();
-        clearStringWriter();
+        StringWriter stringWriter = new StringWriter();
 
         VelocityContext velocityContext = new VelocityContext();
         velocityContext.put(CREATION_TIME, creationTime);
@@ -122,7 +122,7 @@ public class RequestConstructor {
      * Initialize the velocity engine if it is not initialized yet to
      * use functions based on templating.
      */
-    private static void initVelocityEngine() {
+    private static synchronized void initVelocityEngine() {
 
         if (!isVEInitialized) {
 
@@ -142,14 +142,4 @@ public class RequestConstructor {
             isVEInitialized = true;
         }
     }
-
-    /**
-     * Clear the string writer after it has been used previously.
-     */
-    private static void clearStringWriter() {
-
-        if (stringWriter.getBuffer().length() > 0) {
-            stringWriter.getBuffer().setLength(0);
-        }
-    }
 }
@@ -28,7 +28,7 @@ import org.wso2.carbon.um.ws.api.stub.PermissionDTO;
 import org.wso2.carbon.um.ws.api.stub.RemoteUserStoreManagerServiceStub;
 import org.wso2.carbon.um.ws.api.stub.RemoteUserStoreManagerServiceUserStoreExceptionException;
 import org.wso2.carbon.user.api.UserStoreException;
-import org.wso2.identity.integration.common.clients.AuthenticateStub;
+import org.wso2.identity.integration.common.clients.AdminServiceStubFactory;
 
 public class RemoteUserStoreManagerServiceClient {
 
@@ -38,15 +38,15 @@ public class RemoteUserStoreManagerServiceClient {
     public RemoteUserStoreManagerServiceClient(String backEndUrl, String sessionCookie)
             throws AxisFault {
         String endPoint = backEndUrl + serviceName;
-        remoteUserStoreManagerServiceStub = new RemoteUserStoreManagerServiceStub(endPoint);
-        AuthenticateStub.authenticateStub(sessionCookie, remoteUserStoreManagerServiceStub);
+        remoteUserStoreManagerServiceStub = AdminServiceStubFactory.getStub(
+                RemoteUserStoreManagerServiceStub.class, endPoint, sessionCookie);
     }
 
     public RemoteUserStoreManagerServiceClient(String backEndUrl, String userName, String password)
             throws AxisFault {
         String endPoint = backEndUrl + serviceName;
-        remoteUserStoreManagerServiceStub = new RemoteUserStoreManagerServiceStub(endPoint);
-        AuthenticateStub.authenticateStub(userName, password, remoteUserStoreManagerServiceStub);
+        remoteUserStoreManagerServiceStub = AdminServiceStubFactory.getStub(
+                RemoteUserStoreManagerServiceStub.class, endPoint, userName, password);
     }
 
     /**
@@ -18,6 +18,8 @@ package org.wso2.identity.integration.common.clients.usermgt.uuid;
 
 import org.apache.axis2.AxisFault;
 import org.wso2.carbon.identity.test.integration.service.stub.AuthenticationResultDTO;
+import org.wso2.carbon.identity.test.integration.service.stub.BulkOperationResultDTO;
+import org.wso2.carbon.identity.test.integration.service.stub.BulkUserDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.ClaimDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.ClaimValue;
 import org.wso2.carbon.identity.test.integration.service.stub.ConditionDTO;
@@ -26,6 +28,7 @@ import org.wso2.carbon.identity.test.integration.service.stub.PermissionDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.UUIDUserStoreManagerServiceStub;
 import org.wso2.carbon.identity.test.integration.service.stub.UUIDUserStoreManagerServiceUserStoreExceptionException;
 import org.wso2.carbon.identity.test.integration.service.stub.UniqueIDUserClaimSearchEntryDAO;
+import org.wso2.carbon.identity.test.integration.service.stub.UserClaimValuesDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.UserDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.UserRoleListDTO;
 import org.wso2.carbon.user.core.UserStoreException;
@@ -257,4 +260,22 @@ public class UUIDUserStoreManagerServiceClient {
 
         uuidUserStoreManagerServiceStub.updateRoleListOfUserWithID(userID, deletedRoles, newRoles);
     }
+
+    public BulkOperationResultDTO addUsersWithID(BulkUserDTO[] users, String profileName) throws UserStoreException,
+            RemoteException, UUIDUserStoreManagerServiceUserStoreExceptionException {
+
+        return uuidUserStoreManagerServiceStub.addUsersWithID(users, profileName);
+    }
+
+    public BulkOperationResultDTO deleteUsersWithID(String[] userIDs) throws UserStoreException, RemoteException,
+            UUIDUserStoreManagerServiceUserStoreExceptionException {
+
+        return uuidUserStoreManagerServiceStub.deleteUsersWithID(userIDs);
+    }
+
+    public BulkOperationResultDTO setUsersClaimValuesWithID(UserClaimValuesDTO[] userClaims, String profileName)
+            throws UserStoreException, RemoteException, UUIDUserStoreManagerServiceUserStoreExceptionException {
+
+        return uuidUserStoreManagerServiceStub.setUsersClaimValuesWithID(userClaims, profileName);
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.clients;
+
+import org.apache.axis2.client.Stub;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests the stub cache of {@link AdminServiceStubFactory}. Each test uses a cache of its own, so the stubs of the
+ * factory are not touched.
+ */
+public class AdminServiceStubCacheTestCase {
+
+    private static final String ENDPOINT = "https://localhost:9853/services/AuthenticationAdmin";
+
+    @Test(description = "A cached stub is returned for its key only.")
+    public void testGet() {
+
+        AdminServiceStubCache cache = new AdminServiceStubCache(2);
+        TestStub stub = new TestStub();
+        cache.put("a", stub);
+
+        Assert.assertSame(cache.get("a"), stub);
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals(cache.size(), 1);
+    }
+
+    @Test(description = "The least recently used stub is dropped, and not cleaned up, once the cache is full.")
+    public void testEviction() {
+
+        AdminServiceStubCache cache = new AdminServiceStubCache(2);
+        TestStub first = new TestStub();
+        TestStub second = new TestStub();
+        TestStub third = new TestStub();
+        cache.put("first", first);
+        cache.put("second", second);
+        // Use the first stub again, so that the second one is the least recently used.
+        Assert.assertSame(cache.get("first"), first);
+        cache.put("third", third);
+
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertSame(cache.get("first"), first, "Recently used stub was dropped from the cache.");
+        Assert.assertNull(cache.get("second"), "Least recently used stub was not dropped from the cache.");
+        Assert.assertSame(cache.get("third"), third);
+        Assert.assertFalse(second.cleanedUp, "Dropped stub was cleaned up while it may still be in use.");
+    }
+
+    @Test(description = "Replacing the stub of a key does not drop any other stub.")
+    public void testReplace() {
+
+        AdminServiceStubCache cache = new AdminServiceStubCache(2);
+        TestStub replacement = new TestStub();
+        cache.put("a", new TestStub());
+        cache.put("b", new TestStub());
+        cache.put("a", replacement);
+
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertSame(cache.get("a"), replacement);
+        Assert.assertNotNull(cache.get("b"));
+    }
+
+    @Test(description = "Only the stubs whose keys end with the suffix are removed and cleaned up.")
+    public void testInvalidate() {
+
+        AdminServiceStubCache cache = new AdminServiceStubCache(10);
+        TestStub invalidated = new TestStub();
+        TestStub kept = new TestStub();
+        cache.put("stub|cookie|JSESSIONID=1", invalidated);
+        cache.put("stub|cookie|JSESSIONID=2", kept);
+
+        cache.invalidate("|cookie|JSESSIONID=1");
+
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertNull(cache.get("stub|cookie|JSESSIONID=1"));
+        Assert.assertTrue(invalidated.cleanedUp, "Invalidated stub was not cleaned up.");
+        Assert.assertSame(cache.get("stub|cookie|JSESSIONID=2"), kept);
+        Assert.assertFalse(kept.cleanedUp);
+    }
+
+    @Test(description = "Clearing the cache cleans up all the stubs.")
+    public void testClear() {
+
+        AdminServiceStubCache cache = new AdminServiceStubCache(10);
+        TestStub first = new TestStub();
+        TestStub second = new TestStub();
+        cache.put("first", first);
+        cache.put("second", second);
+
+        cache.clear();
+
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertTrue(first.cleanedUp && second.cleanedUp, "Cleared stubs were not cleaned up.");
+    }
+
+    @Test(description = "A cache which cannot hold a stub is rejected.", expectedExceptions =
+            IllegalArgumentException.class)
+    public void testInvalidMaxStubs() {
+
+        new AdminServiceStubCache(0);
+    }
+
+    @Test(description = "The stubs of a thread are cached under keys of their own.")
+    public void testKeysPerThread() throws Exception {
+
+        String key = AdminServiceStubFactory.getKey(TestStub.class, ENDPOINT, "cookie", "JSESSIONID=1");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String otherThreadKey = executor.submit(() -> AdminServiceStubFactory.getKey(TestStub.class, ENDPOINT,
+                    "cookie", "JSESSIONID=1")).get();
+            Assert.assertNotEquals(otherThreadKey, key, "Stub key was shared with another thread.");
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(AdminServiceStubFactory.getKey(TestStub.class, ENDPOINT, "cookie", "JSESSIONID=1"), key);
+        Assert.assertNotEquals(AdminServiceStubFactory.getKey(TestStub.class, ENDPOINT, "cookie", "JSESSIONID=2"),
+                key);
+    }
+
+    /**
+     * Stub which only records whether it was cleaned up.
+     */
+    private static class TestStub extends Stub {
+
+        private boolean cleanedUp;
+
+        @Override
+        public void cleanup() {
+
+            cleanedUp = true;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.custom.pip;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.entitlement.pip.AbstractPIPAttributeFinder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An attribute finder which simulates a slow attribute source, eg: an HR database, and counts its calls, so that the
+ * effectiveness of the PIP attribute cache can be measured. Used by EntitlementPIPCacheBenchmarkTestCase.
+ * <p>
+ * Each call sleeps for the configured backend latency and returns the subject id as the attribute value. Since the
+ * finder does not override the default cache, it is called only when the attribute cache misses. The finder keeps the
+ * keys it has been called for, so that the first call for a key (a compulsory miss) can be told apart from a repeated
+ * call (a miss caused by the eviction or expiry of the cached value).
+ * <p>
+ * The counters are written periodically to a statistics file, which the tests read from outside the server, until
+ * the cache of the finder is cleared, eg: by refreshing the attribute finder through the entitlement admin service.
+ * <p>
+ * The finder is configured with the following module properties in entitlement.properties, eg:
+ * org.wso2.carbon.identity.custom.pip.InstrumentedAttributeFinder.1=LatencyMillis,20
+ * <ul>
+ *     <li>{@value #SUPPORTED_ATTRIBUTES} - Comma separated attribute ids supported by the finder. Default is the
+ *     email address claim.</li>
+ *     <li>{@value #LATENCY_MILLIS} - Backend latency of each call in milliseconds. Default is 0.</li>
+ *     <li>{@value #LATENCY_JITTER_MILLIS} - Maximum random latency added to each call in milliseconds. Default is
+ *     0.</li>
+ *     <li>{@value #STATISTICS_FILE} - File the counters are written to. Default is
+ *     repository/logs/instrumented-pip-statistics.properties in the carbon home.</li>
+ *     <li>{@value #STATISTICS_INTERVAL_MILLIS} - Interval between two writes of the statistics file. Default is
+ *     500.</li>
+ * </ul>
+ */
+public class InstrumentedAttributeFinder extends AbstractPIPAttributeFinder {
+
+    private static final Log log = LogFactory.getLog(InstrumentedAttributeFinder.class);
+
+    public static final String SUPPORTED_ATTRIBUTES = "SupportedAttributes";
+    public static final String LATENCY_MILLIS = "LatencyMillis";
+    public static final String LATENCY_JITTER_MILLIS = "LatencyJitterMillis";
+    public static final String STATISTICS_FILE = "StatisticsFile";
+    public static final String STATISTICS_INTERVAL_MILLIS = "StatisticsIntervalMillis";
+
+    public static final String CALLS = "calls";
+    public static final String DISTINCT_KEYS = "distinctKeys";
+    public static final String REPEATED_CALLS = "repeatedCalls";
+    public static final String BACKEND_NANOS = "backendNanos";
+    public static final String PEAK_CONCURRENT_CALLS = "peakConcurrentCalls";
+    public static final String TIMESTAMP = "timestamp";
+
+    private static final String EMAIL_ID = "http://wso2.org/claims/emailaddress";
+    private static final String KEY_SEPARATOR = "|";
+
+    private final Set<String> supportedAttributes = new HashSet<>();
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong repeatedCalls = new AtomicLong();
+    private final AtomicLong backendNanos = new AtomicLong();
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+    private final AtomicInteger peakConcurrentCalls = new AtomicInteger();
+    private long latencyMillis;
+    private long latencyJitterMillis;
+    private File statisticsFile;
+    private volatile ScheduledExecutorService statisticsWriter;
+
+    @Override
+    public void init(Properties properties) throws Exception {
+
+        supportedAttributes.addAll(Arrays.asList(properties.getProperty(SUPPORTED_ATTRIBUTES, EMAIL_ID)
+                .trim().split("\\s*,\\s*")));
+        latencyMillis = Long.parseLong(properties.getProperty(LATENCY_MILLIS, "0").trim());
+        latencyJitterMillis = Long.parseLong(properties.getProperty(LATENCY_JITTER_MILLIS, "0").trim());
+        statisticsFile = new File(properties.getProperty(STATISTICS_FILE, System.getProperty("carbon.home") +
+                File.separator + "repository" + File.separator + "logs" + File.separator +
+                "instrumented-pip-statistics.properties").trim());
+        long interval = Long.parseLong(properties.getProperty(STATISTICS_INTERVAL_MILLIS, "500").trim());
+
+        if (statisticsWriter != null) {
+            statisticsWriter.shutdownNow();
+        }
+        statisticsWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "instrumented-pip-statistics-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        statisticsWriter.scheduleWithFixedDelay(this::writeStatistics, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("Instrumented attribute finder initialized with a backend latency of " + latencyMillis + "ms. " +
+                "Statistics are written to " + statisticsFile.getAbsolutePath());
+    }
+
+    @Override
+    public String getModuleName() {
+
+        return "Instrumented Attribute Finder";
+    }
+
+    @Override
+    public boolean overrideDefaultCache() {
+
+        return false;
+    }
+
+    @Override
+    public Set<String> getAttributeValues(String subjectId, String resourceId, String actionId,
+                                          String environmentId, String attributeId, String issuer) throws Exception {
+
+        int concurrent = concurrentCalls.incrementAndGet();
+        peakConcurrentCalls.accumulateAndGet(concurrent, Math::max);
+        long start = System.nanoTime();
+        try {
+            calls.incrementAndGet();
+            String key = attributeId + KEY_SEPARATOR + subjectId + KEY_SEPARATOR + resourceId + KEY_SEPARATOR +
+                    actionId + KEY_SEPARATOR + environmentId;
+            if (!keys.add(key)) {
+                repeatedCalls.incrementAndGet();
+            }
+            long latency = latencyMillis + (latencyJitterMillis > 0 ?
+                    ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0);
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+            Set<String> values = new HashSet<>();
+            if (subjectId != null) {
+                values.add(subjectId);
+            }
+            return values;
+        } finally {
+            backendNanos.addAndGet(System.nanoTime() - start);
+            concurrentCalls.decrementAndGet();
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAttributes() {
+
+        return supportedAttributes;
+    }
+
+    /**
+     * Clear the attribute cache, stop the statistics writer and forget the keys. A restart of the server reloads the
+     * finder in the same JVM, so the writer of the previous finder would otherwise keep writing its stale counters to
+     * the statistics file, and the keys would never be released.
+     */
+    @Override
+    public void clearCache() {
+
+        super.clearCache();
+        ScheduledExecutorService writer = statisticsWriter;
+        if (writer != null) {
+            writer.shutdownNow();
+            statisticsWriter = null;
+        }
+        keys.clear();
+    }
+
+    /**
+     * Write the counters to the statistics file. The file is replaced atomically, so that readers never see a
+     * partially written file.
+     */
+    private void writeStatistics() {
+
+        Properties statistics = new Properties();
+        statistics.setProperty(CALLS, String.valueOf(calls.get()));
+        statistics.setProperty(DISTINCT_KEYS, String.valueOf(keys.size()));
+        statistics.setProperty(REPEATED_CALLS, String.valueOf(repeatedCalls.get()));
+        statistics.setProperty(BACKEND_NANOS, String.valueOf(backendNanos.get()));
+        statistics.setProperty(PEAK_CONCURRENT_CALLS, String.valueOf(peakConcurrentCalls.get()));
+        statistics.setProperty(TIMESTAMP, String.valueOf(System.currentTimeMillis()));
+        File tempFile = new File(statisticsFile.getAbsolutePath() + ".tmp");
+        try {
+            File parent = statisticsFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Could not create the directory: " + parent.getAbsolutePath());
+            }
+            try (OutputStream outputStream = new FileOutputStream(tempFile)) {
+                statistics.store(outputStream, getModuleName() + " statistics");
+            }
+            Files.move(tempFile.toPath(), statisticsFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Error while writing the statistics of the instrumented attribute finder to " +
+                    statisticsFile.getAbsolutePath(), e);
+        }
+    }
+}
@@ -32,9 +32,16 @@ import org.wso2.carbon.automation.test.utils.common.TestConfigurationProvider;
 import org.wso2.carbon.integration.common.admin.client.AuthenticatorClient;
 import org.wso2.carbon.integration.common.utils.LoginLogoutClient;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+import org.wso2.identity.integration.common.clients.TenantManagementServiceClient;
+import org.wso2.identity.integration.common.clients.UserManagementClient;
 
 import javax.xml.xpath.XPathExpressionException;
 import java.io.File;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ISIntegrationTest {
 
@@ -42,7 +49,15 @@ public class ISIntegrationTest {
     public static final String TENANTED_URL_PATH_SPECIFIER = "/t/";
     public static final String KEYSTORE_TYPE = "PKCS12";
     public static final String KEYSTORE_NAME = "wso2carbon.p12";
+    public static final String TENANT_ISOLATION_PROPERTY = "tests.tenant.isolation";
     private static final String PRODUCT_GROUP_PORT_HTTPS = "https";
+    private static final String PRODUCT_GROUP_NAME = "IDENTITY";
+    private static final String ISOLATED_TENANT_ADMIN = "admin";
+    private static final String ISOLATED_TENANT_USER = "isolateduser";
+    private static final String ISOLATED_TENANT_USER_ROLE = "isolatedUserRole";
+    private static final String LOGIN_PERMISSION = "/permission/admin/login";
+    private static final int ISOLATED_TENANT_NAME_LENGTH = 20;
+    private static final Set<String> ISOLATED_TENANTS = ConcurrentHashMap.newKeySet();
 
     protected Log log = LogFactory.getLog(getClass());
     protected AutomationContext isServer;
@@ -54,11 +69,20 @@ public class ISIntegrationTest {
     protected ContextUrls identityContextUrls;
     private static String jdbcClassName = "org.wso2.carbon.user.core.jdbc.JDBCUserStoreManager";
     protected LoginLogoutClient loginLogoutClient;
+    private int isolatedTenantId = MultitenantConstants.INVALID_TENANT_ID;
 
     protected void init() throws Exception {
         init(TestUserMode.SUPER_TENANT_ADMIN);
     }
 
+    /**
+     * Initialize the test for the given user mode. When tenant isolation is enabled with the
+     * tests.tenant.isolation system property, tenant user modes are initialized against a new tenant created for the
+     * test instance instead of the tenant configured in automation.xml.
+     *
+     * @param userMode User mode of the test.
+     * @throws Exception If an error occurred while initializing the test.
+     */
     protected void init(TestUserMode userMode) throws Exception {
         isServer = new AutomationContext("IDENTITY", userMode);
         backendURL = isServer.getContextUrls().getBackEndUrl();
@@ -68,6 +92,144 @@ public class ISIntegrationTest {
         identityContextUrls = isServer.getContextUrls();
         tenantInfo = isServer.getContextTenant();
         userInfo = tenantInfo.getContextUser();
+
+        if (isTenantIsolationEnabled() && (userMode == TestUserMode.TENANT_ADMIN ||
+                userMode == TestUserMode.TENANT_USER)) {
+            switchToIsolatedTenant(userMode);
+        }
+    }
+
+    /**
+     * Initialize the test against a new tenant created for the test instance, so that the resources created by the
+     * test do not collide with the resources of other test classes running in parallel against the same server.
+     *
+     * @throws Exception If an error occurred while creating the tenant or logging in to it.
+     */
+    protected void initWithIsolatedTenant() throws Exception {
+        init(TestUserMode.SUPER_TENANT_ADMIN);
+        switchToIsolatedTenant(TestUserMode.TENANT_ADMIN);
+    }
+
+    /**
+     * Check whether the tenant user modes should run against a tenant created per test instance.
+     *
+     * @return True if tenant isolation is enabled.
+     */
+    public static boolean isTenantIsolationEnabled() {
+        return Boolean.getBoolean(TENANT_ISOLATION_PROPERTY);
+    }
+
+    /**
+     * Get the id of the tenant created for the test instance.
+     *
+     * @return Tenant id, or {@link MultitenantConstants#INVALID_TENANT_ID} if the test does not run in an isolated
+     * tenant.
+     */
+    protected int getIsolatedTenantId() {
+        return isolatedTenantId;
+    }
+
+    /**
+     * Deactivate the tenants created for the test instances, so that they do not pile up on a server which is reused
+     * across runs. Called once the suite is done, while the server is still running.
+     *
+     * @throws Exception If an error occurred while logging in as the super tenant admin.
+     */
+    public static void deactivateIsolatedTenants() throws Exception {
+        if (ISOLATED_TENANTS.isEmpty()) {
+            return;
+        }
+        Log staticLog = LogFactory.getLog(ISIntegrationTest.class);
+        AutomationContext superTenantContext = new AutomationContext(PRODUCT_GROUP_NAME,
+                TestUserMode.SUPER_TENANT_ADMIN);
+        TenantManagementServiceClient tenantServiceClient = new TenantManagementServiceClient(
+                superTenantContext.getContextUrls().getBackEndUrl(), new LoginLogoutClient(superTenantContext).login());
+        for (Iterator<String> iterator = ISOLATED_TENANTS.iterator(); iterator.hasNext(); ) {
+            String tenantDomain = iterator.next();
+            try {
+                tenantServiceClient.deactivateTenant(tenantDomain);
+            } catch (Exception e) {
+                staticLog.warn("Could not deactivate the isolated tenant: " + tenantDomain, e);
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Create a tenant with a unique domain as the super tenant admin, and point isServer, identityContextUrls,
+     * tenantInfo, userInfo and sessionCookie to the new tenant. For the tenant user mode a user which is not an admin
+     * is created in the tenant and logged in, otherwise the tenant admin is.
+     *
+     * @param userMode User mode of the test.
+     */
+    private void switchToIsolatedTenant(TestUserMode userMode) throws Exception {
+        String className = getClass().getSimpleName().toLowerCase(Locale.ENGLISH).replaceAll("[^a-z0-9]", "");
+        String tenantDomain = className.substring(0, Math.min(className.length(), ISOLATED_TENANT_NAME_LENGTH)) +
+                UUID.randomUUID().toString().replace("-", "").substring(0, 8) + ".com";
+        String adminPassword = "Admin@" + UUID.randomUUID().toString().substring(0, 8);
+        String host = isServer.getInstance().getHosts().get("default");
+
+        // The tenant is created by the super tenant admin, whatever the user mode of the test is.
+        AutomationContext superTenantContext = new AutomationContext(PRODUCT_GROUP_NAME,
+                TestUserMode.SUPER_TENANT_ADMIN);
+        TenantManagementServiceClient tenantServiceClient = new TenantManagementServiceClient(backendURL,
+                new LoginLogoutClient(superTenantContext).login());
+        tenantServiceClient.addTenant(tenantDomain, ISOLATED_TENANT_ADMIN, adminPassword,
+                ISOLATED_TENANT_ADMIN + "@" + tenantDomain, "Isolated", "Tenant");
+        ISOLATED_TENANTS.add(tenantDomain);
+        isolatedTenantId = tenantServiceClient.getTenant(tenantDomain).getTenantId();
+
+        User contextUser = createUser(ISOLATED_TENANT_ADMIN + "@" + tenantDomain, adminPassword);
+        if (userMode == TestUserMode.TENANT_USER) {
+            String userPassword = "User@" + UUID.randomUUID().toString().substring(0, 8);
+            UserManagementClient userManagementClient = new UserManagementClient(backendURL,
+                    new AuthenticatorClient(backendURL).login(contextUser.getUserName(), adminPassword, host));
+            userManagementClient.addRole(ISOLATED_TENANT_USER_ROLE, null, new String[]{LOGIN_PERMISSION});
+            userManagementClient.addUser(ISOLATED_TENANT_USER, userPassword, new String[]{ISOLATED_TENANT_USER_ROLE},
+                    null);
+            contextUser = createUser(ISOLATED_TENANT_USER + "@" + tenantDomain, userPassword);
+        }
+        Tenant tenant = new Tenant();
+        tenant.setDomain(tenantDomain);
+        tenant.setContextUser(contextUser);
+
+        isServer = new IsolatedTenantContext(tenant,
+                getTenantContextUrls(superTenantContext.getContextUrls(), tenantDomain));
+        identityContextUrls = isServer.getContextUrls();
+        tenantInfo = tenant;
+        userInfo = contextUser;
+        loginLogoutClient = new LoginLogoutClient(isServer);
+        sessionCookie = loginLogoutClient.login();
+        log.info("Running " + getClass().getSimpleName() + " in isolated tenant: " + tenantDomain + " as " +
+                contextUser.getUserName());
+    }
+
+    private static User createUser(String userName, String password) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setPassword(password);
+        return user;
+    }
+
+    /**
+     * Build the context URLs of a tenant from those of the super tenant, the way automation.xml tenants get them.
+     */
+    private static ContextUrls getTenantContextUrls(ContextUrls superTenantUrls, String tenantDomain) {
+        ContextUrls contextUrls = new ContextUrls();
+        contextUrls.setBackEndUrl(superTenantUrls.getBackEndUrl());
+        contextUrls.setServiceUrl(getTenantUrl(superTenantUrls.getServiceUrl(), tenantDomain));
+        contextUrls.setSecureServiceUrl(getTenantUrl(superTenantUrls.getSecureServiceUrl(), tenantDomain));
+        contextUrls.setWebAppURL(getTenantUrl(superTenantUrls.getWebAppURL(), tenantDomain));
+        return contextUrls;
+    }
+
+    private static String getTenantUrl(String superTenantUrl, String tenantDomain) {
+        if (superTenantUrl == null) {
+            return null;
+        }
+        String baseUrl = superTenantUrl.endsWith(URL_SEPARATOR) ?
+                superTenantUrl.substring(0, superTenantUrl.length() - 1) : superTenantUrl;
+        return baseUrl + TENANTED_URL_PATH_SPECIFIER + tenantDomain;
     }
 
     protected void init(String instance, String domainKey, String userKey) throws Exception {
@@ -275,4 +437,30 @@ public class ISIntegrationTest {
 //
 //        return userStoreDTO;
 //    }
+
+    /**
+     * Automation context of a tenant created for a test instance, which automation.xml does not know of. The instance
+     * and the super tenant are those of the identity product group.
+     */
+    private static class IsolatedTenantContext extends AutomationContext {
+
+        private final Tenant tenant;
+        private final ContextUrls contextUrls;
+
+        IsolatedTenantContext(Tenant tenant, ContextUrls contextUrls) throws XPathExpressionException {
+            super(PRODUCT_GROUP_NAME, TestUserMode.SUPER_TENANT_ADMIN);
+            this.tenant = tenant;
+            this.contextUrls = contextUrls;
+        }
+
+        @Override
+        public Tenant getContextTenant() {
+            return tenant;
+        }
+
+        @Override
+        public ContextUrls getContextUrls() {
+            return contextUrls;
+        }
+    }
 }
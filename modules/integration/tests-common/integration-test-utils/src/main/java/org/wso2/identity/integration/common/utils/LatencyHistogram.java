@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with a fixed number of buckets, which concurrent threads record to without locking, and whose
+ * memory does not grow with the number of latencies recorded.
+ * <p>
+ * The buckets split each power of two of nanoseconds in four, so the percentiles are accurate to 25%, which is enough
+ * to tell whether a mock service or an event receiver is the bottleneck of a load test.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // The highest bucket is that of the largest long, whose exponent is 62.
+    static final int BUCKETS = (Long.SIZE - 1) * SUB_BUCKETS;
+
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Record a latency.
+     *
+     * @param latencyNanos Latency in nanoseconds. A negative latency is recorded as 0.
+     */
+    public void record(long latencyNanos) {
+
+        long latency = Math.max(0, latencyNanos);
+        totalLatencyNanos.add(latency);
+        latencyBuckets.incrementAndGet(bucketOf(latency));
+    }
+
+    /**
+     * Get the number of latencies recorded.
+     *
+     * @return Number of latencies.
+     */
+    public long getCount() {
+
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += latencyBuckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Get the mean latency.
+     *
+     * @return Mean latency in milliseconds, or 0 if nothing was recorded.
+     */
+    public double mean() {
+
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        return totalLatencyNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get a percentile of the latency, as the upper bound of the bucket it falls in.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency at the percentile in milliseconds, or 0 if nothing was recorded.
+     */
+    public double percentile(double percentile) {
+
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = latencyBuckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundOf(i) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            }
+        }
+        return upperBoundOf(BUCKETS - 1) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the histogram bucket of a latency.
+     *
+     * @param nanos Latency in nanoseconds, not negative.
+     * @return Index of the bucket.
+     */
+    static int bucketOf(long nanos) {
+
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Get the largest latency which falls in a histogram bucket.
+     *
+     * @param bucket Index of the bucket.
+     * @return Upper bound of the bucket in nanoseconds, inclusive.
+     */
+    static long upperBoundOf(int bucket) {
+
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS;
+        int subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + subBucket) * width + (width - 1);
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Tails a server log file and raises a {@link WaitSignal} for each batch of new lines, so that tests can wait for a
+ * log line instead of sleeping for a fixed time.
+ * <p>
+ * Only the lines written after the watcher is started are considered. The watcher blocks on a file system watch
+ * service while there is nothing new to read, and falls back to a periodic check on file systems which do not
+ * report modifications promptly.
+ * <p>
+ * A watcher which is not started can be polled with {@link #readLinesWithContent(String)} instead, which returns all
+ * the lines of the file with the given content. Each call only reads the lines written since the previous call, and
+ * matches them against every content asked for so far in a single pass. A content asked for the first time is searched
+ * for once in the part of the file already read. Segments of {@value #MIN_MAPPED_SEGMENT_SIZE} bytes or more are
+ * memory mapped instead of being copied through a buffer. The matching lines of the last
+ * {@value #MAX_TRACKED_CONTENTS} contents are kept.
+ * <p>
+ * {@link #containsLine(Pattern)} and {@link #waitForLine(Pattern, long, TimeUnit)} search the last
+ * {@value #MAX_RETAINED_LINES} lines read, which is enough for a line expected right after an action of a test.
+ * <p>
+ * When the log file is rolled over by the RollingFile appender of log4j2.properties, eg: to audit-10-18-2026.1.log,
+ * the rest of the rolled file is read before the new file, so that no lines are missed.
+ */
+public class LogTailWatcher implements Closeable {
+
+    private static final Log log = LogFactory.getLog(LogTailWatcher.class);
+    private static final int MAX_RETAINED_LINES = 10000;
+    private static final int MAX_TRACKED_CONTENTS = 64;
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final long MIN_MAPPED_SEGMENT_SIZE = 1024 * 1024;
+    private static final long MAX_MAPPED_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long MAX_IDLE_MILLIS = 1000;
+    private static final String LOG_FILE_EXTENSION = ".log";
+
+    private final Path logFile;
+    private final WaitSignal signal = new WaitSignal();
+    private final Deque<String> lines = new ArrayDeque<>();
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private final Object readLock = new Object();
+    private final Map<String, List<String>> linesByContent = new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+
+            return size() > MAX_TRACKED_CONTENTS;
+        }
+    };
+    private WatchService watchService;
+    private Thread thread;
+    private long position;
+    private long firstPosition;
+    private Object fileKey;
+    private volatile boolean running;
+
+    /**
+     * Create a watcher for the given log file.
+     *
+     * @param logFile Log file to tail. The file does not need to exist when the watcher is started.
+     */
+    public LogTailWatcher(Path logFile) {
+
+        this.logFile = logFile.toAbsolutePath();
+    }
+
+    /**
+     * Create a watcher for the carbon log of a server.
+     *
+     * @param carbonHome Carbon home of the server.
+     * @return Watcher for the carbon log.
+     */
+    public static LogTailWatcher forCarbonLog(String carbonHome) {
+
+        return forServerLog(carbonHome, "wso2carbon.log");
+    }
+
+    /**
+     * Create a watcher for a log file in the logs directory of a server.
+     *
+     * @param carbonHome Carbon home of the server.
+     * @param fileName   Name of the log file, eg: audit.log.
+     * @return Watcher for the log file.
+     */
+    public static LogTailWatcher forServerLog(String carbonHome, String fileName) {
+
+        return new LogTailWatcher(Paths.get(carbonHome, "repository", "logs", fileName));
+    }
+
+    /**
+     * Get the log file of the watcher.
+     *
+     * @return Absolute path of the log file.
+     */
+    public Path getLogFile() {
+
+        return logFile;
+    }
+
+    /**
+     * Start tailing the log file from its current end.
+     *
+     * @throws IOException If the log directory cannot be watched.
+     */
+    public synchronized void start() throws IOException {
+
+        if (running) {
+            return;
+        }
+        synchronized (readLock) {
+            position = Files.exists(logFile) ? Files.size(logFile) : 0;
+            firstPosition = position;
+            fileKey = Files.exists(logFile) ? getFileKey(logFile) : null;
+            partialLine.reset();
+            linesByContent.clear();
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        logFile.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        running = true;
+        thread = new Thread(this::tail, "log-tail-" + logFile.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Get the signal raised when new lines are read from the log file.
+     *
+     * @return Signal raised for new log lines.
+     */
+    public WaitSignal getSignal() {
+
+        return signal;
+    }
+
+    /**
+     * Check whether a line matching the given pattern was written after the watcher was started.
+     *
+     * @param pattern Pattern to search for in each line.
+     * @return True if a matching line was found.
+     */
+    public boolean containsLine(Pattern pattern) {
+
+        synchronized (lines) {
+            for (String line : lines) {
+                if (pattern.matcher(line).find()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the lines written to the log file since the previous read, and get all the lines of the file which contain
+     * the given content. For a started watcher, or after {@link #clearLines()}, only the lines written after that are
+     * considered.
+     *
+     * @param content Content to search for.
+     * @return Lines which contain the content, in the order they were written.
+     * @throws IOException If the log file cannot be read.
+     */
+    public List<String> readLinesWithContent(String content) throws IOException {
+
+        synchronized (readLock) {
+            readNewLines();
+            List<String> matchingLines = linesByContent.get(content);
+            if (matchingLines == null) {
+                matchingLines = searchReadLines(content);
+                linesByContent.put(content, matchingLines);
+            }
+            return new ArrayList<>(matchingLines);
+        }
+    }
+
+    /**
+     * Forget the lines read so far. The lines written after this are still read.
+     */
+    public void clearLines() {
+
+        synchronized (readLock) {
+            firstPosition = position;
+            linesByContent.clear();
+            synchronized (lines) {
+                lines.clear();
+            }
+        }
+    }
+
+    /**
+     * Wait until a line matching the given pattern is written to the log file.
+     *
+     * @param pattern Pattern to search for in each line.
+     * @param timeout Maximum time to wait.
+     * @param unit    Unit of the timeout.
+     * @return True if a matching line was written within the timeout.
+     * @throws Exception If the waiting thread is interrupted.
+     */
+    public boolean waitForLine(Pattern pattern, long timeout, TimeUnit unit) throws Exception {
+
+        return WaitUtils.waitFor("log line matching " + pattern.pattern(), () -> containsLine(pattern), signal,
+                timeout, unit);
+    }
+
+    /**
+     * Stop tailing the log file.
+     *
+     * @throws IOException If the watch service cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        running = false;
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void tail() {
+
+        try {
+            while (running) {
+                if (!readNewLines()) {
+                    WatchKey key = watchService.poll(MAX_IDLE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (key != null) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // The watcher is closed.
+        } catch (IOException e) {
+            log.error("Error while tailing the log file: " + logFile, e);
+        }
+    }
+
+    private boolean readNewLines() throws IOException {
+
+        if (!Files.exists(logFile)) {
+            return false;
+        }
+        synchronized (readLock) {
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+                Object currentFileKey = getFileKey(logFile);
+                boolean newLines = false;
+                if (channel.size() < position || (fileKey != null && !fileKey.equals(currentFileKey))) {
+                    newLines = readRolledFile();
+                    position = 0;
+                    firstPosition = 0;
+                    partialLine.reset();
+                }
+                fileKey = currentFileKey;
+                if (channel.size() == position && !newLines) {
+                    return false;
+                }
+                newLines |= readLines(channel);
+                if (newLines) {
+                    signal.signal();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Read the rest of the file the log file was rolled over to. The rolled file is the one with the key of the file
+     * read before, or the last modified one where the file system has no file keys.
+     *
+     * @return True if any complete lines were read.
+     */
+    private boolean readRolledFile() throws IOException {
+
+        String fileName = logFile.getFileName().toString();
+        String rolledFilePrefix = (fileName.endsWith(LOG_FILE_EXTENSION) ?
+                fileName.substring(0, fileName.length() - LOG_FILE_EXTENSION.length()) : fileName) + "-";
+        File[] rolledFiles = logFile.getParent().toFile().listFiles((dir, name) ->
+                name.startsWith(rolledFilePrefix) && name.endsWith(LOG_FILE_EXTENSION));
+        if (rolledFiles == null) {
+            return false;
+        }
+        File rolledFile = null;
+        for (File file : rolledFiles) {
+            if (fileKey != null && fileKey.equals(getFileKey(file.toPath()))) {
+                rolledFile = file;
+                break;
+            }
+            if (fileKey == null && (rolledFile == null || file.lastModified() > rolledFile.lastModified())) {
+                rolledFile = file;
+            }
+        }
+        if (rolledFile == null) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(rolledFile.toPath(), StandardOpenOption.READ)) {
+            return channel.size() > position && readLines(channel);
+        }
+    }
+
+    /**
+     * Read the lines from the current position to the end of the file.
+     *
+     * @return True if any complete lines were read.
+     */
+    private boolean readLines(FileChannel channel) throws IOException {
+
+        int[] lineCount = new int[1];
+        position = forEachLine(channel, position, channel.size(), partialLine, line -> {
+            addLine(line);
+            lineCount[0]++;
+        });
+        return lineCount[0] > 0;
+    }
+
+    /**
+     * Search the part of the current log file read so far for the lines which contain the given content. Lines of a
+     * file which was rolled over are not searched.
+     */
+    private List<String> searchReadLines(String content) throws IOException {
+
+        List<String> matchingLines = new ArrayList<>();
+        if (!Files.exists(logFile) || position <= firstPosition) {
+            return matchingLines;
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            forEachLine(channel, firstPosition, Math.min(position, channel.size()), new ByteArrayOutputStream(),
+                    line -> {
+                        if (line.contains(content)) {
+                            matchingLines.add(line);
+                        }
+                    });
+        }
+        return matchingLines;
+    }
+
+    /**
+     * Pass each complete line between the given offsets to the given action. Large segments are memory mapped.
+     *
+     * @param channel     Channel of the file.
+     * @param from        Offset to start reading from.
+     * @param to          Offset to stop reading at.
+     * @param partialLine Bytes of the incomplete line read before, which is completed by the bytes read.
+     * @param action      Action to perform for each line.
+     * @return Offset up to which the file was read.
+     * @throws IOException If the file cannot be read.
+     */
+    private static long forEachLine(FileChannel channel, long from, long to, ByteArrayOutputStream partialLine,
+                                    Consumer<String> action) throws IOException {
+
+        ByteBuffer readBuffer = null;
+        long offset = from;
+        while (offset < to) {
+            ByteBuffer buffer;
+            if (to - offset >= MIN_MAPPED_SEGMENT_SIZE) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(to - offset, MAX_MAPPED_SEGMENT_SIZE));
+            } else {
+                if (readBuffer == null) {
+                    readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+                }
+                readBuffer.clear();
+                readBuffer.limit((int) Math.min(READ_BUFFER_SIZE, to - offset));
+                if (channel.read(readBuffer, offset) <= 0) {
+                    break;
+                }
+                readBuffer.flip();
+                buffer = readBuffer;
+            }
+            offset += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                byte value = buffer.get();
+                if (value == '\n') {
+                    action.accept(new String(partialLine.toByteArray(), StandardCharsets.UTF_8));
+                    partialLine.reset();
+                } else if (value != '\r') {
+                    partialLine.write(value);
+                }
+            }
+        }
+        return offset;
+    }
+
+    private static Object getFileKey(Path file) throws IOException {
+
+        return Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+    }
+
+    private void addLine(String line) {
+
+        synchronized (lines) {
+            if (lines.size() == MAX_RETAINED_LINES) {
+                lines.removeFirst();
+            }
+            lines.addLast(line);
+        }
+        for (Map.Entry<String, List<String>> entry : linesByContent.entrySet()) {
+            if (line.contains(entry.getKey())) {
+                entry.getValue().add(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.checkAtLeast;
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.checkRatio;
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.checkStatus;
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.parseDouble;
+
+/**
+ * Performance mode settings of {@link MicroserviceServer}, used when a mock external service, eg: a federated IdP,
+ * an SMS or email provider, or a risk engine, stands in for the real service in a load test.
+ * <p>
+ * In performance mode the mock server runs the given number of transport threads, delays its responses by a latency
+ * picked uniformly between the given bounds, answers the given ratio of the requests with an error, and counts the
+ * requests and the latency of each route. The connections are kept alive, as the transport does for HTTP/1.1.
+ * <p>
+ * The latency and the errors can also be set for the routes under a path, with
+ * {@link MicroserviceServer#setRouteProfile(String, MicroservicePerformanceProfile)}, in which case the thread
+ * settings of the route profile are ignored.
+ * <p>
+ * The profile can also be given with the following system properties, in which case it is picked up by the mock
+ * servers created with {@link MicroserviceUtil#initMicroserviceServer()}.
+ * <ul>
+ *     <li>{@value #PERFORMANCE_MODE_PROPERTY} - Set to true to enable the performance mode.</li>
+ *     <li>{@value #LATENCY_PROPERTY} - Latency of the responses. One of fixed:{millis} or uniform:{min}:{max}.</li>
+ *     <li>{@value #FAILURE_RATE_PROPERTY} - Ratio of the requests answered with an error, between 0 and 1.</li>
+ *     <li>{@value #FAILURE_STATUS_PROPERTY} - Status of the failed requests. Default is 500.</li>
+ *     <li>{@value #BOSS_THREADS_PROPERTY} - Threads which accept the connections. Default is the number of
+ *     processors.</li>
+ *     <li>{@value #WORKER_THREADS_PROPERTY} - Threads which serve the requests. Default is 200, so that delayed
+ *     responses do not hold back the others.</li>
+ * </ul>
+ */
+public class MicroservicePerformanceProfile {
+
+    public static final String PERFORMANCE_MODE_PROPERTY = "microservice.mock.performanceMode";
+    public static final String LATENCY_PROPERTY = "microservice.mock.latency";
+    public static final String FAILURE_RATE_PROPERTY = "microservice.mock.failureRate";
+    public static final String FAILURE_STATUS_PROPERTY = "microservice.mock.failureStatus";
+    public static final String BOSS_THREADS_PROPERTY = "microservice.mock.bossThreads";
+    public static final String WORKER_THREADS_PROPERTY = "microservice.mock.workerThreads";
+
+    private long minLatencyMillis = 0;
+    private long maxLatencyMillis = 0;
+    private double failureRate = 0;
+    private int failureStatus = 500;
+    private int bossThreads = Runtime.getRuntime().availableProcessors();
+    private int workerThreads = 200;
+
+    /**
+     * Delay each response by the given time.
+     *
+     * @param millis Delay in milliseconds.
+     * @return This profile.
+     */
+    public MicroservicePerformanceProfile fixedLatency(long millis) {
+
+        return uniformLatency(millis, millis);
+    }
+
+    /**
+     * Delay each response by a time picked uniformly between the given bounds.
+     *
+     * @param minMillis Minimum delay in milliseconds.
+     * @param maxMillis Maximum delay in milliseconds.
+     * @return This profile.
+     */
+    public MicroservicePerformanceProfile uniformLatency(long minMillis, long maxMillis) {
+
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid latency bounds: " + minMillis + ", " + maxMillis);
+        }
+        this.minLatencyMillis = minMillis;
+        this.maxLatencyMillis = maxMillis;
+        return this;
+    }
+
+    /**
+     * Answer the given ratio of the requests with an error status, without calling the service.
+     *
+     * @param failureRate Ratio of the failed requests, between 0 and 1.
+     * @return This profile.
+     */
+    public MicroservicePerformanceProfile failureRate(double failureRate) {
+
+        this.failureRate = checkRatio("failure rate", failureRate);
+        return this;
+    }
+
+    /**
+     * Set the status of the failed requests.
+     *
+     * @param failureStatus HTTP status, between 100 and 599.
+     * @return This profile.
+     */
+    public MicroservicePerformanceProfile failureStatus(int failureStatus) {
+
+        this.failureStatus = checkStatus(failureStatus);
+        return this;
+    }
+
+    /**
+     * Set the number of threads which accept the connections.
+     *
+     * @param bossThreads Number of threads, at least 1.
+     * @return This profile.
+     */
+    public MicroservicePerformanceProfile bossThreads(int bossThreads) {
+
+        this.bossThreads = checkAtLeast("number of boss threads", bossThreads, 1);
+        return this;
+    }
+
+    /**
+     * Set the number of threads which serve the requests.
+     *
+     * @param workerThreads Number of threads, at least 1.
+     * @return This profile.
+     */
+    public MicroservicePerformanceProfile workerThreads(int workerThreads) {
+
+        this.workerThreads = checkAtLeast("number of worker threads", workerThreads, 1);
+        return this;
+    }
+
+    /**
+     * Build the profile given with the system properties.
+     *
+     * @return Performance profile, or null if the performance mode is not enabled.
+     */
+    public static MicroservicePerformanceProfile fromSystemProperties() {
+
+        if (!Boolean.getBoolean(PERFORMANCE_MODE_PROPERTY)) {
+            return null;
+        }
+        MicroservicePerformanceProfile profile = new MicroservicePerformanceProfile()
+                .failureRate(parseDouble(FAILURE_RATE_PROPERTY, System.getProperty(FAILURE_RATE_PROPERTY, "0")))
+                .failureStatus(Integer.getInteger(FAILURE_STATUS_PROPERTY, 500))
+                .bossThreads(Integer.getInteger(BOSS_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()))
+                .workerThreads(Integer.getInteger(WORKER_THREADS_PROPERTY, 200));
+        String latency = System.getProperty(LATENCY_PROPERTY);
+        if (latency != null) {
+            String[] parts = latency.trim().split(":");
+            if ("fixed".equals(parts[0]) && parts.length == 2) {
+                profile.fixedLatency(parseLatency(parts[1], latency));
+            } else if ("uniform".equals(parts[0]) && parts.length == 3) {
+                profile.uniformLatency(parseLatency(parts[1], latency), parseLatency(parts[2], latency));
+            } else {
+                throw invalidLatency(latency);
+            }
+        }
+        return profile;
+    }
+
+    private static long parseLatency(String millis, String latency) {
+
+        try {
+            return Long.parseLong(millis.trim());
+        } catch (NumberFormatException e) {
+            throw invalidLatency(latency);
+        }
+    }
+
+    private static IllegalArgumentException invalidLatency(String latency) {
+
+        return new IllegalArgumentException("Invalid latency given with " + LATENCY_PROPERTY +
+                ", expected fixed:{millis} or uniform:{min}:{max}: " + latency);
+    }
+
+    /**
+     * Pick the delay of a response.
+     *
+     * @return Delay in milliseconds.
+     */
+    long nextLatencyMillis() {
+
+        if (maxLatencyMillis == minLatencyMillis) {
+            return minLatencyMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(minLatencyMillis, maxLatencyMillis + 1);
+    }
+
+    /**
+     * Pick whether a request fails.
+     *
+     * @return True if the request is to be answered with the failure status.
+     */
+    boolean nextFailure() {
+
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    int getFailureStatus() {
+
+        return failureStatus;
+    }
+
+    int getBossThreads() {
+
+        return bossThreads;
+    }
+
+    int getWorkerThreads() {
+
+        return workerThreads;
+    }
+}
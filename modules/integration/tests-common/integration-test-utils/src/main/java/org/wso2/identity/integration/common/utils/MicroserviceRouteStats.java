@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request counters and latency histogram of a route of {@link MicroserviceServer} in performance mode.
+ * <p>
+ * The counters are striped and the latencies are counted in a {@link LatencyHistogram}, so that the request threads
+ * record without locking and the memory does not grow with the load.
+ */
+public class MicroserviceRouteStats {
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * Record a served request.
+     *
+     * @param latencyNanos Time taken to serve the request, including the injected delay, in nanoseconds.
+     * @param error        Whether the request was answered with an error status.
+     */
+    void record(long latencyNanos, boolean error) {
+
+        requestCount.increment();
+        if (error) {
+            errorCount.increment();
+        }
+        latencies.record(latencyNanos);
+    }
+
+    public long getRequestCount() {
+
+        return requestCount.sum();
+    }
+
+    public long getErrorCount() {
+
+        return errorCount.sum();
+    }
+
+    /**
+     * Get the mean latency.
+     *
+     * @return Mean latency in milliseconds, or 0 if nothing was recorded.
+     */
+    public double mean() {
+
+        return latencies.mean();
+    }
+
+    /**
+     * Get a percentile of the latency, as the upper bound of the histogram bucket it falls in.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency at the percentile in milliseconds, or 0 if nothing was recorded.
+     */
+    public double percentile(double percentile) {
+
+        return latencies.percentile(percentile);
+    }
+}
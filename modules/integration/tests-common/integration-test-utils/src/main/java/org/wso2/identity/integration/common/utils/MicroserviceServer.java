@@ -18,36 +18,104 @@
 
 package org.wso2.identity.integration.common.utils;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wso2.msf4j.MicroservicesRunner;
+import org.wso2.msf4j.Request;
+import org.wso2.msf4j.Response;
+import org.wso2.msf4j.interceptor.RequestInterceptor;
+import org.wso2.msf4j.interceptor.ResponseInterceptor;
+import org.wso2.transport.http.netty.config.ListenerConfiguration;
+import org.wso2.transport.http.netty.config.TransportProperty;
+import org.wso2.transport.http.netty.config.TransportsConfiguration;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
 
 /**
  * Implements microservice server to serve a test request.
  * Uses MSF4J as the microservice server.
+ * <p>
+ * When created with a {@link MicroservicePerformanceProfile}, the server runs in performance mode, so that it can
+ * stand in for an external service in a load test without becoming the bottleneck. The transport runs the threads of
+ * the profile, the responses are delayed and failed as the profile of their route says, and the requests and the
+ * latency of each route are counted in {@link MicroserviceRouteStats}. The statistics are logged when the server is
+ * stopped, so that a load test which uses the server as a stand in shows whether the stand in kept up with it.
  */
 public class MicroserviceServer {
 
+    private static final Log log = LogFactory.getLog(MicroserviceServer.class);
+    private static final String LISTENER_ID = "microservice-http";
+    private static final String BOSS_GROUP_SIZE = "server.bootstrap.boss.group.size";
+    private static final String WORKER_GROUP_SIZE = "server.bootstrap.worker.group.size";
+    private static final String START_TIME_PROPERTY = "microservice.mock.startTime";
+    private static final String FAILED_PROPERTY = "microservice.mock.failed";
+    private static final String UNMATCHED_ROUTE = "*";
+    private static final Pattern PATH_PARAMETER = Pattern.compile("\\{\\s*[^}:\\s]+\\s*(?::\\s*([^}]+?)\\s*)?}");
+
     private MicroservicesRunner microservicesRunner;
     private int port = 18080;
     private boolean isActive;
+    private final MicroservicePerformanceProfile performanceProfile;
+    private final Map<String, MicroservicePerformanceProfile> routeProfiles = new ConcurrentHashMap<>();
+    private final Map<String, MicroserviceRouteStats> routeStats = new ConcurrentHashMap<>();
+    private final List<ResourceTemplate> resourceTemplates = new CopyOnWriteArrayList<>();
 
     public MicroserviceServer(int port) {
 
+        this(port, null);
+    }
+
+    /**
+     * Create a server.
+     *
+     * @param port               Port to listen on.
+     * @param performanceProfile Performance mode settings, or null to serve the requests as they come.
+     */
+    public MicroserviceServer(int port, MicroservicePerformanceProfile performanceProfile) {
+
         this.port = port;
+        this.performanceProfile = performanceProfile;
     }
 
     public void init() {
 
-        microservicesRunner = new MicroservicesRunner(port);
+        if (performanceProfile == null) {
+            microservicesRunner = new MicroservicesRunner(port);
+            return;
+        }
+        microservicesRunner = new MicroservicesRunner(buildTransportsConfiguration());
+        microservicesRunner.addGlobalRequestInterceptor(new ProfileRequestInterceptor());
+        microservicesRunner.addGlobalResponseInterceptor(new StatsResponseInterceptor());
+        log.info("Microservice server on port " + port + " is in performance mode with " +
+                performanceProfile.getWorkerThreads() + " worker threads.");
     }
 
     public void addService(String path, Object service) {
 
         microservicesRunner.deploy(path, service);
+        addResourceTemplates(path, service);
     }
 
     public void addService(Object service) {
 
         microservicesRunner.deploy(service);
+        addResourceTemplates("", service);
     }
 
     public void start() {
@@ -61,6 +129,9 @@ public class MicroserviceServer {
         if (microservicesRunner != null) {
             microservicesRunner.stop();
         }
+        if (isActive && performanceProfile != null) {
+            logRouteStats();
+        }
         isActive = false;
     }
 
@@ -79,4 +150,234 @@ public class MicroserviceServer {
 
         return isActive;
     }
+
+    /**
+     * Set the latency and the errors of the routes under the given path, in performance mode. The profile of the
+     * longest matching path is used, and the server profile is used for the routes under none of the paths. A path
+     * matches the routes whose path is equal to it or starts with it followed by a "/".
+     *
+     * @param path    Path of the routes, eg: /risk-based-login-endpoint.
+     * @param profile Latency and error settings of the routes.
+     */
+    public void setRouteProfile(String path, MicroservicePerformanceProfile profile) {
+
+        routeProfiles.put(path, profile);
+    }
+
+    public void removeRouteProfile(String path) {
+
+        routeProfiles.remove(path);
+    }
+
+    /**
+     * Get the request counters and latencies of each route served in performance mode.
+     *
+     * The requests are counted under the resource template of the deployed service which serves them, so that the
+     * requests to /users/{id} are counted together whatever the id is. The requests which match no resource are
+     * counted under the longest matching path of {@link #setRouteProfile(String, MicroservicePerformanceProfile)},
+     * and the others under "*", so that the number of routes does not grow with the requested paths.
+     *
+     * @return Statistics keyed by the HTTP method and the route, eg: POST /risk-based-login-endpoint.
+     */
+    public Map<String, MicroserviceRouteStats> getRouteStats() {
+
+        return Collections.unmodifiableMap(new TreeMap<>(routeStats));
+    }
+
+    private void logRouteStats() {
+
+        for (Map.Entry<String, MicroserviceRouteStats> entry : getRouteStats().entrySet()) {
+            MicroserviceRouteStats stats = entry.getValue();
+            log.info(String.format("Microservice server on port %d served %s: requests=%d errors=%d mean=%.2fms " +
+                            "p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms", port, entry.getKey(),
+                    stats.getRequestCount(), stats.getErrorCount(), stats.mean(), stats.percentile(50),
+                    stats.percentile(90), stats.percentile(99), stats.percentile(100)));
+        }
+    }
+
+    private TransportsConfiguration buildTransportsConfiguration() {
+
+        Set<TransportProperty> transportProperties = new HashSet<>();
+        transportProperties.add(transportProperty(BOSS_GROUP_SIZE, performanceProfile.getBossThreads()));
+        transportProperties.add(transportProperty(WORKER_GROUP_SIZE, performanceProfile.getWorkerThreads()));
+
+        TransportsConfiguration transportsConfiguration = new TransportsConfiguration();
+        transportsConfiguration.setTransportProperties(transportProperties);
+        transportsConfiguration.setListenerConfigurations(Collections.singleton(
+                new ListenerConfiguration(LISTENER_ID, "0.0.0.0", port)));
+        return transportsConfiguration;
+    }
+
+    private static TransportProperty transportProperty(String name, Object value) {
+
+        TransportProperty transportProperty = new TransportProperty();
+        transportProperty.setName(name);
+        transportProperty.setValue(value);
+        return transportProperty;
+    }
+
+    private MicroservicePerformanceProfile getProfile(String path) {
+
+        String matchedPath = longestPrefix(path, routeProfiles.keySet());
+        MicroservicePerformanceProfile profile = matchedPath != null ? routeProfiles.get(matchedPath) : null;
+        return profile != null ? profile : performanceProfile;
+    }
+
+    /**
+     * Get the route under which a request is counted.
+     *
+     * @param path Path of the request, without the query.
+     * @return Longest matching resource template, else longest matching route profile path, else "*".
+     */
+    String getRoute(String path) {
+
+        String route = null;
+        for (ResourceTemplate resourceTemplate : resourceTemplates) {
+            if (resourceTemplate.matches(path) && (route == null ||
+                    resourceTemplate.template.length() > route.length())) {
+                route = resourceTemplate.template;
+            }
+        }
+        if (route == null) {
+            route = longestPrefix(path, routeProfiles.keySet());
+        }
+        return route != null ? route : UNMATCHED_ROUTE;
+    }
+
+    private static String longestPrefix(String path, Collection<String> prefixes) {
+
+        String matchedPrefix = null;
+        for (String prefix : prefixes) {
+            boolean matches = path.equals(prefix) || "/".equals(prefix) || (path.startsWith(prefix) &&
+                    (prefix.endsWith("/") || path.charAt(prefix.length()) == '/'));
+            if (matches && (matchedPrefix == null || prefix.length() > matchedPrefix.length())) {
+                matchedPrefix = prefix;
+            }
+        }
+        return matchedPrefix;
+    }
+
+    /**
+     * Keep the resource templates of a deployed service, ie: its base path, the path of its class and the path of
+     * each of its resource methods.
+     *
+     * @param basePath Path the service is deployed under.
+     * @param service  Deployed service.
+     */
+    private void addResourceTemplates(String basePath, Object service) {
+
+        Path servicePath = service.getClass().getAnnotation(Path.class);
+        String prefix = joinPaths(basePath, servicePath != null ? servicePath.value() : "");
+        for (Method method : service.getClass().getMethods()) {
+            Path methodPath = method.getAnnotation(Path.class);
+            if (methodPath != null) {
+                resourceTemplates.add(new ResourceTemplate(joinPaths(prefix, methodPath.value())));
+            } else if (isResourceMethod(method)) {
+                resourceTemplates.add(new ResourceTemplate(prefix));
+            }
+        }
+    }
+
+    private static boolean isResourceMethod(Method method) {
+
+        for (Annotation annotation : method.getAnnotations()) {
+            if (annotation.annotationType().isAnnotationPresent(HttpMethod.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String joinPaths(String first, String second) {
+
+        String path = ("/" + first + "/" + second).replaceAll("/+", "/");
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String getPath(Request request) {
+
+        String uri = request.getUri();
+        int queryStart = uri.indexOf('?');
+        return queryStart < 0 ? uri : uri.substring(0, queryStart);
+    }
+
+    private void recordRequest(Request request, boolean error) {
+
+        Object startTime = request.getProperty(START_TIME_PROPERTY);
+        if (!(startTime instanceof Long)) {
+            return;
+        }
+        String route = request.getHttpMethod() + " " + getRoute(getPath(request));
+        routeStats.computeIfAbsent(route, key -> new MicroserviceRouteStats())
+                .record(System.nanoTime() - (Long) startTime, error);
+    }
+
+    /**
+     * Delays the requests and fails them, as the profile of their route says.
+     */
+    private class ProfileRequestInterceptor implements RequestInterceptor {
+
+        @Override
+        public boolean interceptRequest(Request request, Response response) throws Exception {
+
+            request.setProperty(START_TIME_PROPERTY, System.nanoTime());
+            MicroservicePerformanceProfile profile = getProfile(getPath(request));
+            long latencyMillis = profile.nextLatencyMillis();
+            if (latencyMillis > 0) {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            }
+            if (profile.nextFailure()) {
+                request.setProperty(FAILED_PROPERTY, Boolean.TRUE);
+                response.setStatus(profile.getFailureStatus());
+                recordRequest(request, true);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Records the served requests in the statistics of their route.
+     */
+    private class StatsResponseInterceptor implements ResponseInterceptor {
+
+        @Override
+        public boolean interceptResponse(Request request, Response response) throws Exception {
+
+            if (request.getProperty(FAILED_PROPERTY) == null) {
+                recordRequest(request, response.getStatusCode() >= 400);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A path of a deployed service, in which the path parameters match any segment, or the regular expression given
+     * with the parameter.
+     */
+    private static class ResourceTemplate {
+
+        private final String template;
+        private final Pattern pattern;
+
+        ResourceTemplate(String template) {
+
+            this.template = template;
+            StringBuilder regex = new StringBuilder();
+            Matcher matcher = PATH_PARAMETER.matcher(template);
+            int end = 0;
+            while (matcher.find()) {
+                regex.append(Pattern.quote(template.substring(end, matcher.start())));
+                regex.append('(').append(matcher.group(1) != null ? matcher.group(1) : "[^/]+").append(')');
+                end = matcher.end();
+            }
+            regex.append(Pattern.quote(template.substring(end))).append("/?");
+            this.pattern = Pattern.compile(regex.toString());
+        }
+
+        boolean matches(String path) {
+
+            return pattern.matcher(path).matches();
+        }
+    }
 }
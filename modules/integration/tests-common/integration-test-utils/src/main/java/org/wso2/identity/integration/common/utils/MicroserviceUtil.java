@@ -26,14 +26,29 @@ public class MicroserviceUtil {
     /**
      * Initializes the micro-service server.
      * Detects an available port from the system and use that for the microservice server.
+     * The server runs in performance mode when it is enabled with the system properties of
+     * {@link MicroservicePerformanceProfile}.
      */
     public static MicroserviceServer initMicroserviceServer() throws IOException {
 
+        return initMicroserviceServer(MicroservicePerformanceProfile.fromSystemProperties());
+    }
+
+    /**
+     * Initializes the micro-service server with the given performance profile, on an available port.
+     *
+     * @param performanceProfile Performance mode settings, or null to serve the requests as they come.
+     * @return Initialized server.
+     * @throws IOException If an available port cannot be found.
+     */
+    public static MicroserviceServer initMicroserviceServer(MicroservicePerformanceProfile performanceProfile)
+            throws IOException {
+
         ServerSocket s = new ServerSocket(0);
         int port = s.getLocalPort();
         s.close();
 
-        MicroserviceServer microserviceServer = new MicroserviceServer(port);
+        MicroserviceServer microserviceServer = new MicroserviceServer(port, performanceProfile);
         microserviceServer.init();
         return microserviceServer;
     }
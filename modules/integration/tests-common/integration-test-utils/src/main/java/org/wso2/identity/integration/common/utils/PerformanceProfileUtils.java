@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+/**
+ * Validation of the settings of the performance profiles of the mock servers, eg:
+ * {@link MicroservicePerformanceProfile}, so that a mistyped rate or count given with a system property fails the
+ * test setup instead of a request of the load.
+ */
+public class PerformanceProfileUtils {
+
+    private PerformanceProfileUtils() {
+
+    }
+
+    /**
+     * Check that a ratio is between 0 and 1.
+     *
+     * @param name  Name of the setting, used in the error message.
+     * @param ratio Ratio to check.
+     * @return The ratio.
+     * @throws IllegalArgumentException If the ratio is not between 0 and 1.
+     */
+    public static double checkRatio(String name, double ratio) {
+
+        if (!(ratio >= 0 && ratio <= 1)) {
+            throw new IllegalArgumentException("Invalid " + name + ", expected a ratio between 0 and 1: " + ratio);
+        }
+        return ratio;
+    }
+
+    /**
+     * Check that a value is not less than the given minimum.
+     *
+     * @param name    Name of the setting, used in the error message.
+     * @param value   Value to check.
+     * @param minimum Minimum allowed value.
+     * @return The value.
+     * @throws IllegalArgumentException If the value is less than the minimum.
+     */
+    public static int checkAtLeast(String name, int value, int minimum) {
+
+        return (int) checkAtLeast(name, (long) value, minimum);
+    }
+
+    /**
+     * Check that a value is not less than the given minimum.
+     *
+     * @param name    Name of the setting, used in the error message.
+     * @param value   Value to check.
+     * @param minimum Minimum allowed value.
+     * @return The value.
+     * @throws IllegalArgumentException If the value is less than the minimum.
+     */
+    public static long checkAtLeast(String name, long value, long minimum) {
+
+        if (value < minimum) {
+            throw new IllegalArgumentException("Invalid " + name + ", expected at least " + minimum + ": " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Check that a status is a valid HTTP status.
+     *
+     * @param status HTTP status to check.
+     * @return The status.
+     * @throws IllegalArgumentException If the status is not between 100 and 599.
+     */
+    public static int checkStatus(int status) {
+
+        if (status < 100 || status > 599) {
+            throw new IllegalArgumentException("Invalid failure status: " + status);
+        }
+        return status;
+    }
+
+    /**
+     * Parse a number given with a system property.
+     *
+     * @param property Name of the system property, used in the error message.
+     * @param value    Value of the system property.
+     * @return The number.
+     * @throws IllegalArgumentException If the value is not a number.
+     */
+    public static double parseDouble(String property, String value) {
+
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number given with " + property + ": " + value, e);
+        }
+    }
+
+    /**
+     * Parse an integer given with a system property.
+     *
+     * @param property Name of the system property, used in the error message.
+     * @param value    Value of the system property.
+     * @return The integer.
+     * @throws IllegalArgumentException If the value is not an integer.
+     */
+    public static long parseLong(String property, String value) {
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer given with " + property + ": " + value, e);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.wso2.identity.integration.common.clients.user.store.config.UserStoreC
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Util class which carries common functionality required by the user store configuration scenarios
@@ -40,41 +41,42 @@ public class UserStoreConfigUtils {
     public boolean waitForUserStoreDeployment(UserStoreConfigAdminServiceClient userStoreConfigAdminServiceClient,
                                               String domain) throws Exception {
 
-        long waitTime = System.currentTimeMillis() + 30000; //wait for 45 seconds
-        while (System.currentTimeMillis() < waitTime) {
-            UserStoreDTO[] userStoreDTOs = userStoreConfigAdminServiceClient.getActiveDomains();
-            if (userStoreDTOs != null) {
-                for (UserStoreDTO userStoreDTO : userStoreDTOs) {
-                    if (userStoreDTO != null) {
-                        if (userStoreDTO.getDomainId().equalsIgnoreCase(domain)) {
-                            return true;
-                        }
-                    }
-                }
-            }
-            Thread.sleep(500);
-        }
-        return false;
+        return WaitUtils.waitFor("user store " + domain + " is deployed",
+                () -> isUserStoreActive(userStoreConfigAdminServiceClient, domain), 30, TimeUnit.SECONDS);
     }
 
+    /**
+     * Wait until the given user store is no longer active, for up to 20 seconds.
+     * <p>
+     * As before, this always returns true once the wait is over, even when the user store is still listed as active,
+     * since the callers only need the undeployment to have had its time. A timeout is logged as a warning.
+     *
+     * @param userStoreConfigAdminServiceClient Client of the user store configuration admin service.
+     * @param domain                            Domain of the user store.
+     * @return Always true.
+     * @throws Exception If the active user stores cannot be retrieved.
+     */
     public boolean waitForUserStoreUnDeployment(UserStoreConfigAdminServiceClient userStoreConfigAdminServiceClient,
                                                 String domain) throws Exception {
 
-        long waitTime = System.currentTimeMillis() + 20000; //wait for 15 seconds
-        while (System.currentTimeMillis() < waitTime) {
-            UserStoreDTO[] userStoreDTOs = userStoreConfigAdminServiceClient.getActiveDomains();
-            userStoreConfigAdminServiceClient.getActiveDomains();
-            if (userStoreDTOs != null) {
-                for (UserStoreDTO userStoreDTO : userStoreDTOs) {
-                    if (userStoreDTO != null && userStoreDTO.getDomainId() != null) {
-                        if (userStoreDTO.getDomainId().equalsIgnoreCase(domain)) {
-                            Thread.sleep(500);
-                        }
-                    }
+        WaitUtils.waitFor("user store " + domain + " is undeployed",
+                () -> !isUserStoreActive(userStoreConfigAdminServiceClient, domain), 20, TimeUnit.SECONDS);
+        return true;
+    }
+
+    private boolean isUserStoreActive(UserStoreConfigAdminServiceClient userStoreConfigAdminServiceClient,
+                                      String domain) throws Exception {
+
+        UserStoreDTO[] userStoreDTOs = userStoreConfigAdminServiceClient.getActiveDomains();
+        if (userStoreDTOs != null) {
+            for (UserStoreDTO userStoreDTO : userStoreDTOs) {
+                if (userStoreDTO != null && userStoreDTO.getDomainId() != null &&
+                        userStoreDTO.getDomainId().equalsIgnoreCase(domain)) {
+                    return true;
                 }
             }
         }
-        return true;
+        return false;
     }
 
     /**
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A push signal which wakes up the threads waiting in {@link WaitUtils} as soon as something of interest happens, eg:
+ * a request served by the actions mock server, a batch of events received by the analytics receiver or a line written
+ * to the server log.
+ * <p>
+ * Signals are not lost between two checks of a condition: a waiter which missed a signal while it was evaluating its
+ * condition returns immediately from the next wait and re-evaluates the condition.
+ */
+public class WaitSignal {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition signalled = lock.newCondition();
+    private long generation;
+
+    /**
+     * Wake up all the threads waiting on this signal.
+     */
+    public void signal() {
+
+        lock.lock();
+        try {
+            generation++;
+            signalled.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the current generation of the signal, which is incremented each time the signal is raised.
+     *
+     * @return Current generation of the signal.
+     */
+    public long getGeneration() {
+
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the signal is raised after the given generation, or the timeout elapses.
+     *
+     * @param lastSeenGeneration Generation of the signal seen by the caller before it checked its condition.
+     * @param timeout            Maximum time to wait.
+     * @param unit               Unit of the timeout.
+     * @return True if the signal was raised after the given generation.
+     * @throws InterruptedException If the waiting thread is interrupted.
+     */
+    public boolean await(long lastSeenGeneration, long timeout, TimeUnit unit) throws InterruptedException {
+
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (generation == lastSeenGeneration) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = signalled.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utilities to wait for asynchronous operations of the server under test, eg: user store deployment, workflow
+ * deployment or application sharing, instead of sleeping for a fixed time.
+ * <p>
+ * Conditions are polled with an exponential backoff, so that fast operations are detected within milliseconds while
+ * slow ones do not flood the server with checks. When a {@link WaitSignal} is given, the waiting thread is also woken
+ * up as soon as the signal is raised, so push based events are detected without waiting for the next poll.
+ */
+public class WaitUtils {
+
+    private static final Log log = LogFactory.getLog(WaitUtils.class);
+    private static final long INITIAL_POLL_INTERVAL_MILLIS = 100;
+    private static final long MAX_POLL_INTERVAL_MILLIS = 2000;
+    private static final int BACKOFF_MULTIPLIER = 2;
+    private static final int PROBE_TIMEOUT_MILLIS = 5000;
+
+    private WaitUtils() {
+
+    }
+
+    /**
+     * Condition to wait for.
+     */
+    public interface Condition {
+
+        /**
+         * Check whether the condition is satisfied.
+         *
+         * @return True if the condition is satisfied.
+         * @throws Exception If an error occurred while checking the condition. The wait is aborted.
+         */
+        boolean isSatisfied() throws Exception;
+    }
+
+    /**
+     * Wait until the given condition is satisfied, polling it with an exponential backoff.
+     *
+     * @param description Description of the condition, used for logging.
+     * @param condition   Condition to wait for.
+     * @param timeout     Maximum time to wait.
+     * @param unit        Unit of the timeout.
+     * @return True if the condition was satisfied within the timeout.
+     * @throws Exception If an error occurred while checking the condition.
+     */
+    public static boolean waitFor(String description, Condition condition, long timeout, TimeUnit unit)
+            throws Exception {
+
+        return waitFor(description, condition, null, timeout, unit);
+    }
+
+    /**
+     * Wait until the given condition is satisfied. The condition is checked each time the given signal is raised and
+     * is also polled with an exponential backoff, in case the event behind the signal is missed.
+     *
+     * @param description Description of the condition, used for logging.
+     * @param condition   Condition to wait for.
+     * @param signal      Signal raised when the condition may have been satisfied. Can be null.
+     * @param timeout     Maximum time to wait.
+     * @param unit        Unit of the timeout.
+     * @return True if the condition was satisfied within the timeout.
+     * @throws Exception If an error occurred while checking the condition.
+     */
+    public static boolean waitFor(String description, Condition condition, WaitSignal signal, long timeout,
+                                  TimeUnit unit) throws Exception {
+
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        long pollInterval = INITIAL_POLL_INTERVAL_MILLIS;
+        int attempts = 0;
+        while (true) {
+            long generation = signal != null ? signal.getGeneration() : 0;
+            attempts++;
+            if (condition.isSatisfied()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Condition '" + description + "' satisfied in " +
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " millis after " + attempts +
+                            " attempt(s).");
+                }
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                log.warn("Condition '" + description + "' was not satisfied within " + unit.toMillis(timeout) +
+                        " millis after " + attempts + " attempt(s).");
+                return false;
+            }
+            long waitNanos = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(pollInterval));
+            if (signal != null) {
+                signal.await(generation, waitNanos, TimeUnit.NANOSECONDS);
+            } else {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            pollInterval = Math.min(pollInterval * BACKOFF_MULTIPLIER, MAX_POLL_INTERVAL_MILLIS);
+        }
+    }
+
+    /**
+     * Wait until the given signal is raised, without any condition to poll.
+     *
+     * @param description Description of the event, used for logging.
+     * @param signal      Signal to wait for.
+     * @param timeout     Maximum time to wait.
+     * @param unit        Unit of the timeout.
+     * @return True if the signal was raised within the timeout.
+     * @throws InterruptedException If the waiting thread is interrupted.
+     */
+    public static boolean waitForSignal(String description, WaitSignal signal, long timeout, TimeUnit unit)
+            throws InterruptedException {
+
+        if (signal.await(signal.getGeneration(), timeout, unit)) {
+            return true;
+        }
+        log.warn("Event '" + description + "' did not occur within " + unit.toMillis(timeout) + " millis.");
+        return false;
+    }
+
+    /**
+     * Wait until the given endpoint responds with a successful (2xx) status code. Connection failures are treated as
+     * the endpoint not being ready yet.
+     *
+     * @param url     URL of the endpoint to probe with a GET request.
+     * @param timeout Maximum time to wait.
+     * @param unit    Unit of the timeout.
+     * @return True if the endpoint became ready within the timeout.
+     * @throws Exception If the waiting thread is interrupted.
+     */
+    public static boolean waitForEndpoint(String url, long timeout, TimeUnit unit) throws Exception {
+
+        return waitFor("endpoint " + url + " is ready", () -> isEndpointReady(url), timeout, unit);
+    }
+
+    private static boolean isEndpointReady(String url) {
+
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(PROBE_TIMEOUT_MILLIS);
+            connection.setReadTimeout(PROBE_TIMEOUT_MILLIS);
+            connection.setRequestMethod("GET");
+            int statusCode = connection.getResponseCode();
+            return statusCode >= HttpURLConnection.HTTP_OK && statusCode < HttpURLConnection.HTTP_MULT_CHOICE;
+        } catch (IOException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Endpoint " + url + " is not ready yet: " + e.getMessage());
+            }
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
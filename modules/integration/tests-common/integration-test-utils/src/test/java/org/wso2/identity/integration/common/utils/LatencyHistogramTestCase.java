@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the buckets and the percentiles of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @DataProvider(name = "latencies")
+    public Object[][] latencies() {
+
+        return new Object[][]{
+                {0L}, {1L}, {3L}, {4L}, {5L}, {7L}, {8L}, {9L}, {15L}, {16L}, {1000L}, {1023L}, {1024L},
+                {1_000_000L}, {TimeUnit.SECONDS.toNanos(30)}, {Long.MAX_VALUE - 1}, {Long.MAX_VALUE}
+        };
+    }
+
+    @Test(description = "A latency falls in the bucket whose bounds hold it.", dataProvider = "latencies")
+    public void testBucketBounds(long nanos) {
+
+        int bucket = LatencyHistogram.bucketOf(nanos);
+
+        Assert.assertTrue(bucket >= 0 && bucket < LatencyHistogram.BUCKETS, "Bucket out of range: " + bucket);
+        Assert.assertTrue(LatencyHistogram.upperBoundOf(bucket) >= nanos,
+                "Upper bound of the bucket of " + nanos + " is below it.");
+        Assert.assertTrue(lowerBoundOf(bucket) <= nanos, "Lower bound of the bucket of " + nanos + " is above it.");
+    }
+
+    @Test(description = "Small latencies have a bucket of their own.")
+    public void testSmallLatencies() {
+
+        for (long nanos = 0; nanos < 4; nanos++) {
+            Assert.assertEquals(LatencyHistogram.bucketOf(nanos), nanos);
+            Assert.assertEquals(LatencyHistogram.upperBoundOf((int) nanos), nanos);
+        }
+    }
+
+    @Test(description = "The buckets do not go down as the latency goes up, and are at most 25% wide.")
+    public void testBucketsOrderedAndNarrow() {
+
+        int previous = -1;
+        for (long nanos = 0; nanos < 100_000; nanos++) {
+            int bucket = LatencyHistogram.bucketOf(nanos);
+            Assert.assertTrue(bucket >= previous, "Bucket went down at " + nanos);
+            previous = bucket;
+        }
+        for (long nanos = 4; nanos < Long.MAX_VALUE / 3; nanos = nanos * 3 + 1) {
+            int bucket = LatencyHistogram.bucketOf(nanos);
+            long width = LatencyHistogram.upperBoundOf(bucket) - lowerBoundOf(bucket) + 1;
+            Assert.assertTrue(width <= lowerBoundOf(bucket) / 4 + 1, "Bucket of " + nanos + " is too wide.");
+        }
+    }
+
+    @Test(description = "A percentile is the upper bound of the bucket it falls in.")
+    public void testPercentile() {
+
+        LatencyHistogram stats = new LatencyHistogram();
+        Assert.assertEquals(stats.percentile(99), 0.0);
+
+        for (int i = 1; i <= 100; i++) {
+            stats.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        Assert.assertEquals(stats.getCount(), 100);
+        Assert.assertEquals(stats.mean(), 50.5, 0.001);
+
+        double median = stats.percentile(50);
+        Assert.assertTrue(median >= 50 && median <= 50 * 1.25, "Median is off: " + median);
+        double max = stats.percentile(100);
+        Assert.assertTrue(max >= 100 && max <= 100 * 1.25, "Maximum is off: " + max);
+    }
+
+    private static long lowerBoundOf(int bucket) {
+
+        // The buckets between the small latencies and the first power of two above them, ie: 4 to 7, are unused.
+        for (int previous = bucket - 1; previous >= 0; previous--) {
+            if (LatencyHistogram.bucketOf(LatencyHistogram.upperBoundOf(previous)) == previous) {
+                return LatencyHistogram.upperBoundOf(previous) + 1;
+            }
+        }
+        return 0;
+    }
+}
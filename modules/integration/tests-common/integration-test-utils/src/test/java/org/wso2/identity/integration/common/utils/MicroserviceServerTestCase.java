@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.common.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+/**
+ * Tests the performance mode of {@link MicroserviceServer}: the routes the requests are counted under, and the
+ * latency and the failures injected by its request interceptor.
+ */
+public class MicroserviceServerTestCase {
+
+    private MicroserviceServer server;
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+
+        if (server != null && server.isActive()) {
+            MicroserviceUtil.destroyService(server);
+        }
+        server = null;
+    }
+
+    @Test(description = "Requests are counted under the longest matching resource template, else the longest " +
+            "matching route profile path, else \"*\".")
+    public void testRouteMatching() throws Exception {
+
+        server = MicroserviceUtil.initMicroserviceServer(new MicroservicePerformanceProfile());
+        server.addService(new UserService());
+        server.addService("/tenants/", new HealthService());
+        server.setRouteProfile("/users", new MicroservicePerformanceProfile());
+
+        Assert.assertEquals(server.getRoute("/users/alice"), "/users/{id}");
+        Assert.assertEquals(server.getRoute("/users/alice/"), "/users/{id}",
+                "A trailing slash should match the template.");
+        Assert.assertEquals(server.getRoute("/users/42/groups"), "/users/{id: [0-9]+}/groups");
+        Assert.assertEquals(server.getRoute("/users/alice/groups"), "/users",
+                "A path which breaks the parameter expression should fall back to the route profile.");
+        Assert.assertEquals(server.getRoute("/users"), "/users", "The service path has no resource method.");
+        Assert.assertEquals(server.getRoute("/tenants/health"), "/tenants/health",
+                "The base path of a deployed service should be part of its templates.");
+        Assert.assertEquals(server.getRoute("/usersx/alice"), "*",
+                "A route profile path should match whole path segments only.");
+        Assert.assertEquals(server.getRoute("/other"), "*");
+    }
+
+    @Test(description = "The responses are delayed by the latency of the profile, and counted under their template.")
+    public void testLatencyInjection() throws Exception {
+
+        server = MicroserviceUtil.initMicroserviceServer(new MicroservicePerformanceProfile().fixedLatency(200));
+        MicroserviceUtil.deployService(server, new UserService());
+
+        long startNanos = System.nanoTime();
+        Assert.assertEquals(get("/users/alice"), 200);
+        Assert.assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(200),
+                "The response was not delayed by the latency of the profile.");
+        Assert.assertEquals(get("/users/bob"), 200);
+
+        MicroserviceRouteStats stats = getStats("GET /users/{id}", 2);
+        Assert.assertEquals(stats.getErrorCount(), 0);
+        Assert.assertTrue(stats.mean() >= 200, "The injected latency is not in the statistics: " + stats.mean());
+    }
+
+    @Test(description = "The requests under a route profile are failed as it says, and the others are served.")
+    public void testFailureInjection() throws Exception {
+
+        server = MicroserviceUtil.initMicroserviceServer(new MicroservicePerformanceProfile());
+        server.setRouteProfile("/users", new MicroservicePerformanceProfile().failureRate(1).failureStatus(503));
+        server.addService(new UserService());
+        MicroserviceUtil.deployService(server, new HealthService());
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(get("/users/alice"), 503);
+        }
+        Assert.assertEquals(get("/health"), 200, "A route without a failing profile should be served.");
+
+        Assert.assertEquals(getStats("GET /users/{id}", 3).getErrorCount(), 3);
+        Assert.assertEquals(getStats("GET /health", 1).getErrorCount(), 0);
+    }
+
+    private int get(String path) throws IOException {
+
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path)
+                .openConnection();
+        try {
+            int status = connection.getResponseCode();
+            try (InputStream stream = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (stream != null) {
+                    while (stream.read() != -1) {
+                        // Read the response fully, so that the connection is reused.
+                    }
+                }
+            }
+            return status;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Get the statistics of a route once the given number of requests are recorded, as a request is recorded by the
+     * response interceptor, which may run after the response is received.
+     */
+    private MicroserviceRouteStats getStats(String route, long requestCount) throws Exception {
+
+        Assert.assertTrue(WaitUtils.waitFor(requestCount + " requests of " + route + " are recorded", () -> {
+            MicroserviceRouteStats stats = server.getRouteStats().get(route);
+            return stats != null && stats.getRequestCount() >= requestCount;
+        }, 10, TimeUnit.SECONDS), "Statistics of " + route + " were not recorded: " + server.getRouteStats());
+        Map<String, MicroserviceRouteStats> routeStats = server.getRouteStats();
+        Assert.assertEquals(routeStats.get(route).getRequestCount(), requestCount);
+        return routeStats.get(route);
+    }
+
+    /**
+     * Service with a path parameter, and a path parameter restricted by a regular expression.
+     */
+    @Path("/users")
+    public static class UserService {
+
+        @GET
+        @Path("/{id}")
+        public String getUser(@PathParam("id") String id) {
+
+            return id;
+        }
+
+        @GET
+        @Path("/{id: [0-9]+}/groups")
+        public String getGroups(@PathParam("id") String id) {
+
+            return "[]";
+        }
+    }
+
+    /**
+     * Service whose resource method has no path of its own.
+     */
+    @Path("/health")
+    public static class HealthService {
+
+        @GET
+        public String getHealth() {
+
+            return "OK";
+        }
+    }
+}
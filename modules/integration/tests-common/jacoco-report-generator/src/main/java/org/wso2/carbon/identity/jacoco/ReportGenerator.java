@@ -18,43 +18,71 @@
 
 package org.wso2.carbon.identity.jacoco;
 
-import org.codehaus.plexus.util.DirectoryScanner;
-import org.codehaus.plexus.util.FileUtils;
 import org.jacoco.core.analysis.Analyzer;
 import org.jacoco.core.analysis.CoverageBuilder;
 import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.data.ExecutionDataStore;
 import org.jacoco.core.tools.ExecFileLoader;
 import org.jacoco.report.DirectorySourceFileLocator;
 import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.xml.XMLFormatter;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 /**
- * This will create an XML report projects based on a single execution data store called jacoco.exec.
+ * This will create an XML report based on one or more execution data files, eg: jacoco.exec.
+ * <p>
+ * The execution data files are merged before the analysis. The archives in the class directories are analyzed in
+ * parallel, each streamed through a {@link ZipInputStream} straight into its own {@link Analyzer}, so nothing is
+ * extracted to the disk. The analysis of an archive is cached by the SHA-256 hash of its content, so an archive
+ * which is shipped in more than one class directory is analyzed only once.
+ * <p>
+ * The number of analysis threads is set with the {@value #THREADS_PROPERTY} system property, and defaults to the
+ * number of available processors.
  */
 public class ReportGenerator {
 
-    private static final String CLASS_FILE_PATTERN = "**/*.class";
-    private static final int BUFFER_SIZE = 1024;
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String EXEC_FILE_EXTENSION = ".exec";
+    private static final String EXEC_FILE_SEPARATOR = ",";
+    private static final String THREADS_PROPERTY = "jacoco.report.threads";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
     private static final String INVALID_EXTENSION_ERROR = "Invalid extension: %s is invalid";
-    private static final String EXTRACTION_ERROR = "Error on archive extraction";
+    private static final String ANALYSIS_ERROR = "Error while analyzing the archive %s";
 
     private final String title;
-    private final File executionDataFile;
+    private final List<File> executionDataFiles;
     private final Set<File> classDirectories;
     private final File xmlReport;
-    private final File tempDirectory;
+    private final int threads;
+    // Analysis of the archives, by the hash of their content.
+    private final Map<String, CompletableFuture<Collection<IClassCoverage>>> analysisCache =
+            new ConcurrentHashMap<>();
 
     private ExecFileLoader execFileLoader;
 
@@ -62,25 +90,32 @@ public class ReportGenerator {
      * Starts the report generation process
      *
      * @param args Arguments to the report generation.
-     *             <executionDataFile> <classDirectory1> [<classDirectory2> ...]
+     *             <executionDataFile>[,<executionDataFile2> ...] <classDirectory1> [<classDirectory2> ...]
+     *             An execution data file can also be a directory, in which case all the .exec files in it are used.
      * @throws IOException
      */
     public static void main(final String[] args) throws IOException {
 
         if (args.length < 2) {
-            System.err.println("Usage: java -jar ReportGenerator.jar <executionDataFile> <classDirectory1> " +
-                    "[<classDirectory2> ...]");
+            System.err.println("Usage: java -jar ReportGenerator.jar <executionDataFile>[,<executionDataFile2> ...] " +
+                    "<classDirectory1> [<classDirectory2> ...]");
             System.exit(1);
         }
 
-        File executionDataFile = new File(args[0]);
-        Set<File> classDirectories = new HashSet<>();
+        List<File> executionDataFiles = new ArrayList<>();
+        for (String executionDataFile : args[0].split(EXEC_FILE_SEPARATOR)) {
+            if (!executionDataFile.trim().isEmpty()) {
+                executionDataFiles.add(new File(executionDataFile.trim()));
+            }
+        }
+        // Keep the order of the directories, so that the report is the same for the same arguments.
+        Set<File> classDirectories = new LinkedHashSet<>();
         for (int i = 1; i < args.length; i++) {
             classDirectories.add(new File(args[i]));
         }
 
         try {
-            final ReportGenerator generator = new ReportGenerator(executionDataFile, classDirectories);
+            final ReportGenerator generator = new ReportGenerator(executionDataFiles, classDirectories);
             generator.create();
         } catch (Exception e) {
             System.err.println("Error while creating report: " + e.getMessage());
@@ -95,11 +130,22 @@ public class ReportGenerator {
      */
     public ReportGenerator(File executionDataFile, Set<File> classDirectories) {
 
+        this(Collections.singletonList(executionDataFile), classDirectories);
+    }
+
+    /**
+     * Create a new generator which merges the given execution data files.
+     *
+     * @param executionDataFiles the execution data files, or directories of execution data files
+     * @param classDirectories   the set of class directories
+     */
+    public ReportGenerator(List<File> executionDataFiles, Set<File> classDirectories) {
+
         this.title = "Jacoco Coverage Report";
-        this.executionDataFile = executionDataFile;
+        this.executionDataFiles = executionDataFiles;
         this.classDirectories = classDirectories;
         this.xmlReport = new File("./report/jacoco.xml");
-        this.tempDirectory = new File("./tmp");
+        this.threads = Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
 
         // Create report directory if it does not exist
         File reportDir = this.xmlReport.getParentFile();
@@ -109,19 +155,17 @@ public class ReportGenerator {
     }
 
     /**
-     * Create the report based on the jacoco.exec file.
+     * Create the report based on the execution data files.
      *
      * @throws IOException - Throws if report creation fails
      */
     public void create() throws IOException {
 
-        // Read the jacoco.exec file. Multiple data files could be merged at this point
+        // Read and merge the execution data files.
         loadExecutionData();
 
-        // Run the structure analyzer on a single class folder to build up the coverage model. The process would be
-        // similar if your classes were in a jar file. Typically, you would create a bundle for each class folder and
-        // each jar you want in your report. If you have more than one bundle you will need to add a grouping node to
-        // your report.
+        // Run the structure analyzer on the archives and the class files of the class directories, to build up the
+        // coverage model of a single bundle.
         final IBundleCoverage bundleCoverage = analyzeStructure();
 
         createReport(bundleCoverage);
@@ -130,14 +174,24 @@ public class ReportGenerator {
     private void loadExecutionData() throws IOException {
 
         execFileLoader = new ExecFileLoader();
-        execFileLoader.load(executionDataFile);
+        for (File executionDataFile : executionDataFiles) {
+            if (executionDataFile.isDirectory()) {
+                File[] files = executionDataFile.listFiles((dir, name) -> name.endsWith(EXEC_FILE_EXTENSION));
+                if (files != null) {
+                    Arrays.sort(files);
+                    for (File file : files) {
+                        execFileLoader.load(file);
+                    }
+                }
+            } else {
+                // Probes of the same class in several files are merged, so a class is covered if any run covered it.
+                execFileLoader.load(executionDataFile);
+            }
+        }
     }
 
     private IBundleCoverage analyzeStructure() throws IOException {
 
-        final CoverageBuilder coverageBuilder = new CoverageBuilder();
-        final Analyzer analyzer = new Analyzer(execFileLoader.getExecutionDataStore(), coverageBuilder);
-
         List<File> jarFilesToAnalyze = new ArrayList<>();
         List<File> classFilesToAnalyze = new ArrayList<>();
 
@@ -147,34 +201,136 @@ public class ReportGenerator {
                     classDirectory.listFiles((dir, name)
                             -> name.startsWith("org.wso2.carbon") && !name.contains(".stub_"));
             if (files != null) {
+                Arrays.sort(files);
                 jarFilesToAnalyze.addAll(Arrays.asList(files));
             }
 
             // Class files to analyze
-            files = classDirectory.listFiles((dir, name) -> name.endsWith(".class"));
+            files = classDirectory.listFiles((dir, name) -> name.endsWith(CLASS_FILE_EXTENSION));
             if (files != null) {
+                Arrays.sort(files);
                 classFilesToAnalyze.addAll(Arrays.asList(files));
             }
         }
 
-        String[] includes = {CLASS_FILE_PATTERN};
-        String[] excludes = {"-*.stub*", "-*.stub_", "-*.stub_4.0.0", "-*.stub-"};
+        final ExecutionDataStore executionDataStore = execFileLoader.getExecutionDataStore();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<Collection<IClassCoverage>>> futures = new ArrayList<>();
+        final CoverageBuilder coverageBuilder = new CoverageBuilder();
+        try {
+            for (final File jarFile : jarFilesToAnalyze) {
+                futures.add(executor.submit(() -> analyzeArchive(jarFile, executionDataStore)));
+            }
+
+            final Analyzer analyzer = new Analyzer(executionDataStore, coverageBuilder);
+            for (final File classFile : classFilesToAnalyze) {
+                analyzer.analyzeAll(classFile);
+            }
+
+            // Merge in the order of the archives, so that the report does not depend on the order the analysis of
+            // the archives completed in.
+            for (int i = 0; i < futures.size(); i++) {
+                for (IClassCoverage classCoverage : getResult(futures.get(i), jarFilesToAnalyze.get(i))) {
+                    coverageBuilder.visitCoverage(classCoverage);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return coverageBuilder.getBundle(title);
+    }
+
+    /**
+     * Analyze the classes of an archive, or get the analysis of an archive with the same content.
+     *
+     * @param jarFile            - Archive to analyze
+     * @param executionDataStore - Merged execution data
+     * @return - Coverage of the classes of the archive
+     * @throws IOException - Throws if the archive cannot be read
+     */
+    private Collection<IClassCoverage> analyzeArchive(File jarFile, ExecutionDataStore executionDataStore)
+            throws IOException {
+
+        String jarFilePath = jarFile.getAbsolutePath();
+        if (!jarFilePath.endsWith(".war") && !jarFilePath.endsWith(".jar")) {
+            throw new IllegalArgumentException(String.format(INVALID_EXTENSION_ERROR, jarFilePath));
+        }
 
-        for (final File jarFile : jarFilesToAnalyze) {
-            String extractedDir = extractJarFile(jarFile.getAbsolutePath(), tempDirectory);
-            String[] classFiles = scanDirectory(extractedDir, includes, excludes);
+        CompletableFuture<Collection<IClassCoverage>> analysis = new CompletableFuture<>();
+        CompletableFuture<Collection<IClassCoverage>> cachedAnalysis =
+                analysisCache.putIfAbsent(hash(jarFile), analysis);
+        if (cachedAnalysis != null) {
+            return getResult(cachedAnalysis, jarFile);
+        }
 
-            for (String classFile : classFiles) {
-                analyzer.analyzeAll(new File(extractedDir + File.separator + classFile));
+        try {
+            // Each archive has its own coverage builder, since a coverage builder is not thread safe.
+            CoverageBuilder coverageBuilder = new CoverageBuilder();
+            Analyzer analyzer = new Analyzer(executionDataStore, coverageBuilder);
+            try (ZipInputStream zipInputStream = new ZipInputStream(new BufferedInputStream(
+                    new FileInputStream(jarFile), BUFFER_SIZE))) {
+                ZipEntry zipEntry;
+                while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+                    // Only the class files of the archive are analyzed, not the classes of the archives nested in it.
+                    if (!zipEntry.isDirectory() && zipEntry.getName().endsWith(CLASS_FILE_EXTENSION)) {
+                        analyzer.analyzeClass(zipInputStream, jarFile.getName() + "@" + zipEntry.getName());
+                    }
+                    zipInputStream.closeEntry();
+                }
             }
-            FileUtils.forceDelete(new File(extractedDir));
+            analysis.complete(coverageBuilder.getClasses());
+        } catch (IOException | RuntimeException e) {
+            IOException error = new IOException(String.format(ANALYSIS_ERROR, jarFile.getName()), e);
+            analysis.completeExceptionally(error);
+            throw error;
         }
+        return analysis.join();
+    }
 
-        for (final File classFile : classFilesToAnalyze) {
-            analyzer.analyzeAll(classFile);
+    private Collection<IClassCoverage> getResult(Future<Collection<IClassCoverage>> analysis, File jarFile)
+            throws IOException {
+
+        try {
+            return analysis.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(String.format(ANALYSIS_ERROR, jarFile.getName()), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(String.format(ANALYSIS_ERROR, jarFile.getName()), e.getCause());
         }
+    }
 
-        return coverageBuilder.getBundle(title);
+    /**
+     * Get the hash of the content of a file.
+     *
+     * @param file - File to hash
+     * @return - Hex encoded SHA-256 hash
+     * @throws IOException - Throws if the file cannot be read
+     */
+    private String hash(File file) throws IOException {
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+        byte[] buf = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = new FileInputStream(file)) {
+            int len;
+            while ((len = inputStream.read(buf)) > 0) {
+                digest.update(buf, 0, len);
+            }
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
     }
 
     /**
@@ -202,87 +358,4 @@ public class ReportGenerator {
             visitor.visitEnd();
         }
     }
-
-    /**
-     * Extract jar files given at jar file path
-     *
-     * @param jarFilePath - Jar file path
-     * @param tempDir     - Temporary directory to extract jar file
-     * @return - Jar file extracted directory.
-     * @throws IOException - Throws if jar extraction fails
-     */
-    private String extractJarFile(String jarFilePath, File tempDir) throws IOException {
-
-        if (!jarFilePath.endsWith(".war") && !jarFilePath.endsWith(".jar")) {
-            throw new IllegalArgumentException(String.format(INVALID_EXTENSION_ERROR, jarFilePath));
-        }
-
-        String jarFileName = new File(jarFilePath).getName();
-        String tempExtractedDir = new File(tempDir, jarFileName.substring(0, jarFileName.lastIndexOf('.'))).getPath();
-
-        try {
-            extractFile(jarFilePath, tempExtractedDir);
-        } catch (IOException e) {
-            throw new IOException("Could not extract the file " + jarFileName, e);
-        }
-        return tempExtractedDir;
-    }
-
-    /**
-     * Scan given directory for include and exclude patterns.
-     *
-     * @param jarExtractedDir - Path to check for given include/exclude pattern
-     * @param includes        - Include pattern array
-     * @param excludes        - Exclude class pattern array
-     * @return - Included files
-     */
-    private String[] scanDirectory(String jarExtractedDir, String[] includes, String[] excludes) {
-
-        DirectoryScanner ds = new DirectoryScanner();
-
-        ds.setIncludes(includes);
-        ds.setExcludes(excludes);
-        ds.setBasedir(new File(jarExtractedDir));
-        ds.setCaseSensitive(true);
-
-        ds.scan();
-        return ds.getIncludedFiles();
-    }
-
-    /**
-     * Extract the given archive file to the given directory
-     *
-     * @param sourceFilePath - Path to the archive file
-     * @param extractedDir   - Path to the directory to extract the archive file
-     * @throws IOException - Throws if extraction fails
-     */
-    private void extractFile(String sourceFilePath, String extractedDir) throws IOException {
-
-        byte[] buf = new byte[BUFFER_SIZE];
-        try (ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(sourceFilePath))) {
-            ZipEntry zipEntry;
-            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
-                File newFile = new File(extractedDir, zipEntry.getName());
-                if (zipEntry.isDirectory()) {
-                    if (!newFile.isDirectory() && !newFile.mkdirs()) {
-                        throw new IOException("Failed to create directory " + newFile);
-                    }
-                } else {
-                    File parent = newFile.getParentFile();
-                    if (!parent.isDirectory() && !parent.mkdirs()) {
-                        throw new IOException("Failed to create directory " + parent);
-                    }
-                    try (FileOutputStream fos = new FileOutputStream(newFile)) {
-                        int len;
-                        while ((len = zipInputStream.read(buf)) > 0) {
-                            fos.write(buf, 0, len);
-                        }
-                    }
-                }
-                zipInputStream.closeEntry();
-            }
-        } catch (IOException e) {
-            throw new IOException(EXTRACTION_ERROR, e);
-        }
-    }
 }
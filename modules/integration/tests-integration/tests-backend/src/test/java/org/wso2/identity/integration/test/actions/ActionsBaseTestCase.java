@@ -18,7 +18,10 @@
 
 package org.wso2.identity.integration.test.actions;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.automation.engine.context.TestUserMode;
+import org.wso2.identity.integration.test.actions.mockserver.ActionsMockServer;
 import org.wso2.identity.integration.test.oauth2.OAuth2ServiceAbstractIntegrationTest;
 import org.wso2.identity.integration.test.rest.api.server.action.management.v1.model.ActionModel;
 import org.wso2.identity.integration.test.restclients.ActionsRestClient;
@@ -32,6 +35,8 @@ import java.io.IOException;
  */
 public class ActionsBaseTestCase extends OAuth2ServiceAbstractIntegrationTest {
 
+    private static final Log log = LogFactory.getLog(ActionsBaseTestCase.class);
+
     protected ActionsRestClient actionsRestClient;
 
     /**
@@ -74,4 +79,19 @@ public class ActionsBaseTestCase extends OAuth2ServiceAbstractIntegrationTest {
 
         return actionsRestClient.deleteActionType(actionType, actionId);
     }
+
+    /**
+     * Log the request counters of the mock server of the action, so that the throughput and concurrency of the
+     * action calls can be compared with the token endpoint latency of the test.
+     *
+     * @param actionsMockServer Mock server of the action.
+     */
+    protected void logMockServerStatistics(ActionsMockServer actionsMockServer) {
+
+        log.info(String.format("%s action mock server: requests=%d, throughput=%.2f/s, peakConcurrency=%d, " +
+                        "injectedFailures=%d, injectedTimeouts=%d", getClass().getSimpleName(),
+                actionsMockServer.getRequestCount(), actionsMockServer.getThroughput(),
+                actionsMockServer.getPeakConcurrency(), actionsMockServer.getInjectedFailureCount(),
+                actionsMockServer.getInjectedTimeoutCount()));
+    }
 }
@@ -45,6 +45,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 import org.wso2.carbon.automation.engine.context.TestUserMode;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.identity.integration.test.actions.mockserver.ActionsMockServer;
 import org.wso2.identity.integration.test.actions.model.AccessToken;
 import org.wso2.identity.integration.test.actions.model.ActionType;
@@ -91,7 +92,6 @@ public class PreIssueAccessTokenClientCredentialsGrantTestCase extends ActionsBa
     private static final String USERNAME_PROPERTY = "username";
     private static final String PASSWORD_PROPERTY = "password";
     private static final String EXTERNAL_SERVICE_NAME = "TestExternalService";
-    private static final String EXTERNAL_SERVICE_URI = "http://localhost:8587/test/action";
     private static final String PRE_ISSUE_ACCESS_TOKEN_API_PATH = "preIssueAccessToken";
     private static final String CLIENT_CREDENTIALS_GRANT_TYPE = "client_credentials";
 
@@ -135,6 +135,7 @@ public class PreIssueAccessTokenClientCredentialsGrantTestCase extends ActionsBa
     private JWTClaimsSet jwtClaims;
     private TestUserMode userMode;
     private ActionsMockServer actionsMockServer;
+    private String externalServiceUri;
 
     @Factory(dataProvider = "testExecutionContextProvider")
     public PreIssueAccessTokenClientCredentialsGrantTestCase(TestUserMode testUserMode) {
@@ -146,6 +147,11 @@ public class PreIssueAccessTokenClientCredentialsGrantTestCase extends ActionsBa
     @DataProvider(name = "testExecutionContextProvider")
     public static Object[][] getTestExecutionContext() {
 
+        if (isTenantIsolationEnabled()) {
+            return new Object[][]{
+                    {TestUserMode.TENANT_USER}
+            };
+        }
         return new Object[][]{
                 {TestUserMode.SUPER_TENANT_USER},
                 {TestUserMode.TENANT_USER}
@@ -162,6 +168,16 @@ public class PreIssueAccessTokenClientCredentialsGrantTestCase extends ActionsBa
 
         super.init(userMode);
 
+        actionsMockServer = new ActionsMockServer();
+        actionsMockServer.startServer();
+        actionsMockServer.setupStub(MOCK_SERVER_ENDPOINT_RESOURCE_PATH,
+                "Basic " + getBase64EncodedString(MOCK_SERVER_AUTH_BASIC_USERNAME, MOCK_SERVER_AUTH_BASIC_PASSWORD),
+                FileUtils.readFileInClassPathAsString("actions/response/pre-issue-access-token-response.json"));
+        externalServiceUri = actionsMockServer.getUrl(MOCK_SERVER_ENDPOINT_RESOURCE_PATH);
+        if (getIsolatedTenantId() != MultitenantConstants.INVALID_TENANT_ID) {
+            tenantId = String.valueOf(getIsolatedTenantId());
+        }
+
         cookieSpecRegistry = RegistryBuilder.<CookieSpecProvider>create()
                 .register(CookieSpecs.DEFAULT, new RFC6265CookieSpecProvider())
                 .build();
@@ -194,7 +210,7 @@ public class PreIssueAccessTokenClientCredentialsGrantTestCase extends ActionsBa
         if (!CarbonUtils.isLegacyAuthzRuntimeEnabled()) {
             authorizeSystemAPIs(applicationId, Collections.singletonList(SCIM2_USERS_API));
         }
-        domainAPIId = createDomainAPI(EXTERNAL_SERVICE_NAME, EXTERNAL_SERVICE_URI, customScopes);
+        domainAPIId = createDomainAPI(EXTERNAL_SERVICE_NAME, externalServiceUri, customScopes);
         authorizeDomainAPIs(applicationId, domainAPIId, customScopes);
 
         requestedScopes = new ArrayList<>();
@@ -207,17 +223,12 @@ public class PreIssueAccessTokenClientCredentialsGrantTestCase extends ActionsBa
         requestedScopes.addAll(customScopes);
 
         actionId = createPreIssueAccessTokenAction();
-
-        actionsMockServer = new ActionsMockServer();
-        actionsMockServer.startServer();
-        actionsMockServer.setupStub(MOCK_SERVER_ENDPOINT_RESOURCE_PATH,
-                "Basic " + getBase64EncodedString(MOCK_SERVER_AUTH_BASIC_USERNAME, MOCK_SERVER_AUTH_BASIC_PASSWORD),
-                FileUtils.readFileInClassPathAsString("actions/response/pre-issue-access-token-response.json"));
     }
 
     @AfterClass(alwaysRun = true)
     public void atEnd() throws Exception {
 
+        logMockServerStatistics(actionsMockServer);
         actionsMockServer.stopServer();
 
         deleteAction(PRE_ISSUE_ACCESS_TOKEN_API_PATH, actionId);
@@ -447,7 +458,7 @@ public class PreIssueAccessTokenClientCredentialsGrantTestCase extends ActionsBa
         authenticationType.setProperties(authProperties);
 
         Endpoint endpoint = new Endpoint();
-        endpoint.setUri(EXTERNAL_SERVICE_URI);
+        endpoint.setUri(externalServiceUri);
         endpoint.setAuthentication(authenticationType);
 
         ActionModel actionModel = new ActionModel();
@@ -47,6 +47,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 import org.wso2.carbon.automation.engine.context.TestUserMode;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.identity.integration.test.actions.mockserver.ActionsMockServer;
 import org.wso2.identity.integration.test.actions.model.AccessToken;
 import org.wso2.identity.integration.test.actions.model.ActionType;
@@ -119,7 +120,6 @@ public class PreIssueAccessTokenCodeGrantTestCase extends ActionsBaseTestCase {
     private static final String TEST_USER_LAST_NAME = "test_user_last_name";
     private static final String TEST_USER_GMAIL_COM = "test.user@gmail.com";
     private static final String EXTERNAL_SERVICE_NAME = "TestExternalService";
-    private static final String EXTERNAL_SERVICE_URI = "http://localhost:8587/test/action";
     private static final String APPLICATION_AUDIENCE = "APPLICATION";
     private static final String TEST_ROLE_APPLICATION = "test_role_application";
     private static final String OPENID_SCOPE = "openid";
@@ -169,6 +169,7 @@ public class PreIssueAccessTokenCodeGrantTestCase extends ActionsBaseTestCase {
     private JWTClaimsSet jwtClaims;
     private TestUserMode userMode;
     private ActionsMockServer actionsMockServer;
+    private String externalServiceUri;
 
     @Factory(dataProvider = "testExecutionContextProvider")
     public PreIssueAccessTokenCodeGrantTestCase(TestUserMode testUserMode) {
@@ -180,6 +181,11 @@ public class PreIssueAccessTokenCodeGrantTestCase extends ActionsBaseTestCase {
     @DataProvider(name = "testExecutionContextProvider")
     public static Object[][] getTestExecutionContext() {
 
+        if (isTenantIsolationEnabled()) {
+            return new Object[][]{
+                    {TestUserMode.TENANT_USER}
+            };
+        }
         return new Object[][]{
                 {TestUserMode.SUPER_TENANT_USER},
                 {TestUserMode.TENANT_USER}
@@ -196,6 +202,16 @@ public class PreIssueAccessTokenCodeGrantTestCase extends ActionsBaseTestCase {
 
         super.init(userMode);
 
+        actionsMockServer = new ActionsMockServer();
+        actionsMockServer.startServer();
+        actionsMockServer.setupStub(MOCK_SERVER_ENDPOINT_RESOURCE_PATH,
+                "Basic " + getBase64EncodedString(MOCK_SERVER_AUTH_BASIC_USERNAME, MOCK_SERVER_AUTH_BASIC_PASSWORD),
+                FileUtils.readFileInClassPathAsString("actions/response/pre-issue-access-token-response.json"));
+        externalServiceUri = actionsMockServer.getUrl(MOCK_SERVER_ENDPOINT_RESOURCE_PATH);
+        if (getIsolatedTenantId() != MultitenantConstants.INVALID_TENANT_ID) {
+            tenantId = String.valueOf(getIsolatedTenantId());
+        }
+
         cookieSpecRegistry = RegistryBuilder.<CookieSpecProvider>create()
                 .register(CookieSpecs.DEFAULT, new RFC6265CookieSpecProvider())
                 .build();
@@ -225,7 +241,7 @@ public class PreIssueAccessTokenCodeGrantTestCase extends ActionsBaseTestCase {
         if (!CarbonUtils.isLegacyAuthzRuntimeEnabled()) {
             authorizeSystemAPIs(applicationId, Collections.singletonList(SCIM2_USERS_API));
         }
-        domainAPIId = createDomainAPI(EXTERNAL_SERVICE_NAME, EXTERNAL_SERVICE_URI, customScopes);
+        domainAPIId = createDomainAPI(EXTERNAL_SERVICE_NAME, externalServiceUri, customScopes);
         authorizeDomainAPIs(applicationId, domainAPIId, customScopes);
         addUserWithRole(applicationId, customScopes);
 
@@ -242,17 +258,12 @@ public class PreIssueAccessTokenCodeGrantTestCase extends ActionsBaseTestCase {
 
         actionId = createPreIssueAccessTokenAction();
 
-        actionsMockServer = new ActionsMockServer();
-        actionsMockServer.startServer();
-        actionsMockServer.setupStub(MOCK_SERVER_ENDPOINT_RESOURCE_PATH,
-                "Basic " + getBase64EncodedString(MOCK_SERVER_AUTH_BASIC_USERNAME, MOCK_SERVER_AUTH_BASIC_PASSWORD),
-                FileUtils.readFileInClassPathAsString("actions/response/pre-issue-access-token-response.json"));
-
     }
 
     @AfterClass(alwaysRun = true)
     public void atEnd() throws Exception {
 
+        logMockServerStatistics(actionsMockServer);
         actionsMockServer.stopServer();
 
         deleteAction(PRE_ISSUE_ACCESS_TOKEN_API_PATH, actionId);
@@ -583,7 +594,7 @@ public class PreIssueAccessTokenCodeGrantTestCase extends ActionsBaseTestCase {
         authenticationType.setProperties(authProperties);
 
         Endpoint endpoint = new Endpoint();
-        endpoint.setUri(EXTERNAL_SERVICE_URI);
+        endpoint.setUri(externalServiceUri);
         endpoint.setAuthentication(authenticationType);
 
         ActionModel actionModel = new ActionModel();
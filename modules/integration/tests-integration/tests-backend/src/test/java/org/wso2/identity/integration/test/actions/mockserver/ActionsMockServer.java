@@ -19,11 +19,28 @@
 package org.wso2.identity.integration.test.actions.mockserver;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 import org.apache.commons.lang.StringUtils;
+import org.wso2.identity.integration.common.utils.WaitSignal;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.matching;
@@ -33,16 +50,110 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 
 /**
  * Provides a mock server using WireMock for testing purposes.
- * This class starts a mock server on a specified port and sets up predefined
- * responses for POST requests to simulate various operations relation to action execution.
+ * This class starts a mock server on a specified port, or on a free port allocated by the system, and sets up
+ * predefined responses for POST requests to simulate various operations relation to action execution.
+ * <p>
+ * The mock server can also run in a performance mode, configured with a {@link MockServerPerformanceProfile}, to
+ * measure how much an action adds to the latency of the token endpoint under load. Throughput and concurrency
+ * counters are kept in both modes.
  */
 public class ActionsMockServer {
 
+    private static final int DYNAMIC_PORT = 0;
+    private static final String INJECTED_FAILURE_BODY = "{\"actionStatus\":\"ERROR\"," +
+            "\"errorMessage\":\"server_error\",\"errorDescription\":\"Failure injected by the mock server.\"}";
+
+    private final int port;
+    private final MockServerPerformanceProfile performanceProfile;
+    private final WaitSignal requestSignal = new WaitSignal();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger peakConcurrency = new AtomicInteger();
+    private final AtomicLong injectedFailureCount = new AtomicLong();
+    private final AtomicLong injectedTimeoutCount = new AtomicLong();
+    private final Map<String, AtomicLong> requestCountsByUrl = new ConcurrentHashMap<>();
+    private final Deque<LoggedRequest> sampledRequests = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger sampledRequestCount = new AtomicInteger();
+    private volatile long statisticsStartNanos = System.nanoTime();
     private WireMockServer wireMockServer;
+
+    /**
+     * Create a mock server which listens on a free port allocated when the server is started, so that multiple test
+     * classes can run their mock servers in parallel. The server runs in performance mode if it is enabled with the
+     * system properties described in {@link MockServerPerformanceProfile}.
+     */
+    public ActionsMockServer() {
+
+        this(DYNAMIC_PORT, MockServerPerformanceProfile.fromSystemProperties());
+    }
+
+    /**
+     * Create a mock server which listens on the given port.
+     *
+     * @param port Port of the mock server.
+     */
+    public ActionsMockServer(int port) {
+
+        this(port, null);
+    }
+
+    /**
+     * Create a mock server which listens on the given port.
+     *
+     * @param port               Port of the mock server, or 0 for a free port allocated when the server is started.
+     * @param performanceProfile Performance mode settings. Null to journal all the requests and respond immediately.
+     */
+    ActionsMockServer(int port, MockServerPerformanceProfile performanceProfile) {
+
+        this.port = port;
+        this.performanceProfile = performanceProfile;
+    }
+
     public void startServer() {
 
-        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(8587));
+        WireMockConfiguration configuration = WireMockConfiguration.wireMockConfig();
+        if (port == DYNAMIC_PORT) {
+            configuration.dynamicPort();
+        } else {
+            configuration.port(port);
+        }
+        if (performanceProfile != null) {
+            // Delayed responses are sent from a separate pool, so that they do not hold the container threads.
+            configuration.containerThreads(performanceProfile.getContainerThreads())
+                    .asynchronousResponseEnabled(true)
+                    .asynchronousResponseThreads(performanceProfile.getContainerThreads())
+                    .disableRequestJournal();
+            configuration.extensions(new RequestSignalListener(), new FaultInjectionTransformer());
+        } else {
+            configuration.extensions(new RequestSignalListener());
+        }
+        wireMockServer = new WireMockServer(configuration);
         wireMockServer.start();
+        if (performanceProfile != null && performanceProfile.getLatency() != null) {
+            wireMockServer.setGlobalRandomDelay(performanceProfile.getLatency());
+        }
+        statisticsStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Get the port the mock server listens on. Available only after the server is started.
+     *
+     * @return Port of the mock server.
+     */
+    public int getPort() {
+
+        return wireMockServer.port();
+    }
+
+    /**
+     * Get the URL of a resource of the mock server. Available only after the server is started.
+     *
+     * @param path Path of the resource. eg: /test/action
+     * @return URL of the resource.
+     */
+    public String getUrl(String path) {
+
+        return "http://localhost:" + getPort() + path;
     }
 
     public void stopServer() {
@@ -54,22 +165,194 @@ public class ActionsMockServer {
 
     public void setupStub(String url, String authMethod, String responseBody) {
 
+        ResponseDefinitionBuilder response = aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(responseBody);
+        if (performanceProfile == null || !performanceProfile.isKeepAlive()) {
+            response.withHeader("Connection", "Close");
+        }
         wireMockServer.stubFor(post(urlEqualTo(url))
                 .withHeader("Authorization", matching(authMethod))
-                .willReturn(aResponse()
-                        .withStatus(200)
-                        .withHeader("Content-Type", "application/json")
-                        .withHeader("Connection", "Close")
-                        .withBody(responseBody)));
+                .willReturn(response));
     }
 
     public String getReceivedRequestPayload(String url) {
 
-        List<LoggedRequest> requestList = wireMockServer.findAll(postRequestedFor(urlEqualTo(url)));
-        if (requestList == null || requestList.isEmpty()) {
+        List<LoggedRequest> requestList = getReceivedRequests(url);
+        if (requestList.isEmpty()) {
             return StringUtils.EMPTY;
         }
 
         return requestList.get(0).getBodyAsString();
     }
+
+    /**
+     * Wait until a POST request is received for the given resource. The waiting thread is woken up as soon as a
+     * request is served by the mock server.
+     *
+     * @param url     Resource of the mock server. eg: /test/action
+     * @param timeout Maximum time to wait.
+     * @param unit    Unit of the timeout.
+     * @return True if a request was received within the timeout.
+     * @throws Exception If the waiting thread is interrupted.
+     */
+    public boolean waitForRequest(String url, long timeout, TimeUnit unit) throws Exception {
+
+        return WaitUtils.waitFor("request to " + url + " is received", () -> getRequestCount(url) > 0,
+                requestSignal, timeout, unit);
+    }
+
+    /**
+     * Get the number of requests served since the server was started.
+     *
+     * @return Number of served requests.
+     */
+    public long getRequestCount() {
+
+        return requestCount.get();
+    }
+
+    /**
+     * Get the number of POST requests served for the given resource since the server was started.
+     *
+     * @param url Resource of the mock server. eg: /test/action
+     * @return Number of served requests.
+     */
+    public long getRequestCount(String url) {
+
+        AtomicLong count = requestCountsByUrl.get(url);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Get the average number of requests served per second since the server was started.
+     *
+     * @return Requests served per second.
+     */
+    public double getThroughput() {
+
+        long elapsedNanos = System.nanoTime() - statisticsStartNanos;
+        return elapsedNanos > 0 ? requestCount.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+    }
+
+    /**
+     * Get the highest number of requests which were being served at the same time.
+     *
+     * @return Peak concurrency.
+     */
+    public int getPeakConcurrency() {
+
+        return peakConcurrency.get();
+    }
+
+    public long getInjectedFailureCount() {
+
+        return injectedFailureCount.get();
+    }
+
+    public long getInjectedTimeoutCount() {
+
+        return injectedTimeoutCount.get();
+    }
+
+    /**
+     * Get the POST requests received for the given resource, in the order they were received. In performance mode,
+     * only the sampled requests are returned.
+     *
+     * @param url Resource of the mock server. eg: /test/action
+     * @return Received requests.
+     */
+    List<LoggedRequest> getReceivedRequests(String url) {
+
+        if (performanceProfile == null) {
+            List<LoggedRequest> requestList = wireMockServer.findAll(postRequestedFor(urlEqualTo(url)));
+            return requestList != null ? requestList : new ArrayList<>();
+        }
+        List<LoggedRequest> requestList = new ArrayList<>();
+        for (LoggedRequest request : sampledRequests) {
+            if (url.equals(request.getUrl()) && "POST".equals(request.getMethod().getName())) {
+                requestList.add(request);
+            }
+        }
+        return requestList;
+    }
+
+    private void recordRequest(ServeEvent serveEvent) {
+
+        LoggedRequest request = serveEvent.getRequest();
+        long sequence = requestCount.incrementAndGet();
+        if ("POST".equals(request.getMethod().getName())) {
+            requestCountsByUrl.computeIfAbsent(request.getUrl(), key -> new AtomicLong()).incrementAndGet();
+        }
+        // Keep the first request and one in every sample rate requests after it, up to the maximum number of samples.
+        if (performanceProfile != null && (sequence - 1) % performanceProfile.getJournalSampleRate() == 0 &&
+                sampledRequestCount.get() < performanceProfile.getMaxJournalSamples()) {
+            sampledRequestCount.incrementAndGet();
+            sampledRequests.add(request);
+        }
+    }
+
+    /**
+     * Keeps the request counters of the mock server and raises its request signal once a request is served.
+     */
+    private class RequestSignalListener implements ServeEventListener {
+
+        @Override
+        public String getName() {
+
+            return "request-signal";
+        }
+
+        @Override
+        public void beforeMatch(ServeEvent serveEvent, Parameters parameters) {
+
+            peakConcurrency.accumulateAndGet(inFlightRequests.incrementAndGet(), Math::max);
+        }
+
+        @Override
+        public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+
+            inFlightRequests.decrementAndGet();
+            recordRequest(serveEvent);
+            requestSignal.signal();
+        }
+    }
+
+    /**
+     * Replaces the responses of the matched requests with failures or delayed responses, at the rates given by the
+     * performance profile.
+     */
+    private class FaultInjectionTransformer implements ResponseDefinitionTransformerV2 {
+
+        @Override
+        public String getName() {
+
+            return "fault-injection";
+        }
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+
+            ResponseDefinition response = serveEvent.getResponseDefinition();
+            if (!serveEvent.getWasMatched()) {
+                return response;
+            }
+            double random = ThreadLocalRandom.current().nextDouble();
+            if (random < performanceProfile.getFailureRate()) {
+                injectedFailureCount.incrementAndGet();
+                return ResponseDefinitionBuilder.like(response).but()
+                        .withStatus(performanceProfile.getFailureStatus())
+                        .withBody(INJECTED_FAILURE_BODY)
+                        .build();
+            }
+            if (random < performanceProfile.getFailureRate() + performanceProfile.getTimeoutRate()) {
+                injectedTimeoutCount.incrementAndGet();
+                return ResponseDefinitionBuilder.like(response).but()
+                        .withFixedDelay(performanceProfile.getTimeoutDelayMillis())
+                        .build();
+            }
+            return response;
+        }
+    }
 }
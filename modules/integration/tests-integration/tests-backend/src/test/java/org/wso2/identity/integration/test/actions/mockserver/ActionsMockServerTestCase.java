@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.actions.mockserver;
+
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.identity.integration.common.utils.WaitUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the performance mode of {@link ActionsMockServer}: keep alive connections, response latency, fault injection
+ * and journal sampling, and the validation of {@link MockServerPerformanceProfile}.
+ */
+public class ActionsMockServerTestCase {
+
+    private static final String ACTION_PATH = "/test/action";
+    private static final String AUTHORIZATION = "Basic dGVzdDp0ZXN0";
+    private static final String RESPONSE_BODY = "{\"actionStatus\":\"SUCCESS\"}";
+
+    private CloseableHttpClient client;
+    private ActionsMockServer mockServer;
+
+    @BeforeClass(alwaysRun = true)
+    public void init() {
+
+        client = HttpClients.createDefault();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopMockServer() {
+
+        if (mockServer != null) {
+            mockServer.stopServer();
+            mockServer = null;
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void atEnd() throws Exception {
+
+        client.close();
+    }
+
+    @Test(description = "Without a profile, every request is journaled and the connection is closed after each " +
+            "response.")
+    public void testDefaultMode() throws Exception {
+
+        startMockServer(null);
+        for (int i = 0; i < 3; i++) {
+            try (CloseableHttpResponse response = send(String.valueOf(i))) {
+                Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+                Assert.assertTrue("close".equalsIgnoreCase(response.getFirstHeader("Connection").getValue()),
+                        "The connection should be closed after each response.");
+                EntityUtils.consume(response.getEntity());
+            }
+            waitForRequests(i + 1);
+        }
+
+        Assert.assertEquals(getPayloads(), Arrays.asList("0", "1", "2"));
+        Assert.assertEquals(mockServer.getReceivedRequestPayload(ACTION_PATH), "0");
+    }
+
+    @Test(description = "In performance mode, the connections are kept alive and the responses are delayed by the " +
+            "given latency.")
+    public void testPerformanceMode() throws Exception {
+
+        startMockServer(new MockServerPerformanceProfile().fixedLatency(200));
+        long startNanos = System.nanoTime();
+        try (CloseableHttpResponse response = send("0")) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+            Assert.assertFalse(response.getFirstHeader("Connection") != null &&
+                    "close".equalsIgnoreCase(response.getFirstHeader("Connection").getValue()),
+                    "The connection should be kept alive.");
+            Assert.assertEquals(EntityUtils.toString(response.getEntity()), RESPONSE_BODY);
+        }
+
+        Assert.assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(200),
+                "The response was not delayed by the given latency.");
+        waitForRequests(1);
+        Assert.assertEquals(mockServer.getRequestCount(ACTION_PATH), 1);
+        Assert.assertEquals(mockServer.getPeakConcurrency(), 1);
+    }
+
+    @Test(description = "Failures are injected at the given rate, with the given status and an action error body.")
+    public void testFailureInjection() throws Exception {
+
+        startMockServer(new MockServerPerformanceProfile().failureRate(1).failureStatus(503));
+        for (int i = 0; i < 5; i++) {
+            try (CloseableHttpResponse response = send(String.valueOf(i))) {
+                Assert.assertEquals(response.getStatusLine().getStatusCode(), 503);
+                Assert.assertTrue(EntityUtils.toString(response.getEntity()).contains("\"actionStatus\":\"ERROR\""),
+                        "The injected failure should have an action error body.");
+            }
+        }
+
+        waitForRequests(5);
+        Assert.assertEquals(mockServer.getInjectedFailureCount(), 5);
+        Assert.assertEquals(mockServer.getInjectedTimeoutCount(), 0);
+    }
+
+    @Test(description = "Timeouts are injected at the given rate by delaying the response by the timeout delay.")
+    public void testTimeoutInjection() throws Exception {
+
+        startMockServer(new MockServerPerformanceProfile().timeoutRate(1).timeoutDelay(300));
+        long startNanos = System.nanoTime();
+        try (CloseableHttpResponse response = send("0")) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+            Assert.assertEquals(EntityUtils.toString(response.getEntity()), RESPONSE_BODY);
+        }
+
+        Assert.assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(300),
+                "The response was not delayed by the timeout delay.");
+        waitForRequests(1);
+        Assert.assertEquals(mockServer.getInjectedTimeoutCount(), 1);
+        Assert.assertEquals(mockServer.getInjectedFailureCount(), 0);
+    }
+
+    @Test(description = "Only the first request and one in every sample rate requests after it are kept, up to the " +
+            "maximum number of samples.")
+    public void testJournalSampling() throws Exception {
+
+        startMockServer(new MockServerPerformanceProfile().journalSampleRate(3).maxJournalSamples(2));
+        for (int i = 0; i < 10; i++) {
+            try (CloseableHttpResponse response = send(String.valueOf(i))) {
+                EntityUtils.consume(response.getEntity());
+            }
+            // Requests are sampled in the order they are recorded, so wait for each one before sending the next.
+            waitForRequests(i + 1);
+        }
+
+        Assert.assertEquals(getPayloads(), Arrays.asList("0", "3"));
+        Assert.assertEquals(mockServer.getReceivedRequestPayload(ACTION_PATH), "0");
+        Assert.assertEquals(mockServer.getRequestCount(ACTION_PATH), 10);
+    }
+
+    @Test(description = "Rates outside 0 and 1, a sample rate of 0 and other invalid settings are rejected.")
+    public void testInvalidProfile() {
+
+        assertInvalid(() -> new MockServerPerformanceProfile().journalSampleRate(0));
+        assertInvalid(() -> new MockServerPerformanceProfile().failureRate(1.5));
+        assertInvalid(() -> new MockServerPerformanceProfile().failureRate(Double.NaN));
+        assertInvalid(() -> new MockServerPerformanceProfile().timeoutRate(-0.1));
+        assertInvalid(() -> new MockServerPerformanceProfile().timeoutDelay(-1));
+        assertInvalid(() -> new MockServerPerformanceProfile().failureStatus(99));
+        assertInvalid(() -> new MockServerPerformanceProfile().uniformLatency(10, 5));
+        assertInvalid(() -> new MockServerPerformanceProfile().logNormalLatency(0, 1));
+        assertInvalid(() -> new MockServerPerformanceProfile().containerThreads(0));
+    }
+
+    @Test(description = "The profile is read from the system properties, and invalid values fail fast.")
+    public void testFromSystemProperties() {
+
+        String[] properties = {MockServerPerformanceProfile.PERFORMANCE_MODE_PROPERTY,
+                MockServerPerformanceProfile.LATENCY_PROPERTY, MockServerPerformanceProfile.FAILURE_RATE_PROPERTY,
+                MockServerPerformanceProfile.JOURNAL_SAMPLE_RATE_PROPERTY};
+        String[] originalValues = new String[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            originalValues[i] = System.getProperty(properties[i]);
+        }
+        try {
+            System.clearProperty(MockServerPerformanceProfile.PERFORMANCE_MODE_PROPERTY);
+            Assert.assertNull(MockServerPerformanceProfile.fromSystemProperties(),
+                    "The performance mode should be disabled by default.");
+
+            System.setProperty(MockServerPerformanceProfile.PERFORMANCE_MODE_PROPERTY, "true");
+            System.setProperty(MockServerPerformanceProfile.LATENCY_PROPERTY, "uniform:5:10");
+            System.setProperty(MockServerPerformanceProfile.FAILURE_RATE_PROPERTY, "0.25");
+            System.setProperty(MockServerPerformanceProfile.JOURNAL_SAMPLE_RATE_PROPERTY, "7");
+            MockServerPerformanceProfile profile = MockServerPerformanceProfile.fromSystemProperties();
+            Assert.assertNotNull(profile);
+            Assert.assertNotNull(profile.getLatency());
+            Assert.assertEquals(profile.getFailureRate(), 0.25, 0);
+            Assert.assertEquals(profile.getJournalSampleRate(), 7);
+
+            System.setProperty(MockServerPerformanceProfile.JOURNAL_SAMPLE_RATE_PROPERTY, "0");
+            assertInvalid(MockServerPerformanceProfile::fromSystemProperties);
+            System.setProperty(MockServerPerformanceProfile.JOURNAL_SAMPLE_RATE_PROPERTY, "7");
+            System.setProperty(MockServerPerformanceProfile.LATENCY_PROPERTY, "fixed");
+            assertInvalid(MockServerPerformanceProfile::fromSystemProperties);
+        } finally {
+            for (int i = 0; i < properties.length; i++) {
+                if (originalValues[i] == null) {
+                    System.clearProperty(properties[i]);
+                } else {
+                    System.setProperty(properties[i], originalValues[i]);
+                }
+            }
+        }
+    }
+
+    private void startMockServer(MockServerPerformanceProfile profile) {
+
+        mockServer = new ActionsMockServer(0, profile);
+        mockServer.startServer();
+        mockServer.setupStub(ACTION_PATH, AUTHORIZATION, RESPONSE_BODY);
+    }
+
+    private CloseableHttpResponse send(String payload) throws Exception {
+
+        HttpPost request = new HttpPost(mockServer.getUrl(ACTION_PATH));
+        request.setHeader("Authorization", AUTHORIZATION);
+        request.setEntity(new StringEntity(payload));
+        return client.execute(request);
+    }
+
+    /**
+     * Wait until the mock server has recorded the given number of requests, as a request is recorded only after its
+     * response is sent.
+     */
+    private void waitForRequests(int count) throws Exception {
+
+        Assert.assertTrue(WaitUtils.waitFor(count + " requests are recorded",
+                () -> mockServer.getRequestCount() >= count, 10, TimeUnit.SECONDS),
+                "The mock server did not record " + count + " requests.");
+    }
+
+    private List<String> getPayloads() {
+
+        List<String> payloads = new ArrayList<>();
+        for (LoggedRequest request : mockServer.getReceivedRequests(ACTION_PATH)) {
+            payloads.add(request.getBodyAsString());
+        }
+        return payloads;
+    }
+
+    private static void assertInvalid(Runnable action) {
+
+        try {
+            action.run();
+            Assert.fail("An invalid performance profile was accepted.");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.actions.mockserver;
+
+import com.github.tomakehurst.wiremock.http.DelayDistribution;
+import com.github.tomakehurst.wiremock.http.FixedDelayDistribution;
+import com.github.tomakehurst.wiremock.http.LogNormal;
+import com.github.tomakehurst.wiremock.http.UniformDistribution;
+
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.checkAtLeast;
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.checkRatio;
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.checkStatus;
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.parseDouble;
+import static org.wso2.identity.integration.common.utils.PerformanceProfileUtils.parseLong;
+
+/**
+ * Performance mode settings of {@link ActionsMockServer}, used to benchmark the latency which an action adds to the
+ * flows of the server under load.
+ * <p>
+ * In performance mode the mock server keeps connections alive, delays its responses according to a latency
+ * distribution, injects failures and timeouts at the given rates, and keeps only a sample of the received requests
+ * instead of journaling all of them.
+ * <p>
+ * The profile can also be given with the following system properties, in which case it is picked up by the mock
+ * servers created with the default constructor.
+ * <ul>
+ *     <li>{@value #PERFORMANCE_MODE_PROPERTY} - Set to true to enable the performance mode.</li>
+ *     <li>{@value #LATENCY_PROPERTY} - Latency distribution. One of fixed:{millis}, uniform:{min}:{max} or
+ *     lognormal:{median}:{sigma}.</li>
+ *     <li>{@value #FAILURE_RATE_PROPERTY} - Ratio of the requests answered with an error, between 0 and 1.</li>
+ *     <li>{@value #TIMEOUT_RATE_PROPERTY} - Ratio of the requests answered after the timeout delay, between 0 and
+ *     1.</li>
+ *     <li>{@value #TIMEOUT_DELAY_PROPERTY} - Delay of the timed out requests in milliseconds.</li>
+ *     <li>{@value #JOURNAL_SAMPLE_RATE_PROPERTY} - One in how many requests are kept.</li>
+ * </ul>
+ * Invalid settings, eg: a rate outside 0 and 1 or a sample rate of 0, are rejected with an
+ * {@link IllegalArgumentException}.
+ */
+public class MockServerPerformanceProfile {
+
+    public static final String PERFORMANCE_MODE_PROPERTY = "actions.mock.performanceMode";
+    public static final String LATENCY_PROPERTY = "actions.mock.latency";
+    public static final String FAILURE_RATE_PROPERTY = "actions.mock.failureRate";
+    public static final String TIMEOUT_RATE_PROPERTY = "actions.mock.timeoutRate";
+    public static final String TIMEOUT_DELAY_PROPERTY = "actions.mock.timeoutDelayMillis";
+    public static final String JOURNAL_SAMPLE_RATE_PROPERTY = "actions.mock.journalSampleRate";
+
+    private DelayDistribution latency;
+    private double failureRate = 0;
+    private int failureStatus = 500;
+    private double timeoutRate = 0;
+    private int timeoutDelayMillis = 5000;
+    private int journalSampleRate = 100;
+    private int maxJournalSamples = 1000;
+    private int containerThreads = 200;
+    private boolean keepAlive = true;
+
+    /**
+     * Delay each response by the given time.
+     *
+     * @param millis Delay in milliseconds.
+     * @return This profile.
+     */
+    public MockServerPerformanceProfile fixedLatency(long millis) {
+
+        this.latency = new FixedDelayDistribution(checkAtLeast("latency", millis, 0));
+        return this;
+    }
+
+    /**
+     * Delay each response by a time picked uniformly between the given bounds.
+     *
+     * @param minMillis Minimum delay in milliseconds.
+     * @param maxMillis Maximum delay in milliseconds.
+     * @return This profile.
+     */
+    public MockServerPerformanceProfile uniformLatency(int minMillis, int maxMillis) {
+
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid latency bounds: " + minMillis + ", " + maxMillis);
+        }
+        this.latency = new UniformDistribution(minMillis, maxMillis);
+        return this;
+    }
+
+    /**
+     * Delay each response by a time picked from a log normal distribution, which has the long tail of the latency
+     * of real services.
+     *
+     * @param medianMillis Median delay in milliseconds.
+     * @param sigma        Standard deviation of the logarithm of the delay. eg: 0.1 for a narrow distribution, 1 for
+     *                     a long tailed one.
+     * @return This profile.
+     */
+    public MockServerPerformanceProfile logNormalLatency(double medianMillis, double sigma) {
+
+        if (!(medianMillis > 0 && sigma >= 0)) {
+            throw new IllegalArgumentException("Invalid log normal latency, expected a positive median and a " +
+                    "non-negative sigma: " + medianMillis + ", " + sigma);
+        }
+        this.latency = new LogNormal(medianMillis, sigma);
+        return this;
+    }
+
+    /**
+     * Answer the given ratio of the requests with an error status.
+     *
+     * @param failureRate Ratio of the failed requests, between 0 and 1.
+     * @return This profile.
+     */
+    public MockServerPerformanceProfile failureRate(double failureRate) {
+
+        this.failureRate = checkRatio("failure rate", failureRate);
+        return this;
+    }
+
+    public MockServerPerformanceProfile failureStatus(int failureStatus) {
+
+        this.failureStatus = checkStatus(failureStatus);
+        return this;
+    }
+
+    /**
+     * Answer the given ratio of the requests only after the timeout delay, to simulate a service which does not
+     * respond within the timeout of the action executor.
+     *
+     * @param timeoutRate Ratio of the timed out requests, between 0 and 1.
+     * @return This profile.
+     */
+    public MockServerPerformanceProfile timeoutRate(double timeoutRate) {
+
+        this.timeoutRate = checkRatio("timeout rate", timeoutRate);
+        return this;
+    }
+
+    public MockServerPerformanceProfile timeoutDelay(int timeoutDelayMillis) {
+
+        this.timeoutDelayMillis = checkAtLeast("timeout delay", timeoutDelayMillis, 0);
+        return this;
+    }
+
+    /**
+     * Keep one in the given number of received requests, so that the memory used by the mock server does not grow
+     * with the load.
+     *
+     * @param journalSampleRate One in how many requests are kept. 1 keeps every request, up to the maximum number of
+     *                          samples.
+     * @return This profile.
+     */
+    public MockServerPerformanceProfile journalSampleRate(int journalSampleRate) {
+
+        this.journalSampleRate = checkAtLeast("journal sample rate", journalSampleRate, 1);
+        return this;
+    }
+
+    public MockServerPerformanceProfile maxJournalSamples(int maxJournalSamples) {
+
+        this.maxJournalSamples = checkAtLeast("maximum number of journal samples", maxJournalSamples, 0);
+        return this;
+    }
+
+    public MockServerPerformanceProfile containerThreads(int containerThreads) {
+
+        this.containerThreads = checkAtLeast("number of container threads", containerThreads, 1);
+        return this;
+    }
+
+    public MockServerPerformanceProfile keepAlive(boolean keepAlive) {
+
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    /**
+     * Build the profile given with the system properties.
+     *
+     * @return Performance profile, or null if the performance mode is not enabled.
+     */
+    public static MockServerPerformanceProfile fromSystemProperties() {
+
+        if (!Boolean.getBoolean(PERFORMANCE_MODE_PROPERTY)) {
+            return null;
+        }
+        MockServerPerformanceProfile profile = new MockServerPerformanceProfile()
+                .failureRate(parseDouble(FAILURE_RATE_PROPERTY, System.getProperty(FAILURE_RATE_PROPERTY, "0")))
+                .timeoutRate(parseDouble(TIMEOUT_RATE_PROPERTY, System.getProperty(TIMEOUT_RATE_PROPERTY, "0")))
+                .timeoutDelay((int) parseLong(TIMEOUT_DELAY_PROPERTY,
+                        System.getProperty(TIMEOUT_DELAY_PROPERTY, "5000")))
+                .journalSampleRate((int) parseLong(JOURNAL_SAMPLE_RATE_PROPERTY,
+                        System.getProperty(JOURNAL_SAMPLE_RATE_PROPERTY, "100")));
+        String latency = System.getProperty(LATENCY_PROPERTY);
+        if (latency != null) {
+            String[] parts = latency.trim().split(":");
+            if ("fixed".equals(parts[0]) && parts.length == 2) {
+                profile.fixedLatency(parseLong(LATENCY_PROPERTY, parts[1]));
+            } else if ("uniform".equals(parts[0]) && parts.length == 3) {
+                profile.uniformLatency((int) parseLong(LATENCY_PROPERTY, parts[1]),
+                        (int) parseLong(LATENCY_PROPERTY, parts[2]));
+            } else if ("lognormal".equals(parts[0]) && parts.length == 3) {
+                profile.logNormalLatency(parseDouble(LATENCY_PROPERTY, parts[1]),
+                        parseDouble(LATENCY_PROPERTY, parts[2]));
+            } else {
+                throw new IllegalArgumentException("Invalid latency given with " + LATENCY_PROPERTY + ", expected " +
+                        "fixed:{millis}, uniform:{min}:{max} or lognormal:{median}:{sigma}: " + latency);
+            }
+        }
+        return profile;
+    }
+
+    DelayDistribution getLatency() {
+
+        return latency;
+    }
+
+    double getFailureRate() {
+
+        return failureRate;
+    }
+
+    int getFailureStatus() {
+
+        return failureStatus;
+    }
+
+    double getTimeoutRate() {
+
+        return timeoutRate;
+    }
+
+    int getTimeoutDelayMillis() {
+
+        return timeoutDelayMillis;
+    }
+
+    int getJournalSampleRate() {
+
+        return journalSampleRate;
+    }
+
+    int getMaxJournalSamples() {
+
+        return maxJournalSamples;
+    }
+
+    int getContainerThreads() {
+
+        return containerThreads;
+    }
+
+    boolean isKeepAlive() {
+
+        return keepAlive;
+    }
+}
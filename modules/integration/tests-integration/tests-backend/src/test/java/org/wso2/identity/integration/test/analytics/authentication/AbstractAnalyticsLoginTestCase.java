@@ -44,6 +44,7 @@ import org.wso2.identity.integration.common.clients.application.mgt.ApplicationM
 import org.wso2.identity.integration.common.clients.sso.saml.SAMLSSOConfigServiceClient;
 import org.wso2.identity.integration.common.clients.usermgt.remote.RemoteUserStoreManagerServiceClient;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 import org.wso2.identity.integration.test.analytics.commons.AnalyticsDataHolder;
 import org.wso2.identity.integration.test.analytics.commons.ThriftServer;
 import org.wso2.identity.integration.test.util.Utils;
@@ -52,6 +53,7 @@ import org.wso2.identity.integration.test.utils.CommonConstants;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractAnalyticsLoginTestCase extends ISIntegrationTest {
 
@@ -500,27 +502,30 @@ public abstract class AbstractAnalyticsLoginTestCase extends ISIntegrationTest {
 
     private void waitUntilEventsReceive(int eventCount) {
 
-        long terminationTime = System.currentTimeMillis() + WAIT_TIME;
         ThriftServer thriftServer = AnalyticsDataHolder.getInstance().getThriftServer();
-        while (System.currentTimeMillis() < terminationTime) {
-            if (thriftServer.getPreservedEventList().size() >= eventCount) {
-                break;
-            }
+        boolean received;
+        try {
+            received = thriftServer.waitForPreservedEvents(eventCount, WAIT_TIME, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new AssertionError("Error while waiting for " + eventCount + " events.", e);
         }
-        log.error("Waiting for events " + eventCount + " timed out.");
+        Assert.assertTrue(received, "Waiting for " + eventCount + " events timed out. Received: " +
+                thriftServer.getPreservedEventList().size());
     }
 
     protected List<String> waitUntilWriteToAuditLogs(String content) throws IOException {
 
-        List<String> auditReads = new ArrayList<>();
-        long terminationTime = System.currentTimeMillis() + WAIT_TIME;
-        while (System.currentTimeMillis() < terminationTime) {
-            auditReads = Utils.readAuditLogLineWithContent(content);
-            if ((auditReads != null && auditReads.size() > 1)) {
-                break;
-            }
+        boolean written;
+        try {
+            written = WaitUtils.waitFor("audit log lines with " + content + " are written",
+                    () -> Utils.readAuditLogLineWithContent(content).size() > 1, WAIT_TIME, TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Error while waiting for the audit log lines with " + content, e);
         }
-        return auditReads;
+        Assert.assertTrue(written, "Waiting for the audit log lines with " + content + " timed out.");
+        return Utils.readAuditLogLineWithContent(content);
     }
 
 }
@@ -20,6 +20,8 @@ package org.wso2.identity.integration.test.analytics.base;
 
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
 import org.wso2.carbon.databridge.core.exception.DataBridgeException;
 import org.wso2.carbon.databridge.core.exception.StreamDefinitionStoreException;
 import org.wso2.carbon.integration.common.utils.exceptions.AutomationUtilException;
@@ -38,11 +40,12 @@ public class AnalyticsBaseTestCase extends ISIntegrationTest {
     private ServerConfigurationManager serverConfigurationManager;
 
     @BeforeTest(alwaysRun = true)
-    public void enableAnalytics() throws Exception {
+    @Parameters({"analyticsBenchmarkMode"})
+    public void enableAnalytics(@Optional("false") String benchmarkMode) throws Exception {
 
         super.init();
         changeConfiguration();
-        startThriftServer();
+        startThriftServer(Boolean.parseBoolean(benchmarkMode));
     }
 
     @AfterTest(alwaysRun = true)
@@ -99,9 +102,10 @@ public class AnalyticsBaseTestCase extends ISIntegrationTest {
         }
     }
 
-    private void startThriftServer() throws DataBridgeException, StreamDefinitionStoreException {
+    private void startThriftServer(boolean benchmarkMode) throws DataBridgeException,
+            StreamDefinitionStoreException {
 
-        ThriftServer thriftServer = new ThriftServer("Wso2EventTestCase", 8021, true);
+        ThriftServer thriftServer = new ThriftServer("Wso2EventTestCase", 8021, true, benchmarkMode);
         thriftServer.start(8021);
         AnalyticsDataHolder.getInstance().setThriftServer(thriftServer);
         log.info("Thrift Server is Started on port 8021");
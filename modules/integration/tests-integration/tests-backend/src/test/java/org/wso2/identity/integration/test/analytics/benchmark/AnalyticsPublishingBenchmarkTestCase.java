@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.analytics.benchmark;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+import org.wso2.carbon.automation.engine.context.TestUserMode;
+import org.wso2.carbon.identity.oauth.stub.dto.OAuthConsumerAppDTO;
+import org.wso2.identity.integration.common.utils.LatencyHistogram;
+import org.wso2.identity.integration.test.analytics.commons.AnalyticsDataHolder;
+import org.wso2.identity.integration.test.analytics.commons.ThriftServer;
+import org.wso2.identity.integration.test.oauth2.OAuth2ServiceAbstractIntegrationTest;
+import org.wso2.identity.integration.test.utils.BenchmarkReport;
+import org.wso2.identity.integration.test.utils.DataExtractUtil;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+import org.wso2.identity.integration.test.utils.LoadRunner;
+import org.wso2.identity.integration.test.utils.OAuth2Constant;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures what publishing analytics events costs the token endpoint, by running the same sustained load of
+ * concurrent token requests with analytics disabled and with analytics enabled.
+ * <p>
+ * The test case is run twice by testng-analytics-benchmark.xml. It is first run on its own, with the analyticsEnabled
+ * parameter set to false, to measure the baseline throughput. It is then run after {@code AnalyticsBaseTestCase} has
+ * enabled analytics and started the {@link ThriftServer} in benchmark mode, so that the receiver only counts and
+ * samples the events. This run also reports the rate at which the events were received, their delay from the time
+ * they were published, and the number of events of each stream, once the publisher queue has drained.
+ * <p>
+ * Each run measures the load of each of the grant types in turn. With the authorization_code grant type, each
+ * request is a login of its own, ie: the authorize request, the login to commonauth, the consent when it is asked for,
+ * and the token request for the code, with a new browser session. So the login and session streams are published as
+ * well as the token issuance stream, unlike with the grant types which only call the token endpoint.
+ * <p>
+ * Each token request asks for a scope which was not requested before. Otherwise the server returns the active token
+ * of the application or the user instead of issuing a new one, and the benchmark would measure that lookup.
+ * <p>
+ * One row for each grant type of each run is appended as CSV to {@value #REPORT_FILE_NAME} in the report directory.
+ * The row of the run with analytics enabled carries the drop of the throughput from the baseline of the grant type, in
+ * percent. The event counts of each stream are written to {@value #STREAM_REPORT_FILE_NAME}.
+ * <p>
+ * The benchmark is not part of the default test suite. It is run with the benchmark profile, eg:
+ * mvn clean install -DintegrationTests -Dbenchmark=analytics -Danalytics.benchmark.threads=16
+ * <p>
+ * The benchmark can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #THREADS_PROPERTY} - Concurrent clients. Default is 8.</li>
+ *     <li>{@value #WARMUP_SECONDS_PROPERTY} - Seconds of warm up requests, which are not measured. Default is
+ *     10.</li>
+ *     <li>{@value #DURATION_SECONDS_PROPERTY} - Seconds of measured requests. Default is 60.</li>
+ *     <li>{@value #GRANT_TYPES_PROPERTY} - Comma separated grant types of the token requests, out of
+ *     client_credentials, password and authorization_code. With the password grant, each request also authenticates
+ *     the user. Default is client_credentials,authorization_code.</li>
+ *     <li>{@value #DRAIN_SECONDS_PROPERTY} - Maximum seconds to wait for the published events to be received.
+ *     Default is 30.</li>
+ *     <li>{@value #REPORT_DIR_PROPERTY} - Directory of the CSV reports. Default is the directory of the benchmark
+ *     profile, or target/analytics-benchmark.</li>
+ * </ul>
+ */
+public class AnalyticsPublishingBenchmarkTestCase extends OAuth2ServiceAbstractIntegrationTest {
+
+    private static final Log log = LogFactory.getLog(AnalyticsPublishingBenchmarkTestCase.class);
+
+    private static final String THREADS_PROPERTY = "analytics.benchmark.threads";
+    private static final String WARMUP_SECONDS_PROPERTY = "analytics.benchmark.warmupSeconds";
+    private static final String DURATION_SECONDS_PROPERTY = "analytics.benchmark.durationSeconds";
+    private static final String GRANT_TYPES_PROPERTY = "analytics.benchmark.grantTypes";
+    private static final String DRAIN_SECONDS_PROPERTY = "analytics.benchmark.drainSeconds";
+    private static final String REPORT_DIR_PROPERTY = "analytics.benchmark.reportDir";
+    private static final String REPORT_FILE_NAME = "analytics-publishing.csv";
+    private static final String STREAM_REPORT_FILE_NAME = "analytics-streams.csv";
+    private static final String REPORT_HEADER = "analytics,grantType,threads,requests,failures,requestsPerSecond," +
+            "meanMillis,p50Millis,p90Millis,p99Millis,maxMillis,throughputCostPercent,events,eventsPerSecond," +
+            "eventDelayMeanMillis,eventDelayP50Millis,eventDelayP99Millis,eventDelayMaxMillis";
+    private static final String STREAM_REPORT_HEADER = "grantType,threads,streamId,events";
+    private static final long DRAIN_POLL_MILLIS = 500;
+    private static final int EXPECTED_REQUESTS_PER_SECOND = 500;
+    private static final String UNIQUE_SCOPE_PREFIX = "analytics_benchmark_";
+
+    // Throughput of each grant type with analytics disabled, which the run with analytics enabled is compared to.
+    private static final Map<String, Double> BASELINE_REQUESTS_PER_SECOND = new HashMap<>();
+
+    private final int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+    private final int warmupSeconds = Integer.getInteger(WARMUP_SECONDS_PROPERTY, 10);
+    private final int durationSeconds = Integer.getInteger(DURATION_SECONDS_PROPERTY, 60);
+    private final int drainSeconds = Integer.getInteger(DRAIN_SECONDS_PROPERTY, 30);
+    private final AtomicLong requestedScopes = new AtomicLong();
+    private boolean analyticsEnabled;
+    private String authorizationHeader;
+    private String authorizeUrl;
+    private File reportDir;
+
+    @BeforeClass(alwaysRun = true)
+    @Parameters({"analyticsEnabled"})
+    public void testInit(@Optional("false") String analyticsEnabled) throws Exception {
+
+        super.init(TestUserMode.SUPER_TENANT_ADMIN);
+        setSystemproperties();
+        this.analyticsEnabled = Boolean.parseBoolean(analyticsEnabled);
+
+        OAuthConsumerAppDTO appDto = createApplication();
+        consumerKey = appDto.getOauthConsumerKey();
+        consumerSecret = appDto.getOauthConsumerSecret();
+        authorizationHeader = "Basic " + Base64.getEncoder().encodeToString((consumerKey + ":" + consumerSecret)
+                .getBytes(StandardCharsets.UTF_8));
+        authorizeUrl = new URIBuilder(getTenantQualifiedURL(OAuth2Constant.AUTHORIZE_ENDPOINT_URL,
+                tenantInfo.getDomain()))
+                .addParameter("response_type", OAuth2Constant.OAUTH2_GRANT_TYPE_CODE)
+                .addParameter("client_id", consumerKey)
+                .addParameter(OAuth2Constant.REDIRECT_URI_NAME, OAuth2Constant.CALLBACK_URL)
+                .build().toString();
+
+        reportDir = BenchmarkReport.getReportDir(REPORT_DIR_PROPERTY, "analytics-benchmark");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void atEnd() throws Exception {
+
+        deleteApplication();
+        removeOAuthApplicationData();
+    }
+
+    @DataProvider(name = "grantTypes")
+    public Object[][] grantTypeData() {
+
+        String[] grantTypes = System.getProperty(GRANT_TYPES_PROPERTY, OAuth2Constant
+                .OAUTH2_GRANT_TYPE_CLIENT_CREDENTIALS + "," + OAuth2Constant.OAUTH2_GRANT_TYPE_AUTHORIZATION_CODE)
+                .trim().split("\\s*,\\s*");
+        Object[][] data = new Object[grantTypes.length][];
+        for (int i = 0; i < grantTypes.length; i++) {
+            data[i] = new Object[]{grantTypes[i]};
+        }
+        return data;
+    }
+
+    @Test(description = "Measure the token endpoint throughput with analytics publishing disabled or enabled.",
+            dataProvider = "grantTypes")
+    public void testTokenThroughputWithAnalytics(String grantType) throws Exception {
+
+        ThriftServer thriftServer = AnalyticsDataHolder.getInstance().getThriftServer();
+        if (analyticsEnabled) {
+            Assert.assertNotNull(thriftServer, "The analytics event receiver is not started.");
+        }
+
+        List<Client> clients = new ArrayList<>();
+        LatencyStats stats = new LatencyStats(threads * durationSeconds * EXPECTED_REQUESTS_PER_SECOND);
+        int failures = 0;
+        long elapsedNanos;
+        // Redirects are not followed, so that the code can be taken from the redirect to the callback URL, which is
+        // not served. The cookies are kept in the context of each client.
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(LoadRunner.createConnectionManager(threads))
+                .setDefaultRequestConfig(RequestConfig.custom().setCookieSpec(CookieSpecs.STANDARD).build())
+                .disableRedirectHandling()
+                .disableConnectionState()
+                .build()) {
+            for (int i = 0; i < threads; i++) {
+                clients.add(new Client(httpClient, grantType));
+            }
+            LoadRunner runner = LoadRunner.forDuration(warmupSeconds, durationSeconds, TimeUnit.SECONDS);
+            if (analyticsEnabled) {
+                runner.beforeMeasurement(() -> {
+                    // Leave out the events of the warm up requests.
+                    waitForEvents(thriftServer);
+                    thriftServer.resetStatistics();
+                });
+            }
+            elapsedNanos = runner.run(clients);
+        }
+        for (Client client : clients) {
+            stats.merge(client.latencies);
+            failures += client.failures;
+        }
+
+        double requestsPerSecond = LoadRunner.perSecond(stats.getCount(), elapsedNanos);
+        log.info(String.format("analytics=%s grantType=%s requests=%d failures=%d requests/s=%.1f mean=%.2fms " +
+                        "p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms", analyticsEnabled, grantType,
+                stats.getCount(), failures, requestsPerSecond, stats.mean(), stats.percentile(50),
+                stats.percentile(90), stats.percentile(99), stats.percentile(100)));
+
+        double throughputCost = 0;
+        long events = 0;
+        double eventsPerSecond = 0;
+        LatencyHistogram eventDelays = new LatencyHistogram();
+        if (!analyticsEnabled) {
+            BASELINE_REQUESTS_PER_SECOND.put(grantType, requestsPerSecond);
+        } else {
+            waitForEvents(thriftServer);
+            events = thriftServer.getMsgCount();
+            eventsPerSecond = thriftServer.getEventsPerSecond();
+            eventDelays = thriftServer.getReceiveDelays();
+            Double baselineRequestsPerSecond = BASELINE_REQUESTS_PER_SECOND.get(grantType);
+            if (baselineRequestsPerSecond != null && baselineRequestsPerSecond > 0) {
+                throughputCost = (1 - requestsPerSecond / baselineRequestsPerSecond) * 100;
+            }
+            log.info(String.format("events=%d events/s=%.1f delay mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms " +
+                            "throughput cost=%.1f%%", events, eventsPerSecond, eventDelays.mean(),
+                    eventDelays.percentile(50), eventDelays.percentile(99), eventDelays.percentile(100),
+                    throughputCost));
+            writeStreamReport(grantType, thriftServer.getStreamEventCounts());
+        }
+
+        try (BenchmarkReport report = new BenchmarkReport(reportDir, REPORT_FILE_NAME, REPORT_HEADER)) {
+            report.addRow("%s,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    analyticsEnabled, grantType, threads, stats.getCount(), failures, requestsPerSecond,
+                    stats.mean(), stats.percentile(50), stats.percentile(90), stats.percentile(99),
+                    stats.percentile(100), throughputCost, events, eventsPerSecond, eventDelays.mean(),
+                    eventDelays.percentile(50), eventDelays.percentile(99), eventDelays.percentile(100));
+        }
+
+        Assert.assertEquals(failures, 0, "Failed " + grantType + " token requests.");
+        if (analyticsEnabled) {
+            Assert.assertTrue(events > 0, "No analytics events were received.");
+        }
+    }
+
+    /**
+     * Wait until the receiver has not received any event for a poll interval, or the drain timeout is reached.
+     */
+    private void waitForEvents(ThriftServer thriftServer) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(drainSeconds);
+        long lastCount = -1;
+        while (System.currentTimeMillis() < deadline) {
+            long count = thriftServer.getMsgCount();
+            if (count == lastCount) {
+                return;
+            }
+            lastCount = count;
+            Thread.sleep(DRAIN_POLL_MILLIS);
+        }
+        log.warn("Analytics events were still being received after " + drainSeconds + " seconds.");
+    }
+
+    private void writeStreamReport(String grantType, Map<String, Long> streamEventCounts) throws IOException {
+
+        try (BenchmarkReport report = new BenchmarkReport(reportDir, STREAM_REPORT_FILE_NAME,
+                STREAM_REPORT_HEADER)) {
+            for (Map.Entry<String, Long> streamEventCount : streamEventCounts.entrySet()) {
+                log.info("stream=" + streamEventCount.getKey() + " events=" + streamEventCount.getValue());
+                report.addRow("%s,%d,%s,%d", grantType, threads, streamEventCount.getKey(),
+                        streamEventCount.getValue());
+            }
+        }
+    }
+
+    private HttpPost buildTokenRequest(String grantType, String code) {
+
+        List<NameValuePair> parameters = new ArrayList<>();
+        parameters.add(new BasicNameValuePair("grant_type", grantType));
+        if (code == null) {
+            parameters.add(new BasicNameValuePair("scope", nextUniqueScope()));
+        }
+        if (OAuth2Constant.OAUTH2_GRANT_TYPE_RESOURCE_OWNER.equals(grantType)) {
+            parameters.add(new BasicNameValuePair("username", userInfo.getUserName()));
+            parameters.add(new BasicNameValuePair("password", userInfo.getPassword()));
+        } else if (code != null) {
+            parameters.add(new BasicNameValuePair(OAuth2Constant.AUTHORIZATION_CODE_NAME, code));
+            parameters.add(new BasicNameValuePair(OAuth2Constant.REDIRECT_URI_NAME, OAuth2Constant.CALLBACK_URL));
+        }
+        HttpPost request = new HttpPost(OAuth2Constant.ACCESS_TOKEN_ENDPOINT);
+        request.setHeader(HttpHeaders.AUTHORIZATION, authorizationHeader);
+        request.setEntity(new UrlEncodedFormEntity(parameters, StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * Get a scope which was not requested before, so that a new token is issued for each request.
+     */
+    private String nextUniqueScope() {
+
+        return UNIQUE_SCOPE_PREFIX + requestedScopes.incrementAndGet();
+    }
+
+    private HttpPost buildFormPost(String url, String... nameValues) {
+
+        List<NameValuePair> parameters = new ArrayList<>();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            parameters.add(new BasicNameValuePair(nameValues[i], nameValues[i + 1]));
+        }
+        HttpPost request = new HttpPost(getTenantQualifiedURL(url, tenantInfo.getDomain()));
+        request.setEntity(new UrlEncodedFormEntity(parameters, StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * A client which sends token requests one after the other, until the end of the warm up and then until the end
+     * of the measured requests. With the authorization_code grant type, each request is a login with a new browser
+     * session of the client.
+     */
+    private class Client implements LoadRunner.Worker {
+
+        private final CloseableHttpClient httpClient;
+        private final String grantType;
+        private final HttpClientContext context = HttpClientContext.create();
+        private final LatencyStats latencies = new LatencyStats(durationSeconds * EXPECTED_REQUESTS_PER_SECOND);
+        private int failures;
+
+        Client(CloseableHttpClient httpClient, String grantType) {
+
+            this.httpClient = httpClient;
+            this.grantType = grantType;
+            context.setCookieStore(new BasicCookieStore());
+        }
+
+        @Override
+        public void runIteration(int iteration, boolean measured) {
+
+            long startTime = System.nanoTime();
+            boolean success;
+            try {
+                String code = null;
+                if (OAuth2Constant.OAUTH2_GRANT_TYPE_AUTHORIZATION_CODE.equals(grantType)) {
+                    code = logIn();
+                }
+                HttpResponse response = httpClient.execute(buildTokenRequest(grantType, code), context);
+                String body = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+                success = response.getStatusLine().getStatusCode() == 200 && body.contains("access_token");
+            } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+                // An invalid redirect location, which cannot be resolved, fails the request as well.
+                log.debug(grantType + " token request failed.", e);
+                success = false;
+            }
+            long latency = System.nanoTime() - startTime;
+            if (!measured) {
+                return;
+            }
+            if (success) {
+                latencies.record(latency);
+            } else {
+                failures++;
+            }
+        }
+
+        /**
+         * Log in with a new browser session, and get the authorization code.
+         */
+        private String logIn() throws IOException, URISyntaxException {
+
+            context.getCookieStore().clear();
+            String location = redirect(new HttpGet(new URIBuilder(authorizeUrl)
+                    .addParameter("scope", OAuth2Constant.OAUTH2_SCOPE_OPENID + " " + nextUniqueScope())
+                    .build()));
+            String sessionDataKey = DataExtractUtil.getParamFromURIString(location, OAuth2Constant.SESSION_DATA_KEY);
+            if (sessionDataKey == null) {
+                throw new IOException("No sessionDataKey in the redirect to the login page: " + location);
+            }
+            location = redirect(buildFormPost(OAuth2Constant.COMMON_AUTH_URL, "username", userInfo.getUserName(),
+                    "password", userInfo.getPassword(), OAuth2Constant.SESSION_DATA_KEY, sessionDataKey));
+            location = redirect(new HttpGet(location));
+            String sessionDataKeyConsent = DataExtractUtil.getParamFromURIString(location,
+                    OAuth2Constant.SESSION_DATA_KEY_CONSENT);
+            if (sessionDataKeyConsent != null) {
+                location = redirect(buildFormPost(OAuth2Constant.APPROVAL_URL, "consent", "approve",
+                        OAuth2Constant.SESSION_DATA_KEY_CONSENT, sessionDataKeyConsent));
+            }
+            String code = DataExtractUtil.getParamFromURIString(location, OAuth2Constant.AUTHORIZATION_CODE_NAME);
+            if (code == null) {
+                throw new IOException("No authorization code in the redirect to the callback URL: " + location);
+            }
+            return code;
+        }
+
+        /**
+         * Send a request of the login flow, and get the location it redirects to, resolved against the request.
+         */
+        private String redirect(HttpUriRequest request) throws IOException {
+
+            HttpResponse response = httpClient.execute(request, context);
+            EntityUtils.consume(response.getEntity());
+            Header location = response.getFirstHeader(HttpHeaders.LOCATION);
+            if (location == null) {
+                throw new IOException(request.getURI() + " responded with " + response.getStatusLine()
+                        .getStatusCode() + " instead of a redirect.");
+            }
+            return URIUtils.resolve(request.getURI(), location.getValue()).toString();
+        }
+    }
+}
@@ -36,6 +36,9 @@ import org.wso2.carbon.databridge.core.exception.StreamDefinitionStoreException;
 import org.wso2.carbon.databridge.core.internal.authentication.AuthenticationHandler;
 import org.wso2.carbon.databridge.receiver.thrift.ThriftDataReceiver;
 import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.identity.integration.common.utils.LatencyHistogram;
+import org.wso2.identity.integration.common.utils.WaitSignal;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -43,33 +46,84 @@ import java.io.FileReader;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 
+/**
+ * Thrift event receiver which stands in for the analytics server, to verify the events published by IS.
+ * <p>
+ * By default, the receiver logs every batch of events and can preserve all of them, for the tests to assert on. In
+ * benchmark mode, it only counts the events of each stream, records the delay between the publishing time of each
+ * event and the time it is received, and keeps a bounded sample of the events, so that it can take a sustained load
+ * without growing its memory or slowing down the publisher with logging. The counters are striped, so that the
+ * receiver threads do not contend on them. The sample is tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #SAMPLE_RATE_PROPERTY} - One in how many events is sampled. Default is 100.</li>
+ *     <li>{@value #MAX_SAMPLES_PROPERTY} - Maximum number of sampled events. Default is 1000.</li>
+ * </ul>
+ */
 public class ThriftServer implements Runnable {
 
     private static Log log = LogFactory.getLog(ThriftServer.class);
     private static final String FILE_STREAM_DEFINITION_EXT = ".json";
+    private static final String SAMPLE_RATE_PROPERTY = "analytics.benchmark.sampleRate";
+    private static final String MAX_SAMPLES_PROPERTY = "analytics.benchmark.maxSamples";
     private AbstractStreamDefinitionStore streamDefinitionStore = new InMemoryStreamDefinitionStore();
     private ThriftDataReceiver thriftDataReceiver;
-    private boolean eventReceived = false;
-    private AtomicLong msgCount = new AtomicLong(0);
+    private volatile boolean eventReceived = false;
+    private final LongAdder msgCount = new LongAdder();
     private String testCaseResourceFolderName;
     private int listeningPort;
-    private List<Event> preservedEventList = new ArrayList<>();
+    private final List<Event> preservedEventList = Collections.synchronizedList(new ArrayList<>());
     private boolean isPreservingEvents;
+    private final WaitSignal eventSignal = new WaitSignal();
+
+    private final boolean isBenchmarkMode;
+    private final int sampleRate = Math.max(1, Integer.getInteger(SAMPLE_RATE_PROPERTY, 100));
+    private final int maxSamples = Integer.getInteger(MAX_SAMPLES_PROPERTY, 1000);
+    private final Map<String, LongAdder> streamEventCounts = new ConcurrentHashMap<>();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final Deque<Event> sampledEvents = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger sampledEventCount = new AtomicInteger();
+    private volatile LatencyHistogram receiveDelays = new LatencyHistogram();
+    private final AtomicLong firstEventNanos = new AtomicLong();
+    private volatile long lastEventNanos;
 
     public ThriftServer(String testCaseResourceFolderName, int listeningPort, boolean isPreservingEvents) {
 
+        this(testCaseResourceFolderName, listeningPort, isPreservingEvents, false);
+    }
+
+    /**
+     * Create a receiver.
+     *
+     * @param testCaseResourceFolderName Folder of the stream definitions, in the analytics test resources.
+     * @param listeningPort              Port the receiver listens on when started with {@link #startServer()}.
+     * @param isPreservingEvents         Whether all the received events are kept. Ignored in benchmark mode.
+     * @param isBenchmarkMode            Whether the events are only counted and sampled.
+     */
+    public ThriftServer(String testCaseResourceFolderName, int listeningPort, boolean isPreservingEvents,
+                        boolean isBenchmarkMode) {
+
         this.testCaseResourceFolderName = testCaseResourceFolderName;
         this.listeningPort = listeningPort;
-        this.isPreservingEvents = isPreservingEvents;
+        this.isPreservingEvents = isPreservingEvents && !isBenchmarkMode;
+        this.isBenchmarkMode = isBenchmarkMode;
     }
 
     public void startServer() throws DataBridgeException, StreamDefinitionStoreException {
 
-        msgCount.set(0);
+        msgCount.reset();
         start(listeningPort);
     }
 
@@ -130,13 +184,20 @@ public class ThriftServer implements Runnable {
             @Override
             public void receive(List<Event> eventList, Credentials credentials) {
 
-                log.info("eventListSize=" + eventList.size() + " eventList " + eventList + " for username " +
-                        credentials.getUsername());
                 eventReceived = true;
-                msgCount.addAndGet(eventList.size());
+                msgCount.add(eventList.size());
+                if (isBenchmarkMode) {
+                    recordEvents(eventList);
+                    return;
+                }
+                log.info("eventListSize=" + eventList.size() + " for username " + credentials.getUsername());
+                if (log.isDebugEnabled()) {
+                    log.debug("eventList " + eventList);
+                }
                 if (isPreservingEvents) {
                     preservedEventList.addAll(eventList);
                 }
+                eventSignal.signal();
             }
         });
         thriftDataReceiver.start("0.0.0.0");
@@ -166,7 +227,7 @@ public class ThriftServer implements Runnable {
 
     public long getMsgCount() {
 
-        return msgCount.get();
+        return msgCount.sum();
     }
 
     public List<Event> getPreservedEventList() {
@@ -174,9 +235,25 @@ public class ThriftServer implements Runnable {
         return preservedEventList;
     }
 
+    /**
+     * Wait until at least the given number of events are preserved. The waiting thread is woken up as soon as a batch
+     * of events is received.
+     *
+     * @param eventCount Number of events to wait for.
+     * @param timeout    Maximum time to wait.
+     * @param unit       Unit of the timeout.
+     * @return True if the events were received within the timeout.
+     * @throws Exception If the waiting thread is interrupted.
+     */
+    public boolean waitForPreservedEvents(int eventCount, long timeout, TimeUnit unit) throws Exception {
+
+        return WaitUtils.waitFor(eventCount + " events are received", () -> preservedEventList.size() >= eventCount,
+                eventSignal, timeout, unit);
+    }
+
     public void resetMsgCount() {
 
-        msgCount = new AtomicLong(0);
+        msgCount.reset();
     }
 
     public void resetPreservedEventList() {
@@ -185,6 +262,91 @@ public class ThriftServer implements Runnable {
         preservedEventList.clear();
     }
 
+    /**
+     * Get the number of events received for each stream, in benchmark mode.
+     *
+     * @return Event counts, keyed by the stream id and sorted by it.
+     */
+    public Map<String, Long> getStreamEventCounts() {
+
+        Map<String, Long> counts = new TreeMap<>();
+        streamEventCounts.forEach((streamId, count) -> counts.put(streamId, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Get the delays between the publishing time of the events and the time they were received, in benchmark mode.
+     * The delays include the batching of the publisher and the clock difference of the publisher and the receiver,
+     * which is none when IS runs on the same host.
+     *
+     * @return Histogram of the delays of the events received since the statistics were last reset.
+     */
+    public LatencyHistogram getReceiveDelays() {
+
+        return receiveDelays;
+    }
+
+    /**
+     * Get the rate at which events were received, in benchmark mode, from the first to the last event received.
+     *
+     * @return Events per second, or 0 if less than two batches were received.
+     */
+    public double getEventsPerSecond() {
+
+        long elapsedNanos = lastEventNanos - firstEventNanos.get();
+        if (firstEventNanos.get() == 0 || elapsedNanos <= 0) {
+            return 0;
+        }
+        return msgCount.sum() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Get the events sampled in benchmark mode.
+     *
+     * @return Sampled events, in the order they were received.
+     */
+    public List<Event> getSampledEvents() {
+
+        return new ArrayList<>(sampledEvents);
+    }
+
+    /**
+     * Clear the counts, the delays and the samples of benchmark mode, along with the message count. Events received
+     * while clearing may be counted either before or after.
+     */
+    public void resetStatistics() {
+
+        msgCount.reset();
+        streamEventCounts.clear();
+        receiveDelays = new LatencyHistogram();
+        eventSequence.set(0);
+        sampledEvents.clear();
+        sampledEventCount.set(0);
+        firstEventNanos.set(0);
+        lastEventNanos = 0;
+    }
+
+    private void recordEvents(List<Event> eventList) {
+
+        long receivedNanos = System.nanoTime();
+        firstEventNanos.compareAndSet(0, receivedNanos);
+        lastEventNanos = receivedNanos;
+
+        long receivedMillis = System.currentTimeMillis();
+        LatencyHistogram delays = receiveDelays;
+        for (Event event : eventList) {
+            delays.record(TimeUnit.MILLISECONDS.toNanos(receivedMillis - event.getTimeStamp()));
+            streamEventCounts.computeIfAbsent(event.getStreamId(), streamId -> new LongAdder()).increment();
+            if ((eventSequence.incrementAndGet() - 1) % sampleRate == 0 &&
+                    sampledEventCount.incrementAndGet() <= maxSamples) {
+                sampledEvents.add(event);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Received " + eventList.size() + " events.");
+        }
+    }
+
     public List<StreamDefinition> loadStreamDefinitions() {
 
         String directoryPath = getResourceFilePath(testCaseResourceFolderName, "");
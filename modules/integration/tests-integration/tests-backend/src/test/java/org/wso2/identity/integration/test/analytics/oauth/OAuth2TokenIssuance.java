@@ -39,6 +39,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.wso2.identity.integration.test.utils.DataExtractUtil.KeyValue;
 
@@ -146,13 +147,9 @@ public class OAuth2TokenIssuance extends OAuth2ServiceAbstractIntegrationTest {
        }
     }
 
-    private void waitUntilEventsReceive(int eventCount) {
+    private void waitUntilEventsReceive(int eventCount) throws Exception {
 
-        long terminationTime = System.currentTimeMillis() + WAIT_TIME;
-        while (System.currentTimeMillis() < terminationTime) {
-            if (AnalyticsDataHolder.getInstance().getThriftServer().getPreservedEventList().size() >= eventCount) {
-                break;
-            }
-        }
+        Assert.assertTrue(AnalyticsDataHolder.getInstance().getThriftServer().waitForPreservedEvents(eventCount,
+                WAIT_TIME, TimeUnit.MILLISECONDS), "Waiting for " + eventCount + " events timed out.");
     }
 }
\ No newline at end of file
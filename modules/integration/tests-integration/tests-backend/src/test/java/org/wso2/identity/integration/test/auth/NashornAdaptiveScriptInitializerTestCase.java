@@ -19,15 +19,16 @@
 package org.wso2.identity.integration.test.auth;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
 import org.wso2.carbon.automation.engine.frameworkutils.FrameworkPathUtil;
-import org.wso2.carbon.automation.extensions.servers.utils.ServerLogReader;
 import org.wso2.carbon.integration.common.utils.exceptions.AutomationUtilException;
 import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
 import org.wso2.carbon.utils.CarbonUtils;
+import org.wso2.identity.integration.test.sts.ServerLogReader;
 import org.wso2.identity.integration.test.util.Utils;
 
 /**
@@ -65,8 +66,8 @@ public class NashornAdaptiveScriptInitializerTestCase extends AbstractAdaptiveAu
 
     protected static void runAdaptiveAuthenticationDependencyScript(boolean disable, ServerConfigurationManager scm, Log logger) {
 
-        ServerLogReader inputStreamHandler;
-        ServerLogReader errorStreamHandler;
+        ServerLogReader inputStreamHandler = null;
+        ServerLogReader errorStreamHandler = null;
         String targetFolder = System.getProperty("carbon.home");
         String scriptFolder = FrameworkPathUtil.getSystemResourceLocation() + File.separator;
         Process tempProcess = null;
@@ -118,6 +119,12 @@ public class NashornAdaptiveScriptInitializerTestCase extends AbstractAdaptiveAu
             if (tempProcess != null) {
                 tempProcess.destroy();
             }
+            if (inputStreamHandler != null) {
+                inputStreamHandler.stop();
+            }
+            if (errorStreamHandler != null) {
+                errorStreamHandler.stop();
+            }
         }
     }
 
@@ -126,19 +133,13 @@ public class NashornAdaptiveScriptInitializerTestCase extends AbstractAdaptiveAu
         serverConfigurationManager.restartGracefully();
     }
 
-    private static boolean waitForMessage(ServerLogReader inputStreamHandler, boolean disable) {
+    private static boolean waitForMessage(ServerLogReader inputStreamHandler, boolean disable) throws Exception {
 
-        long time = System.currentTimeMillis() + 60 * 1000;
         String message = "Adaptive authentication successfully enabled.";
         if (disable) {
             message = "Adaptive authentication successfully disabled.";
         }
-        while (System.currentTimeMillis() < time) {
-            if (inputStreamHandler.getOutput().contains(message)) {
-                return true;
-            }
-        }
-        return false;
+        return inputStreamHandler.waitForMessage(message, 60, TimeUnit.SECONDS);
     }
 
     @AfterTest(alwaysRun = true)
@@ -19,10 +19,7 @@
 package org.wso2.identity.integration.test.auth;
 
 import org.apache.catalina.LifecycleException;
-import org.apache.catalina.startup.Tomcat;
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
@@ -39,7 +36,6 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.wso2.carbon.automation.test.utils.dbutils.H2DataBaseManager;
 import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
-import org.wso2.identity.integration.test.base.TomcatInitializerTestCase;
 import org.wso2.identity.integration.test.oidc.OIDCAbstractIntegrationTest;
 import org.wso2.identity.integration.test.oidc.OIDCUtilTest;
 import org.wso2.identity.integration.test.oidc.bean.OIDCApplication;
@@ -51,12 +47,11 @@ import org.wso2.identity.integration.test.rest.api.user.common.model.ListObject;
 import org.wso2.identity.integration.test.rest.api.user.common.model.RoleRequestObject;
 import org.wso2.identity.integration.test.rest.api.user.common.model.UserObject;
 import org.wso2.identity.integration.test.restclients.UserStoreMgtRestClient;
-import org.wso2.identity.integration.test.util.Utils;
+import org.wso2.identity.integration.test.util.TomcatFixture;
 import org.wso2.identity.integration.test.utils.DataExtractUtil;
 import org.wso2.identity.integration.test.utils.OAuth2Constant;
 
 import java.io.File;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -87,13 +82,12 @@ public class SecondaryStoreUserLoginTestCase extends OIDCAbstractIntegrationTest
     private static final String SECONDARY_USER_ROLE = "jdbcSecondaryUserStoreRole";
     private static final String USER_STORE_DB_NAME = "SECONDARY_USER_STORE_DB";
     private static final String USER_STORE_TYPE = "VW5pcXVlSURKREJDVXNlclN0b3JlTWFuYWdlcg";
-    private static final Log LOG = LogFactory.getLog(TomcatInitializerTestCase.class);
     private static final String DB_USER_NAME = "wso2automation";
     private static final String DB_USER_PASSWORD = "wso2automation";
     private OIDCApplication playgroundApp;
     private HttpClient client;
     private String sessionDataKey;
-    private Tomcat tomcat;
+    private boolean startedTomcat;
     private String clientID;
     private UserStoreMgtRestClient userStoreMgtRestClient;
     private String userStoreId;
@@ -251,27 +245,19 @@ public class SecondaryStoreUserLoginTestCase extends OIDCAbstractIntegrationTest
         }
     }
 
-    private void startTomcat() throws LifecycleException, NullPointerException {
-
-        tomcat = Utils.getTomcat(getClass());
-        URL resourceUrl = getClass().getResource("/samples/playground2.war");
-        Assert.assertNotNull(resourceUrl, "resourceUrl is null");
-        tomcat.addWebapp(tomcat.getHost(), "/" + "playground2", resourceUrl.getPath());
-        LOG.info("Deployed tomcat application " + "playground2");
-        try {
-            tomcat.start();
-        } catch (LifecycleException e) {
-            LOG.error("Error while starting tomcat server ", e);
-            throw e;
-        }
-        LOG.info("Tomcat server started.");
+    private void startTomcat() throws LifecycleException {
+
+        // The playground is deployed on the suite wide Tomcat, which is only started here if it is not running.
+        TomcatFixture tomcat = TomcatFixture.getInstance();
+        tomcat.deploy("playground2");
+        startedTomcat = tomcat.start();
     }
 
     private void stopTomcat() throws LifecycleException {
 
-        tomcat.stop();
-        tomcat.destroy();
-        LOG.info("Tomcat server stopped.");
+        if (startedTomcat) {
+            TomcatFixture.getInstance().stop();
+        }
     }
 
     private void addSecondaryJDBCUserStore() throws Exception {
@@ -327,7 +313,6 @@ public class SecondaryStoreUserLoginTestCase extends OIDCAbstractIntegrationTest
                         .value("true"));
 
         userStoreId = userStoreMgtRestClient.addUserStore(userStore);
-        Thread.sleep(5000);
         boolean isSecondaryUserStoreDeployed = userStoreMgtRestClient.waitForUserStoreDeployment(DOMAIN_ID);
         Assert.assertTrue(isSecondaryUserStoreDeployed);
     }
@@ -21,8 +21,7 @@ package org.wso2.identity.integration.test.base;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
-import org.wso2.identity.integration.test.utils.ExternalLDAPServer;
-import org.apache.commons.io.FileUtils;
+import org.wso2.identity.integration.test.utils.LDAPFixture;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -30,6 +29,11 @@ import java.io.File;
 
 /**
  * Test class that will start and stop external ldap server for the tests in the test suite.
+ * <p>
+ * The server can be pre-populated with the ldap.fixture.users and ldap.fixture.groups system properties, which are 0
+ * by default. The working directory of each populated data set is snapshotted to the directory given by the
+ * ldap.fixture.snapshotDir system property, ~/.wso2-is-integration/ldap-snapshots by default, and restored on the next
+ * runs instead of being built again. Without them, the server is started as an empty external LDAP, as before.
  */
 public class LDAPServerInitializerTestCase extends ISIntegrationTest {
 
@@ -37,22 +41,23 @@ public class LDAPServerInitializerTestCase extends ISIntegrationTest {
     private static final String workingDirectoryPath = "ldapWorkingDirectory";
     private static final int ldapServerPort = 10389;
     private static final int offset = 410;
-    private ExternalLDAPServer ldapServer;
+    private static final String USERS_PROPERTY = "ldap.fixture.users";
+    private static final String GROUPS_PROPERTY = "ldap.fixture.groups";
+    private static final String SNAPSHOT_DIR_PROPERTY = "ldap.fixture.snapshotDir";
+    private static final String DEFAULT_SNAPSHOT_DIR = System.getProperty("user.home") + File.separator +
+            ".wso2-is-integration" + File.separator + "ldap-snapshots";
+    private LDAPFixture ldapFixture;
 
     @BeforeSuite(alwaysRun = true)
     public void initTest() throws Exception {
 
         try {
-            File workDir = new File(workingDirectoryPath);
-            if (workDir.exists()) {
-                FileUtils.deleteDirectory(workDir);
-            }
-            workDir.mkdir();
             String schemaZipFilePath = getISResourceLocation() + File.separator + "is-default-schema.zip";
-            ldapServer = new ExternalLDAPServer(workingDirectoryPath, schemaZipFilePath,
-                    ldapServerPort + offset);
-            ldapServer.init();
-            ldapServer.startServer(true);
+            ldapFixture = new LDAPFixture(workingDirectoryPath, schemaZipFilePath, ldapServerPort + offset)
+                    .users(Integer.getInteger(USERS_PROPERTY, 0))
+                    .groups(Integer.getInteger(GROUPS_PROPERTY, 0))
+                    .snapshotDirectory(new File(System.getProperty(SNAPSHOT_DIR_PROPERTY, DEFAULT_SNAPSHOT_DIR)));
+            ldapFixture.start();
             LOG.info("External LDAP is started.");
         } catch (Exception e) {
             throw new Exception("Failed to start external LDAP.", e);
@@ -63,7 +68,7 @@ public class LDAPServerInitializerTestCase extends ISIntegrationTest {
     public void tearDownTest() throws Exception {
 
         try {
-            ldapServer.stopServer();
+            ldapFixture.stop();
             LOG.info("External LDAP is stopped.");
         } catch (Exception e) {
             throw new Exception("Failed to stop external LDAP.", e);
@@ -56,19 +56,41 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
  */
 public class MockOIDCIdentityProvider {
 
-    public static final String MOCK_IDP_AUTHORIZE_ENDPOINT = "https://localhost:8089/authorize";
-    public static final String MOCK_IDP_TOKEN_ENDPOINT = "https://localhost:8089/token";
-    public static final String MOCK_IDP_LOGOUT_ENDPOINT = "https://localhost:8089/oidc/logout";
     public static final String MOCK_IDP_CLIENT_ID = "mockIdPClientID";
     public static final String MOCK_IDP_CLIENT_SECRET = "mockIdPClientSecret";
+    private static final int DYNAMIC_PORT = 0;
 
+    private final int httpsPort;
     private WireMockServer wireMockServer;
     private final AtomicReference<String> authorizationCode = new AtomicReference<>();
 
+    /**
+     * Create a mock IdP which listens on a free HTTPS port allocated when the IdP is started.
+     */
+    public MockOIDCIdentityProvider() {
+
+        this(DYNAMIC_PORT);
+    }
+
+    /**
+     * Create a mock IdP which listens on the given HTTPS port.
+     *
+     * @param httpsPort HTTPS port of the mock IdP.
+     */
+    public MockOIDCIdentityProvider(int httpsPort) {
+
+        this.httpsPort = httpsPort;
+    }
+
     public void start() {
 
-        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
-                .httpsPort(8089)
+        WireMockConfiguration configuration = WireMockConfiguration.wireMockConfig();
+        if (httpsPort == DYNAMIC_PORT) {
+            configuration.dynamicHttpsPort();
+        } else {
+            configuration.httpsPort(httpsPort);
+        }
+        wireMockServer = new WireMockServer(configuration
                 .keystorePath(Paths.get(Utils.getResidentCarbonHome(), "repository", "resources", "security",
                         "wso2carbon.p12").toAbsolutePath().toString())
                 .keystorePassword("wso2carbon")
@@ -111,6 +133,31 @@ public class MockOIDCIdentityProvider {
         }
     }
 
+    /**
+     * Get the base URL of the mock IdP. Available only after the IdP is started.
+     *
+     * @return Base URL. eg: https://localhost:8089
+     */
+    public String getBaseUrl() {
+
+        return "https://localhost:" + wireMockServer.httpsPort();
+    }
+
+    public String getAuthorizeEndpoint() {
+
+        return getBaseUrl() + "/authorize";
+    }
+
+    public String getTokenEndpoint() {
+
+        return getBaseUrl() + "/token";
+    }
+
+    public String getLogoutEndpoint() {
+
+        return getBaseUrl() + "/oidc/logout";
+    }
+
     private void configureMockEndpoints() {
 
         wireMockServer.stubFor(post(urlEqualTo("/token"))
@@ -186,7 +233,7 @@ public class MockOIDCIdentityProvider {
 
         // Prepare JWT with claims set
         JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
-                .issuer("https://localhost:8089/token")
+                .issuer(getTokenEndpoint())
                 .subject("61b935a1-1915-4792-8916-99c59d03c54a")
                 .audience("LzWfxDK_7LSGxfuL3BlRdXUGEJYa")
                 .claim("azp", "LzWfxDK_7LSGxfuL3BlRdXUGEJYa")
@@ -19,20 +19,14 @@
 package org.wso2.identity.integration.test.base;
 
 import org.apache.catalina.LifecycleException;
-import org.apache.catalina.startup.Tomcat;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
-import org.wso2.identity.integration.test.util.Utils;
-
-import java.io.File;
-import java.net.URL;
+import org.wso2.identity.integration.test.util.TomcatFixture;
 
 /**
- * Test class that will start and stop tomcat server for the tests in the test suite.
- *
+ * Test class that will start and stop tomcat server for the tests in the test suite. The sample applications are
+ * deployed on the suite wide {@link TomcatFixture}, which the test classes can deploy further applications on.
  */
 public class TomcatInitializerTestCase extends ISIntegrationTest {
 
@@ -54,9 +48,6 @@ public class TomcatInitializerTestCase extends ISIntegrationTest {
             // TODO: End of openid apps
 
     };
-    private static final Log LOG = LogFactory.getLog(TomcatInitializerTestCase.class);
-
-    private Tomcat tomcat;
 
     @BeforeSuite(alwaysRun = true)
     public void initTest() throws Exception {
@@ -74,25 +65,13 @@ public class TomcatInitializerTestCase extends ISIntegrationTest {
 
     private void startTomcat() throws LifecycleException {
 
-        tomcat = Utils.getTomcat(getClass());
-        for (String application : APPLICATIONS) {
-            URL resourceUrl = getClass().getResource("/samples/" + application + ".war");
-            tomcat.addWebapp(tomcat.getHost(), "/" + application, resourceUrl.getPath());
-            LOG.info("Deployed tomcat application " + application);
-        }
-        try {
-            tomcat.start();
-        } catch (LifecycleException e) {
-            LOG.error("Error while starting tomcat server ", e);
-            throw e;
-        }
-        LOG.info("Tomcat server started.");
+        TomcatFixture tomcat = TomcatFixture.getInstance();
+        tomcat.deploy(APPLICATIONS);
+        tomcat.start();
     }
 
     private void stopTomcat() throws LifecycleException {
 
-        tomcat.stop();
-        tomcat.destroy();
-        LOG.info("Tomcat server stopped.");
+        TomcatFixture.getInstance().stop();
     }
 }
@@ -0,0 +1,636 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.entitlement;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.entitlement.stub.dto.PolicyDTO;
+import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
+import org.wso2.identity.integration.common.clients.entitlement.EntitlementPolicyServiceClient;
+import org.wso2.identity.integration.common.clients.entitlement.EntitlementServiceClient;
+import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.common.utils.WaitUtils;
+import org.wso2.identity.integration.test.util.Utils;
+import org.wso2.identity.integration.test.utils.BenchmarkReport;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+import org.wso2.identity.integration.test.utils.LoadRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the decision throughput and latency of the XACML PDP as the number of published policies grows, with the
+ * decision cache enabled and disabled.
+ * <p>
+ * The policies are generated from the authentication policy templates shipped with the server, in
+ * repository/resources/identity/policies/xacml/default, each bound to its own service provider name. They are added
+ * in batches with {@link EntitlementPolicyServiceClient#addPolicies(PolicyDTO[])} and published to the PDP. Each
+ * request targets one of the policies and carries the attributes which satisfy every template, so that every
+ * decision is a Permit.
+ * <p>
+ * For each decision cache mode and policy count, the following requests are sent concurrently, first for a number of
+ * warm up iterations and then for the measured iterations.
+ * <ul>
+ *     <li>SINGLE - A XACML request with a single decision, to the EntitlementService admin service.</li>
+ *     <li>MULTI_DECISION - A XACML request of the multiple decision profile, which repeats the service provider
+ *     category to get the decisions of several policies in one request.</li>
+ *     <li>JSON - A JSON request with a single decision, to the /api/identity/entitlement/decision/pdp endpoint.</li>
+ * </ul>
+ * The requests cycle through a fixed number of distinct requests, so that the decision cache is hit when it is
+ * enabled. The throughput and the latency percentiles are logged and written as CSV to {@value #REPORT_FILE_NAME} in
+ * the report directory. The decision cache is switched by replacing entitlement.properties and restarting the server.
+ * <p>
+ * The benchmark is not part of the default test suite. It is run with the benchmark profile, eg:
+ * mvn clean install -DintegrationTests -Dbenchmark=entitlement -Dentitlement.benchmark.policyCounts=10,100,1000
+ * <p>
+ * The benchmark can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #POLICY_COUNTS_PROPERTY} - Comma separated positive numbers of policies to publish. Default is
+ *     10,100,1000.</li>
+ *     <li>{@value #DECISION_CACHE_PROPERTY} - Comma separated decision cache modes, out of true and false. Default
+ *     is true,false.</li>
+ *     <li>{@value #THREADS_PROPERTY} - Concurrent clients. Default is 8.</li>
+ *     <li>{@value #WARMUP_PROPERTY} - Warm up requests of each client. Default is 50.</li>
+ *     <li>{@value #ITERATIONS_PROPERTY} - Measured requests of each client. Default is 250.</li>
+ *     <li>{@value #DISTINCT_REQUESTS_PROPERTY} - Number of distinct requests cycled through. Default is 100.</li>
+ *     <li>{@value #MULTI_DECISION_SIZE_PROPERTY} - Decisions of each multiple decision profile request. Default is
+ *     10.</li>
+ *     <li>{@value #BATCH_SIZE_PROPERTY} - Policies added and published in each batch. Default is 100.</li>
+ *     <li>{@value #REPORT_DIR_PROPERTY} - Directory of the CSV report. Default is the directory of the benchmark
+ *     profile, or target/entitlement-benchmark.</li>
+ * </ul>
+ */
+public class EntitlementPDPBenchmarkTestCase extends ISIntegrationTest {
+
+    private static final Log log = LogFactory.getLog(EntitlementPDPBenchmarkTestCase.class);
+
+    private static final String POLICY_COUNTS_PROPERTY = "entitlement.benchmark.policyCounts";
+    private static final String DECISION_CACHE_PROPERTY = "entitlement.benchmark.decisionCache";
+    private static final String THREADS_PROPERTY = "entitlement.benchmark.threads";
+    private static final String WARMUP_PROPERTY = "entitlement.benchmark.warmup";
+    private static final String ITERATIONS_PROPERTY = "entitlement.benchmark.iterations";
+    private static final String DISTINCT_REQUESTS_PROPERTY = "entitlement.benchmark.distinctRequests";
+    private static final String MULTI_DECISION_SIZE_PROPERTY = "entitlement.benchmark.multiDecisionSize";
+    private static final String BATCH_SIZE_PROPERTY = "entitlement.benchmark.batchSize";
+    private static final String REPORT_DIR_PROPERTY = "entitlement.benchmark.reportDir";
+    private static final String REPORT_FILE_NAME = "entitlement-pdp.csv";
+    private static final String REPORT_HEADER = "decisionCache,policies,requestType,threads,requests," +
+            "decisionsPerRequest,requestsPerSecond,decisionsPerSecond,meanMillis,p50Millis,p90Millis,p99Millis," +
+            "p999Millis,maxMillis";
+
+    private static final String DEFAULT_CONFIG_FILE = "entitlement_default.properties";
+    private static final String DECISION_CACHE_DISABLED_CONFIG_FILE = "entitlement_decision_cache_disabled.properties";
+    private static final String JSON_ENDPOINT_CONTEXT = "api/identity/entitlement/decision";
+    private static final String JSON_ENDPOINT_PATH = "pdp";
+    private static final String PDP_SUBSCRIBER = "PDP Subscriber";
+    private static final String AUTHN_TEMPLATE_PREFIX = "authn_";
+    private static final String TEMPLATE_SUFFIX = "_template.xml";
+    private static final String POLICY_ID_PREFIX = "entitlement_benchmark_policy_";
+    private static final String SP_NAME_PREFIX = "entitlement_benchmark_sp_";
+    private static final Pattern POLICY_ID_PATTERN = Pattern.compile("PolicyId=\"[^\"]*\"");
+    private static final Pattern XML_PERMIT_PATTERN = Pattern.compile("<Decision>Permit</Decision>");
+    private static final String PERMIT = "Permit";
+
+    private static final String XACML_NAMESPACE = "urn:oasis:names:tc:xacml:3.0:core:schema:wd-17";
+    private static final String STRING_DATA_TYPE = "http://www.w3.org/2001/XMLSchema#string";
+    private static final String TIME_DATA_TYPE = "http://www.w3.org/2001/XMLSchema#time";
+    private static final String SP_CATEGORY = "http://wso2.org/identity/sp";
+    private static final String SP_NAME_ATTRIBUTE = "http://wso2.org/identity/sp/sp-name";
+    private static final String ROLE_1 = "benchmark_role_1";
+    private static final String GROUP_1 = "benchmark_group_1";
+    private static final String SCOPE_1 = "benchmark_scope_1";
+    private static final String USER_STORE_1 = "PRIMARY";
+    private static final String CLAIM_URI_1 = "http://wso2.org/claims/country";
+    private static final String CLAIM_URI_2 = "http://wso2.org/claims/organization";
+    private static final String CLAIM_VALUE_1 = "benchmark_country";
+    private static final String CLAIM_VALUE_2 = "benchmark_organization";
+    // Within the 09:00:00 to 17:00:00 range of the time based templates, so that decisions do not depend on the time
+    // the benchmark is run at.
+    private static final String CURRENT_TIME = "12:00:00";
+
+    // Values of the placeholders of the templates.
+    private static final Map<String, String> TEMPLATE_VALUES = new LinkedHashMap<>();
+    // Attributes of each request other than the service provider name, which satisfy the rules of every template.
+    private static final List<String[]> REQUEST_ATTRIBUTES = new ArrayList<>();
+
+    static {
+        TEMPLATE_VALUES.put("ROLE_1", ROLE_1);
+        TEMPLATE_VALUES.put("ROLE_2", "benchmark_role_2");
+        TEMPLATE_VALUES.put("GROUP_1", GROUP_1);
+        TEMPLATE_VALUES.put("GROUP_2", "benchmark_group_2");
+        TEMPLATE_VALUES.put("SCOPE1", SCOPE_1);
+        TEMPLATE_VALUES.put("SCOPE2", "benchmark_scope_2");
+        TEMPLATE_VALUES.put("USERSTORE_1", USER_STORE_1);
+        TEMPLATE_VALUES.put("USERSTORE_2", "BENCHMARK");
+        TEMPLATE_VALUES.put("CLAIM_URI_1", CLAIM_URI_1);
+        TEMPLATE_VALUES.put("CLAIM_URI_2", CLAIM_URI_2);
+        TEMPLATE_VALUES.put("CLAIM_VALUE_1", CLAIM_VALUE_1);
+        TEMPLATE_VALUES.put("CLAIM_VALUE_2", CLAIM_VALUE_2);
+
+        // Category, attribute id, data type and value of each attribute.
+        REQUEST_ATTRIBUTES.add(new String[]{"http://wso2.org/identity/identity-action",
+                "http://wso2.org/identity/identity-action/action-name", STRING_DATA_TYPE, "authenticate"});
+        REQUEST_ATTRIBUTES.add(new String[]{"urn:oasis:names:tc:xacml:1.0:subject-category:access-subject",
+                "http://wso2.org/claims/roles", STRING_DATA_TYPE, "Internal/" + ROLE_1});
+        REQUEST_ATTRIBUTES.add(new String[]{"urn:oasis:names:tc:xacml:1.0:subject-category:access-subject",
+                "http://wso2.org/claims/groups", STRING_DATA_TYPE, GROUP_1});
+        REQUEST_ATTRIBUTES.add(new String[]{"http://wso2.org/identity/auth-context-request-param",
+                "http://wso2.org/identity/auth-context-request-param/scope:20", STRING_DATA_TYPE, SCOPE_1});
+        REQUEST_ATTRIBUTES.add(new String[]{"http://wso2.org/identity/user",
+                "http://wso2.org/identity/user/user-store-domain", STRING_DATA_TYPE, USER_STORE_1});
+        REQUEST_ATTRIBUTES.add(new String[]{"urn:oasis:names:tc:xacml:3.0:attribute-category:resource",
+                CLAIM_URI_1, STRING_DATA_TYPE, CLAIM_VALUE_1});
+        REQUEST_ATTRIBUTES.add(new String[]{"urn:oasis:names:tc:xacml:3.0:attribute-category:resource",
+                CLAIM_URI_2, STRING_DATA_TYPE, CLAIM_VALUE_2});
+        REQUEST_ATTRIBUTES.add(new String[]{"urn:oasis:names:tc:xacml:3.0:attribute-category:environment",
+                "urn:oasis:names:tc:xacml:1.0:environment:current-time", TIME_DATA_TYPE, CURRENT_TIME});
+    }
+
+    private final int[] policyCounts = parseIntegers(System.getProperty(POLICY_COUNTS_PROPERTY, "10,100,1000"));
+    private final List<String> decisionCacheModes = Arrays.asList(System.getProperty(DECISION_CACHE_PROPERTY,
+            "true,false").toLowerCase(Locale.ENGLISH).trim().split("\\s*,\\s*"));
+    private final int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+    private final int warmup = Integer.getInteger(WARMUP_PROPERTY, 50);
+    private final int iterations = Integer.getInteger(ITERATIONS_PROPERTY, 250);
+    private final int distinctRequests = Integer.getInteger(DISTINCT_REQUESTS_PROPERTY, 100);
+    private final int multiDecisionSize = Integer.getInteger(MULTI_DECISION_SIZE_PROPERTY, 10);
+    private final int batchSize = Integer.getInteger(BATCH_SIZE_PROPERTY, 100);
+    private final List<String> templates = new ArrayList<>();
+    // The server is started with the default entitlement.properties, which enables the decision cache.
+    private boolean decisionCacheEnabled = true;
+    private int publishedPolicies;
+    private ServerConfigurationManager serverConfigurationManager;
+    private EntitlementPolicyServiceClient entitlementPolicyClient;
+    private EntitlementServiceClient entitlementServiceClient;
+    private String jsonEndpoint;
+    private String authorizationHeader;
+    private BenchmarkReport report;
+
+    @BeforeClass(alwaysRun = true)
+    public void testInit() throws Exception {
+
+        super.init();
+        serverConfigurationManager = new ServerConfigurationManager(isServer);
+        initClients();
+        jsonEndpoint = serverURL + JSON_ENDPOINT_CONTEXT;
+        authorizationHeader = "Basic " + Base64.encodeBase64String((tenantInfo.getContextUser().getUserName() + ":" +
+                tenantInfo.getContextUser().getPassword()).getBytes(StandardCharsets.UTF_8));
+        loadTemplates();
+
+        report = new BenchmarkReport(BenchmarkReport.getReportDir(REPORT_DIR_PROPERTY, "entitlement-benchmark"),
+                REPORT_FILE_NAME, REPORT_HEADER);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void testClear() throws Exception {
+
+        if (report != null) {
+            report.close();
+        }
+        publishPolicies(0);
+        if (!decisionCacheEnabled) {
+            applyDecisionCache(true);
+        }
+    }
+
+    @DataProvider(name = "decisionCacheModesAndPolicyCounts")
+    public Object[][] decisionCacheModesAndPolicyCounts() {
+
+        // Grouped by the decision cache mode, so that the server is restarted only once for each mode.
+        List<Object[]> combinations = new ArrayList<>();
+        for (String decisionCacheMode : decisionCacheModes) {
+            for (int policyCount : policyCounts) {
+                combinations.add(new Object[]{Boolean.parseBoolean(decisionCacheMode), policyCount});
+            }
+        }
+        return combinations.toArray(new Object[0][]);
+    }
+
+    @Test(description = "Measure the throughput and latency of the PDP decisions for a number of published policies.",
+            dataProvider = "decisionCacheModesAndPolicyCounts")
+    public void testDecisionThroughputAndLatency(boolean decisionCache, int policyCount) throws Exception {
+
+        applyDecisionCache(decisionCache);
+        publishPolicies(policyCount);
+
+        for (RequestType requestType : RequestType.values()) {
+            RunResult result = run(requestType, policyCount);
+            LatencyStats stats = result.latencies;
+            double requestsPerSecond = LoadRunner.perSecond(stats.getCount(), result.elapsedNanos);
+            log.info(String.format("decisionCache=%s policies=%d %-14s requests=%d requests/s=%.1f " +
+                            "decisions/s=%.1f mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                    decisionCache, policyCount, requestType, stats.getCount(), requestsPerSecond,
+                    requestsPerSecond * result.decisionsPerRequest, stats.mean(), stats.percentile(50),
+                    stats.percentile(90), stats.percentile(99), stats.percentile(99.9), stats.percentile(100)));
+            report.addRow("%s,%d,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", decisionCache, policyCount,
+                    requestType, threads, stats.getCount(), result.decisionsPerRequest, requestsPerSecond,
+                    requestsPerSecond * result.decisionsPerRequest, stats.mean(), stats.percentile(50),
+                    stats.percentile(90), stats.percentile(99), stats.percentile(99.9), stats.percentile(100));
+            Assert.assertEquals(result.unexpectedDecisions, 0, "Unexpected decisions for the " + requestType +
+                    " requests with " + policyCount + " policies.");
+        }
+    }
+
+    /**
+     * Send the requests of the given type concurrently and record their latencies. The clients are created and warmed
+     * up before the measurement starts.
+     */
+    private RunResult run(RequestType requestType, int policyCount) throws Exception {
+
+        int decisionsPerRequest = requestType == RequestType.MULTI_DECISION ?
+                Math.min(multiDecisionSize, policyCount) : 1;
+        String[] requests = new String[Math.min(distinctRequests, policyCount)];
+        for (int i = 0; i < requests.length; i++) {
+            int[] policyIndexes = new int[decisionsPerRequest];
+            for (int j = 0; j < decisionsPerRequest; j++) {
+                policyIndexes[j] = (i + j) % policyCount;
+            }
+            requests[i] = requestType == RequestType.JSON ? buildJSONRequest(policyIndexes[0]) :
+                    buildXACMLRequest(policyIndexes);
+        }
+
+        List<DecisionWorker> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(new DecisionWorker(requestType, requests, decisionsPerRequest, i));
+        }
+        RunResult result = new RunResult(threads * iterations, decisionsPerRequest);
+        try {
+            result.elapsedNanos = LoadRunner.forIterations(warmup, iterations).run(workers);
+        } finally {
+            for (DecisionWorker worker : workers) {
+                worker.close();
+            }
+        }
+        for (DecisionWorker worker : workers) {
+            result.latencies.merge(worker.latencies);
+            result.unexpectedDecisions += worker.unexpectedDecisions;
+        }
+        return result;
+    }
+
+    /**
+     * Add or remove the benchmark policies, so that the given number of them are published to the PDP.
+     */
+    private void publishPolicies(int policyCount) throws Exception {
+
+        if (policyCount < publishedPolicies) {
+            for (int from = policyCount; from < publishedPolicies; from += batchSize) {
+                int to = Math.min(from + batchSize, publishedPolicies);
+                String[] policyIds = new String[to - from];
+                for (int i = from; i < to; i++) {
+                    policyIds[i - from] = getPolicyId(i);
+                }
+                entitlementPolicyClient.removePolicies(policyIds, true);
+            }
+            log.info("Removed " + (publishedPolicies - policyCount) + " benchmark policies.");
+            publishedPolicies = policyCount;
+            return;
+        }
+        if (policyCount == publishedPolicies) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        for (int from = publishedPolicies; from < policyCount; from += batchSize) {
+            int to = Math.min(from + batchSize, policyCount);
+            PolicyDTO[] policies = new PolicyDTO[to - from];
+            String[] policyIds = new String[to - from];
+            for (int i = from; i < to; i++) {
+                policyIds[i - from] = getPolicyId(i);
+                policies[i - from] = buildPolicy(i);
+            }
+            entitlementPolicyClient.addPolicies(policies);
+            entitlementPolicyClient.publishPolicies(policyIds, new String[]{PDP_SUBSCRIBER}, "CREATE", true, null,
+                    1);
+        }
+        publishedPolicies = policyCount;
+
+        // Policies are published to the PDP asynchronously, so wait until the last one takes effect.
+        String request = buildXACMLRequest(policyCount - 1);
+        Assert.assertTrue(WaitUtils.waitFor("benchmark policy " + getPolicyId(policyCount - 1) + " to be published",
+                () -> countPermits(RequestType.SINGLE, entitlementServiceClient.getDecision(request)) == 1,
+                5, TimeUnit.MINUTES), "Benchmark policies were not published to the PDP.");
+        log.info("Published " + policyCount + " benchmark policies in " + (System.currentTimeMillis() - startTime) +
+                "ms.");
+    }
+
+    /**
+     * Enable or disable the decision cache of the PDP by replacing entitlement.properties and restarting the server.
+     */
+    private void applyDecisionCache(boolean enabled) throws Exception {
+
+        if (decisionCacheEnabled == enabled) {
+            return;
+        }
+        File srcConfigFile = new File(getISResourceLocation() + File.separator + "entitlement" + File.separator +
+                "config" + File.separator + (enabled ? DEFAULT_CONFIG_FILE : DECISION_CACHE_DISABLED_CONFIG_FILE));
+        File targetConfigFile = new File(Utils.getResidentCarbonHome() + File.separator + "repository" +
+                File.separator + "conf" + File.separator + "identity" + File.separator + "entitlement.properties");
+        serverConfigurationManager.applyConfigurationWithoutRestart(srcConfigFile, targetConfigFile, true);
+        serverConfigurationManager.restartGracefully();
+        decisionCacheEnabled = enabled;
+
+        // Call super init since the session is lost with the restart.
+        super.init();
+        initClients();
+    }
+
+    private void initClients() throws Exception {
+
+        entitlementPolicyClient = new EntitlementPolicyServiceClient(backendURL, sessionCookie);
+        entitlementServiceClient = new EntitlementServiceClient(backendURL, sessionCookie);
+    }
+
+    /**
+     * Read the authentication policy templates shipped with the server.
+     */
+    private void loadTemplates() throws IOException {
+
+        File templateDir = new File(Utils.getResidentCarbonHome() + File.separator + "repository" + File.separator +
+                "resources" + File.separator + "identity" + File.separator + "policies" + File.separator + "xacml" +
+                File.separator + "default");
+        File[] templateFiles = templateDir.listFiles((dir, name) -> name.startsWith(AUTHN_TEMPLATE_PREFIX) &&
+                name.endsWith(TEMPLATE_SUFFIX));
+        if (templateFiles == null || templateFiles.length == 0) {
+            throw new IOException("Could not find the policy templates in " + templateDir.getAbsolutePath());
+        }
+        Arrays.sort(templateFiles);
+        for (File templateFile : templateFiles) {
+            templates.add(FileUtils.readFileToString(templateFile, StandardCharsets.UTF_8));
+        }
+        log.info("Loaded " + templates.size() + " policy templates from " + templateDir.getAbsolutePath());
+    }
+
+    /**
+     * Build a policy from the templates in turn, bound to the service provider name of the given index.
+     */
+    private PolicyDTO buildPolicy(int index) {
+
+        String policy = templates.get(index % templates.size());
+        policy = POLICY_ID_PATTERN.matcher(policy).replaceFirst("PolicyId=\"" + getPolicyId(index) + "\"");
+        policy = policy.replace("SP_NAME", getServiceProviderName(index));
+        for (Map.Entry<String, String> value : TEMPLATE_VALUES.entrySet()) {
+            policy = policy.replace(value.getKey(), value.getValue());
+        }
+        PolicyDTO policyDTO = new PolicyDTO();
+        policyDTO.setPolicy(policy.replaceAll(">\\s+<", "><").trim());
+        policyDTO.setPolicyId(getPolicyId(index));
+        return policyDTO;
+    }
+
+    /**
+     * Build a XACML request for the policies of the given indexes. Requests for more than one policy repeat the
+     * service provider category, which makes them multiple decision profile requests.
+     */
+    private String buildXACMLRequest(int... policyIndexes) {
+
+        StringBuilder request = new StringBuilder("<Request xmlns=\"").append(XACML_NAMESPACE)
+                .append("\" CombinedDecision=\"false\" ReturnPolicyIdList=\"false\">");
+        for (int policyIndex : policyIndexes) {
+            request.append("<Attributes Category=\"").append(SP_CATEGORY).append("\">");
+            appendXACMLAttribute(request, SP_NAME_ATTRIBUTE, STRING_DATA_TYPE, getServiceProviderName(policyIndex),
+                    policyIndexes.length > 1);
+            request.append("</Attributes>");
+        }
+        for (Map.Entry<String, List<String[]>> category : getRequestAttributesByCategory().entrySet()) {
+            request.append("<Attributes Category=\"").append(category.getKey()).append("\">");
+            for (String[] attribute : category.getValue()) {
+                appendXACMLAttribute(request, attribute[1], attribute[2], attribute[3], false);
+            }
+            request.append("</Attributes>");
+        }
+        return request.append("</Request>").toString();
+    }
+
+    private void appendXACMLAttribute(StringBuilder request, String attributeId, String dataType, String value,
+                                      boolean includeInResult) {
+
+        request.append("<Attribute AttributeId=\"").append(attributeId).append("\" IncludeInResult=\"")
+                .append(includeInResult).append("\"><AttributeValue DataType=\"").append(dataType).append("\">")
+                .append(value).append("</AttributeValue></Attribute>");
+    }
+
+    /**
+     * Build a JSON request for the policy of the given index.
+     */
+    private String buildJSONRequest(int policyIndex) throws JSONException {
+
+        JSONObject request = new JSONObject();
+        request.put(SP_CATEGORY, new JSONObject().put("Attribute", new JSONArray().put(
+                buildJSONAttribute(SP_NAME_ATTRIBUTE, STRING_DATA_TYPE, getServiceProviderName(policyIndex)))));
+        for (Map.Entry<String, List<String[]>> category : getRequestAttributesByCategory().entrySet()) {
+            JSONArray attributes = new JSONArray();
+            for (String[] attribute : category.getValue()) {
+                attributes.put(buildJSONAttribute(attribute[1], attribute[2], attribute[3]));
+            }
+            request.put(category.getKey(), new JSONObject().put("Attribute", attributes));
+        }
+        return new JSONObject().put("Request", request).toString();
+    }
+
+    private JSONObject buildJSONAttribute(String attributeId, String dataType, String value)
+            throws JSONException {
+
+        return new JSONObject()
+                .put("AttributeId", attributeId)
+                .put("Value", value)
+                .put("DataType", dataType)
+                .put("IncludeInResult", false);
+    }
+
+    private Map<String, List<String[]>> getRequestAttributesByCategory() {
+
+        Map<String, List<String[]>> categories = new LinkedHashMap<>();
+        for (String[] attribute : REQUEST_ATTRIBUTES) {
+            categories.computeIfAbsent(attribute[0], category -> new ArrayList<>()).add(attribute);
+        }
+        return categories;
+    }
+
+    /**
+     * Count the Permit decisions of a response.
+     */
+    private static int countPermits(RequestType requestType, String response) throws JSONException {
+
+        int permits = 0;
+        if (requestType == RequestType.JSON) {
+            JSONArray results = new JSONObject(response).getJSONArray("Response");
+            for (int i = 0; i < results.length(); i++) {
+                if (PERMIT.equals(results.getJSONObject(i).optString("Decision"))) {
+                    permits++;
+                }
+            }
+            return permits;
+        }
+        Matcher matcher = XML_PERMIT_PATTERN.matcher(response);
+        while (matcher.find()) {
+            permits++;
+        }
+        return permits;
+    }
+
+    private static String getPolicyId(int index) {
+
+        return POLICY_ID_PREFIX + index;
+    }
+
+    private static String getServiceProviderName(int index) {
+
+        return SP_NAME_PREFIX + index;
+    }
+
+    private static int[] parseIntegers(String values) {
+
+        String[] parts = values.trim().split("\\s*,\\s*");
+        int[] parsed = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            parsed[i] = Integer.parseInt(parts[i]);
+            // The requests are spread over the published policies, so there must be at least one of them.
+            if (parsed[i] <= 0) {
+                throw new IllegalArgumentException("Policy counts of " + POLICY_COUNTS_PROPERTY +
+                        " must be positive, but found: " + parts[i]);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Type of the decision requests.
+     */
+    private enum RequestType {
+        SINGLE, MULTI_DECISION, JSON
+    }
+
+    /**
+     * Result of a run of the requests of a type.
+     */
+    private static class RunResult {
+
+        private final LatencyStats latencies;
+        private final int decisionsPerRequest;
+        private int unexpectedDecisions;
+        private long elapsedNanos;
+
+        RunResult(int expectedRequests, int decisionsPerRequest) {
+
+            this.latencies = new LatencyStats(expectedRequests);
+            this.decisionsPerRequest = decisionsPerRequest;
+        }
+    }
+
+    /**
+     * A client which sends decision requests from its own thread. The admin service stubs are not thread safe, so each
+     * worker creates its own client.
+     */
+    private class DecisionWorker implements LoadRunner.Worker {
+
+        private final RequestType requestType;
+        private final String[] requests;
+        private final int decisionsPerRequest;
+        private final int workerIndex;
+        private final LatencyStats latencies = new LatencyStats(iterations);
+        private int unexpectedDecisions;
+        private EntitlementServiceClient serviceClient;
+        private WebClient webClient;
+
+        DecisionWorker(RequestType requestType, String[] requests, int decisionsPerRequest, int workerIndex) {
+
+            this.requestType = requestType;
+            this.requests = requests;
+            this.decisionsPerRequest = decisionsPerRequest;
+            this.workerIndex = workerIndex;
+        }
+
+        @Override
+        public void prepare() throws Exception {
+
+            if (requestType == RequestType.JSON) {
+                webClient = WebClient.create(jsonEndpoint);
+                webClient.header("Authorization", authorizationHeader);
+                webClient.type("application/json");
+                webClient.accept("application/json");
+                webClient.path(JSON_ENDPOINT_PATH);
+            } else {
+                serviceClient = new EntitlementServiceClient(backendURL, sessionCookie);
+            }
+        }
+
+        @Override
+        public void runIteration(int iteration, boolean measured) throws Exception {
+
+            String request = getRequest(iteration);
+            if (!measured) {
+                decide(request);
+                return;
+            }
+            long startTime = System.nanoTime();
+            String response = decide(request);
+            latencies.record(System.nanoTime() - startTime);
+            if (countPermits(requestType, response) != decisionsPerRequest) {
+                unexpectedDecisions++;
+                if (unexpectedDecisions == 1) {
+                    log.warn("Unexpected decision for the " + requestType + " request: " + request +
+                            " Response: " + response);
+                }
+            }
+        }
+
+        void close() {
+
+            if (webClient != null) {
+                webClient.close();
+            }
+        }
+
+        private String getRequest(int iteration) {
+
+            // Offset by the worker, so that the workers do not send the same request at the same time.
+            return requests[(workerIndex * iterations + iteration) % requests.length];
+        }
+
+        private String decide(String request) throws Exception {
+
+            if (requestType == RequestType.JSON) {
+                return webClient.post(request, String.class);
+            }
+            return serviceClient.getDecision(request);
+        }
+    }
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.entitlement;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.entitlement.stub.dto.PolicyDTO;
+import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
+import org.wso2.identity.integration.common.clients.entitlement.EntitlementAdminServiceClient;
+import org.wso2.identity.integration.common.clients.entitlement.EntitlementPolicyServiceClient;
+import org.wso2.identity.integration.common.clients.entitlement.EntitlementServiceClient;
+import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.common.utils.WaitUtils;
+import org.wso2.identity.integration.test.util.Utils;
+import org.wso2.identity.integration.test.utils.BenchmarkReport;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+import org.wso2.identity.integration.test.utils.LoadRunner;
+import org.wso2.identity.integration.test.utils.ZipfGenerator;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the effectiveness of the PIP attribute cache, ie: its hit ratio, the misses caused by eviction or expiry
+ * and the resulting decision latency, under skewed access patterns.
+ * <p>
+ * The default attribute finder is replaced with InstrumentedAttributeFinder of the custom PIP extension, which
+ * simulates a slow attribute source and counts its calls. The decision cache is disabled, so that each decision looks
+ * up the attribute and the attribute cache alone decides whether the attribute source is called. A policy which needs
+ * the email address of the subject from the attribute finder is published, and decision requests are sent
+ * concurrently for subjects and resources picked with a Zipf distribution, for each of the given exponents.
+ * <p>
+ * For each run, the following are reported, so that the attribute cache can be sized from the access pattern.
+ * <ul>
+ *     <li>hitRatio - Share of the attribute lookups served by the cache, ie: 1 - finderCalls / decisions.</li>
+ *     <li>idealHitRatio - Hit ratio of a cache which never evicts, given by the distinct requests of the run.</li>
+ *     <li>compulsoryMisses - Calls of the attribute finder for keys it has not seen before.</li>
+ *     <li>repeatedMisses - Calls of the attribute finder for keys it has seen before, ie: values which were evicted
+ *     or expired from the cache.</li>
+ *     <li>topShare - Share of the requests which go to the most popular 1% and 10% of the subjects.</li>
+ * </ul>
+ * The results are logged and written as CSV to {@value #REPORT_FILE_NAME} in the report directory.
+ * <p>
+ * The benchmark is not part of the default test suite. It is run with the benchmark profile, eg:
+ * mvn clean install -DintegrationTests -Dbenchmark=entitlement -Dentitlement.pip.benchmark.zipfExponents=0.8,1.2
+ * <p>
+ * The benchmark can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #ATTRIBUTE_CACHE_PROPERTY} - Comma separated attribute cache modes, out of true and false.
+ *     Default is true,false.</li>
+ *     <li>{@value #CACHING_INTERVAL_PROPERTY} - Expiry of the cached attributes in seconds. Default is 300.</li>
+ *     <li>{@value #ZIPF_EXPONENTS_PROPERTY} - Comma separated Zipf exponents of the subject and resource
+ *     distributions. Default is 0,0.8,1.2.</li>
+ *     <li>{@value #SUBJECTS_PROPERTY} - Number of distinct subjects. Default is 10000.</li>
+ *     <li>{@value #RESOURCES_PROPERTY} - Number of distinct resources. Default is 10.</li>
+ *     <li>{@value #THREADS_PROPERTY} - Concurrent clients. Default is 8.</li>
+ *     <li>{@value #ITERATIONS_PROPERTY} - Measured requests of each client. Default is 1000.</li>
+ *     <li>{@value #BACKEND_LATENCY_PROPERTY} - Latency of each call of the attribute finder in milliseconds.
+ *     Default is 20.</li>
+ *     <li>{@value #BACKEND_LATENCY_JITTER_PROPERTY} - Maximum random latency added to each call of the attribute
+ *     finder in milliseconds. Default is 10.</li>
+ *     <li>{@value #REPORT_DIR_PROPERTY} - Directory of the CSV report. Default is the directory of the benchmark
+ *     profile, or target/entitlement-benchmark.</li>
+ * </ul>
+ */
+public class EntitlementPIPCacheBenchmarkTestCase extends ISIntegrationTest {
+
+    private static final Log log = LogFactory.getLog(EntitlementPIPCacheBenchmarkTestCase.class);
+
+    private static final String ATTRIBUTE_CACHE_PROPERTY = "entitlement.pip.benchmark.attributeCache";
+    private static final String CACHING_INTERVAL_PROPERTY = "entitlement.pip.benchmark.cachingInterval";
+    private static final String ZIPF_EXPONENTS_PROPERTY = "entitlement.pip.benchmark.zipfExponents";
+    private static final String SUBJECTS_PROPERTY = "entitlement.pip.benchmark.subjects";
+    private static final String RESOURCES_PROPERTY = "entitlement.pip.benchmark.resources";
+    private static final String THREADS_PROPERTY = "entitlement.pip.benchmark.threads";
+    private static final String ITERATIONS_PROPERTY = "entitlement.pip.benchmark.iterations";
+    private static final String BACKEND_LATENCY_PROPERTY = "entitlement.pip.benchmark.backendLatencyMillis";
+    private static final String BACKEND_LATENCY_JITTER_PROPERTY =
+            "entitlement.pip.benchmark.backendLatencyJitterMillis";
+    private static final String REPORT_DIR_PROPERTY = "entitlement.benchmark.reportDir";
+    private static final String REPORT_FILE_NAME = "entitlement-pip-cache.csv";
+    private static final String REPORT_HEADER = "attributeCache,zipfExponent,subjects,resources,threads,decisions," +
+            "distinctRequests,top1PctShare,top10PctShare,finderCalls,compulsoryMisses,repeatedMisses,hitRatio," +
+            "idealHitRatio,meanBackendMillis,peakConcurrentFinderCalls,decisionsPerSecond,meanMillis,p50Millis," +
+            "p90Millis,p99Millis,maxMillis";
+
+    private static final String FINDER_CLASS = "org.wso2.carbon.identity.custom.pip.InstrumentedAttributeFinder";
+    private static final String FINDER_MODULE_NAME = "Instrumented Attribute Finder";
+    private static final String DEFAULT_FINDER_CLASS =
+            "org.wso2.carbon.identity.entitlement.pip.DefaultAttributeFinder";
+    private static final String DEFAULT_CONFIG_FILE = "entitlement_default.properties";
+    private static final String STATISTICS_FILE_NAME = "instrumented-pip-statistics.properties";
+    // Counters written by InstrumentedAttributeFinder to its statistics file.
+    private static final String CALLS = "calls";
+    private static final String DISTINCT_KEYS = "distinctKeys";
+    private static final String REPEATED_CALLS = "repeatedCalls";
+    private static final String BACKEND_NANOS = "backendNanos";
+    private static final String PEAK_CONCURRENT_CALLS = "peakConcurrentCalls";
+    private static final String TIMESTAMP = "timestamp";
+
+    private static final String PDP_SUBSCRIBER = "PDP Subscriber";
+    private static final String POLICY_ID = "entitlement_pip_cache_benchmark_policy";
+    private static final String SUBJECT_PREFIX = "pipbench";
+    private static final String RESOURCE_PREFIX = "pipbench-resource";
+    private static final String ACTION = "read";
+    private static final String PERMIT = "<Decision>Permit</Decision>";
+    // Permits the benchmark subjects on the benchmark resources, based on the email address of the subject, which is
+    // looked up from the attribute finder.
+    private static final String POLICY = "<Policy xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" " +
+            "PolicyId=\"" + POLICY_ID + "\" " +
+            "RuleCombiningAlgId=\"urn:oasis:names:tc:xacml:1.0:rule-combining-algorithm:first-applicable\" " +
+            "Version=\"1.0\">" +
+            "<Target><AnyOf><AllOf>" +
+            "<Match MatchId=\"urn:oasis:names:tc:xacml:1.0:function:string-regexp-match\">" +
+            "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">^" + RESOURCE_PREFIX +
+            "</AttributeValue>" +
+            "<AttributeDesignator AttributeId=\"urn:oasis:names:tc:xacml:1.0:resource:resource-id\" " +
+            "Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:resource\" " +
+            "DataType=\"http://www.w3.org/2001/XMLSchema#string\" MustBePresent=\"true\"/>" +
+            "</Match>" +
+            "</AllOf></AnyOf></Target>" +
+            "<Rule Effect=\"Permit\" RuleId=\"permit_by_email\">" +
+            "<Condition>" +
+            "<Apply FunctionId=\"urn:oasis:names:tc:xacml:3.0:function:any-of\">" +
+            "<Function FunctionId=\"urn:oasis:names:tc:xacml:1.0:function:string-regexp-match\"/>" +
+            "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">^" + SUBJECT_PREFIX +
+            ".*@wso2\\.com$</AttributeValue>" +
+            "<AttributeDesignator AttributeId=\"http://wso2.org/claims/emailaddress\" " +
+            "Category=\"urn:oasis:names:tc:xacml:1.0:subject-category:access-subject\" " +
+            "DataType=\"http://www.w3.org/2001/XMLSchema#string\" MustBePresent=\"true\"/>" +
+            "</Apply>" +
+            "</Condition>" +
+            "</Rule>" +
+            "<Rule Effect=\"Deny\" RuleId=\"deny_others\"/>" +
+            "</Policy>";
+
+    private final List<String> attributeCacheModes = Arrays.asList(System.getProperty(ATTRIBUTE_CACHE_PROPERTY,
+            "true,false").toLowerCase(Locale.ENGLISH).trim().split("\\s*,\\s*"));
+    private final int cachingInterval = Integer.getInteger(CACHING_INTERVAL_PROPERTY, 300);
+    private final String[] zipfExponents = System.getProperty(ZIPF_EXPONENTS_PROPERTY, "0,0.8,1.2").trim()
+            .split("\\s*,\\s*");
+    private final int subjects = Integer.getInteger(SUBJECTS_PROPERTY, 10000);
+    private final int resources = Integer.getInteger(RESOURCES_PROPERTY, 10);
+    private final int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+    private final int iterations = Integer.getInteger(ITERATIONS_PROPERTY, 1000);
+    private final int backendLatency = Integer.getInteger(BACKEND_LATENCY_PROPERTY, 20);
+    private final int backendLatencyJitter = Integer.getInteger(BACKEND_LATENCY_JITTER_PROPERTY, 10);
+    private Boolean attributeCacheEnabled;
+    private int runs;
+    private ServerConfigurationManager serverConfigurationManager;
+    private EntitlementAdminServiceClient entitlementAdminClient;
+    private EntitlementPolicyServiceClient entitlementPolicyClient;
+    private EntitlementServiceClient entitlementServiceClient;
+    private File attributeFinderJar;
+    private File statisticsFile;
+    private BenchmarkReport report;
+
+    @BeforeClass(alwaysRun = true)
+    public void testInit() throws Exception {
+
+        super.init();
+        serverConfigurationManager = new ServerConfigurationManager(isServer);
+        attributeFinderJar = getAttributeFinderJar();
+        serverConfigurationManager.copyToComponentLib(attributeFinderJar);
+        statisticsFile = new File(Utils.getResidentCarbonHome() + File.separator + "repository" + File.separator +
+                "logs" + File.separator + STATISTICS_FILE_NAME);
+
+        report = new BenchmarkReport(BenchmarkReport.getReportDir(REPORT_DIR_PROPERTY, "entitlement-benchmark"),
+                REPORT_FILE_NAME, REPORT_HEADER);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void testClear() throws Exception {
+
+        if (report != null) {
+            report.close();
+        }
+        closeAttributeFinder();
+        if (entitlementPolicyClient != null) {
+            entitlementPolicyClient.removePolicies(new String[]{POLICY_ID}, true);
+        }
+        File srcConfigFile = new File(getISResourceLocation() + File.separator + "entitlement" + File.separator +
+                "config" + File.separator + DEFAULT_CONFIG_FILE);
+        serverConfigurationManager.applyConfigurationWithoutRestart(srcConfigFile, getEntitlementConfigFile(), true);
+        if (attributeFinderJar != null) {
+            serverConfigurationManager.removeFromComponentLib(attributeFinderJar.getName());
+        }
+        serverConfigurationManager.restartGracefully();
+    }
+
+    @DataProvider(name = "attributeCacheModesAndExponents")
+    public Object[][] attributeCacheModesAndExponents() {
+
+        // Grouped by the attribute cache mode, so that the server is restarted only once for each mode.
+        List<Object[]> combinations = new ArrayList<>();
+        for (String attributeCacheMode : attributeCacheModes) {
+            for (String zipfExponent : zipfExponents) {
+                combinations.add(new Object[]{Boolean.parseBoolean(attributeCacheMode),
+                        Double.parseDouble(zipfExponent)});
+            }
+        }
+        return combinations.toArray(new Object[0][]);
+    }
+
+    @Test(description = "Measure the PIP attribute cache hit ratio and decision latency under a skewed load.",
+            dataProvider = "attributeCacheModesAndExponents")
+    public void testAttributeCacheEffectiveness(boolean attributeCache, double zipfExponent) throws Exception {
+
+        applyConfiguration(attributeCache);
+        // Subjects of each run are distinct from those of the previous runs, so that each run starts with a cold
+        // cache.
+        String subjectPrefix = SUBJECT_PREFIX + (runs++) + "-user";
+
+        ZipfGenerator subjectDistribution = new ZipfGenerator(subjects, zipfExponent);
+        ZipfGenerator resourceDistribution = new ZipfGenerator(resources, zipfExponent);
+        Set<Long> distinctRequests = new HashSet<>();
+        String[][] requests = new String[threads][iterations];
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(31L * runs + i);
+            for (int j = 0; j < iterations; j++) {
+                int subject = subjectDistribution.next(random);
+                int resource = resourceDistribution.next(random);
+                distinctRequests.add((long) subject * resources + resource);
+                requests[i][j] = buildRequest(subjectPrefix + subject + "@wso2.com", RESOURCE_PREFIX + resource);
+            }
+        }
+
+        Properties before = readStatistics(System.currentTimeMillis());
+        RunResult result = run(requests);
+        Properties after = readStatistics(System.currentTimeMillis());
+
+        LatencyStats stats = result.latencies;
+        long decisions = stats.getCount();
+        long finderCalls = getDelta(before, after, CALLS);
+        long compulsoryMisses = getDelta(before, after, DISTINCT_KEYS);
+        long repeatedMisses = getDelta(before, after, REPEATED_CALLS);
+        double hitRatio = 1 - finderCalls / (double) decisions;
+        double idealHitRatio = 1 - distinctRequests.size() / (double) decisions;
+        double meanBackendMillis = finderCalls == 0 ? 0 : getDelta(before, after, BACKEND_NANOS) /
+                (double) finderCalls / TimeUnit.MILLISECONDS.toNanos(1);
+        double decisionsPerSecond = LoadRunner.perSecond(decisions, result.elapsedNanos);
+        double top1PctShare = subjectDistribution.getTopShare(Math.max(1, subjects / 100));
+        double top10PctShare = subjectDistribution.getTopShare(Math.max(1, subjects / 10));
+
+        log.info(String.format("attributeCache=%s zipf=%.2f decisions=%d distinct=%d top1%%=%.3f top10%%=%.3f " +
+                        "finderCalls=%d compulsory=%d repeated=%d hitRatio=%.3f idealHitRatio=%.3f " +
+                        "backend=%.2fms decisions/s=%.1f mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                attributeCache, zipfExponent, decisions, distinctRequests.size(), top1PctShare, top10PctShare,
+                finderCalls, compulsoryMisses, repeatedMisses, hitRatio, idealHitRatio, meanBackendMillis,
+                decisionsPerSecond, stats.mean(), stats.percentile(50), stats.percentile(90), stats.percentile(99),
+                stats.percentile(100)));
+        report.addRow("%s,%.2f,%d,%d,%d,%d,%d,%.4f,%.4f,%d,%d,%d,%.4f,%.4f,%.3f,%s,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                attributeCache, zipfExponent, subjects, resources, threads, decisions, distinctRequests.size(),
+                top1PctShare, top10PctShare, finderCalls, compulsoryMisses, repeatedMisses, hitRatio, idealHitRatio,
+                meanBackendMillis, after.getProperty(PEAK_CONCURRENT_CALLS, "0"), decisionsPerSecond, stats.mean(),
+                stats.percentile(50), stats.percentile(90), stats.percentile(99), stats.percentile(100));
+
+        Assert.assertEquals(result.unexpectedDecisions, 0, "Unexpected decisions with the attribute cache " +
+                (attributeCache ? "enabled" : "disabled") + " and a Zipf exponent of " + zipfExponent);
+        Assert.assertTrue(finderCalls > 0, "The instrumented attribute finder was not called.");
+    }
+
+    /**
+     * Send the requests of each worker concurrently and record their latencies.
+     */
+    private RunResult run(String[][] requests) throws Exception {
+
+        List<DecisionWorker> workers = new ArrayList<>();
+        for (String[] workerRequests : requests) {
+            workers.add(new DecisionWorker(workerRequests));
+        }
+        // No warm up iterations, as the requests of a run are meant to start with a cold cache.
+        RunResult result = new RunResult(threads * iterations);
+        result.elapsedNanos = LoadRunner.forIterations(0, iterations).run(workers);
+        for (DecisionWorker worker : workers) {
+            result.latencies.merge(worker.latencies);
+            result.unexpectedDecisions += worker.unexpectedDecisions;
+        }
+        return result;
+    }
+
+    /**
+     * Replace the default attribute finder with the instrumented one, disable the decision cache and enable or
+     * disable the attribute cache. The server is restarted and the benchmark policy is published, if not already
+     * done for the given mode.
+     */
+    private void applyConfiguration(boolean attributeCache) throws Exception {
+
+        if (attributeCacheEnabled != null && attributeCacheEnabled == attributeCache) {
+            return;
+        }
+        File defaultConfigFile = new File(getISResourceLocation() + File.separator + "entitlement" + File.separator +
+                "config" + File.separator + DEFAULT_CONFIG_FILE);
+        String config = FileUtils.readFileToString(defaultConfigFile, StandardCharsets.UTF_8)
+                .replace(DEFAULT_FINDER_CLASS, FINDER_CLASS)
+                .replace("PDP.DecisionCaching.Enable=true", "PDP.DecisionCaching.Enable=false")
+                .replace("PDP.AttributeCaching.Enable=true", "PDP.AttributeCaching.Enable=" + attributeCache)
+                .replace("PDP.AttributeCaching.CachingInterval=300", "PDP.AttributeCaching.CachingInterval=" +
+                        cachingInterval)
+                + System.lineSeparator() + FINDER_CLASS + ".1=LatencyMillis," + backendLatency
+                + System.lineSeparator() + FINDER_CLASS + ".2=LatencyJitterMillis," + backendLatencyJitter
+                + System.lineSeparator() + FINDER_CLASS + ".3=StatisticsFile," + statisticsFile.getAbsolutePath()
+                + System.lineSeparator();
+        File configFile = new File("target" + File.separator + "entitlement-pip-benchmark.properties");
+        FileUtils.writeStringToFile(configFile, config, StandardCharsets.UTF_8);
+
+        serverConfigurationManager.applyConfigurationWithoutRestart(configFile, getEntitlementConfigFile(), true);
+        closeAttributeFinder();
+        // Counters of the attribute finder are reset with the restart, so remove the statistics of the previous
+        // server run.
+        FileUtils.deleteQuietly(statisticsFile);
+        serverConfigurationManager.restartGracefully();
+        attributeCacheEnabled = attributeCache;
+
+        // Call super init since the session is lost with the restart.
+        super.init();
+        entitlementAdminClient = new EntitlementAdminServiceClient(backendURL, sessionCookie);
+        entitlementPolicyClient = new EntitlementPolicyServiceClient(backendURL, sessionCookie);
+        entitlementServiceClient = new EntitlementServiceClient(backendURL, sessionCookie);
+        publishPolicy();
+    }
+
+    /**
+     * Stop the statistics writer of the instrumented attribute finder and release the keys it tracks, by refreshing
+     * the finder, which clears its cache. Done before the server is restarted, since the restart reloads the finder
+     * in the same JVM and leaves the old one running.
+     */
+    private void closeAttributeFinder() throws Exception {
+
+        if (entitlementAdminClient != null) {
+            entitlementAdminClient.refreshAttributeFinder(FINDER_MODULE_NAME);
+            entitlementAdminClient = null;
+        }
+    }
+
+    /**
+     * Publish the benchmark policy and wait until it takes effect, which also initializes the attribute finder.
+     */
+    private void publishPolicy() throws Exception {
+
+        String[] policyIds = entitlementPolicyClient.getAllPolicyIds(POLICY_ID);
+        if (policyIds == null || !Arrays.asList(policyIds).contains(POLICY_ID)) {
+            PolicyDTO policy = new PolicyDTO();
+            policy.setPolicy(POLICY);
+            policy.setPolicyId(POLICY_ID);
+            entitlementPolicyClient.addPolicy(policy);
+            entitlementPolicyClient.publishPolicies(new String[]{POLICY_ID}, new String[]{PDP_SUBSCRIBER}, "CREATE",
+                    true, null, 1);
+        }
+        String request = buildRequest(SUBJECT_PREFIX + "-warmup@wso2.com", RESOURCE_PREFIX + "-warmup");
+        Assert.assertTrue(WaitUtils.waitFor("benchmark policy to be published",
+                () -> entitlementServiceClient.getDecision(request).contains(PERMIT), 2, TimeUnit.MINUTES),
+                "Benchmark policy was not published to the PDP.");
+    }
+
+    /**
+     * Read the statistics of the attribute finder, waiting until they are written after the given time.
+     */
+    private Properties readStatistics(long notBefore) throws Exception {
+
+        Properties[] statistics = {null};
+        Assert.assertTrue(WaitUtils.waitFor("statistics of the instrumented attribute finder", () -> {
+            if (!statisticsFile.exists()) {
+                return false;
+            }
+            Properties properties = new Properties();
+            try (InputStream inputStream = new FileInputStream(statisticsFile)) {
+                properties.load(inputStream);
+            }
+            statistics[0] = properties;
+            return Long.parseLong(properties.getProperty(TIMESTAMP, "0")) > notBefore;
+        }, 30, TimeUnit.SECONDS), "Statistics of the instrumented attribute finder were not written to " +
+                statisticsFile.getAbsolutePath());
+        return statistics[0];
+    }
+
+    private static long getDelta(Properties before, Properties after, String counter) {
+
+        return Long.parseLong(after.getProperty(counter, "0")) - Long.parseLong(before.getProperty(counter, "0"));
+    }
+
+    private File getEntitlementConfigFile() {
+
+        return new File(Utils.getResidentCarbonHome() + File.separator + "repository" + File.separator + "conf" +
+                File.separator + "identity" + File.separator + "entitlement.properties");
+    }
+
+    private File getAttributeFinderJar() throws Exception {
+
+        File targetDir = new File(
+                getISResourceLocation() + File.separator + ".." + File.separator + ".." + File.separator + ".." +
+                        File.separator + ".." + File.separator + ".." + File.separator + ".." +
+                        File.separator + ".." + File.separator + "tests-common" + File.separator + "extensions" +
+                        File.separator + "target");
+        File[] files = targetDir.listFiles(file -> file.getName().contains("org.wso2.carbon.identity.custom.pip") &&
+                !file.getName().contains("test") && file.getName().endsWith(".jar"));
+        if (files == null || files.length != 1) {
+            throw new Exception("Could not find the custom attribute finder jar in " + targetDir);
+        }
+        return files[0];
+    }
+
+    private static String buildRequest(String subject, String resource) {
+
+        return "<Request xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\" " +
+                "CombinedDecision=\"false\" ReturnPolicyIdList=\"false\">" +
+                "<Attributes Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:action\">" +
+                "<Attribute AttributeId=\"urn:oasis:names:tc:xacml:1.0:action:action-id\" IncludeInResult=\"false\">" +
+                "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">" + ACTION +
+                "</AttributeValue></Attribute></Attributes>" +
+                "<Attributes Category=\"urn:oasis:names:tc:xacml:1.0:subject-category:access-subject\">" +
+                "<Attribute AttributeId=\"urn:oasis:names:tc:xacml:1.0:subject:subject-id\" " +
+                "IncludeInResult=\"false\">" +
+                "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">" + subject +
+                "</AttributeValue></Attribute></Attributes>" +
+                "<Attributes Category=\"urn:oasis:names:tc:xacml:3.0:attribute-category:resource\">" +
+                "<Attribute AttributeId=\"urn:oasis:names:tc:xacml:1.0:resource:resource-id\" " +
+                "IncludeInResult=\"false\">" +
+                "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">" + resource +
+                "</AttributeValue></Attribute></Attributes>" +
+                "</Request>";
+    }
+
+    /**
+     * Result of a run of the benchmark.
+     */
+    private static class RunResult {
+
+        private final LatencyStats latencies;
+        private int unexpectedDecisions;
+        private long elapsedNanos;
+
+        RunResult(int expectedRequests) {
+
+            this.latencies = new LatencyStats(expectedRequests);
+        }
+    }
+
+    /**
+     * A client which sends its share of the requests from its own thread, with its own admin service stub.
+     */
+    private class DecisionWorker implements LoadRunner.Worker {
+
+        private final String[] requests;
+        private final LatencyStats latencies = new LatencyStats(iterations);
+        private int unexpectedDecisions;
+        private EntitlementServiceClient serviceClient;
+
+        DecisionWorker(String[] requests) {
+
+            this.requests = requests;
+        }
+
+        @Override
+        public void prepare() throws Exception {
+
+            serviceClient = new EntitlementServiceClient(backendURL, sessionCookie);
+        }
+
+        @Override
+        public void runIteration(int iteration, boolean measured) throws Exception {
+
+            String request = requests[iteration];
+            long startTime = System.nanoTime();
+            String response = serviceClient.getDecision(request);
+            latencies.record(System.nanoTime() - startTime);
+            if (!response.contains(PERMIT)) {
+                unexpectedDecisions++;
+                if (unexpectedDecisions == 1) {
+                    log.warn("Unexpected decision for the request: " + request + " Response: " + response);
+                }
+            }
+        }
+    }
+}
@@ -20,9 +20,17 @@
 package org.wso2.identity.integration.test.listeners;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.testng.IExecutionListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.wso2.identity.integration.common.clients.AdminServiceStubFactory;
+import org.wso2.identity.integration.common.utils.ISIntegrationTest;
 
-public class IdentityTestListener implements IExecutionListener {
+public class IdentityTestListener implements IExecutionListener, ISuiteListener {
+
+    private static final Log log = LogFactory.getLog(IdentityTestListener.class);
 
     @Override
     public void onExecutionStart() {
@@ -36,5 +44,23 @@ public class IdentityTestListener implements IExecutionListener {
     @Override
     public void onExecutionFinish() {
 
+        // Release the cached admin service stubs and their pooled connections.
+        AdminServiceStubFactory.shutdown();
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+
+        // The servers are stopped once the execution is finished, so the isolated tenants are cleaned up before that.
+        try {
+            ISIntegrationTest.deactivateIsolatedTenants();
+        } catch (Exception e) {
+            log.warn("Could not deactivate the isolated tenants of suite: " + suite.getName(), e);
+        }
     }
 }
@@ -74,11 +74,8 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.wso2.identity.integration.test.base.MockOIDCIdentityProvider.MOCK_IDP_AUTHORIZE_ENDPOINT;
 import static org.wso2.identity.integration.test.base.MockOIDCIdentityProvider.MOCK_IDP_CLIENT_ID;
 import static org.wso2.identity.integration.test.base.MockOIDCIdentityProvider.MOCK_IDP_CLIENT_SECRET;
-import static org.wso2.identity.integration.test.base.MockOIDCIdentityProvider.MOCK_IDP_LOGOUT_ENDPOINT;
-import static org.wso2.identity.integration.test.base.MockOIDCIdentityProvider.MOCK_IDP_TOKEN_ENDPOINT;
 
 /**
  * Integration test cases for SAML-OIDC federation scenarios.
@@ -267,16 +264,16 @@ public class OIDCIdentityFederationTestCase extends AbstractIdentityFederationTe
                         .value(MOCK_IDP_CLIENT_SECRET))
                 .addProperty(new org.wso2.identity.integration.test.rest.api.server.idp.v1.model.Property()
                         .key(IdentityConstants.Authenticator.OIDC.OAUTH2_AUTHZ_URL)
-                        .value(MOCK_IDP_AUTHORIZE_ENDPOINT))
+                        .value(mockIdP.getAuthorizeEndpoint()))
                 .addProperty(new org.wso2.identity.integration.test.rest.api.server.idp.v1.model.Property()
                         .key(IdentityConstants.Authenticator.OIDC.OAUTH2_TOKEN_URL)
-                        .value(MOCK_IDP_TOKEN_ENDPOINT))
+                        .value(mockIdP.getTokenEndpoint()))
                 .addProperty(new org.wso2.identity.integration.test.rest.api.server.idp.v1.model.Property()
                         .key(IdentityConstants.Authenticator.OIDC.CALLBACK_URL)
                         .value(PRIMARY_IS_IDP_CALLBACK_URL))
                 .addProperty(new org.wso2.identity.integration.test.rest.api.server.idp.v1.model.Property()
                         .key(IdentityConstants.Authenticator.OIDC.OIDC_LOGOUT_URL)
-                        .value(MOCK_IDP_LOGOUT_ENDPOINT))
+                        .value(mockIdP.getLogoutEndpoint()))
                 .addProperty(new org.wso2.identity.integration.test.rest.api.server.idp.v1.model.Property()
                         .key("commonAuthQueryParams")
                         .value("scope=" + OAuth2Constant.OAUTH2_SCOPE_OPENID_WITH_INTERNAL_LOGIN));
@@ -292,7 +292,6 @@ public class OIDCPasswordGrantTest extends OIDCAbstractIntegrationTest {
 
         userStoreId = userStoreMgtRestClient.addUserStore(userStore);
 
-        Thread.sleep(5000);
         userStoreMgtRestClient.waitForUserStoreDeployment(USER_STORE_DOMAIN);
     }
 }
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.rest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
+import org.wso2.identity.integration.test.rest.api.benchmark.OpenApiScenarioGenerator.Scenario;
+import org.wso2.identity.integration.test.rest.api.benchmark.OpenApiScenarioGenerator.Step;
+import org.wso2.identity.integration.test.restclients.RestBaseClient;
+import org.wso2.identity.integration.test.restclients.RestClientConnectionPool;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+import org.wso2.identity.integration.test.utils.LoadRunner;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the scenarios generated by {@link OpenApiScenarioGenerator} with concurrent virtual users, and records the
+ * latency and the failures of each operation.
+ * <p>
+ * Each iteration of a virtual user runs all the scenarios one after the other. The cleanup steps of a scenario are
+ * run once its other steps are done, whether they succeeded or not. The requests are sent through a
+ * {@link RestBaseClient} on the shared pool of {@link RestClientConnectionPool}, so that the connections and the TLS
+ * sessions are reused by all the virtual users.
+ */
+public class OpenApiLoadDriver {
+
+    private static final Log log = LogFactory.getLog(OpenApiLoadDriver.class);
+    private static final Pattern PATH_PARAMETER_PATTERN = Pattern.compile("\\{[^/}]+}");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    private final List<Scenario> scenarios;
+    private final List<String> operations = new ArrayList<>();
+    private final RestBaseClient client = new RestBaseClient(RestClientConnectionPool.getSharedClient());
+    private final Header[] headers;
+
+    /**
+     * Create a driver.
+     *
+     * @param scenarios Scenarios to run.
+     * @param username  Username of the user the requests are authenticated as.
+     * @param password  Password of the user.
+     */
+    public OpenApiLoadDriver(List<Scenario> scenarios, String username, String password) {
+
+        this.scenarios = scenarios;
+        for (Scenario scenario : scenarios) {
+            List<Step> steps = new ArrayList<>(scenario.getSteps());
+            steps.addAll(scenario.getCleanupSteps());
+            for (Step step : steps) {
+                if (!operations.contains(step.getOperation())) {
+                    operations.add(step.getOperation());
+                }
+            }
+        }
+        String credentials = Base64.getEncoder().encodeToString((username + ":" + password)
+                .getBytes(StandardCharsets.UTF_8));
+        headers = new Header[]{
+                new BasicHeader(HttpHeaders.AUTHORIZATION, RestBaseClient.BASIC_AUTHORIZATION_ATTRIBUTE + credentials),
+                new BasicHeader(HttpHeaders.CONTENT_TYPE, JSON_CONTENT_TYPE),
+                new BasicHeader(HttpHeaders.ACCEPT, JSON_CONTENT_TYPE)
+        };
+    }
+
+    /**
+     * Run the virtual users concurrently. Each virtual user runs the warm up iterations, waits for all the others to
+     * be warmed up, and then runs the measured iterations.
+     *
+     * @param virtualUsers     Number of concurrent virtual users.
+     * @param warmupIterations Iterations of each virtual user which are not measured.
+     * @param iterations       Measured iterations of each virtual user.
+     * @return Latencies and failures of the operations of the measured iterations.
+     * @throws Exception If a virtual user cannot be run.
+     */
+    public LoadResult run(int virtualUsers, int warmupIterations, int iterations) throws Exception {
+
+        List<VirtualUser> virtualUsersList = new ArrayList<>();
+        for (int i = 0; i < virtualUsers; i++) {
+            virtualUsersList.add(new VirtualUser(iterations));
+        }
+        LoadResult result = new LoadResult(operations, virtualUsers * iterations);
+        result.elapsedNanos = LoadRunner.forIterations(warmupIterations, iterations).run(virtualUsersList);
+        for (VirtualUser virtualUser : virtualUsersList) {
+            for (String operation : operations) {
+                result.latencies.get(operation).merge(virtualUser.latencies.get(operation));
+                result.failures.merge(operation, virtualUser.failures.get(operation), Integer::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Send a request of a step.
+     *
+     * @return Status of the response, and the id of the created resource when the step captures it.
+     */
+    private StepResponse send(Step step, String url) throws IOException {
+
+        JsonNode body = step.buildBody();
+        String json = body != null ? OBJECT_MAPPER.writeValueAsString(body) : null;
+        CloseableHttpResponse response;
+        switch (step.getMethod()) {
+            case "POST":
+                response = client.getResponseOfHttpPost(url, json != null ? json : "{}", headers);
+                break;
+            case "PATCH":
+                response = client.getResponseOfHttpPatch(url, json != null ? json : "{}", headers);
+                break;
+            case "DELETE":
+                response = client.getResponseOfHttpDelete(url, headers);
+                break;
+            default:
+                response = client.getResponseOfHttpGet(url, headers);
+        }
+        try {
+            int status = response.getStatusLine().getStatusCode();
+            if (!step.isCapturingId() || status / 100 != 2) {
+                EntityUtils.consume(response.getEntity());
+                return new StepResponse(status, null);
+            }
+            Header location = response.getFirstHeader(RestBaseClient.LOCATION_HEADER);
+            String responseBody = response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : "";
+            String id = null;
+            if (location != null) {
+                String locationValue = location.getValue().replaceAll("/+$", "");
+                id = locationValue.substring(locationValue.lastIndexOf('/') + 1);
+            } else if (!responseBody.isEmpty()) {
+                id = OBJECT_MAPPER.readTree(responseBody).path("id").asText(null);
+            }
+            return new StepResponse(status, id);
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Latencies and failures of each operation, in the order the operations first appear in the scenarios.
+     */
+    public static class LoadResult {
+
+        private final Map<String, LatencyStats> latencies = new LinkedHashMap<>();
+        private final Map<String, Integer> failures = new LinkedHashMap<>();
+        private long elapsedNanos;
+
+        LoadResult(List<String> operations, int expectedSamples) {
+
+            for (String operation : operations) {
+                latencies.put(operation, new LatencyStats(expectedSamples));
+                failures.put(operation, 0);
+            }
+        }
+
+        public List<String> getOperations() {
+
+            return new ArrayList<>(latencies.keySet());
+        }
+
+        public LatencyStats getLatencies(String operation) {
+
+            return latencies.get(operation);
+        }
+
+        public int getFailures(String operation) {
+
+            return failures.get(operation);
+        }
+
+        /**
+         * Get the number of successful requests of an operation per second.
+         *
+         * @param operation Operation.
+         * @return Requests per second over the measured iterations.
+         */
+        public double getThroughput(String operation) {
+
+            return LoadRunner.perSecond(latencies.get(operation).getCount(), elapsedNanos);
+        }
+    }
+
+    private static class StepResponse {
+
+        private final int status;
+        private final String id;
+
+        StepResponse(int status, String id) {
+
+            this.status = status;
+            this.id = id;
+        }
+    }
+
+    /**
+     * A virtual user which runs all the scenarios in each iteration, and records the latencies and failures of its
+     * own requests, so that no state is shared with the other virtual users while they run.
+     */
+    private class VirtualUser implements LoadRunner.Worker {
+
+        private final Map<String, LatencyStats> latencies = new LinkedHashMap<>();
+        private final Map<String, Integer> failures = new LinkedHashMap<>();
+
+        VirtualUser(int iterations) {
+
+            for (String operation : operations) {
+                latencies.put(operation, new LatencyStats(iterations));
+                failures.put(operation, 0);
+            }
+        }
+
+        @Override
+        public void runIteration(int iteration, boolean measured) {
+
+            for (Scenario scenario : scenarios) {
+                String id = null;
+                try {
+                    for (Step step : scenario.getSteps()) {
+                        id = runStep(step, id, measured);
+                    }
+                } finally {
+                    // The cleanup steps are run even if a step failed, or could not be run at all, so that the
+                    // resource created by the scenario is not left behind.
+                    for (Step step : scenario.getCleanupSteps()) {
+                        runStep(step, id, measured);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Run a step of a scenario.
+         *
+         * @return Id captured by the step, or else the given id.
+         */
+        private String runStep(Step step, String id, boolean measured) {
+
+            String url = step.getUrl();
+            if (PATH_PARAMETER_PATTERN.matcher(url).find()) {
+                if (id == null) {
+                    // The resource was not created, so it can be neither read, patched nor deleted.
+                    recordFailure(step, measured);
+                    return null;
+                }
+                url = PATH_PARAMETER_PATTERN.matcher(url).replaceFirst(Matcher.quoteReplacement(
+                        URLEncoder.encode(id, StandardCharsets.UTF_8).replace("+", "%20")));
+            }
+            long startTime = System.nanoTime();
+            StepResponse response;
+            try {
+                response = send(step, url);
+            } catch (IOException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug(step.getOperation() + " failed.", e);
+                }
+                recordFailure(step, measured);
+                return id;
+            }
+            long latency = System.nanoTime() - startTime;
+
+            boolean success = response.status / 100 == 2;
+            if (step.isCapturingId()) {
+                id = response.id;
+                success = success && id != null;
+            }
+            if (!success) {
+                if (log.isDebugEnabled()) {
+                    log.debug(step.getOperation() + " responded with " + response.status);
+                }
+                recordFailure(step, measured);
+            } else if (measured) {
+                latencies.get(step.getOperation()).record(latency);
+            }
+            return id;
+        }
+
+        private void recordFailure(Step step, boolean measured) {
+
+            if (measured) {
+                failures.merge(step.getOperation(), 1, Integer::sum);
+            }
+        }
+    }
+}
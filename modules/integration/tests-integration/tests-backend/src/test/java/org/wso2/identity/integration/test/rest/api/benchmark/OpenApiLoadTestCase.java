@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.rest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.test.rest.api.benchmark.OpenApiLoadDriver.LoadResult;
+import org.wso2.identity.integration.test.rest.api.benchmark.OpenApiScenarioGenerator.Scenario;
+import org.wso2.identity.integration.test.util.Utils;
+import org.wso2.identity.integration.test.utils.BenchmarkReport;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the throughput and the latency of each operation of the management REST APIs, with scenarios generated
+ * from their OpenAPI definitions by {@link OpenApiScenarioGenerator}, so that every API gets a performance baseline
+ * without anyone writing scenarios by hand.
+ * <p>
+ * By default, the definitions are read from all the jars of the "api" webapp, and only the read scenarios are run,
+ * as the write scenarios create and delete resources of every API on the server. The scenarios are run by
+ * {@link OpenApiLoadDriver}. The throughput and the latency percentiles of each operation are logged and written as
+ * CSV to {@value #REPORT_FILE_NAME} in the report directory.
+ * <p>
+ * The generated write payloads are built from the schemas and may be rejected by the validation of some APIs, so the
+ * failures are reported for each operation instead of failing the run.
+ * <p>
+ * The benchmark is not part of the default test suite. It is run with the benchmark profile, eg:
+ * mvn clean install -DintegrationTests -Dbenchmark=restapi -Drestapi.benchmark.include=".*claim.*"
+ * <p>
+ * The benchmark can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #SPECS_PROPERTY} - Comma separated definitions to load, each either {jar name prefix}:{definition
+ *     name in the jar}, or the path of a definition file. Default is all the definitions in the "api" webapp.</li>
+ *     <li>{@value #INCLUDE_PROPERTY} - Regular expression which the names of the operations to load must match, eg:
+ *     .*GET /claim-dialects. Default is all the operations.</li>
+ *     <li>{@value #WRITES_PROPERTY} - Set to true to also run the create, read, patch and delete scenarios. Default
+ *     is false.</li>
+ *     <li>{@value #THREADS_PROPERTY} - Concurrent virtual users. Default is 4.</li>
+ *     <li>{@value #WARMUP_PROPERTY} - Warm up iterations of each virtual user. Default is 2.</li>
+ *     <li>{@value #ITERATIONS_PROPERTY} - Measured iterations of each virtual user. Default is 20.</li>
+ *     <li>{@value #PAGE_SIZE_PROPERTY} - Items of each page of the list operations. Default is 10.</li>
+ *     <li>{@value #PAGES_PROPERTY} - Pages read by each iteration of the list operations. Default is 3.</li>
+ *     <li>{@value #REPORT_DIR_PROPERTY} - Directory of the CSV report. Default is the directory of the benchmark
+ *     profile, or target/restapi-benchmark.</li>
+ * </ul>
+ */
+public class OpenApiLoadTestCase extends ISIntegrationTest {
+
+    private static final Log log = LogFactory.getLog(OpenApiLoadTestCase.class);
+
+    private static final String SPECS_PROPERTY = "restapi.benchmark.specs";
+    private static final String INCLUDE_PROPERTY = "restapi.benchmark.include";
+    private static final String WRITES_PROPERTY = "restapi.benchmark.writes";
+    private static final String THREADS_PROPERTY = "restapi.benchmark.threads";
+    private static final String WARMUP_PROPERTY = "restapi.benchmark.warmup";
+    private static final String ITERATIONS_PROPERTY = "restapi.benchmark.iterations";
+    private static final String PAGE_SIZE_PROPERTY = "restapi.benchmark.pageSize";
+    private static final String PAGES_PROPERTY = "restapi.benchmark.pages";
+    private static final String REPORT_DIR_PROPERTY = "restapi.benchmark.reportDir";
+    private static final String REPORT_FILE_NAME = "restapi.csv";
+    private static final String REPORT_HEADER = "operation,threads,requests,failures,requestsPerSecond,meanMillis," +
+            "p50Millis,p90Millis,p99Millis,p999Millis,maxMillis";
+
+    private static final String API_WEB_APP_LIB = File.separator + "repository" + File.separator + "deployment" +
+            File.separator + "server" + File.separator + "webapps" + File.separator + "api" + File.separator +
+            "WEB-INF" + File.separator + "lib";
+    private static final ObjectMapper YAML_READER = new ObjectMapper(new YAMLFactory());
+
+    private final Pattern include = Pattern.compile(System.getProperty(INCLUDE_PROPERTY, ".*"));
+    private final boolean writes = Boolean.getBoolean(WRITES_PROPERTY);
+    private final int threads = Integer.getInteger(THREADS_PROPERTY, 4);
+    private final int warmup = Integer.getInteger(WARMUP_PROPERTY, 2);
+    private final int iterations = Integer.getInteger(ITERATIONS_PROPERTY, 20);
+    private final int pageSize = Integer.getInteger(PAGE_SIZE_PROPERTY, 10);
+    private final int pages = Integer.getInteger(PAGES_PROPERTY, 3);
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private File reportDir;
+
+    @BeforeClass(alwaysRun = true)
+    public void testInit() throws Exception {
+
+        super.init();
+
+        String serverUrl = backendURL.substring(0, backendURL.indexOf("/services"));
+        for (Map.Entry<String, JsonNode> definition : readDefinitions().entrySet()) {
+            OpenApiScenarioGenerator generator = new OpenApiScenarioGenerator(definition.getKey(),
+                    definition.getValue());
+            String basePath = generator.getBasePath(tenantInfo.getDomain());
+            if (basePath == null) {
+                log.warn("Skipping " + definition.getKey() + " as its base path cannot be resolved.");
+                continue;
+            }
+            List<Scenario> generated = generator.generate(serverUrl + basePath, pageSize, pages, writes, include);
+            log.info("Generated " + generated.size() + " scenarios of " + definition.getKey() + ".");
+            scenarios.addAll(generated);
+        }
+
+        reportDir = BenchmarkReport.getReportDir(REPORT_DIR_PROPERTY, "restapi-benchmark");
+    }
+
+    @Test(description = "Measure the throughput and latency of the operations of the management REST APIs.")
+    public void testOperationThroughputAndLatency() throws Exception {
+
+        Assert.assertFalse(scenarios.isEmpty(), "No scenarios were generated from the API definitions.");
+        LoadResult result = new OpenApiLoadDriver(scenarios, tenantInfo.getContextUser().getUserName(),
+                tenantInfo.getContextUser().getPassword()).run(threads, warmup, iterations);
+
+        long successfulRequests = 0;
+        try (BenchmarkReport report = new BenchmarkReport(reportDir, REPORT_FILE_NAME, REPORT_HEADER)) {
+            for (String operation : result.getOperations()) {
+                LatencyStats stats = result.getLatencies(operation);
+                int failures = result.getFailures(operation);
+                successfulRequests += stats.getCount();
+                log.info(String.format("%s requests=%d failures=%d requests/s=%.1f mean=%.2fms p50=%.2fms " +
+                                "p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms", operation, stats.getCount(),
+                        failures, result.getThroughput(operation), stats.mean(), stats.percentile(50),
+                        stats.percentile(90), stats.percentile(99), stats.percentile(99.9), stats.percentile(100)));
+                report.addRow("%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", operation, threads,
+                        stats.getCount(), failures, result.getThroughput(operation), stats.mean(),
+                        stats.percentile(50), stats.percentile(90), stats.percentile(99), stats.percentile(99.9),
+                        stats.percentile(100));
+            }
+        }
+        Assert.assertTrue(successfulRequests > 0, "None of the generated requests succeeded.");
+    }
+
+    /**
+     * Read the definitions given with {@value #SPECS_PROPERTY}, or all the definitions of the "api" webapp.
+     *
+     * @return Definitions keyed by their name.
+     */
+    private Map<String, JsonNode> readDefinitions() throws IOException {
+
+        Map<String, JsonNode> definitions = new LinkedHashMap<>();
+        File libDir = new File(Utils.getResidentCarbonHome() + API_WEB_APP_LIB);
+        String specs = System.getProperty(SPECS_PROPERTY);
+        if (specs == null || specs.trim().isEmpty()) {
+            File[] jars = libDir.listFiles((dir, name) -> name.endsWith(".jar"));
+            if (jars != null) {
+                for (File jar : jars) {
+                    readDefinitions(jar, null, definitions);
+                }
+            }
+            return definitions;
+        }
+
+        for (String spec : specs.trim().split("\\s*,\\s*")) {
+            int separator = spec.indexOf(':');
+            File file = new File(spec);
+            if (file.isFile()) {
+                definitions.put(getName(file.getName()), YAML_READER.readTree(file));
+            } else if (separator > 0) {
+                String jarName = spec.substring(0, separator);
+                File[] jars = libDir.listFiles((dir, name) -> name.startsWith(jarName) && name.endsWith(".jar"));
+                if (jars == null || jars.length == 0) {
+                    throw new IOException("No jar of " + jarName + " in " + libDir.getAbsolutePath());
+                }
+                readDefinitions(jars[0], spec.substring(separator + 1), definitions);
+            } else {
+                throw new IOException("Cannot read the API definition: " + spec);
+            }
+        }
+        return definitions;
+    }
+
+    private void readDefinitions(File jar, String entryName, Map<String, JsonNode> definitions) throws IOException {
+
+        try (JarFile jarFile = new JarFile(jar)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+                boolean matches = entryName != null ? name.equals(entryName) || name.endsWith("/" + entryName) :
+                        name.endsWith(".yaml") || name.endsWith(".yml");
+                if (!matches || entry.isDirectory()) {
+                    continue;
+                }
+                try (InputStream input = jarFile.getInputStream(entry)) {
+                    JsonNode definition = YAML_READER.readTree(input);
+                    // Only OpenAPI and Swagger definitions, and not the other yaml files of the jars.
+                    if (definition.has("paths") && (definition.has("openapi") || definition.has("swagger"))) {
+                        definitions.put(getName(name), definition);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String getName(String path) {
+
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int extension = name.lastIndexOf('.');
+        return extension > 0 ? name.substring(0, extension) : name;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.rest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Builds request payloads from the schemas of an OpenAPI or Swagger definition.
+ * <p>
+ * The examples and the enums of the definition are used where there are any, so that the payloads look like the
+ * ones the API is documented with. Otherwise a value of the type and format of the schema is made up. The required
+ * properties of an object are always filled in, and the optional ones only when they have an example. Strings which
+ * name or identify a resource are made unique, so that concurrent create requests do not conflict with each other.
+ * <p>
+ * An instance can be used by concurrent threads.
+ */
+public class OpenApiPayloadGenerator {
+
+    private static final int MAX_DEPTH = 8;
+    private static final Pattern UNIQUE_PROPERTY_PATTERN = Pattern.compile(
+            "(?i).*(name|identifier|username|email)$");
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final JsonNode definition;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Create a generator for the schemas of the given definition.
+     *
+     * @param definition OpenAPI or Swagger definition, which the references of the schemas are resolved in.
+     */
+    public OpenApiPayloadGenerator(JsonNode definition) {
+
+        this.definition = definition;
+    }
+
+    /**
+     * Build a payload of the given schema.
+     *
+     * @param schema Schema of the payload.
+     * @return Payload, or null if no value can be built for the schema.
+     */
+    public JsonNode generate(JsonNode schema) {
+
+        return generate(schema, null, 0, new HashSet<>());
+    }
+
+    /**
+     * Resolve a local reference of the definition, eg: #/components/schemas/Claim.
+     *
+     * @param node Node which may be a reference.
+     * @return Referenced node, or the given node if it is not a reference.
+     */
+    JsonNode resolve(JsonNode node) {
+
+        JsonNode resolved = node;
+        // References to references are followed, up to a limit to stop at cycles.
+        for (int i = 0; i < MAX_DEPTH && resolved != null && resolved.has("$ref"); i++) {
+            String reference = resolved.get("$ref").asText();
+            if (!reference.startsWith("#/")) {
+                return null;
+            }
+            resolved = definition.at(reference.substring(1));
+            if (resolved.isMissingNode()) {
+                return null;
+            }
+        }
+        return resolved;
+    }
+
+    private JsonNode generate(JsonNode schemaNode, String propertyName, int depth, Set<String> references) {
+
+        if (schemaNode == null || depth > MAX_DEPTH) {
+            return null;
+        }
+        String reference = schemaNode.has("$ref") ? schemaNode.get("$ref").asText() : null;
+        if (reference != null && !references.add(reference)) {
+            // A recursive schema, eg: a group of groups. The recursion is cut here.
+            return null;
+        }
+        try {
+            JsonNode schema = resolve(schemaNode);
+            if (schema == null) {
+                return null;
+            }
+            if (schema.has("example")) {
+                return uniqueValue(schema.get("example").deepCopy(), propertyName);
+            }
+            if (schema.has("enum") && schema.get("enum").size() > 0) {
+                return schema.get("enum").get(0).deepCopy();
+            }
+            if (schema.has("allOf")) {
+                ObjectNode merged = NODES.objectNode();
+                for (JsonNode part : schema.get("allOf")) {
+                    JsonNode value = generate(part, propertyName, depth + 1, references);
+                    if (value instanceof ObjectNode) {
+                        merged.setAll((ObjectNode) value);
+                    }
+                }
+                return merged;
+            }
+            for (String alternatives : new String[]{"oneOf", "anyOf"}) {
+                if (schema.has(alternatives) && schema.get(alternatives).size() > 0) {
+                    return generate(schema.get(alternatives).get(0), propertyName, depth + 1, references);
+                }
+            }
+
+            String type = schema.path("type").asText(schema.has("properties") ? "object" : "string");
+            switch (type) {
+                case "object":
+                    return generateObject(schema, depth, references);
+                case "array":
+                    ArrayNode array = NODES.arrayNode();
+                    JsonNode item = generate(schema.get("items"), propertyName, depth + 1, references);
+                    if (item != null) {
+                        array.add(item);
+                    }
+                    return array;
+                case "integer":
+                case "number":
+                    return NODES.numberNode(schema.has("minimum") ? schema.get("minimum").asLong() : 1);
+                case "boolean":
+                    return NODES.booleanNode(true);
+                default:
+                    return NODES.textNode(generateString(schema, propertyName));
+            }
+        } finally {
+            if (reference != null) {
+                references.remove(reference);
+            }
+        }
+    }
+
+    private ObjectNode generateObject(JsonNode schema, int depth, Set<String> references) {
+
+        ObjectNode object = NODES.objectNode();
+        Set<String> required = new HashSet<>();
+        for (JsonNode name : schema.path("required")) {
+            required.add(name.asText());
+        }
+        Iterator<Map.Entry<String, JsonNode>> properties = schema.path("properties").fields();
+        while (properties.hasNext()) {
+            Map.Entry<String, JsonNode> property = properties.next();
+            JsonNode propertySchema = resolve(property.getValue());
+            if (propertySchema == null || propertySchema.path("readOnly").asBoolean(false)) {
+                continue;
+            }
+            if (!required.contains(property.getKey()) && !propertySchema.has("example")) {
+                continue;
+            }
+            JsonNode value = generate(property.getValue(), property.getKey(), depth + 1, references);
+            if (value != null) {
+                object.set(property.getKey(), value);
+            }
+        }
+        return object;
+    }
+
+    private String generateString(JsonNode schema, String propertyName) {
+
+        long n = sequence.incrementAndGet();
+        String value;
+        switch (schema.path("format").asText("")) {
+            case "date-time":
+                value = Instant.now().toString();
+                break;
+            case "date":
+                value = Instant.now().toString().substring(0, 10);
+                break;
+            case "email":
+                value = "perf" + n + "@wso2.com";
+                break;
+            case "uri":
+            case "url":
+                value = "https://localhost/perf" + n;
+                break;
+            case "uuid":
+                value = UUID.randomUUID().toString();
+                break;
+            case "password":
+                value = "Perf@Pass" + n;
+                break;
+            default:
+                value = (propertyName != null ? propertyName : "perf") + "-" + n;
+        }
+        int maxLength = schema.path("maxLength").asInt(Integer.MAX_VALUE);
+        return value.length() > maxLength ? value.substring(value.length() - maxLength) : value;
+    }
+
+    private JsonNode uniqueValue(JsonNode example, String propertyName) {
+
+        if (example.isTextual() && propertyName != null && UNIQUE_PROPERTY_PATTERN.matcher(propertyName).matches()) {
+            String value = example.asText();
+            long n = sequence.incrementAndGet();
+            int at = value.indexOf('@');
+            // Keep the domain of email addresses, so that they stay valid.
+            return NODES.textNode(at > 0 ? value.substring(0, at) + "-" + n + value.substring(at) :
+                    value + "-" + n);
+        }
+        return example;
+    }
+}
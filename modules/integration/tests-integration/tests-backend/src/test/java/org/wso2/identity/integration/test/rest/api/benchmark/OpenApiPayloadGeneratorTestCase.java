@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.rest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the payloads built by {@link OpenApiPayloadGenerator} from the schemas of a small inline definition. The
+ * tests do not call the server.
+ */
+public class OpenApiPayloadGeneratorTestCase {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // Single quotes are replaced with double quotes, so that the definition reads without escapes.
+    private static final String DEFINITION = "{'openapi': '3.0.0', 'components': {'schemas': {" +
+            "'Claim': {'type': 'object', 'required': ['claimURI', 'displayName', 'email']," +
+            "  'properties': {" +
+            "    'claimURI': {'type': 'string', 'example': 'http://wso2.org/claims/test'}," +
+            "    'displayName': {'type': 'string'}," +
+            "    'email': {'type': 'string', 'example': 'claim@wso2.com'}," +
+            "    'description': {'type': 'string'}," +
+            "    'id': {'type': 'string', 'readOnly': true, 'example': 'aWQ'}," +
+            "    'readOnly': {'type': 'boolean', 'example': false}}}," +
+            "'ClaimReference': {'$ref': '#/components/schemas/Claim'}," +
+            "'Group': {'type': 'object', 'required': ['name', 'parent', 'members']," +
+            "  'properties': {" +
+            "    'name': {'type': 'string'}," +
+            "    'parent': {'$ref': '#/components/schemas/Group'}," +
+            "    'members': {'type': 'array', 'items': {'$ref': '#/components/schemas/Group'}}}}," +
+            "'Base': {'type': 'object', 'required': ['name'], 'properties': {'name': {'type': 'string'}}}," +
+            "'Extended': {'allOf': [{'$ref': '#/components/schemas/Base'}," +
+            "  {'type': 'object', 'required': ['count', 'kind']," +
+            "   'properties': {'count': {'type': 'integer', 'minimum': 5}," +
+            "     'kind': {'type': 'string', 'enum': ['LOCAL', 'REMOTE']}}}]}," +
+            "'External': {'$ref': 'https://example.com/schemas/External'}}}}";
+
+    private JsonNode definition;
+
+    @BeforeClass(alwaysRun = true)
+    public void init() throws Exception {
+
+        definition = OBJECT_MAPPER.readTree(DEFINITION.replace('\'', '"'));
+    }
+
+    @Test(description = "A reference, and a reference to a reference, is resolved to the referenced schema.")
+    public void testReferenceResolved() {
+
+        OpenApiPayloadGenerator generator = new OpenApiPayloadGenerator(definition);
+        JsonNode payload = generator.generate(schema("ClaimReference"));
+
+        Assert.assertNotNull(payload);
+        Assert.assertEquals(payload.path("claimURI").asText(), "http://wso2.org/claims/test",
+                "Example of the referenced schema was not used.");
+        Assert.assertTrue(payload.path("displayName").asText().startsWith("displayName-"),
+                "Required property without an example was not made up: " + payload);
+        Assert.assertNull(generator.generate(schema("External")), "A remote reference should not be resolved.");
+    }
+
+    @Test(description = "Optional properties without an example, and read only properties, are left out.")
+    public void testOptionalAndReadOnlyPropertiesLeftOut() {
+
+        JsonNode payload = new OpenApiPayloadGenerator(definition).generate(schema("Claim"));
+
+        Assert.assertFalse(payload.has("description"), "Optional property without an example was filled in.");
+        Assert.assertFalse(payload.has("id"), "Read only property was filled in.");
+        Assert.assertTrue(payload.has("readOnly"), "Optional property with an example was left out.");
+        Assert.assertFalse(payload.get("readOnly").asBoolean(), "Example of a boolean property was not used.");
+    }
+
+    @Test(description = "A recursive schema is cut where it refers to itself.")
+    public void testRecursionCut() {
+
+        JsonNode payload = new OpenApiPayloadGenerator(definition).generate(schema("Group"));
+
+        Assert.assertTrue(payload.path("name").isTextual(), "Name of the group was not filled in: " + payload);
+        Assert.assertFalse(payload.has("parent"), "Recursive property was not cut: " + payload);
+        Assert.assertTrue(payload.path("members").isArray(), "Recursive array was not built: " + payload);
+        Assert.assertEquals(payload.path("members").size(), 0, "Recursive array items were not cut: " + payload);
+    }
+
+    @Test(description = "The properties of all the parts of an allOf schema are merged into one object.")
+    public void testAllOfMerged() {
+
+        JsonNode payload = new OpenApiPayloadGenerator(definition).generate(schema("Extended"));
+
+        Assert.assertTrue(payload.path("name").asText().startsWith("name-"), "Property of the referenced part " +
+                "was not merged: " + payload);
+        Assert.assertEquals(payload.path("count").asLong(), 5, "Minimum of an integer was not used.");
+        Assert.assertEquals(payload.path("kind").asText(), "LOCAL", "First value of an enum was not used.");
+    }
+
+    @Test(description = "Names and emails are unique across payloads, and emails keep their domain.")
+    public void testUniqueNames() {
+
+        OpenApiPayloadGenerator generator = new OpenApiPayloadGenerator(definition);
+        JsonNode first = generator.generate(schema("Claim"));
+        JsonNode second = generator.generate(schema("Claim"));
+
+        Assert.assertNotEquals(first.path("displayName").asText(), second.path("displayName").asText(),
+                "Made up names are not unique.");
+        Assert.assertNotEquals(first.path("email").asText(), second.path("email").asText(),
+                "Emails built from an example are not unique.");
+        Assert.assertTrue(first.path("email").asText().matches("claim-\\d+@wso2\\.com"),
+                "Email built from an example is not valid: " + first.path("email").asText());
+        Assert.assertEquals(first.path("claimURI").asText(), second.path("claimURI").asText(),
+                "Example of a property which does not name a resource should be used as it is.");
+    }
+
+    private JsonNode schema(String name) {
+
+        return OBJECT_MAPPER.createObjectNode().put("$ref", "#/components/schemas/" + name);
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.rest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Turns an OpenAPI or Swagger definition into load scenarios, so that a management API gets a throughput baseline
+ * without anyone writing scenarios by hand.
+ * <p>
+ * Two kinds of scenarios are generated.
+ * <ul>
+ *     <li>Read scenarios - A GET of each collection resource, ie: a path without path parameters, which has no
+ *     required query parameters. When the operation takes limit and offset parameters, each iteration reads the
+ *     given number of pages.</li>
+ *     <li>Write scenarios - A create, read, patch and delete cycle of each collection resource which has a POST with a
+ *     JSON body, and an item resource, ie: the collection path followed by a path parameter, which has a DELETE. The
+ *     create payloads are built from the schemas by {@link OpenApiPayloadGenerator}. The id of the created resource is
+ *     taken from the Location header of the response, or from the id property of its body. Collections which cannot
+ *     be deleted are left out, so that a load run does not leave resources behind.</li>
+ * </ul>
+ * The patch is only done with the example of the definition. A payload built from the schema of a patch is not a
+ * valid patch of most of the APIs, eg: the JSON patch operations of the server API need a path and a value which
+ * match the resource. The delete is a cleanup step of the scenario, which is run whenever the resource was created,
+ * even if a step before it failed.
+ */
+public class OpenApiScenarioGenerator {
+
+    private static final Pattern ITEM_SEGMENT_PATTERN = Pattern.compile("/\\{[^/}]+}");
+    private static final String LIMIT = "limit";
+    private static final String OFFSET = "offset";
+    private static final String JSON_MEDIA_TYPE = "application/json";
+
+    private final String apiName;
+    private final JsonNode definition;
+    private final OpenApiPayloadGenerator payloadGenerator;
+
+    /**
+     * Create a generator for the given definition.
+     *
+     * @param apiName    Name of the API, which prefixes the names of the operations.
+     * @param definition OpenAPI or Swagger definition, as JSON.
+     */
+    public OpenApiScenarioGenerator(String apiName, JsonNode definition) {
+
+        this.apiName = apiName;
+        this.definition = definition;
+        this.payloadGenerator = new OpenApiPayloadGenerator(definition);
+    }
+
+    /**
+     * Get the base path of the API, with the tenant filled in.
+     *
+     * @param tenantDomain Tenant domain of the run.
+     * @return Base path, eg: /t/carbon.super/api/server/v1, or null if the definition has a base path which cannot
+     * be filled in.
+     */
+    public String getBasePath(String tenantDomain) {
+
+        String basePath;
+        if (definition.has("servers")) {
+            // OpenAPI 3, eg: https://{server-url}/t/{tenant-domain}/api/server/v1
+            basePath = definition.path("servers").path(0).path("url").asText("")
+                    .replaceFirst("^[a-zA-Z]+://[^/]*", "");
+        } else {
+            basePath = definition.path("basePath").asText("");
+        }
+        basePath = basePath.replace("{tenant-domain}", tenantDomain).replaceAll("/+$", "");
+        return basePath.contains("{") ? null : basePath;
+    }
+
+    /**
+     * Generate the scenarios of the definition.
+     *
+     * @param baseUrl        URL of the base path of the API, which the paths of the operations are appended to.
+     * @param pageSize       Number of items of each page read.
+     * @param pages          Pages read by each iteration of a read scenario.
+     * @param includeWrites  Whether the write scenarios are generated.
+     * @param operationMatch Pattern which the names of the operations to load must match.
+     * @return Scenarios, in the order of the paths of the definition.
+     */
+    public List<Scenario> generate(String baseUrl, int pageSize, int pages, boolean includeWrites,
+                                   Pattern operationMatch) {
+
+        List<Scenario> scenarios = new ArrayList<>();
+        JsonNode paths = definition.path("paths");
+        Iterator<Map.Entry<String, JsonNode>> pathIterator = paths.fields();
+        while (pathIterator.hasNext()) {
+            Map.Entry<String, JsonNode> path = pathIterator.next();
+            if (path.getKey().contains("{")) {
+                continue;
+            }
+            Scenario read = generateRead(baseUrl, path.getKey(), path.getValue(), pageSize, pages);
+            if (read != null && operationMatch.matcher(read.getName()).matches()) {
+                scenarios.add(read);
+            }
+            if (includeWrites) {
+                Scenario write = generateWrite(baseUrl, paths, path.getKey(), path.getValue().get("post"));
+                if (write != null && operationMatch.matcher(write.getName()).matches()) {
+                    scenarios.add(write);
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    private Scenario generateRead(String baseUrl, String path, JsonNode pathItem, int pageSize, int pages) {
+
+        JsonNode operation = pathItem.get("get");
+        if (operation == null) {
+            return null;
+        }
+        boolean paginated = false;
+        // The parameters of the path apply to all its operations.
+        List<JsonNode> parameters = getParameters(pathItem);
+        parameters.addAll(getParameters(operation));
+        for (JsonNode parameterNode : parameters) {
+            JsonNode parameter = payloadGenerator.resolve(parameterNode);
+            if (parameter == null) {
+                continue;
+            }
+            String name = parameter.path("name").asText();
+            if (LIMIT.equals(name)) {
+                paginated = true;
+            } else if (parameter.path("required").asBoolean(false) && !OFFSET.equals(name)) {
+                return null;
+            }
+        }
+
+        String name = operationName("GET", path);
+        List<Step> steps = new ArrayList<>();
+        if (!paginated) {
+            steps.add(step(name, "GET", baseUrl + path, null, false));
+        } else {
+            for (int page = 0; page < pages; page++) {
+                String pageUrl = baseUrl + path + "?" + LIMIT + "=" + pageSize + "&" + OFFSET + "=" + page * pageSize;
+                steps.add(step(name, "GET", pageUrl, null, false));
+            }
+        }
+        return new Scenario(name, steps, Collections.emptyList());
+    }
+
+    private Scenario generateWrite(String baseUrl, JsonNode paths, String path, JsonNode create) {
+
+        if (create == null) {
+            return null;
+        }
+        JsonNode createSchema = getJsonBodySchema(create);
+        if (createSchema == null) {
+            return null;
+        }
+        String itemPath = null;
+        Iterator<String> pathNames = paths.fieldNames();
+        while (pathNames.hasNext()) {
+            String candidate = pathNames.next();
+            if (candidate.startsWith(path) && ITEM_SEGMENT_PATTERN.matcher(candidate.substring(path.length()))
+                    .matches() && paths.get(candidate).has("delete")) {
+                itemPath = candidate;
+                break;
+            }
+        }
+        if (itemPath == null) {
+            return null;
+        }
+
+        JsonNode item = paths.get(itemPath);
+        List<Step> steps = new ArrayList<>();
+        steps.add(step(operationName("POST", path), "POST", baseUrl + path, createSchema, true));
+        if (item.has("get")) {
+            steps.add(step(operationName("GET", itemPath), "GET", baseUrl + itemPath, null, false));
+        }
+        JsonNode patchExample = item.has("patch") ? getJsonBodyExample(item.get("patch")) : null;
+        if (patchExample != null) {
+            steps.add(new Step(payloadGenerator, operationName("PATCH", itemPath), "PATCH", baseUrl + itemPath, null,
+                    patchExample, false));
+        }
+        List<Step> cleanupSteps = new ArrayList<>();
+        cleanupSteps.add(step(operationName("DELETE", itemPath), "DELETE", baseUrl + itemPath, null, false));
+        return new Scenario(operationName("CRUD", path), steps, cleanupSteps);
+    }
+
+    private List<JsonNode> getParameters(JsonNode node) {
+
+        List<JsonNode> parameters = new ArrayList<>();
+        node.path("parameters").forEach(parameters::add);
+        return parameters;
+    }
+
+    private JsonNode getJsonBodySchema(JsonNode operation) {
+
+        JsonNode body = getJsonBody(operation);
+        return body != null ? body.get("schema") : null;
+    }
+
+    /**
+     * Get the example of the JSON body of an operation, from the media type of an OpenAPI 3 body, or else from its
+     * schema.
+     */
+    private JsonNode getJsonBodyExample(JsonNode operation) {
+
+        JsonNode body = getJsonBody(operation);
+        if (body == null) {
+            return null;
+        }
+        if (body.has("example")) {
+            return body.get("example");
+        }
+        Iterator<JsonNode> examples = body.path("examples").elements();
+        while (examples.hasNext()) {
+            JsonNode example = payloadGenerator.resolve(examples.next());
+            if (example != null && example.has("value")) {
+                return example.get("value");
+            }
+        }
+        JsonNode schema = payloadGenerator.resolve(body.get("schema"));
+        return schema != null && schema.has("example") ? schema.get("example") : null;
+    }
+
+    /**
+     * Get the JSON body of an operation, which is the media type object of an OpenAPI 3 body, or the body parameter
+     * of Swagger 2. Both have the schema of the body.
+     */
+    private JsonNode getJsonBody(JsonNode operation) {
+
+        JsonNode requestBody = payloadGenerator.resolve(operation.path("requestBody"));
+        if (requestBody != null && !requestBody.isMissingNode()) {
+            // OpenAPI 3.
+            JsonNode content = requestBody.path("content");
+            Iterator<String> mediaTypes = content.fieldNames();
+            while (mediaTypes.hasNext()) {
+                String mediaType = mediaTypes.next();
+                if (mediaType.startsWith(JSON_MEDIA_TYPE) || mediaType.endsWith("+json")) {
+                    return content.get(mediaType);
+                }
+            }
+            return null;
+        }
+        // Swagger 2, where the body is a parameter.
+        for (JsonNode parameterNode : getParameters(operation)) {
+            JsonNode parameter = payloadGenerator.resolve(parameterNode);
+            if (parameter != null && "body".equals(parameter.path("in").asText())) {
+                return parameter;
+            }
+        }
+        return null;
+    }
+
+    private Step step(String operation, String method, String url, JsonNode bodySchema, boolean capturesId) {
+
+        return new Step(payloadGenerator, operation, method, url, bodySchema, null, capturesId);
+    }
+
+    private String operationName(String method, String path) {
+
+        return apiName + " " + method + " " + path;
+    }
+
+    /**
+     * Steps run one after the other by each iteration of a virtual user, followed by the cleanup steps, which are run
+     * even if a step failed.
+     */
+    public static class Scenario {
+
+        private final String name;
+        private final List<Step> steps;
+        private final List<Step> cleanupSteps;
+
+        Scenario(String name, List<Step> steps, List<Step> cleanupSteps) {
+
+            this.name = name;
+            this.steps = Collections.unmodifiableList(steps);
+            this.cleanupSteps = Collections.unmodifiableList(cleanupSteps);
+        }
+
+        public String getName() {
+
+            return name;
+        }
+
+        public List<Step> getSteps() {
+
+            return steps;
+        }
+
+        /**
+         * Get the steps which remove what the scenario created, eg: the delete of the created resource.
+         *
+         * @return Cleanup steps.
+         */
+        public List<Step> getCleanupSteps() {
+
+            return cleanupSteps;
+        }
+    }
+
+    /**
+     * A request of a scenario. The path parameter of an item URL is filled in with the id captured by the create
+     * step of the scenario.
+     */
+    public static class Step {
+
+        private final OpenApiPayloadGenerator payloadGenerator;
+        private final String operation;
+        private final String method;
+        private final String url;
+        private final JsonNode bodySchema;
+        private final JsonNode body;
+        private final boolean capturesId;
+
+        Step(OpenApiPayloadGenerator payloadGenerator, String operation, String method, String url,
+             JsonNode bodySchema, JsonNode body, boolean capturesId) {
+
+            this.payloadGenerator = payloadGenerator;
+            this.operation = operation;
+            this.method = method;
+            this.url = url;
+            this.bodySchema = bodySchema;
+            this.body = body;
+            this.capturesId = capturesId;
+        }
+
+        public String getOperation() {
+
+            return operation;
+        }
+
+        public String getMethod() {
+
+            return method;
+        }
+
+        public String getUrl() {
+
+            return url;
+        }
+
+        /**
+         * Build a new request body of the step, so that the names of the created resources are unique. A step with
+         * an example body, eg: a patch, is sent the example as it is.
+         *
+         * @return Request body, or null if the step has none.
+         */
+        public JsonNode buildBody() {
+
+            if (body != null) {
+                return body.deepCopy();
+            }
+            return bodySchema != null ? payloadGenerator.generate(bodySchema) : null;
+        }
+
+        public boolean isCapturingId() {
+
+            return capturesId;
+        }
+    }
+}
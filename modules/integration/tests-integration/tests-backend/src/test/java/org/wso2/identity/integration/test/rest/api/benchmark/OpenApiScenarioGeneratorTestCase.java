@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.rest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.identity.integration.test.rest.api.benchmark.OpenApiScenarioGenerator.Scenario;
+import org.wso2.identity.integration.test.rest.api.benchmark.OpenApiScenarioGenerator.Step;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the scenarios generated by {@link OpenApiScenarioGenerator} from a small inline definition. The tests do not
+ * call the server.
+ */
+public class OpenApiScenarioGeneratorTestCase {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String BASE_URL = "https://localhost:9853/t/carbon.super/api/server/v1";
+    private static final Pattern ALL = Pattern.compile(".*");
+    // Single quotes are replaced with double quotes, so that the definition reads without escapes.
+    private static final String DEFINITION = "{'openapi': '3.0.0'," +
+            "'servers': [{'url': 'https://{server-url}/t/{tenant-domain}/api/server/v1'}]," +
+            "'paths': {" +
+            "  '/claims': {" +
+            "    'get': {'parameters': [{'$ref': '#/components/parameters/limit'}," +
+            "      {'name': 'offset', 'in': 'query', 'required': true}]}," +
+            "    'post': {'requestBody': {'content': {'application/json': {" +
+            "      'schema': {'$ref': '#/components/schemas/Claim'}}}}}}," +
+            "  '/claims-archive/{archive-id}': {'delete': {}}," +
+            "  '/claims/{claim-id}/attributes/{attribute-id}': {'delete': {}}," +
+            "  '/claims/{claim-id}': {'get': {}, 'delete': {}," +
+            "    'patch': {'requestBody': {'content': {'application/json': {" +
+            "      'schema': {'type': 'array', 'items': {'$ref': '#/components/schemas/Patch'}}}}}}}," +
+            "  '/roles': {" +
+            "    'get': {'parameters': [{'name': 'filter', 'in': 'query'}]}," +
+            "    'post': {'requestBody': {'content': {'application/json': {" +
+            "      'schema': {'$ref': '#/components/schemas/Claim'}}}}}}," +
+            "  '/roles/{role-id}': {'delete': {}," +
+            "    'patch': {'requestBody': {'content': {'application/json': {" +
+            "      'schema': {'type': 'array', 'items': {'$ref': '#/components/schemas/Patch'}}," +
+            "      'example': [{'operation': 'REPLACE', 'path': '/name', 'value': 'role'}]}}}}}," +
+            "  '/applications': {" +
+            "    'get': {'parameters': [{'name': 'type', 'in': 'query', 'required': true}]}," +
+            "    'post': {'requestBody': {'content': {'application/json': {" +
+            "      'schema': {'$ref': '#/components/schemas/Claim'}}}}}}," +
+            "  '/applications/{application-id}': {'get': {}}}," +
+            "'components': {" +
+            "  'parameters': {'limit': {'name': 'limit', 'in': 'query', 'schema': {'type': 'integer'}}}," +
+            "  'schemas': {" +
+            "    'Claim': {'type': 'object', 'required': ['displayName']," +
+            "      'properties': {'displayName': {'type': 'string'}}}," +
+            "    'Patch': {'type': 'object', 'required': ['operation', 'path', 'value']," +
+            "      'properties': {'operation': {'type': 'string', 'enum': ['ADD', 'REMOVE', 'REPLACE']}," +
+            "        'path': {'type': 'string'}, 'value': {'type': 'string'}}}}}}";
+
+    private OpenApiScenarioGenerator generator;
+
+    @BeforeClass(alwaysRun = true)
+    public void init() throws Exception {
+
+        generator = new OpenApiScenarioGenerator("claims", OBJECT_MAPPER.readTree(DEFINITION.replace('\'', '"')));
+    }
+
+    @Test(description = "The base path of the servers of the definition is filled in with the tenant.")
+    public void testBasePath() {
+
+        Assert.assertEquals(generator.getBasePath("carbon.super"), "/t/carbon.super/api/server/v1");
+    }
+
+    @Test(description = "A collection GET with a limit parameter reads the given number of pages.")
+    public void testPaginationDetected() {
+
+        Scenario read = getScenario(generator.generate(BASE_URL, 10, 3, false, ALL), "claims GET /claims");
+
+        List<String> urls = new ArrayList<>();
+        for (Step step : read.getSteps()) {
+            urls.add(step.getUrl());
+        }
+        Assert.assertEquals(urls.size(), 3, "Each page should be read by a step of its own.");
+        Assert.assertEquals(urls.get(0), BASE_URL + "/claims?limit=10&offset=0");
+        Assert.assertEquals(urls.get(2), BASE_URL + "/claims?limit=10&offset=20");
+        Assert.assertTrue(read.getCleanupSteps().isEmpty(), "A read scenario should have no cleanup steps.");
+    }
+
+    @Test(description = "A collection GET without a limit parameter is read once, and one with a required query " +
+            "parameter is left out.")
+    public void testReadScenarios() {
+
+        List<Scenario> scenarios = generator.generate(BASE_URL, 10, 3, false, ALL);
+
+        Scenario roles = getScenario(scenarios, "claims GET /roles");
+        Assert.assertEquals(roles.getSteps().size(), 1);
+        Assert.assertEquals(roles.getSteps().get(0).getUrl(), BASE_URL + "/roles");
+        Assert.assertNull(findScenario(scenarios, "claims GET /applications"),
+                "A GET with a required query parameter should be left out.");
+        Assert.assertEquals(scenarios.size(), 2, "Write scenarios were generated without being asked for.");
+    }
+
+    @Test(description = "The item path of a write scenario is the collection path followed by a single path " +
+            "parameter, and the delete is a cleanup step.")
+    public void testItemPathMatched() {
+
+        Scenario write = getScenario(generator.generate(BASE_URL, 10, 3, true, ALL), "claims CRUD /claims");
+
+        Assert.assertEquals(write.getSteps().size(), 2, "Patch without an example should be left out.");
+        Step create = write.getSteps().get(0);
+        Assert.assertEquals(create.getMethod(), "POST");
+        Assert.assertTrue(create.isCapturingId(), "Create step should capture the id of the created resource.");
+        Assert.assertTrue(create.buildBody().path("displayName").isTextual(), "Create payload was not built.");
+        Step read = write.getSteps().get(1);
+        Assert.assertEquals(read.getMethod(), "GET");
+        Assert.assertEquals(read.getUrl(), BASE_URL + "/claims/{claim-id}");
+
+        Assert.assertEquals(write.getCleanupSteps().size(), 1);
+        Step delete = write.getCleanupSteps().get(0);
+        Assert.assertEquals(delete.getMethod(), "DELETE");
+        Assert.assertEquals(delete.getUrl(), BASE_URL + "/claims/{claim-id}");
+    }
+
+    @Test(description = "A patch is only done with the example of the definition.")
+    public void testPatchExampleUsed() {
+
+        Scenario write = getScenario(generator.generate(BASE_URL, 10, 3, true, ALL), "claims CRUD /roles");
+
+        Step patch = write.getSteps().get(write.getSteps().size() - 1);
+        Assert.assertEquals(patch.getMethod(), "PATCH");
+        JsonNode body = patch.buildBody();
+        Assert.assertEquals(body.path(0).path("operation").asText(), "REPLACE");
+        Assert.assertEquals(body.path(0).path("value").asText(), "role", "Patch example should be sent as it is.");
+        Assert.assertEquals(write.getCleanupSteps().get(0).getMethod(), "DELETE");
+    }
+
+    @Test(description = "A collection whose items cannot be deleted gets no write scenario, and the operations are " +
+            "filtered by name.")
+    public void testWriteScenarioNeedsDelete() {
+
+        List<Scenario> scenarios = generator.generate(BASE_URL, 10, 3, true, ALL);
+        Assert.assertNull(findScenario(scenarios, "claims CRUD /applications"),
+                "A collection whose items cannot be deleted should get no write scenario.");
+
+        List<Scenario> filtered = generator.generate(BASE_URL, 10, 3, true, Pattern.compile(".*CRUD /roles"));
+        Assert.assertEquals(filtered.size(), 1);
+        Assert.assertEquals(filtered.get(0).getName(), "claims CRUD /roles");
+    }
+
+    private Scenario getScenario(List<Scenario> scenarios, String name) {
+
+        Scenario scenario = findScenario(scenarios, name);
+        Assert.assertNotNull(scenario, "No scenario named " + name + ".");
+        return scenario;
+    }
+
+    private Scenario findScenario(List<Scenario> scenarios, String name) {
+
+        for (Scenario scenario : scenarios) {
+            if (scenario.getName().equals(name)) {
+                return scenario;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.rest.api.common;
+
+import com.atlassian.oai.validator.OpenApiInteractionValidator;
+import com.atlassian.oai.validator.report.LevelResolverFactory;
+import com.atlassian.oai.validator.restassured.OpenApiValidationFilter;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide cache of the OpenAPI validators of the REST API tests.
+ * <p>
+ * Building a validator parses and resolves the whole API definition, which takes a noticeable share of the time of a
+ * REST API test class. The test classes of an API share the same definition and base path, so the validators are
+ * built once for each definition and base path and shared by all the classes. The validators hold no state of the
+ * requests they validate, so they can be shared by concurrent clients. The schemas of each operation are still only
+ * resolved by the validator when a request of the operation is validated.
+ * <p>
+ * When the REST clients are used to drive a load, validating every request costs client time which is not spent by
+ * the server. The {@value #SAMPLE_RATE_PROPERTY} system property then sets one in how many requests are validated.
+ * The default of 1 validates every request, and 0 turns the validation off.
+ */
+public final class OpenApiValidatorCache {
+
+    public static final String SAMPLE_RATE_PROPERTY = "restapi.validation.sampleRate";
+
+    private static final Log log = LogFactory.getLog(OpenApiValidatorCache.class);
+    private static final Map<String, Filter> VALIDATION_FILTERS = new ConcurrentHashMap<>();
+
+    private OpenApiValidatorCache() {
+
+    }
+
+    /**
+     * Get the validation filter of the given API definition, building it on first use.
+     *
+     * @param swaggerDefinition API definition, as JSON.
+     * @param basePathInSwagger Regular expression of the base path defined in the API definition.
+     * @param basePath          Base path of the current test run, which replaces the one in the API definition.
+     * @return Validation filter, which validates the requests and the responses as the sample rate says.
+     */
+    public static Filter getValidationFilter(String swaggerDefinition, String basePathInSwagger, String basePath) {
+
+        String key = hash(swaggerDefinition) + '\n' + basePathInSwagger + '\n' + basePath;
+        return VALIDATION_FILTERS.computeIfAbsent(key,
+                k -> buildValidationFilter(swaggerDefinition, basePathInSwagger, basePath));
+    }
+
+    private static Filter buildValidationFilter(String swaggerDefinition, String basePathInSwagger, String basePath) {
+
+        long startTime = System.currentTimeMillis();
+        String swagger = swaggerDefinition.replaceAll(basePathInSwagger, basePath);
+        OpenApiInteractionValidator openAPIValidator = OpenApiInteractionValidator
+                .createForInlineApiSpecification(swagger)
+                .withLevelResolver(LevelResolverFactory.withAdditionalPropertiesIgnored())
+                .build();
+        if (log.isDebugEnabled()) {
+            log.debug("Built the OpenAPI validator of " + basePath + " in " +
+                    (System.currentTimeMillis() - startTime) + " ms.");
+        }
+        OpenApiValidationFilter validationFilter = new OpenApiValidationFilter(openAPIValidator);
+
+        int sampleRate = Integer.getInteger(SAMPLE_RATE_PROPERTY, 1);
+        if (sampleRate == 1) {
+            return validationFilter;
+        }
+        return new SamplingFilter(validationFilter, sampleRate);
+    }
+
+    private static String hash(String content) {
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM.", e);
+        }
+    }
+
+    /**
+     * Passes one in the given number of requests through the validation filter, and the rest straight to the server.
+     */
+    private static class SamplingFilter implements Filter {
+
+        private final Filter validationFilter;
+        private final int sampleRate;
+        private final AtomicLong sequence = new AtomicLong();
+
+        SamplingFilter(Filter validationFilter, int sampleRate) {
+
+            this.validationFilter = validationFilter;
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec, FilterContext ctx) {
+
+            if (sampleRate > 0 && sequence.getAndIncrement() % sampleRate == 0) {
+                return validationFilter.filter(requestSpec, responseSpec, ctx);
+            }
+            return ctx.next(requestSpec, responseSpec);
+        }
+    }
+}
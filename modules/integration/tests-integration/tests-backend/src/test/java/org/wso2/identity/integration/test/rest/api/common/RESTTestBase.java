@@ -18,13 +18,11 @@
 
 package org.wso2.identity.integration.test.rest.api.common;
 
-import com.atlassian.oai.validator.OpenApiInteractionValidator;
-import com.atlassian.oai.validator.report.LevelResolverFactory;
-import com.atlassian.oai.validator.restassured.OpenApiValidationFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.restassured.RestAssured;
 import io.restassured.config.EncoderConfig;
+import io.restassured.filter.Filter;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
@@ -60,6 +58,7 @@ import java.rmi.RemoteException;
 import java.util.Base64;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
@@ -86,6 +85,10 @@ public class RESTTestBase extends ISIntegrationTest {
 
     private static final String BUNDLE = "RESTAPIErrors";
     private static ResourceBundle errorProperties = ResourceBundle.getBundle(BUNDLE);
+    private static final ObjectMapper YAML_READER = new ObjectMapper(new YAMLFactory());
+    private static final ObjectMapper JSON_WRITER = new ObjectMapper();
+    // API definitions read from the jars of the "api" webapp, as JSON, keyed by the jar and the definition name.
+    private static final Map<String, String> API_DEFINITIONS = new ConcurrentHashMap<>();
 
     protected String authenticatingUserName;
     protected String authenticatingCredential;
@@ -99,11 +102,12 @@ public class RESTTestBase extends ISIntegrationTest {
 
     protected String basePath = StringUtils.EMPTY;
 
-    private OpenApiValidationFilter validationFilter;
+    private Filter validationFilter;
     private EncoderConfig encoderconfig = new EncoderConfig();
 
     /**
-     * Initialize the RestAssured environment and create SwaggerRequestResponseValidator with the swagger definition
+     * Initialize the RestAssured environment and get the validator of the swagger definition, which is shared by all
+     * the test classes of the same definition and base path.
      *
      * @param swaggerDefinition swagger definition name
      * @param basePathInSwagger basepath that is defined in the swagger definition (ex: /api/users/v1)
@@ -117,12 +121,7 @@ public class RESTTestBase extends ISIntegrationTest {
         this.basePath = basePath;
         this.swaggerDefinition = swaggerDefinition;
         RestAssured.baseURI = backendURL.replace(SERVICES, "");
-        String swagger = replaceInSwaggerDefinition(swaggerDefinition, basePathInSwagger, basePath);
-        OpenApiInteractionValidator openAPIValidator = OpenApiInteractionValidator
-                .createForInlineApiSpecification(swagger)
-                .withLevelResolver(LevelResolverFactory.withAdditionalPropertiesIgnored())
-                .build();
-        validationFilter = new OpenApiValidationFilter(openAPIValidator);
+        validationFilter = OpenApiValidatorCache.getValidationFilter(swaggerDefinition, basePathInSwagger, basePath);
         remoteUSMServiceClient = new RemoteUserStoreManagerServiceClient(backendURL, sessionCookie);
         userProfileMgtServiceClient = new UserProfileMgtServiceClient(backendURL, sessionCookie);
         identityProviderMgtServiceClient = new IdentityProviderMgtServiceClient(sessionCookie, backendURL);
@@ -134,7 +133,8 @@ public class RESTTestBase extends ISIntegrationTest {
     }
 
     /**
-     * Read the Swagger Definition from the .jar file in the "api" webapp
+     * Read the Swagger Definition from the .jar file in the "api" webapp. The definition is read once and shared by
+     * all the test classes of the API.
      *
      * @param jarName         .jar name
      * @param swaggerYamlName .yaml name
@@ -143,6 +143,17 @@ public class RESTTestBase extends ISIntegrationTest {
      */
     protected static String getAPISwaggerDefinition(String jarName, String swaggerYamlName) throws IOException {
 
+        String key = jarName + '!' + swaggerYamlName;
+        String definition = API_DEFINITIONS.get(key);
+        if (definition == null) {
+            definition = readAPISwaggerDefinition(jarName, swaggerYamlName);
+            API_DEFINITIONS.putIfAbsent(key, definition);
+        }
+        return definition;
+    }
+
+    private static String readAPISwaggerDefinition(String jarName, String swaggerYamlName) throws IOException {
+
         File dir = new File(Utils.getResidentCarbonHome() + API_WEB_APP_ROOT);
         File[] files = dir.listFiles((dir1, name) -> name.startsWith(jarName) && name.endsWith(JAR_EXTENSION));
         JarFile jarFile = new JarFile(files[0]);
@@ -166,20 +177,6 @@ public class RESTTestBase extends ISIntegrationTest {
         return convertYamlToJson(content);
     }
 
-    /**
-     * Override all the occurrences of "find" values in content with "replace"
-     *
-     * @param find    existing base path
-     * @param replace actual base path for tests run
-     * @return content of the specified swagger definition
-     * @throws IOException
-     */
-    private String replaceInSwaggerDefinition(String content, String find, String replace) {
-
-        content = content.replaceAll(find, replace);
-        return content;
-    }
-
     /**
      * Build an String from InputStream
      *
@@ -203,10 +200,8 @@ public class RESTTestBase extends ISIntegrationTest {
      */
     private static String convertYamlToJson(String yaml) throws IOException {
 
-        ObjectMapper yamlReader = new ObjectMapper(new YAMLFactory());
-        Object obj = yamlReader.readValue(yaml, Object.class);
-        ObjectMapper jsonWriter = new ObjectMapper();
-        return jsonWriter.writeValueAsString(obj);
+        Object obj = YAML_READER.readValue(yaml, Object.class);
+        return JSON_WRITER.writeValueAsString(obj);
     }
 
     /**
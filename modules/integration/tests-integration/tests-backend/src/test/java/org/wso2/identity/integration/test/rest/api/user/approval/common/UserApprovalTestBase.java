@@ -36,6 +36,7 @@ import org.wso2.carbon.um.ws.api.stub.ClaimValue;
 import org.wso2.carbon.um.ws.api.stub.PermissionDTO;
 import org.wso2.identity.integration.common.clients.usermgt.remote.RemoteUserStoreManagerServiceClient;
 import org.wso2.identity.integration.common.clients.workflow.mgt.WorkflowAdminClient;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 import org.wso2.identity.integration.test.rest.api.user.common.RESTAPIUserTestBase;
 import org.wso2.identity.integration.test.utils.WorkflowConstants;
 
@@ -43,11 +44,12 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.rmi.RemoteException;
+import java.util.concurrent.TimeUnit;
 
 public class UserApprovalTestBase extends RESTAPIUserTestBase {
 
     private static final Log log = LogFactory.getLog(UserApprovalTestBase.class);
-    private static final int MAX_WAIT_ITERATIONS_TILL_WORKFLOW_DEPLOYMENT = 100;
+    private static final int WORKFLOW_DEPLOYMENT_TIMEOUT_IN_SECONDS = 100;
 
     protected static String templateId = "MultiStepApprovalTemplate";
     protected static String workflowImplId = "ApprovalWorkflow";
@@ -202,39 +204,24 @@ public class UserApprovalTestBase extends RESTAPIUserTestBase {
 
     protected void waitForWorkflowToDeploy() throws Exception {
 
-        boolean isBpelDeployed = false;
-        boolean isHumanTaskDeployed = false;
-        String url;
-        for (int count = 1; count <= MAX_WAIT_ITERATIONS_TILL_WORKFLOW_DEPLOYMENT; count++) {
-            log.info("Verifying workflow deployment on " + count + " of " +
-                    MAX_WAIT_ITERATIONS_TILL_WORKFLOW_DEPLOYMENT + " attempts.");
-            if (!isBpelDeployed) {
-                log.info("Verifying BPEL deployment.");
-                url = identityContextUrls.getSecureServiceUrl() + "/" + addUserWorkflowName + "Service?wsdl";
-                if (isServiceDeployed(url)) {
-                    isBpelDeployed = true;
-                    log.info("Verified BPEL Workflow deployment successfully in " + count + " attempt(s).");
-                }
-            }
+        String bpelUrl = identityContextUrls.getSecureServiceUrl() + "/" + addUserWorkflowName + "Service?wsdl";
+        String humanTaskUrl = identityContextUrls.getSecureServiceUrl() + "/" + addUserWorkflowName +
+                "TaskService?wsdl";
 
-            if (isBpelDeployed) {
-                log.info("Verifying Human Task deployment.");
-                url = identityContextUrls.getSecureServiceUrl() + "/" + addUserWorkflowName + "TaskService?wsdl";
-                if (isServiceDeployed(url)) {
-                    isHumanTaskDeployed = true;
-                    log.info("Verified Human Task Workflow deployment successfully in " + count + " attempt(s).");
-                    log.info("Workflow deployment successfully Verified.");
-                    break;
-                }
-            }
-            log.info("Still no luck :(. So going to wait 1 seconds and retry");
-            Thread.sleep(1000);
+        // The human task service is deployed after the BPEL service.
+        log.info("Verifying BPEL deployment.");
+        if (!WaitUtils.waitFor("BPEL workflow " + addUserWorkflowName + " is deployed",
+                () -> isServiceDeployed(bpelUrl), WORKFLOW_DEPLOYMENT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("BPEL workflow is not deployed. Test will most probably fail.");
+            return;
         }
-
-        // Give up after 100 seconds.
-        if (!isBpelDeployed || !isHumanTaskDeployed) {
-            log.warn("No luck. Going to give up. Test will most probably fail.");
+        log.info("Verifying Human Task deployment.");
+        if (!WaitUtils.waitFor("Human Task " + addUserWorkflowName + " is deployed",
+                () -> isServiceDeployed(humanTaskUrl), WORKFLOW_DEPLOYMENT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Human Task is not deployed. Test will most probably fail.");
+            return;
         }
+        log.info("Workflow deployment successfully Verified.");
     }
 
     private boolean isServiceDeployed(String url) throws IOException {
@@ -30,10 +30,12 @@ import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 import org.wso2.carbon.automation.engine.context.TestUserMode;
 import org.wso2.carbon.um.ws.api.stub.ClaimValue;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 import org.wso2.identity.integration.test.rest.api.user.approval.common.UserApprovalTestBase;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
@@ -53,7 +55,7 @@ public class UserMeApprovalTest extends UserApprovalTestBase {
     private static final String TEST_WORKFLOW_ADD_USER_FOR_REST_TASK = addUserWorkflowName + "Task";
     private static final String JSON_PATH_MATCHING_REST_API_TEST_APPROVAL_TASK = "findAll{ it.presentationName == '"
             + TEST_WORKFLOW_ADD_USER_FOR_REST_TASK + "' }";
-    private static final int MAX_WAIT_ITERATIONS_TILL_TASK_CREATION = 10;
+    private static final int TASK_CREATION_TIMEOUT_IN_SECONDS = 10;
 
     private static String swaggerDefinition;
     private String taskIdToApprove;
@@ -332,28 +334,25 @@ public class UserMeApprovalTest extends UserApprovalTestBase {
         return getPayLoad(APPROVAL_ACTION.RELEASE);
     }
 
-    private void verifyTaskCreation(int taskCount) throws InterruptedException {
+    private void verifyTaskCreation(int taskCount) throws Exception {
 
         // Verifying task creation in a 10 sec window.
-        for (int i = 0; i < MAX_WAIT_ITERATIONS_TILL_TASK_CREATION; i++) {
-            // Wait till workflow is applied.
-            log.info("Waiting 1 seconds before checking whether workflow is applied for association.");
-            Thread.sleep(1000);
-            int numOfTasks = getResponseOfGet(ME_APPROVAL_TASKS_ENDPOINT_URI)
-                    .then()
-                    .extract()
-                    .path("findAll{ it.presentationName == '"
-                            + TEST_WORKFLOW_ADD_USER_FOR_REST_TASK + "' }.size()");
-            if (numOfTasks == taskCount) {
-                log.info("Tasks creation verified successfully in " + i + " attempt(s). Number of tasks created : "
-                        + numOfTasks + " of " + userToAdd.length);
-                break;
-            } else {
-                log.info("Tasks " + taskCount + " creation incomplete after " + i + "of "
-                        + MAX_WAIT_ITERATIONS_TILL_TASK_CREATION + " attempt(s)");
-            }
+        if (WaitUtils.waitFor(taskCount + " approval task(s) are created", () -> getTaskCount() == taskCount,
+                TASK_CREATION_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+            log.info("Tasks creation verified successfully. Number of tasks created : " + taskCount + " of "
+                    + userToAdd.length);
+        } else {
+            log.info("Tasks " + taskCount + " creation incomplete after " + TASK_CREATION_TIMEOUT_IN_SECONDS
+                    + " seconds.");
         }
+    }
+
+    private int getTaskCount() {
 
+        return getResponseOfGet(ME_APPROVAL_TASKS_ENDPOINT_URI)
+                .then()
+                .extract()
+                .path("findAll{ it.presentationName == '" + TEST_WORKFLOW_ADD_USER_FOR_REST_TASK + "' }.size()");
     }
 
     private void validateTaskListFilterResponse(Response response, String taskId, int size, STATE state) {
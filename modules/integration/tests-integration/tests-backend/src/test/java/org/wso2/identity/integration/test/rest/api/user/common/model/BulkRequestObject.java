@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.rest.api.user.common.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.validation.Valid;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SCIM2 bulk request.
+ */
+public class BulkRequestObject {
+
+    public static final String BULK_REQUEST_SCHEMA = "urn:ietf:params:scim:api:messages:2.0:BulkRequest";
+
+    private List<String> schemas = new ArrayList<>(Collections.singletonList(BULK_REQUEST_SCHEMA));
+    private Integer failOnErrors = null;
+    private List<Operation> Operations = new ArrayList<>();
+
+    /**
+     *
+     **/
+    public BulkRequestObject schemas(List<String> schemas) {
+
+        this.schemas = schemas;
+        return this;
+    }
+
+    @ApiModelProperty()
+    @JsonProperty("schemas")
+    @Valid
+    public List<String> getSchemas() {
+        return schemas;
+    }
+
+    public void setSchemas(List<String> schemas) {
+        this.schemas = schemas;
+    }
+
+    /**
+     * Number of errors after which the server stops processing the remaining operations. All the operations are
+     * processed if not set.
+     **/
+    public BulkRequestObject failOnErrors(Integer failOnErrors) {
+
+        this.failOnErrors = failOnErrors;
+        return this;
+    }
+
+    @ApiModelProperty(example = "1")
+    @JsonProperty("failOnErrors")
+    @Valid
+    public Integer getFailOnErrors() {
+        return failOnErrors;
+    }
+
+    public void setFailOnErrors(Integer failOnErrors) {
+        this.failOnErrors = failOnErrors;
+    }
+
+    /**
+     *
+     **/
+    public BulkRequestObject Operations(List<Operation> Operations) {
+
+        this.Operations = Operations;
+        return this;
+    }
+
+    @ApiModelProperty()
+    @JsonProperty("Operations")
+    @Valid
+    public List<Operation> getOperations() {
+        return Operations;
+    }
+
+    public void setOperations(List<Operation> Operations) {
+        this.Operations = Operations;
+    }
+
+    public BulkRequestObject addOperation(Operation operation) {
+        this.Operations.add(operation);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BulkRequestObject bulkRequest = (BulkRequestObject) o;
+        return Objects.equals(this.schemas, bulkRequest.schemas) &&
+                Objects.equals(this.failOnErrors, bulkRequest.failOnErrors) &&
+                Objects.equals(this.Operations, bulkRequest.Operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(schemas, failOnErrors, Operations);
+    }
+
+    @Override
+    public String toString() {
+
+        return "class BulkRequestObject {\n" +
+                "    schemas: " + toIndentedString(schemas) + "\n" +
+                "    failOnErrors: " + toIndentedString(failOnErrors) + "\n" +
+                "    Operations: " + toIndentedString(Operations) + "\n" +
+                "}";
+    }
+
+    /**
+     * Convert the given object to string with each line indented by 4 spaces
+     * (except the first line).
+     */
+    private static String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString();
+    }
+
+    /**
+     * Single operation of a SCIM2 bulk request.
+     */
+    public static class Operation {
+
+        private String method;
+        private String bulkId;
+        private String path;
+        private Object data;
+
+        /**
+         * HTTP method of the operation. eg: POST, PATCH, DELETE
+         **/
+        public Operation method(String method) {
+
+            this.method = method;
+            return this;
+        }
+
+        @ApiModelProperty(example = "POST")
+        @JsonProperty("method")
+        @Valid
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        /**
+         * Transient identifier of the resource created by the operation, which can be referred as bulkId:{bulkId}
+         * by the other operations of the same request.
+         **/
+        public Operation bulkId(String bulkId) {
+
+            this.bulkId = bulkId;
+            return this;
+        }
+
+        @ApiModelProperty(example = "qwerty")
+        @JsonProperty("bulkId")
+        @Valid
+        public String getBulkId() {
+            return bulkId;
+        }
+
+        public void setBulkId(String bulkId) {
+            this.bulkId = bulkId;
+        }
+
+        /**
+         * Resource path of the operation. eg: /Users, /Groups/{id}
+         **/
+        public Operation path(String path) {
+
+            this.path = path;
+            return this;
+        }
+
+        @ApiModelProperty(example = "/Users")
+        @JsonProperty("path")
+        @Valid
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Resource or patch request of the operation.
+         **/
+        public Operation data(Object data) {
+
+            this.data = data;
+            return this;
+        }
+
+        @ApiModelProperty()
+        @JsonProperty("data")
+        @Valid
+        public Object getData() {
+            return data;
+        }
+
+        public void setData(Object data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Operation operation = (Operation) o;
+            return Objects.equals(this.method, operation.method) &&
+                    Objects.equals(this.bulkId, operation.bulkId) &&
+                    Objects.equals(this.path, operation.path) &&
+                    Objects.equals(this.data, operation.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, bulkId, path, data);
+        }
+
+        @Override
+        public String toString() {
+
+            return "class Operation {\n" +
+                    "    method: " + toIndentedString(method) + "\n" +
+                    "    bulkId: " + toIndentedString(bulkId) + "\n" +
+                    "    path: " + toIndentedString(path) + "\n" +
+                    "    data: " + toIndentedString(data) + "\n" +
+                    "}";
+        }
+    }
+}
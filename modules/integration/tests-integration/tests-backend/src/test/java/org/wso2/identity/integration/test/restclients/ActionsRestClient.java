@@ -23,6 +23,7 @@ import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.wso2.carbon.automation.engine.context.beans.Tenant;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
@@ -48,6 +49,12 @@ public class ActionsRestClient extends RestBaseClient {
 
     public ActionsRestClient(String serverUrl, Tenant tenantInfo) {
 
+        this(serverUrl, tenantInfo, createDefaultHttpClient());
+    }
+
+    public ActionsRestClient(String serverUrl, Tenant tenantInfo, CloseableHttpClient client) {
+
+        super(client);
         this.serverUrl = serverUrl;
         this.tenantDomain = tenantInfo.getContextUser().getUserDomain();
         this.username = tenantInfo.getContextUser().getUserName();
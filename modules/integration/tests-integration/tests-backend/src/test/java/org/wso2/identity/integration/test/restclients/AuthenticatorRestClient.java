@@ -21,6 +21,7 @@ package org.wso2.identity.integration.test.restclients;
 import io.restassured.http.ContentType;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.json.simple.JSONObject;
@@ -35,6 +36,12 @@ public class AuthenticatorRestClient extends RestBaseClient {
 
     public AuthenticatorRestClient(String serverUrl) {
 
+        this(serverUrl, createDefaultHttpClient());
+    }
+
+    public AuthenticatorRestClient(String serverUrl, CloseableHttpClient client) {
+
+        super(client);
         this.serverUrl = serverUrl;
     }
 
@@ -23,7 +23,6 @@ import org.apache.commons.codec.binary.Base64;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.json.simple.JSONObject;
@@ -41,15 +40,18 @@ public class ClaimManagementRestClient extends RestBaseClient {
     private static final String CLAIM_DIALECTS_ENDPOINT_URI = "/claim-dialects";
 
     public static final String CLAIMS_ENDPOINT_URI = "/claims";
-    private final CloseableHttpClient client;
     private final String username;
     private final String password;
     private final String serverBasePath;
 
     public ClaimManagementRestClient(String backendURL, Tenant tenantInfo) {
 
-        client = HttpClients.createDefault();
+        this(backendURL, tenantInfo, createDefaultHttpClient());
+    }
+
+    public ClaimManagementRestClient(String backendURL, Tenant tenantInfo, CloseableHttpClient client) {
 
+        super(client);
         this.username = tenantInfo.getContextUser().getUserName();
         this.password = tenantInfo.getContextUser().getPassword();
 
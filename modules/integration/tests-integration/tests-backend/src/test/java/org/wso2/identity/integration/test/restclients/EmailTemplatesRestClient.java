@@ -23,7 +23,6 @@ import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.json.simple.JSONObject;
@@ -40,14 +39,17 @@ public class EmailTemplatesRestClient extends RestBaseClient {
     private static final String EMAIL_TEMPLATE_TYPES_PATH = "/template-types";
     private static final String EMAIL_TEMPLATES_PATH = "/templates";
     private final String emailTemplateApiBasePath;
-    private final CloseableHttpClient client;
     private final String username;
     private final String password;
 
     public EmailTemplatesRestClient(String backendURL, Tenant tenantInfo) {
 
-        client = HttpClients.createDefault();
+        this(backendURL, tenantInfo, createDefaultHttpClient());
+    }
+
+    public EmailTemplatesRestClient(String backendURL, Tenant tenantInfo, CloseableHttpClient client) {
 
+        super(client);
         this.username = tenantInfo.getContextUser().getUserName();
         this.password = tenantInfo.getContextUser().getPassword();
 
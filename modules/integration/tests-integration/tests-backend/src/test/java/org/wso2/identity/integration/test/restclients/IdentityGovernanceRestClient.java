@@ -26,7 +26,6 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.testng.Assert;
 import org.wso2.carbon.automation.engine.context.beans.Tenant;
@@ -42,14 +41,17 @@ public class IdentityGovernanceRestClient extends RestBaseClient {
     private static final String IDENTITY_GOVERNANCE_BASE_PATH = "/identity-governance";
     private static final String CONNECTORS_BASE_PATH = "/connectors";
     private final String identityGovernanceApiBasePath;
-    private final CloseableHttpClient client;
     private final String username;
     private final String password;
 
     public IdentityGovernanceRestClient(String backendURL, Tenant tenantInfo) {
 
-        client = HttpClients.createDefault();
+        this(backendURL, tenantInfo, createDefaultHttpClient());
+    }
+
+    public IdentityGovernanceRestClient(String backendURL, Tenant tenantInfo, CloseableHttpClient client) {
 
+        super(client);
         this.username = tenantInfo.getContextUser().getUserName();
         this.password = tenantInfo.getContextUser().getPassword();
 
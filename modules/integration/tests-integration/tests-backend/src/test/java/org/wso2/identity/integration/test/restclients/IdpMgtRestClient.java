@@ -22,6 +22,7 @@ import io.restassured.http.ContentType;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.json.simple.JSONObject;
@@ -47,6 +48,12 @@ public class IdpMgtRestClient extends RestBaseClient {
 
     public IdpMgtRestClient(String serverUrl, Tenant tenantInfo) {
 
+        this(serverUrl, tenantInfo, createDefaultHttpClient());
+    }
+
+    public IdpMgtRestClient(String serverUrl, Tenant tenantInfo, CloseableHttpClient client) {
+
+        super(client);
         this.serverUrl = serverUrl;
         this.tenantDomain = tenantInfo.getContextUser().getUserDomain();
         this.username = tenantInfo.getContextUser().getUserName();
@@ -22,6 +22,7 @@ import io.restassured.http.ContentType;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.testng.Assert;
 import org.wso2.carbon.automation.engine.context.beans.Tenant;
@@ -41,6 +42,12 @@ public class KeystoreMgtRestClient extends RestBaseClient {
 
     public KeystoreMgtRestClient(String serverUrl, Tenant tenantInfo) {
 
+        this(serverUrl, tenantInfo, createDefaultHttpClient());
+    }
+
+    public KeystoreMgtRestClient(String serverUrl, Tenant tenantInfo, CloseableHttpClient client) {
+
+        super(client);
         this.serverUrl = serverUrl;
         this.tenantDomain = tenantInfo.getContextUser().getUserDomain();
         this.username = tenantInfo.getContextUser().getUserName();
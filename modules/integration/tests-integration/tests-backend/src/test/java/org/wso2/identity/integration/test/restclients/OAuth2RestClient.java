@@ -26,6 +26,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.StatusLine;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.json.JSONException;
@@ -79,6 +80,12 @@ public class OAuth2RestClient extends RestBaseClient {
 
     public OAuth2RestClient(String backendUrl, Tenant tenantInfo) {
 
+        this(backendUrl, tenantInfo, createDefaultHttpClient());
+    }
+
+    public OAuth2RestClient(String backendUrl, Tenant tenantInfo, CloseableHttpClient client) {
+
+        super(client);
         this.username = tenantInfo.getContextUser().getUserName();
         this.password = tenantInfo.getContextUser().getPassword();
 
@@ -24,6 +24,7 @@ import io.restassured.http.ContentType;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.json.simple.JSONObject;
@@ -45,6 +46,12 @@ public class OIDCScopeMgtRestClient extends RestBaseClient {
 
     public OIDCScopeMgtRestClient(String serverUrl, Tenant tenantInfo) {
 
+        this(serverUrl, tenantInfo, createDefaultHttpClient());
+    }
+
+    public OIDCScopeMgtRestClient(String serverUrl, Tenant tenantInfo, CloseableHttpClient client) {
+
+        super(client);
         this.serverUrl = serverUrl;
         this.tenantDomain = tenantInfo.getContextUser().getUserDomain();
         this.username = tenantInfo.getContextUser().getUserName();
@@ -39,6 +39,7 @@ import org.apache.http.NameValuePair;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
@@ -90,7 +91,14 @@ public class OrgMgtRestClient extends RestBaseClient {
     public OrgMgtRestClient(AutomationContext context, Tenant tenantInfo, String baseUrl, JSONObject authorizedAPIs)
             throws Exception {
 
-        this.oAuth2RestClient = new OAuth2RestClient(baseUrl, tenantInfo);
+        this(context, tenantInfo, baseUrl, authorizedAPIs, createDefaultHttpClient());
+    }
+
+    public OrgMgtRestClient(AutomationContext context, Tenant tenantInfo, String baseUrl, JSONObject authorizedAPIs,
+                            CloseableHttpClient client) throws Exception {
+
+        super(client);
+        this.oAuth2RestClient = new OAuth2RestClient(baseUrl, tenantInfo, client);
         this.authenticatingUserName = context.getContextTenant().getTenantAdmin().getUserName();
         this.authenticatingCredential = context.getContextTenant().getTenantAdmin().getPassword();
         this.tenantInfo = tenantInfo;
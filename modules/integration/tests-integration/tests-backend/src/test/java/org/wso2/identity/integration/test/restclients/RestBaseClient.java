@@ -52,7 +52,33 @@ public class RestBaseClient {
     public final CloseableHttpClient client;
 
     public RestBaseClient() {
-        client = HttpClients.createDefault();
+
+        this(createDefaultHttpClient());
+    }
+
+    /**
+     * Create a rest client which executes the requests using the given HTTP client. This allows a pooled client,
+     * such as {@link RestClientConnectionPool#getSharedClient()}, to be shared among multiple rest clients.
+     *
+     * @param client HTTP client to be used.
+     */
+    public RestBaseClient(CloseableHttpClient client) {
+
+        this.client = client;
+    }
+
+    /**
+     * Get the HTTP client to be used when a rest client is created without an explicit HTTP client. The shared
+     * pooled client is returned when the connection pool is enabled, and a new client otherwise.
+     *
+     * @return HTTP client.
+     */
+    protected static CloseableHttpClient createDefaultHttpClient() {
+
+        if (RestClientConnectionPool.isEnabled()) {
+            return RestClientConnectionPool.getSharedClient();
+        }
+        return HttpClients.createDefault();
     }
 
     /**
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.restclients;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.ssl.SSLContexts;
+
+import javax.net.ssl.SSLContext;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds a JVM wide, keep-alive HTTP connection pool which can be shared by all the {@link RestBaseClient}
+ * implementations.
+ * <p>
+ * The shared client is built on top of a single {@link PoolingHttpClientConnectionManager} and a single
+ * {@link SSLContext}, so connections are reused across rest clients and TLS sessions are resumed instead of doing
+ * a full handshake for every new connection. Idle and expired connections are closed by a background evictor.
+ * <p>
+ * Rest clients created through their default constructors use the shared pool when the
+ * {@value #POOL_ENABLED_PROPERTY} system property is set to true. A pooled client can also be passed explicitly
+ * to any rest client constructor which accepts a {@link CloseableHttpClient}.
+ * <p>
+ * The pool can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #MAX_TOTAL_PROPERTY} - Maximum number of connections in the pool.</li>
+ *     <li>{@value #MAX_PER_ROUTE_PROPERTY} - Default maximum number of connections per route.</li>
+ *     <li>{@value #IDLE_TIMEOUT_PROPERTY} - Seconds after which an idle connection is evicted.</li>
+ *     <li>{@value #CONNECTION_TTL_PROPERTY} - Seconds a connection may live, -1 for no limit.</li>
+ *     <li>{@value #VALIDATE_AFTER_INACTIVITY_PROPERTY} - Milliseconds of inactivity after which a connection is
+ *     validated before being leased.</li>
+ *     <li>{@value #TLS_SESSION_CACHE_SIZE_PROPERTY} - Number of TLS sessions kept for resumption.</li>
+ * </ul>
+ */
+public final class RestClientConnectionPool {
+
+    public static final String POOL_ENABLED_PROPERTY = "restclient.pool.enabled";
+    public static final String MAX_TOTAL_PROPERTY = "restclient.pool.maxTotal";
+    public static final String MAX_PER_ROUTE_PROPERTY = "restclient.pool.maxPerRoute";
+    public static final String IDLE_TIMEOUT_PROPERTY = "restclient.pool.idleTimeoutSeconds";
+    public static final String CONNECTION_TTL_PROPERTY = "restclient.pool.connectionTTLSeconds";
+    public static final String VALIDATE_AFTER_INACTIVITY_PROPERTY = "restclient.pool.validateAfterInactivityMillis";
+    public static final String TLS_SESSION_CACHE_SIZE_PROPERTY = "restclient.pool.tlsSessionCacheSize";
+
+    private static final String HTTP_SCHEME = "http";
+    private static final String HTTPS_SCHEME = "https";
+    private static final Log LOG = LogFactory.getLog(RestClientConnectionPool.class);
+    private static final int DEFAULT_MAX_TOTAL = 400;
+    private static final int DEFAULT_MAX_PER_ROUTE = 200;
+    private static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 30;
+    private static final int DEFAULT_CONNECTION_TTL_SECONDS = -1;
+    private static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+    private static final int DEFAULT_TLS_SESSION_CACHE_SIZE = 1000;
+
+    private static PoolingHttpClientConnectionManager connectionManager;
+    private static IdleConnectionEvictor connectionEvictor;
+    private static CloseableHttpClient sharedClient;
+    private static boolean shutdownHookRegistered;
+
+    private RestClientConnectionPool() {
+
+    }
+
+    /**
+     * Check whether the rest clients should use the shared connection pool by default.
+     *
+     * @return True if the {@value #POOL_ENABLED_PROPERTY} system property is set to true.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.getBoolean(POOL_ENABLED_PROPERTY);
+    }
+
+    /**
+     * Get the shared pooled HTTP client. The pool is created on the first invocation.
+     * <p>
+     * Closing the returned client does not shut down the underlying pool, hence rest clients can keep calling
+     * their closeHttpClient methods as usual. Use {@link #shutdown()} to release the pooled connections.
+     *
+     * @return Shared pooled HTTP client.
+     */
+    public static synchronized CloseableHttpClient getSharedClient() {
+
+        if (sharedClient == null) {
+            connectionManager = createConnectionManager();
+            connectionEvictor = new IdleConnectionEvictor(connectionManager,
+                    getIntProperty(IDLE_TIMEOUT_PROPERTY, DEFAULT_IDLE_TIMEOUT_SECONDS), TimeUnit.SECONDS);
+            connectionEvictor.start();
+            sharedClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setConnectionManagerShared(true)
+                    // Connections are not bound to a user principal, so they can be reused by any rest client.
+                    .disableConnectionState()
+                    .build();
+            if (!shutdownHookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(RestClientConnectionPool::shutdown));
+                shutdownHookRegistered = true;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Initialized the shared rest client connection pool with max total: " +
+                        connectionManager.getMaxTotal() + " and max per route: " +
+                        connectionManager.getDefaultMaxPerRoute());
+            }
+        }
+        return sharedClient;
+    }
+
+    /**
+     * Override the maximum number of connections allowed for a given host.
+     *
+     * @param serverUrl   URL of the host. eg: https://localhost:9853/
+     * @param maxPerRoute Maximum number of connections for the host.
+     */
+    public static synchronized void setMaxPerRoute(String serverUrl, int maxPerRoute) {
+
+        getSharedClient();
+        URI uri = URI.create(serverUrl);
+        boolean secure = HTTPS_SCHEME.equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        connectionManager.setMaxPerRoute(new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null,
+                secure), maxPerRoute);
+    }
+
+    /**
+     * Get the statistics of the shared connection pool.
+     *
+     * @return Pool statistics, or null if the pool is not initialized.
+     */
+    public static synchronized PoolStats getTotalStats() {
+
+        if (connectionManager == null) {
+            return null;
+        }
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Shut down the shared pool and close all the pooled connections.
+     */
+    public static synchronized void shutdown() {
+
+        if (connectionEvictor != null) {
+            connectionEvictor.shutdown();
+            connectionEvictor = null;
+        }
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+            connectionManager = null;
+        }
+        sharedClient = null;
+    }
+
+    private static PoolingHttpClientConnectionManager createConnectionManager() {
+
+        SSLContext sslContext = SSLContexts.createDefault();
+        sslContext.getClientSessionContext().setSessionCacheSize(
+                getIntProperty(TLS_SESSION_CACHE_SIZE_PROPERTY, DEFAULT_TLS_SESSION_CACHE_SIZE));
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register(HTTP_SCHEME, PlainConnectionSocketFactory.getSocketFactory())
+                .register(HTTPS_SCHEME, new SSLConnectionSocketFactory(sslContext))
+                .build();
+
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(socketFactoryRegistry,
+                null, null, null, getIntProperty(CONNECTION_TTL_PROPERTY, DEFAULT_CONNECTION_TTL_SECONDS),
+                TimeUnit.SECONDS);
+        manager.setMaxTotal(getIntProperty(MAX_TOTAL_PROPERTY, DEFAULT_MAX_TOTAL));
+        manager.setDefaultMaxPerRoute(getIntProperty(MAX_PER_ROUTE_PROPERTY, DEFAULT_MAX_PER_ROUTE));
+        manager.setValidateAfterInactivity(getIntProperty(VALIDATE_AFTER_INACTIVITY_PROPERTY,
+                DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS));
+        return manager;
+    }
+
+    private static int getIntProperty(String name, int defaultValue) {
+
+        return Integer.getInteger(name, defaultValue);
+    }
+}
@@ -17,11 +17,13 @@
  */
 package org.wso2.identity.integration.test.restclients;
 
+import com.google.gson.Gson;
 import io.restassured.http.ContentType;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.json.simple.JSONArray;
@@ -29,6 +31,7 @@ import org.json.simple.JSONObject;
 import org.testng.Assert;
 import org.wso2.carbon.automation.engine.context.beans.Tenant;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+import org.wso2.identity.integration.test.rest.api.user.common.model.BulkRequestObject;
 import org.wso2.identity.integration.test.rest.api.user.common.model.GroupRequestObject;
 import org.wso2.identity.integration.test.rest.api.user.common.model.PatchOperationRequestObject;
 import org.wso2.identity.integration.test.rest.api.user.common.model.RoleRequestObject;
@@ -38,12 +41,31 @@ import org.wso2.identity.integration.test.utils.OAuth2Constant;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public class SCIM2RestClient extends RestBaseClient {
 
     private static final String SCIM2_USERS_ENDPOINT = "scim2/Users";
     private static final String SCIM2_ROLES_ENDPOINT = "scim2/Roles";
     private static final String SCIM2_GROUPS_ENDPOINT = "scim2/Groups";
+    private static final String SCIM2_BULK_ENDPOINT = "scim2/Bulk";
+    private static final String BULK_USERS_PATH = "/Users";
+    private static final String BULK_OPERATIONS_ATTRIBUTE = "Operations";
+    private static final String BULK_ID_ATTRIBUTE = "bulkId";
+    private static final String BULK_LOCATION_ATTRIBUTE = "location";
+    private static final String BULK_STATUS_ATTRIBUTE = "status";
+    private static final String BULK_STATUS_CODE_ATTRIBUTE = "code";
+    private static final String USER_BULK_ID_PREFIX = "user-";
+    private static final Gson BULK_REQUEST_SERIALIZER = new Gson();
     private static final String SCIM2_SEARCH_PATH = "/.search";
     private static final String SCIM_JSON_CONTENT_TYPE = "application/scim+json";
     private static final String ROLE_SEARCH_SCHEMA = "urn:ietf:params:scim:api:messages:2.0:SearchRequest";
@@ -57,8 +79,14 @@ public class SCIM2RestClient extends RestBaseClient {
     private final String username;
     private final String password;
 
-    public SCIM2RestClient(String serverUrl, Tenant tenantInfo){
+    public SCIM2RestClient(String serverUrl, Tenant tenantInfo) {
 
+        this(serverUrl, tenantInfo, createDefaultHttpClient());
+    }
+
+    public SCIM2RestClient(String serverUrl, Tenant tenantInfo, CloseableHttpClient client) {
+
+        super(client);
         this.serverUrl = serverUrl;
         this.tenantDomain = tenantInfo.getContextUser().getUserDomain();
         this.username = tenantInfo.getContextUser().getUserName();
@@ -169,6 +197,48 @@ public class SCIM2RestClient extends RestBaseClient {
         }
     }
 
+    /**
+     * List users matching the given filter, one page at a time.
+     *
+     * @param filter     SCIM2 filter. eg: userName sw abc. Can be null to list all the users.
+     * @param startIndex 1-based index of the first user of the page. Can be null.
+     * @param count      Maximum number of users in the page. Can be null.
+     * @param domain     User store domain to list the users from. Can be null.
+     * @return JSONObject of the list response.
+     * @throws Exception If an error occurred while listing the users.
+     */
+    public JSONObject listUsers(String filter, Integer startIndex, Integer count, String domain) throws Exception {
+
+        String endPointUrl = getUsersPath() + getListQuery(filter, startIndex, count, domain);
+
+        try (CloseableHttpResponse response = getResponseOfHttpGet(endPointUrl, getHeaders())) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), HttpServletResponse.SC_OK,
+                    "User listing failed");
+            return getJSONObject(EntityUtils.toString(response.getEntity()));
+        }
+    }
+
+    /**
+     * List groups matching the given filter, one page at a time.
+     *
+     * @param filter     SCIM2 filter. eg: displayName eq abc. Can be null to list all the groups.
+     * @param startIndex 1-based index of the first group of the page. Can be null.
+     * @param count      Maximum number of groups in the page. Can be null.
+     * @param domain     User store domain to list the groups from. Can be null.
+     * @return JSONObject of the list response.
+     * @throws Exception If an error occurred while listing the groups.
+     */
+    public JSONObject listGroups(String filter, Integer startIndex, Integer count, String domain) throws Exception {
+
+        String endPointUrl = getGroupsPath() + getListQuery(filter, startIndex, count, domain);
+
+        try (CloseableHttpResponse response = getResponseOfHttpGet(endPointUrl, getHeaders())) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), HttpServletResponse.SC_OK,
+                    "Group listing failed");
+            return getJSONObject(EntityUtils.toString(response.getEntity()));
+        }
+    }
+
     /**
      * Delete an existing user.
      *
@@ -318,6 +388,139 @@ public class SCIM2RestClient extends RestBaseClient {
         }
     }
 
+    /**
+     * Send a SCIM2 bulk request.
+     *
+     * @param bulkRequest Bulk request object.
+     * @return JSONObject of the bulk response.
+     * @throws Exception If an error occurred while sending the bulk request.
+     */
+    public JSONObject sendBulkRequest(BulkRequestObject bulkRequest) throws Exception {
+
+        // Bulk requests can carry thousands of resources, hence they are not pretty printed.
+        String jsonRequest = BULK_REQUEST_SERIALIZER.toJson(bulkRequest)
+                .replace(SCIM_SCHEMA_EXTENSION_ENTERPRISE, USER_ENTERPRISE_SCHEMA);
+
+        try (CloseableHttpResponse response = getResponseOfHttpPost(getBulkPath(), jsonRequest, getHeaders())) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), HttpServletResponse.SC_OK,
+                    "Bulk request failed");
+            return getJSONObject(EntityUtils.toString(response.getEntity()));
+        }
+    }
+
+    /**
+     * Send a SCIM2 bulk request using the given executor, so that multiple bulk requests can be in flight at the same
+     * time. The HTTP client of this rest client should allow as many connections per route as the number of
+     * concurrent requests, eg: the client returned by {@link RestClientConnectionPool#getSharedClient()}.
+     *
+     * @param bulkRequest Bulk request object.
+     * @param executor    Executor which sends the request.
+     * @return Future of the JSONObject of the bulk response.
+     */
+    public CompletableFuture<JSONObject> sendBulkRequestAsync(BulkRequestObject bulkRequest, Executor executor) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return sendBulkRequest(bulkRequest);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Create users with SCIM2 bulk requests.
+     *
+     * @param users        Objects with user creation details.
+     * @param batchSize    Maximum number of users created by a single bulk request.
+     * @param failOnErrors Number of errors after which the server stops processing a bulk request, or null to
+     *                     process all the operations.
+     * @return Ids of the created users, in the order of the given users. The id is null for a user which could not
+     * be created.
+     * @throws Exception If an error occurred while sending a bulk request.
+     */
+    public List<String> createUsersInBulk(List<UserObject> users, int batchSize, Integer failOnErrors)
+            throws Exception {
+
+        List<String> userIds = new ArrayList<>(users.size());
+        for (int batchStart = 0; batchStart < users.size(); batchStart += batchSize) {
+            int batchEnd = Math.min(batchStart + batchSize, users.size());
+            BulkRequestObject bulkRequest = new BulkRequestObject().failOnErrors(failOnErrors);
+            for (int i = batchStart; i < batchEnd; i++) {
+                bulkRequest.addOperation(new BulkRequestObject.Operation()
+                        .method("POST")
+                        .bulkId(USER_BULK_ID_PREFIX + i)
+                        .path(BULK_USERS_PATH)
+                        .data(users.get(i)));
+            }
+            Map<String, String> resourceIds = getBulkResourceIds(sendBulkRequest(bulkRequest));
+            for (int i = batchStart; i < batchEnd; i++) {
+                userIds.add(resourceIds.get(USER_BULK_ID_PREFIX + i));
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * Get the ids of the resources created by the successful operations of a bulk request.
+     *
+     * @param bulkResponse JSONObject of the bulk response.
+     * @return Map of the bulk ids of the successful operations to the ids of the created resources.
+     */
+    public Map<String, String> getBulkResourceIds(JSONObject bulkResponse) {
+
+        Map<String, String> resourceIds = new HashMap<>();
+        JSONArray operations = (JSONArray) bulkResponse.get(BULK_OPERATIONS_ATTRIBUTE);
+        if (operations == null) {
+            return resourceIds;
+        }
+        for (Object operationObject : operations) {
+            JSONObject operation = (JSONObject) operationObject;
+            Object bulkId = operation.get(BULK_ID_ATTRIBUTE);
+            Object location = operation.get(BULK_LOCATION_ATTRIBUTE);
+            if (bulkId == null || location == null || !isSuccessfulBulkOperation(operation)) {
+                continue;
+            }
+            String locationUrl = location.toString();
+            resourceIds.put(bulkId.toString(), locationUrl.substring(locationUrl.lastIndexOf(PATH_SEPARATOR) + 1));
+        }
+        return resourceIds;
+    }
+
+    /**
+     * Check whether an operation of a bulk response was successful.
+     *
+     * @param operation JSONObject of the operation in the bulk response.
+     * @return True if the status code of the operation is 2xx.
+     */
+    public boolean isSuccessfulBulkOperation(JSONObject operation) {
+
+        Object status = operation.get(BULK_STATUS_ATTRIBUTE);
+        if (status instanceof JSONObject) {
+            status = ((JSONObject) status).get(BULK_STATUS_CODE_ATTRIBUTE);
+        }
+        return status != null && status.toString().startsWith("2");
+    }
+
+    private String getListQuery(String filter, Integer startIndex, Integer count, String domain)
+            throws UnsupportedEncodingException {
+
+        List<String> queryParams = new ArrayList<>();
+        if (StringUtils.isNotEmpty(filter)) {
+            queryParams.add("filter=" + URLEncoder.encode(filter, StandardCharsets.UTF_8.name()));
+        }
+        if (startIndex != null) {
+            queryParams.add("startIndex=" + startIndex);
+        }
+        if (count != null) {
+            queryParams.add("count=" + count);
+        }
+        if (StringUtils.isNotEmpty(domain)) {
+            queryParams.add("domain=" + URLEncoder.encode(domain, StandardCharsets.UTF_8.name()));
+        }
+        return queryParams.isEmpty() ? StringUtils.EMPTY : "?" + StringUtils.join(queryParams, "&");
+    }
+
     private Header[] getHeaders() {
 
         Header[] headerList = new Header[3];
@@ -366,6 +569,15 @@ public class SCIM2RestClient extends RestBaseClient {
         }
     }
 
+    private String getBulkPath() {
+
+        if (tenantDomain.equals(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME)) {
+            return serverUrl + SCIM2_BULK_ENDPOINT;
+        } else {
+            return serverUrl + TENANT_PATH + tenantDomain + PATH_SEPARATOR + SCIM2_BULK_ENDPOINT;
+        }
+    }
+
     private String getGroupsPath() {
 
         if (tenantDomain.equals(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME)) {
@@ -24,7 +24,6 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.json.simple.JSONArray;
@@ -33,23 +32,28 @@ import org.testng.Assert;
 import org.wso2.carbon.automation.engine.context.beans.Tenant;
 import org.wso2.carbon.identity.user.store.configuration.stub.dto.UserStoreDTO;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 import org.wso2.identity.integration.test.rest.api.server.user.store.v1.model.UserStoreReq;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class UserStoreMgtRestClient extends RestBaseClient {
     private static final String API_SERVER_BASE_PATH = "/api/server/v1";
     public static final String USER_STORES_ENDPOINT_URI = "/userstores";
-    private final CloseableHttpClient client;
     private final String username;
     private final String password;
     private final String userStoreBasePath;
 
     public UserStoreMgtRestClient(String backendURL, Tenant tenantInfo) {
 
-        client = HttpClients.createDefault();
+        this(backendURL, tenantInfo, createDefaultHttpClient());
+    }
+
+    public UserStoreMgtRestClient(String backendURL, Tenant tenantInfo, CloseableHttpClient client) {
 
+        super(client);
         this.username = tenantInfo.getContextUser().getUserName();
         this.password = tenantInfo.getContextUser().getPassword();
         String tenantDomain = tenantInfo.getContextUser().getUserDomain();
@@ -111,16 +115,18 @@ public class UserStoreMgtRestClient extends RestBaseClient {
      */
     public boolean waitForUserStoreDeployment(String domain) throws Exception {
 
-        long waitTime = System.currentTimeMillis() + 30000; //wait for 30 seconds
-        while (System.currentTimeMillis() < waitTime) {
-            JSONArray userStores = getUserStores();
-            for (Object userStore : userStores) {
-                String userStoreName = ((JSONObject) userStore).get("name").toString();
-                if (userStoreName.equalsIgnoreCase(domain)) {
-                    return true;
-                }
+        return WaitUtils.waitFor("user store " + domain + " is deployed", () -> isUserStoreAvailable(domain), 30,
+                TimeUnit.SECONDS);
+    }
+
+    private boolean isUserStoreAvailable(String domain) throws Exception {
+
+        JSONArray userStores = getUserStores();
+        for (Object userStore : userStores) {
+            String userStoreName = ((JSONObject) userStore).get("name").toString();
+            if (userStoreName.equalsIgnoreCase(domain)) {
+                return true;
             }
-            Thread.sleep(500);
         }
         return false;
     }
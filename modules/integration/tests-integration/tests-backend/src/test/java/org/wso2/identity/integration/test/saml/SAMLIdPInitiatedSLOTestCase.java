@@ -30,16 +30,16 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 import org.wso2.carbon.automation.engine.context.TestUserMode;
-import org.wso2.carbon.integration.common.admin.client.LogViewerClient;
 import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
-import org.wso2.carbon.logging.view.data.xsd.LogEvent;
+import org.wso2.identity.integration.common.utils.LogTailWatcher;
 import org.wso2.identity.integration.test.rest.api.server.application.management.v1.model.SAML2ServiceProvider;
 import org.wso2.identity.integration.test.util.Utils;
 import org.wso2.identity.integration.test.utils.CommonConstants;
 import org.wso2.identity.integration.test.utils.DataExtractUtil;
 
 import java.io.File;
-import java.rmi.RemoteException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * This test class tests SAML IdP initiated SLO functionality for two SAML applications. Since logout requests are sent
@@ -62,7 +62,7 @@ public class SAMLIdPInitiatedSLOTestCase extends AbstractSAMLSSOTestCase {
     private ServerConfigurationManager serverConfigurationManager;
     private String userId;
 
-    private LogViewerClient logViewer;
+    private LogTailWatcher carbonLogWatcher;
 
     private static final Long WAIT_TIME = 10000L;
     private String appOneId;
@@ -100,7 +100,8 @@ public class SAMLIdPInitiatedSLOTestCase extends AbstractSAMLSSOTestCase {
         appOneId = super.addApplication(samlConfigOne, APPLICATION_ONE);
         appTwoId = super.addApplication(samlConfigTwo, APPLICATION_TWO);
 
-        logViewer = new LogViewerClient(backendURL, sessionCookie);
+        carbonLogWatcher = LogTailWatcher.forCarbonLog(Utils.getResidentCarbonHome());
+        carbonLogWatcher.start();
         changeISConfiguration();
     }
 
@@ -108,6 +109,9 @@ public class SAMLIdPInitiatedSLOTestCase extends AbstractSAMLSSOTestCase {
     public void testClear() throws Exception {
 
         resetISConfiguration();
+        if (carbonLogWatcher != null) {
+            carbonLogWatcher.close();
+        }
         super.deleteUser(userId);
         super.deleteApp(appOneId);
         super.deleteApp(appTwoId);
@@ -125,7 +129,7 @@ public class SAMLIdPInitiatedSLOTestCase extends AbstractSAMLSSOTestCase {
         serverConfigurationManager = new ServerConfigurationManager(isServer);
         serverConfigurationManager.applyConfigurationWithoutRestart(configuredLo4j2File, defaultLog4j2File, true);
         // Waiting to apply the log4j2 changes
-        checkForLog(logViewer, "Logging configuration applied successfully");
+        waitForLog("Logging configuration applied successfully");
     }
 
     private void resetISConfiguration() throws Exception {
@@ -207,7 +211,7 @@ public class SAMLIdPInitiatedSLOTestCase extends AbstractSAMLSSOTestCase {
     public void testSAMLIdpInitiatedSLO() throws Exception {
 
         try {
-            logViewer.clearLogs();
+            carbonLogWatcher.clearLines();
 
             HttpResponse response = Utils.sendGetRequest(SAML_IDP_SLO_URL, USER_AGENT, httpClient);
             String resultPage = DataExtractUtil.getContentData(response);
@@ -216,22 +220,22 @@ public class SAMLIdPInitiatedSLOTestCase extends AbstractSAMLSSOTestCase {
                     !resultPage.contains("error"), "SAML IdP initiated SLO failed for " +
                     samlConfigOne.getApp().getArtifact() + " & " + samlConfigTwo.getApp().getArtifact());
 
-            boolean requestOneSentLogFound = checkForLog(logViewer,
+            boolean requestOneSentLogFound = waitForLog(
                     "single logout request is sent to : " + SAML_APP_ONE_ACS_URL + " is returned with OK");
             Assert.assertTrue(requestOneSentLogFound, "System Log not found. Single logout request is not " +
                     "sent to travelocity.com app.");
 
-            boolean requestTwoSentLogFound = checkForLog(logViewer,
+            boolean requestTwoSentLogFound = waitForLog(
                     "single logout request is sent to : " + SAML_APP_TWO_ACS_URL + " is returned with OK");
             Assert.assertTrue(requestTwoSentLogFound, "System Log not found. Single logout request is not " +
                     "sent to travelocity.com-saml-supertenantwithoutsigning app.");
 
-            boolean responseOneReceivedLogFound = checkForLog(logViewer,
+            boolean responseOneReceivedLogFound = waitForLog(
                     "Logout response received for issuer: travelocity.com for tenant domain: carbon.super");
             Assert.assertTrue(responseOneReceivedLogFound, "System Log not found. Logout response is not " +
                     "received for issuer travelocity.com");
 
-            boolean responseTwoReceivedLogFound = checkForLog(logViewer,
+            boolean responseTwoReceivedLogFound = waitForLog(
                     "Logout response received for issuer: travelocity.com-saml-supertenantwithoutsigning for " +
                             "tenant domain: carbon.super");
             Assert.assertTrue(responseTwoReceivedLogFound, "System Log not found. Logout response is not " +
@@ -282,37 +286,9 @@ public class SAMLIdPInitiatedSLOTestCase extends AbstractSAMLSSOTestCase {
         }
     }
 
-    protected static boolean checkForLog(LogViewerClient logViewerClient, String expected) throws
-            InterruptedException, RemoteException {
+    private boolean waitForLog(String expected) throws Exception {
 
-        boolean logExists = false;
-        long terminationTime = System.currentTimeMillis() + WAIT_TIME;
-        while (System.currentTimeMillis() < terminationTime) {
-            if (assertIfLogExists(logViewerClient, expected)) {
-                logExists = true;
-                break;
-            }
-        }
-        return logExists;
-    }
-
-    protected static boolean assertIfLogExists(LogViewerClient logViewerClient, String expected)
-            throws RemoteException {
-
-        LogEvent[] systemLogs;
-        systemLogs = logViewerClient.getAllRemoteSystemLogs();
-        boolean matchFound = false;
-        if (systemLogs != null) {
-            for (LogEvent logEvent : systemLogs) {
-                if (logEvent == null) {
-                    continue;
-                }
-                if (logEvent.getMessage().contains(expected)) {
-                    matchFound = true;
-                    break;
-                }
-            }
-        }
-        return matchFound;
+        return carbonLogWatcher.waitForLine(Pattern.compile(Pattern.quote(expected)), WAIT_TIME,
+                TimeUnit.MILLISECONDS);
     }
 }
@@ -31,12 +31,14 @@ import org.wso2.carbon.automation.engine.frameworkutils.FrameworkPathUtil;
 import org.wso2.carbon.integration.common.utils.FileManager;
 import org.wso2.carbon.integration.common.utils.exceptions.AutomationUtilException;
 import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 import org.wso2.identity.integration.test.util.Utils;
 import org.wso2.identity.integration.test.utils.CommonConstants;
 import org.wso2.identity.integration.test.utils.OAuth2Constant;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.xpath.XPathExpressionException;
 
@@ -53,6 +55,7 @@ public class SAMLSSOForAdminLoginTestCase extends AbstractSAMLSSOTestCase {
     // Constants.
     private static final String SAML_ACS_URL = "https://localhost:9853/acs";
     private static final String SAML_SSO_URL = "https://localhost:9853/samlsso";
+    private static final long SERVER_START_TIMEOUT_MINUTES = 5;
     private static final String MANAGEMENT_CONSOLE_LOGIN_URL = "https://localhost:9853/carbon/admin/login.jsp";
     private static final String MANAGEMENT_CONSOLE_LOGOUT_URL = "https://localhost:9853/carbon/admin/logout_action.jsp";
     private static final String MANAGEMENT_CONSOLE_HOME_URL = "https://localhost:9853/carbon/admin/index.jsp";
@@ -105,10 +108,8 @@ public class SAMLSSOForAdminLoginTestCase extends AbstractSAMLSSOTestCase {
 
         try {
             // Verify the server has started properly.
-            while (!isServerAvailable()) {
-                log.info("Waiting for server to start up.");
-                Thread.sleep(5000);
-            }
+            Assert.assertTrue(WaitUtils.waitForEndpoint(MANAGEMENT_CONSOLE_LOGIN_URL, SERVER_START_TIMEOUT_MINUTES,
+                    TimeUnit.MINUTES), "Server did not start up.");
 
             log.debug("Sending GET request for management console login page.");
             HttpResponse response = Utils.sendGetRequest(MANAGEMENT_CONSOLE_LOGIN_URL, USER_AGENT, httpClient);
@@ -240,19 +241,4 @@ public class SAMLSSOForAdminLoginTestCase extends AbstractSAMLSSOTestCase {
         serverConfigurationManager.applyConfiguration(ssoIdPConfigXmlOriginal, ssoIdPConfigXml, false, false);
         serverConfigurationManager.restoreToLastConfiguration();
     }
-
-    /**
-     * Test whether the server is available.
-     *
-     * @return true if the server is available.
-     */
-    private boolean isServerAvailable() throws Exception {
-
-        HttpResponse response = Utils.sendGetRequest(MANAGEMENT_CONSOLE_LOGIN_URL, USER_AGENT, httpClient);
-        if (response.getStatusLine().getStatusCode() == 200) {
-            EntityUtils.consume(response.getEntity());
-            return true;
-        }
-        return false;
-    }
 }
@@ -0,0 +1,623 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.scim2;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.simple.JSONObject;
+import org.wso2.carbon.automation.engine.context.beans.Tenant;
+import org.wso2.carbon.automation.engine.context.beans.User;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+import org.wso2.identity.integration.test.rest.api.user.common.model.BulkRequestObject;
+import org.wso2.identity.integration.test.rest.api.user.common.model.Email;
+import org.wso2.identity.integration.test.rest.api.user.common.model.GroupRequestObject;
+import org.wso2.identity.integration.test.rest.api.user.common.model.ListObject;
+import org.wso2.identity.integration.test.rest.api.user.common.model.Name;
+import org.wso2.identity.integration.test.rest.api.user.common.model.PatchOperationRequestObject;
+import org.wso2.identity.integration.test.rest.api.user.common.model.RoleItemAddGroupobj;
+import org.wso2.identity.integration.test.rest.api.user.common.model.RoleRequestObject;
+import org.wso2.identity.integration.test.rest.api.user.common.model.UserItemAddGroupobj;
+import org.wso2.identity.integration.test.rest.api.user.common.model.UserObject;
+import org.wso2.identity.integration.test.restclients.RestClientConnectionPool;
+import org.wso2.identity.integration.test.restclients.SCIM2RestClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Seeds a tenant with synthetic users, groups and role memberships, so that the SCIM2 filter and pagination tests
+ * can be run against production sized data.
+ * <p>
+ * Users and groups are created, and users are added to groups, with SCIM2 bulk requests. Roles are created and
+ * assigned with the SCIM2 roles endpoint. Up to {@code concurrency} requests are kept in flight at a time. All the
+ * generated data is derived from the seed, so two runs with the same seed and sizes produce the same user names,
+ * attributes and memberships.
+ * <p>
+ * The seeder can be used from a test, or run from the command line against a running server, eg:
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.wso2.identity.integration.test.scim2.SCIM2DataSeeder
+ * -Dexec.args="--server-url https://localhost:9853/ --users 1000000 --groups 1000 --roles 50 --concurrency 8"
+ * <p>
+ * Supported arguments are --server-url, --tenant, --username, --password, --users, --groups, --roles,
+ * --groups-per-user, --roles-per-user, --batch-size, --fail-on-errors, --concurrency, --seed, --prefix and
+ * --user-password.
+ */
+public class SCIM2DataSeeder {
+
+    private static final Log log = LogFactory.getLog(SCIM2DataSeeder.class);
+    private static final String USER_SCHEMA = "urn:ietf:params:scim:schemas:core:2.0:User";
+    private static final String GROUP_SCHEMA = "urn:ietf:params:scim:schemas:core:2.0:Group";
+    private static final String PATCH_OP_SCHEMA = "urn:ietf:params:scim:api:messages:2.0:PatchOp";
+    private static final String BULK_USERS_PATH = "/Users";
+    private static final String BULK_GROUPS_PATH = "/Groups";
+    private static final String GROUP_MEMBERS_PATH = "members";
+    private static final String ROLE_USERS_PATH = "users";
+    private static final String EMAIL_DOMAIN = "@seed.example.com";
+    private static final char DOMAIN_SEPARATOR = '/';
+    private static final long GROUP_SALT = 0x67726f7570L;
+    private static final long ROLE_SALT = 0x726f6c65L;
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+    private static final String[] GIVEN_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+            "Thomas", "Sarah", "Charles", "Karen", "Nimal", "Kamala", "Ravi", "Priya", "Chen", "Mei", "Ahmed",
+            "Fatima", "Lucas", "Sofia", "Hiroshi", "Yuki"};
+    private static final String[] FAMILY_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+            "Thomas", "Perera", "Fernando", "Silva", "Wang", "Li", "Zhang", "Khan", "Ali", "Tanaka", "Suzuki",
+            "Muller", "Schmidt", "Rossi", "Dubois", "Kowalski", "Nielsen"};
+    private static final String[] LOCALES = {"en_US", "en_GB", "fr_FR", "de_DE", "es_ES", "ja_JP", "si_LK",
+            "zh_CN"};
+
+    private final SCIM2RestClient scim2RestClient;
+    private final AtomicLong failedOperations = new AtomicLong();
+    private int userCount = 1000;
+    private int groupCount = 10;
+    private int roleCount = 0;
+    private int groupsPerUser = 1;
+    private int rolesPerUser = 0;
+    private int batchSize = 100;
+    private Integer failOnErrors = null;
+    private int concurrency = 1;
+    private long seed = 0;
+    private String prefix = "seed";
+    private String userPassword = "Seed@Pass123";
+    private String[] userIds = new String[0];
+    private String[] groupIds = new String[0];
+    private String[] roleIds = new String[0];
+
+    public SCIM2DataSeeder(SCIM2RestClient scim2RestClient) {
+
+        this.scim2RestClient = scim2RestClient;
+    }
+
+    public SCIM2DataSeeder users(int userCount) {
+
+        this.userCount = userCount;
+        return this;
+    }
+
+    public SCIM2DataSeeder groups(int groupCount) {
+
+        this.groupCount = groupCount;
+        return this;
+    }
+
+    public SCIM2DataSeeder roles(int roleCount) {
+
+        this.roleCount = roleCount;
+        return this;
+    }
+
+    public SCIM2DataSeeder groupsPerUser(int groupsPerUser) {
+
+        this.groupsPerUser = groupsPerUser;
+        return this;
+    }
+
+    public SCIM2DataSeeder rolesPerUser(int rolesPerUser) {
+
+        this.rolesPerUser = rolesPerUser;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of operations of a bulk request, which is also the maximum number of members added to a
+     * group or a role by a single patch operation.
+     *
+     * @param batchSize Maximum number of operations of a bulk request.
+     * @return This seeder.
+     */
+    public SCIM2DataSeeder batchSize(int batchSize) {
+
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public SCIM2DataSeeder failOnErrors(Integer failOnErrors) {
+
+        this.failOnErrors = failOnErrors;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of requests in flight. The HTTP client of the rest client should allow as many
+     * connections per route, eg: the client returned by {@link RestClientConnectionPool#getSharedClient()}.
+     *
+     * @param concurrency Maximum number of requests in flight.
+     * @return This seeder.
+     */
+    public SCIM2DataSeeder concurrency(int concurrency) {
+
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public SCIM2DataSeeder seed(long seed) {
+
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Set the prefix of the generated user, group and role names, so that multiple data sets can live in the same
+     * tenant. A prefix starting with a user store domain, eg: JDBC/seed, creates the users and groups in that user
+     * store.
+     *
+     * @param prefix Prefix of the generated names.
+     * @return This seeder.
+     */
+    public SCIM2DataSeeder prefix(String prefix) {
+
+        this.prefix = prefix;
+        return this;
+    }
+
+    public SCIM2DataSeeder userPassword(String userPassword) {
+
+        this.userPassword = userPassword;
+        return this;
+    }
+
+    /**
+     * Get the user name of the user with the given index, as generated by the seeder.
+     *
+     * @param index Index of the user, starting from 0.
+     * @return User name.
+     */
+    public String getUserName(int index) {
+
+        return prefix + "user" + index;
+    }
+
+    public String getGroupName(int index) {
+
+        return prefix + "group" + index;
+    }
+
+    public String getRoleName(int index) {
+
+        return prefix + "role" + index;
+    }
+
+    /**
+     * Get the ids of the seeded users, in the order of their indexes. The id is null for a user which could not be
+     * created.
+     *
+     * @return Ids of the seeded users.
+     */
+    public List<String> getUserIds() {
+
+        return Arrays.asList(userIds);
+    }
+
+    public List<String> getGroupIds() {
+
+        return Arrays.asList(groupIds);
+    }
+
+    public List<String> getRoleIds() {
+
+        return Arrays.asList(roleIds);
+    }
+
+    /**
+     * Get the number of operations which failed during the last run.
+     *
+     * @return Number of failed operations.
+     */
+    public long getFailedOperations() {
+
+        return failedOperations.get();
+    }
+
+    /**
+     * Create the users, groups and roles, and assign the users to the groups and roles.
+     *
+     * @throws Exception If a request could not be sent or the server rejected a whole request.
+     */
+    public void seed() throws Exception {
+
+        if (groupsPerUser > groupCount || rolesPerUser > roleCount) {
+            throw new IllegalArgumentException("A user cannot be a member of more groups or roles than available.");
+        }
+        failedOperations.set(0);
+        userIds = new String[userCount];
+        groupIds = new String[groupCount];
+        roleIds = new String[roleCount];
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            RequestPipeline pipeline = new RequestPipeline(executor);
+            long start = System.nanoTime();
+            seedUsers(pipeline);
+            seedGroups(pipeline);
+            seedRoles();
+            seedMemberships(pipeline);
+            log.info("Seeded " + userCount + " users, " + groupCount + " groups and " + roleCount + " roles in " +
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) + " seconds with " +
+                    failedOperations.get() + " failed operations.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Delete the seeded users, groups and roles.
+     *
+     * @throws Exception If an error occurred while deleting the data.
+     */
+    public void cleanUp() throws Exception {
+
+        for (String roleId : roleIds) {
+            if (roleId != null) {
+                scim2RestClient.deleteRole(roleId);
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            RequestPipeline pipeline = new RequestPipeline(executor);
+            deleteInBulk(pipeline, BULK_GROUPS_PATH, groupIds);
+            deleteInBulk(pipeline, BULK_USERS_PATH, userIds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void seedUsers(RequestPipeline pipeline) throws Exception {
+
+        for (int batchStart = 0; batchStart < userCount; batchStart += batchSize) {
+            int batchEnd = Math.min(batchStart + batchSize, userCount);
+            BulkRequestObject bulkRequest = new BulkRequestObject().failOnErrors(failOnErrors);
+            for (int i = batchStart; i < batchEnd; i++) {
+                bulkRequest.addOperation(new BulkRequestObject.Operation()
+                        .method("POST")
+                        .bulkId(String.valueOf(i))
+                        .path(BULK_USERS_PATH)
+                        .data(generateUser(i)));
+            }
+            pipeline.submitBulk(bulkRequest, userIds);
+        }
+        pipeline.awaitAll("users");
+    }
+
+    private void seedGroups(RequestPipeline pipeline) throws Exception {
+
+        for (int batchStart = 0; batchStart < groupCount; batchStart += batchSize) {
+            int batchEnd = Math.min(batchStart + batchSize, groupCount);
+            BulkRequestObject bulkRequest = new BulkRequestObject().failOnErrors(failOnErrors);
+            for (int i = batchStart; i < batchEnd; i++) {
+                bulkRequest.addOperation(new BulkRequestObject.Operation()
+                        .method("POST")
+                        .bulkId(String.valueOf(i))
+                        .path(BULK_GROUPS_PATH)
+                        .data(new GroupRequestObject()
+                                .schemas(new ArrayList<>(Arrays.asList(GROUP_SCHEMA)))
+                                .displayName(getGroupName(i))));
+            }
+            pipeline.submitBulk(bulkRequest, groupIds);
+        }
+        pipeline.awaitAll("groups");
+    }
+
+    private void seedRoles() throws Exception {
+
+        for (int i = 0; i < roleCount; i++) {
+            roleIds[i] = scim2RestClient.addRole(new RoleRequestObject().displayName(getRoleName(i)));
+        }
+    }
+
+    /**
+     * Add the users to their groups and roles. Members are buffered per group and role, and flushed with a single
+     * patch operation when the buffer is full, so the number of requests does not grow with the number of
+     * memberships per user.
+     */
+    private void seedMemberships(RequestPipeline pipeline) throws Exception {
+
+        Map<Integer, List<String>> groupMembers = new HashMap<>();
+        Map<Integer, List<String>> roleMembers = new HashMap<>();
+        for (int i = 0; i < userCount; i++) {
+            if (userIds[i] == null) {
+                continue;
+            }
+            for (int group : pickDistinct(i, GROUP_SALT, groupsPerUser, groupCount)) {
+                List<String> members = groupMembers.computeIfAbsent(group, key -> new ArrayList<>());
+                members.add(userIds[i]);
+                if (members.size() == batchSize) {
+                    addGroupMembers(pipeline, group, groupMembers.remove(group));
+                }
+            }
+            for (int role : pickDistinct(i, ROLE_SALT, rolesPerUser, roleCount)) {
+                List<String> members = roleMembers.computeIfAbsent(role, key -> new ArrayList<>());
+                members.add(userIds[i]);
+                if (members.size() == batchSize) {
+                    addRoleMembers(pipeline, role, roleMembers.remove(role));
+                }
+            }
+        }
+        for (Map.Entry<Integer, List<String>> entry : groupMembers.entrySet()) {
+            addGroupMembers(pipeline, entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Integer, List<String>> entry : roleMembers.entrySet()) {
+            addRoleMembers(pipeline, entry.getKey(), entry.getValue());
+        }
+        pipeline.awaitAll("memberships");
+    }
+
+    private void addGroupMembers(RequestPipeline pipeline, int group, List<String> members) throws Exception {
+
+        if (groupIds[group] == null) {
+            failedOperations.addAndGet(members.size());
+            return;
+        }
+        List<GroupRequestObject.MemberItem> memberItems = new ArrayList<>(members.size());
+        for (String member : members) {
+            memberItems.add(new GroupRequestObject.MemberItem().value(member));
+        }
+        PatchOperationRequestObject patchRequest = new PatchOperationRequestObject()
+                .schemas(new ArrayList<>(Arrays.asList(PATCH_OP_SCHEMA)))
+                .addOperations(new UserItemAddGroupobj()
+                        .op(UserItemAddGroupobj.OpEnum.ADD)
+                        .path(GROUP_MEMBERS_PATH)
+                        .value(memberItems));
+        pipeline.submitBulk(new BulkRequestObject().failOnErrors(failOnErrors)
+                .addOperation(new BulkRequestObject.Operation()
+                        .method("PATCH")
+                        .path(BULK_GROUPS_PATH + "/" + groupIds[group])
+                        .data(patchRequest)), null);
+    }
+
+    private void addRoleMembers(RequestPipeline pipeline, int role, List<String> members) throws Exception {
+
+        if (roleIds[role] == null) {
+            failedOperations.addAndGet(members.size());
+            return;
+        }
+        RoleItemAddGroupobj patchRoleItem = new RoleItemAddGroupobj();
+        patchRoleItem.setOp(RoleItemAddGroupobj.OpEnum.ADD);
+        patchRoleItem.setPath(ROLE_USERS_PATH);
+        for (String member : members) {
+            patchRoleItem.addValue(new ListObject().value(member));
+        }
+        String roleId = roleIds[role];
+        pipeline.submit(() -> {
+            scim2RestClient.updateUserRole(new PatchOperationRequestObject().addOperations(patchRoleItem), roleId);
+            return null;
+        }, response -> {
+        });
+    }
+
+    private void deleteInBulk(RequestPipeline pipeline, String path, String[] ids) throws Exception {
+
+        BulkRequestObject bulkRequest = new BulkRequestObject().failOnErrors(failOnErrors);
+        for (String id : ids) {
+            if (id == null) {
+                continue;
+            }
+            bulkRequest.addOperation(new BulkRequestObject.Operation().method("DELETE").path(path + "/" + id));
+            if (bulkRequest.getOperations().size() == batchSize) {
+                pipeline.submitBulk(bulkRequest, null);
+                bulkRequest = new BulkRequestObject().failOnErrors(failOnErrors);
+            }
+        }
+        if (!bulkRequest.getOperations().isEmpty()) {
+            pipeline.submitBulk(bulkRequest, null);
+        }
+        pipeline.awaitAll("deletions of " + path);
+    }
+
+    private UserObject generateUser(int index) {
+
+        Random random = new Random(seed * 31 + index);
+        String givenName = GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+        String familyName = FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)];
+        String userName = getUserName(index);
+        return new UserObject()
+                .schemas(new ArrayList<>(Arrays.asList(USER_SCHEMA)))
+                .userName(userName)
+                .password(userPassword)
+                .name(new Name().givenName(givenName).familyName(familyName))
+                .addEmail(new Email().value(userName.substring(userName.indexOf(DOMAIN_SEPARATOR) + 1) +
+                        EMAIL_DOMAIN).primary(true))
+                .locale(LOCALES[random.nextInt(LOCALES.length)]);
+    }
+
+    /**
+     * Pick the given number of distinct values between 0 and the bound, derived from the seed and the user index.
+     */
+    private int[] pickDistinct(int index, long salt, int count, int bound) {
+
+        int[] picked = new int[count];
+        Random random = new Random((seed ^ salt) * 31 + index);
+        for (int i = 0; i < count; i++) {
+            int candidate;
+            boolean duplicate;
+            do {
+                candidate = random.nextInt(bound);
+                duplicate = false;
+                for (int j = 0; j < i; j++) {
+                    if (picked[j] == candidate) {
+                        duplicate = true;
+                        break;
+                    }
+                }
+            } while (duplicate);
+            picked[i] = candidate;
+        }
+        return picked;
+    }
+
+    /**
+     * Sends requests with a bounded number of requests in flight.
+     */
+    private class RequestPipeline {
+
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+        private int submitted;
+
+        RequestPipeline(ExecutorService executor) {
+
+            this.executor = executor;
+            this.permits = new Semaphore(concurrency);
+        }
+
+        /**
+         * Send a bulk request. The ids of the created resources are stored in the given array, at the index given by
+         * the bulk id of each operation.
+         */
+        void submitBulk(BulkRequestObject bulkRequest, String[] createdIds) throws Exception {
+
+            int operations = bulkRequest.getOperations().size();
+            submit(() -> scim2RestClient.sendBulkRequest(bulkRequest), response -> {
+                Map<String, String> resourceIds = scim2RestClient.getBulkResourceIds(response);
+                if (createdIds != null) {
+                    for (Map.Entry<String, String> entry : resourceIds.entrySet()) {
+                        createdIds[Integer.parseInt(entry.getKey())] = entry.getValue();
+                    }
+                    failedOperations.addAndGet(operations - resourceIds.size());
+                } else {
+                    countFailedOperations(response);
+                }
+            });
+        }
+
+        void submit(Callable<JSONObject> request, Consumer<JSONObject> responseHandler) throws Exception {
+
+            permits.acquire();
+            try {
+                pending.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return request.call();
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor).thenAccept(responseHandler).whenComplete((result, error) -> permits.release()));
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            if (++submitted % PROGRESS_LOG_INTERVAL == 0) {
+                log.info("Submitted " + submitted + " seeding requests.");
+            }
+        }
+
+        void awaitAll(String description) throws Exception {
+
+            try {
+                CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                throw new Exception("Error while seeding " + description + ".", e.getCause());
+            } finally {
+                pending.clear();
+            }
+            log.info("Completed seeding " + description + ".");
+        }
+
+        private void countFailedOperations(JSONObject response) {
+
+            Object operations = response.get("Operations");
+            if (!(operations instanceof List)) {
+                return;
+            }
+            for (Object operation : (List<?>) operations) {
+                if (!scim2RestClient.isSuccessfulBulkOperation((JSONObject) operation)) {
+                    failedOperations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> arguments = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            arguments.put(args[i].substring(2), args[i + 1]);
+        }
+
+        String tenantDomain = arguments.getOrDefault("tenant", MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        String username = arguments.getOrDefault("username", "admin");
+        User tenantAdmin = new User();
+        tenantAdmin.setUserName(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(tenantDomain) ||
+                username.endsWith("@" + tenantDomain) ? username : username + "@" + tenantDomain);
+        tenantAdmin.setPassword(arguments.getOrDefault("password", "admin"));
+        Tenant tenant = new Tenant();
+        tenant.setDomain(tenantDomain);
+        tenant.setContextUser(tenantAdmin);
+
+        SCIM2RestClient scim2RestClient = new SCIM2RestClient(arguments.getOrDefault("server-url",
+                "https://localhost:9853/"), tenant, RestClientConnectionPool.getSharedClient());
+        String failOnErrors = arguments.get("fail-on-errors");
+        SCIM2DataSeeder seeder = new SCIM2DataSeeder(scim2RestClient)
+                .users(Integer.parseInt(arguments.getOrDefault("users", "1000")))
+                .groups(Integer.parseInt(arguments.getOrDefault("groups", "10")))
+                .roles(Integer.parseInt(arguments.getOrDefault("roles", "0")))
+                .groupsPerUser(Integer.parseInt(arguments.getOrDefault("groups-per-user", "1")))
+                .rolesPerUser(Integer.parseInt(arguments.getOrDefault("roles-per-user", "0")))
+                .batchSize(Integer.parseInt(arguments.getOrDefault("batch-size", "100")))
+                .failOnErrors(failOnErrors != null ? Integer.valueOf(failOnErrors) : null)
+                .concurrency(Integer.parseInt(arguments.getOrDefault("concurrency", "4")))
+                .seed(Long.parseLong(arguments.getOrDefault("seed", "0")))
+                .prefix(arguments.getOrDefault("prefix", "seed"))
+                .userPassword(arguments.getOrDefault("user-password", "Seed@Pass123"));
+        try {
+            seeder.seed();
+        } finally {
+            RestClientConnectionPool.shutdown();
+        }
+        if (seeder.getFailedOperations() > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.scim2;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.simple.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.automation.test.utils.dbutils.H2DataBaseManager;
+import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
+import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.test.rest.api.server.user.store.v1.model.UserStoreReq;
+import org.wso2.identity.integration.test.rest.api.server.user.store.v1.model.UserStoreReq.Property;
+import org.wso2.identity.integration.test.restclients.RestClientConnectionPool;
+import org.wso2.identity.integration.test.restclients.SCIM2RestClient;
+import org.wso2.identity.integration.test.restclients.UserStoreMgtRestClient;
+import org.wso2.identity.integration.test.utils.BenchmarkReport;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures the latency of SCIM2 user and group filtering and pagination against seeded user stores of increasing
+ * size.
+ * <p>
+ * For each user store and size, the users and groups are seeded with {@link SCIM2DataSeeder}, each query is run a
+ * number of warm up iterations followed by the measured iterations, and the seeded data is deleted. The latency
+ * percentiles of each query are logged and written as CSV to {@value #REPORT_FILE_NAME} in the report directory.
+ * <p>
+ * The benchmark is not part of the default test suite. It is run with the benchmark profile, eg:
+ * mvn clean install -DintegrationTests -Dbenchmark=scim2 -Dscim2.benchmark.sizes=10000,100000
+ * <p>
+ * The benchmark can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #SIZES_PROPERTY} - Comma separated numbers of users to seed. Default is 10000.</li>
+ *     <li>{@value #USER_STORES_PROPERTY} - Comma separated user stores to seed, out of PRIMARY (the primary H2
+ *     JDBC user store), JDBC (a secondary JDBC user store) and LDAP (a secondary read write LDAP user store on the
+ *     external LDAP server). Default is all of them.</li>
+ *     <li>{@value #GROUPS_PROPERTY} - Number of groups to seed for each size. Default is 100.</li>
+ *     <li>{@value #WARMUP_PROPERTY} - Warm up iterations of each query. Default is 10.</li>
+ *     <li>{@value #ITERATIONS_PROPERTY} - Measured iterations of each query. Default is 50.</li>
+ *     <li>{@value #PAGE_SIZE_PROPERTY} - Count of the paginated queries. Default is 100.</li>
+ *     <li>{@value #CONCURRENCY_PROPERTY} - Requests in flight while seeding. Default is 8.</li>
+ *     <li>{@value #REPORT_DIR_PROPERTY} - Directory of the CSV report. Default is the directory of the benchmark
+ *     profile, or target/scim2-benchmark.</li>
+ * </ul>
+ */
+public class SCIM2FilterPaginationBenchmarkTestCase extends ISIntegrationTest {
+
+    private static final Log log = LogFactory.getLog(SCIM2FilterPaginationBenchmarkTestCase.class);
+
+    private static final String SIZES_PROPERTY = "scim2.benchmark.sizes";
+    private static final String USER_STORES_PROPERTY = "scim2.benchmark.userstores";
+    private static final String GROUPS_PROPERTY = "scim2.benchmark.groups";
+    private static final String WARMUP_PROPERTY = "scim2.benchmark.warmup";
+    private static final String ITERATIONS_PROPERTY = "scim2.benchmark.iterations";
+    private static final String PAGE_SIZE_PROPERTY = "scim2.benchmark.pageSize";
+    private static final String CONCURRENCY_PROPERTY = "scim2.benchmark.concurrency";
+    private static final String REPORT_DIR_PROPERTY = "scim2.benchmark.reportDir";
+    private static final String REPORT_FILE_NAME = "scim2-filter-pagination.csv";
+
+    private static final String PRIMARY_USER_STORE = "PRIMARY";
+    private static final String JDBC_USER_STORE = "JDBC";
+    private static final String LDAP_USER_STORE = "LDAP";
+    private static final String JDBC_USER_STORE_DOMAIN = "BENCHJDBC";
+    private static final String LDAP_USER_STORE_DOMAIN = "BENCHLDAP";
+    private static final String JDBC_USER_STORE_TYPE = "VW5pcXVlSURKREJDVXNlclN0b3JlTWFuYWdlcg";
+    private static final String LDAP_USER_STORE_TYPE = "VW5pcXVlSURSZWFkV3JpdGVMREFQVXNlclN0b3JlTWFuYWdlcg";
+    private static final String USER_STORE_DB_NAME = "SCIM2_BENCHMARK_USER_STORE_DB";
+    private static final String DB_USER_NAME = "wso2automation";
+    private static final String DB_USER_PASSWORD = "wso2automation";
+    private static final String LDAP_CONNECTION_URL = "ldap://localhost:10799";
+    private static final String LDAP_CONNECTION_NAME = "uid=admin,ou=system";
+    private static final String LDAP_CONNECTION_PASSWORD = "admin";
+    private static final String LDAP_USER_SEARCH_BASE = "ou=Users,dc=wso2,dc=org";
+    private static final String LDAP_GROUP_SEARCH_BASE = "ou=Groups,dc=wso2,dc=org";
+
+    private static final String TOTAL_RESULTS_ATTRIBUTE = "totalResults";
+    private static final String DEPTH_QUERY_PREFIX = "users.page.depth.";
+    private static final int DEPTH_STEPS = 10;
+    private static final String REPORT_HEADER = "userStore,size,query,totalResults,iterations,meanMillis," +
+            "p50Millis,p90Millis,p99Millis,maxMillis";
+
+    private final int[] sizes = parseSizes(System.getProperty(SIZES_PROPERTY, "10000"));
+    private final List<String> userStores = Arrays.asList(System.getProperty(USER_STORES_PROPERTY,
+            PRIMARY_USER_STORE + "," + JDBC_USER_STORE + "," + LDAP_USER_STORE).toUpperCase(Locale.ENGLISH)
+            .split("\\s*,\\s*"));
+    private final int groups = Integer.getInteger(GROUPS_PROPERTY, 100);
+    private final int warmup = Integer.getInteger(WARMUP_PROPERTY, 10);
+    private final int iterations = Integer.getInteger(ITERATIONS_PROPERTY, 50);
+    private final int pageSize = Integer.getInteger(PAGE_SIZE_PROPERTY, 100);
+    private final int concurrency = Integer.getInteger(CONCURRENCY_PROPERTY, 8);
+    private final Map<String, String> userStoreIds = new HashMap<>();
+    private SCIM2RestClient scim2RestClient;
+    private UserStoreMgtRestClient userStoreMgtRestClient;
+    private BenchmarkReport report;
+
+    @BeforeClass(alwaysRun = true)
+    public void testInit() throws Exception {
+
+        super.init();
+        RestClientConnectionPool.setMaxPerRoute(serverURL, concurrency);
+        scim2RestClient = new SCIM2RestClient(serverURL, tenantInfo, RestClientConnectionPool.getSharedClient());
+        userStoreMgtRestClient = new UserStoreMgtRestClient(serverURL, tenantInfo);
+        if (userStores.contains(JDBC_USER_STORE)) {
+            addJDBCUserStore();
+        }
+        if (userStores.contains(LDAP_USER_STORE)) {
+            addLDAPUserStore();
+        }
+
+        report = new BenchmarkReport(BenchmarkReport.getReportDir(REPORT_DIR_PROPERTY, "scim2-benchmark"),
+                REPORT_FILE_NAME, REPORT_HEADER);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void testClear() throws Exception {
+
+        if (report != null) {
+            report.close();
+        }
+        for (String userStoreId : userStoreIds.values()) {
+            userStoreMgtRestClient.deleteUserStore(userStoreId);
+        }
+        userStoreMgtRestClient.closeHttpClient();
+        scim2RestClient.closeHttpClient();
+    }
+
+    @DataProvider(name = "userStoreSizes")
+    public Object[][] userStoreSizes() {
+
+        List<Object[]> combinations = new ArrayList<>();
+        for (String userStore : userStores) {
+            for (int size : sizes) {
+                combinations.add(new Object[]{userStore, size});
+            }
+        }
+        return combinations.toArray(new Object[0][]);
+    }
+
+    @Test(description = "Measure the latency of SCIM2 filters and pagination on a seeded user store.",
+            dataProvider = "userStoreSizes")
+    public void testFilterAndPaginationLatency(String userStore, int size) throws Exception {
+
+        String domain = getDomain(userStore);
+        String prefix = (domain != null ? domain + "/" : StringUtils.EMPTY) + "b" + size + "x";
+        SCIM2DataSeeder seeder = new SCIM2DataSeeder(scim2RestClient)
+                .users(size)
+                .groups(groups)
+                .groupsPerUser(1)
+                .concurrency(concurrency)
+                .prefix(prefix);
+        try {
+            seeder.seed();
+            Assert.assertEquals(seeder.getFailedOperations(), 0, "Failed to seed " + size + " users to the " +
+                    userStore + " user store.");
+
+            for (BenchmarkQuery query : getQueries(seeder, size, domain)) {
+                LatencyStats stats = run(query);
+                log.info(String.format("%s %d %-28s totalResults=%-8d mean=%.2fms p50=%.2fms p90=%.2fms " +
+                                "p99=%.2fms max=%.2fms", userStore, size, query.name, query.totalResults,
+                        stats.mean(), stats.percentile(50), stats.percentile(90), stats.percentile(99),
+                        stats.percentile(100)));
+                report.addRow("%s,%d,%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f", userStore, size, query.name,
+                        query.totalResults, iterations, stats.mean(), stats.percentile(50), stats.percentile(90),
+                        stats.percentile(99), stats.percentile(100));
+                if (query.expectedResults >= 0) {
+                    Assert.assertEquals(query.totalResults, query.expectedResults, "Unexpected number of results " +
+                            "for the query: " + query.name);
+                }
+            }
+        } finally {
+            seeder.cleanUp();
+        }
+    }
+
+    /**
+     * Build the queries for a data set. Filters are built from the names generated by the seeder, so that their
+     * selectivity does not depend on the size of the data set, except for the prefix filters.
+     */
+    private List<BenchmarkQuery> getQueries(SCIM2DataSeeder seeder, int size, String domain) {
+
+        String firstUser = seeder.getUserName(0);
+        String middleUser = seeder.getUserName(size / 2);
+        String lastUser = seeder.getUserName(size - 1);
+        String userPrefix = seeder.getUserName(1);
+
+        List<BenchmarkQuery> queries = new ArrayList<>();
+        queries.add(BenchmarkQuery.users("users.userName.eq", "userName eq " + middleUser, null, null, domain, 1));
+        queries.add(BenchmarkQuery.users("users.userName.sw", "userName sw " + userPrefix, 1, pageSize, domain,
+                -1));
+        queries.add(BenchmarkQuery.users("users.givenName.co", "name.givenName co ar", 1, pageSize, domain, -1));
+        queries.add(BenchmarkQuery.users("users.and", "userName sw " + userPrefix + " and name.familyName eq Silva",
+                1, pageSize, domain, -1));
+        queries.add(BenchmarkQuery.users("users.or", "userName eq " + firstUser + " or userName eq " + lastUser,
+                null, null, domain, 2));
+        queries.add(BenchmarkQuery.groups("groups.displayName.eq", "displayName eq " + seeder.getGroupName(0),
+                null, null, domain, 1));
+        queries.add(BenchmarkQuery.groups("groups.displayName.sw", "displayName sw " + seeder.getGroupName(1), 1,
+                pageSize, domain, -1));
+        // Walk the pages from the start to the end of the data set, to show how the latency grows with the offset.
+        for (int step = 0; step < DEPTH_STEPS; step++) {
+            int startIndex = Math.max(1, (int) ((long) size * step / DEPTH_STEPS) + 1);
+            queries.add(BenchmarkQuery.users(DEPTH_QUERY_PREFIX + (step * 100 / DEPTH_STEPS) + "pct", null,
+                    startIndex, pageSize, domain, -1));
+        }
+        queries.add(BenchmarkQuery.users(DEPTH_QUERY_PREFIX + "last", null, Math.max(1, size - pageSize + 1),
+                pageSize, domain, -1));
+        return queries;
+    }
+
+    private LatencyStats run(BenchmarkQuery query) throws Exception {
+
+        for (int i = 0; i < warmup; i++) {
+            query.execute(scim2RestClient);
+        }
+        LatencyStats stats = new LatencyStats(iterations);
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            JSONObject response = query.execute(scim2RestClient);
+            stats.record(System.nanoTime() - start);
+            Object totalResults = response.get(TOTAL_RESULTS_ATTRIBUTE);
+            query.totalResults = totalResults != null ? Long.parseLong(totalResults.toString()) : 0;
+        }
+        return stats;
+    }
+
+    private String getDomain(String userStore) {
+
+        switch (userStore) {
+            case PRIMARY_USER_STORE:
+                return null;
+            case JDBC_USER_STORE:
+                return JDBC_USER_STORE_DOMAIN;
+            case LDAP_USER_STORE:
+                return LDAP_USER_STORE_DOMAIN;
+            default:
+                throw new IllegalArgumentException("Unsupported user store: " + userStore);
+        }
+    }
+
+    private void addJDBCUserStore() throws Exception {
+
+        String url = "jdbc:h2:" + ServerConfigurationManager.getCarbonHome() + "/repository/database/" +
+                USER_STORE_DB_NAME;
+        H2DataBaseManager dataBaseManager = new H2DataBaseManager(url, DB_USER_NAME, DB_USER_PASSWORD);
+        dataBaseManager.executeUpdate(new File(ServerConfigurationManager.getCarbonHome() + "/dbscripts/h2.sql"));
+        dataBaseManager.disconnect();
+
+        UserStoreReq userStore = new UserStoreReq();
+        userStore.setTypeId(JDBC_USER_STORE_TYPE);
+        userStore.setName(JDBC_USER_STORE_DOMAIN);
+        userStore.addPropertiesItem(new Property().name("driverName").value("org.h2.Driver"));
+        userStore.addPropertiesItem(new Property().name("url").value(url));
+        userStore.addPropertiesItem(new Property().name("userName").value(DB_USER_NAME));
+        userStore.addPropertiesItem(new Property().name("password").value(DB_USER_PASSWORD));
+        userStore.addPropertiesItem(new Property().name("UserIDEnabled").value("true"));
+        userStore.addPropertiesItem(new Property().name("GroupIDEnabled").value("true"));
+        addUserStore(JDBC_USER_STORE_DOMAIN, userStore);
+    }
+
+    private void addLDAPUserStore() throws Exception {
+
+        UserStoreReq userStore = new UserStoreReq();
+        userStore.setTypeId(LDAP_USER_STORE_TYPE);
+        userStore.setName(LDAP_USER_STORE_DOMAIN);
+        userStore.addPropertiesItem(new Property().name("ConnectionURL").value(LDAP_CONNECTION_URL));
+        userStore.addPropertiesItem(new Property().name("ConnectionName").value(LDAP_CONNECTION_NAME));
+        userStore.addPropertiesItem(new Property().name("ConnectionPassword").value(LDAP_CONNECTION_PASSWORD));
+        userStore.addPropertiesItem(new Property().name("UserSearchBase").value(LDAP_USER_SEARCH_BASE));
+        userStore.addPropertiesItem(new Property().name("GroupSearchBase").value(LDAP_GROUP_SEARCH_BASE));
+        userStore.addPropertiesItem(new Property().name("UserEntryObjectClass").value("identityPerson"));
+        userStore.addPropertiesItem(new Property().name("UserNameAttribute").value("uid"));
+        userStore.addPropertiesItem(new Property().name("UserIDAttribute").value("scimId"));
+        userStore.addPropertiesItem(new Property().name("UserNameSearchFilter")
+                .value("(&(objectClass=person)(uid=?))"));
+        userStore.addPropertiesItem(new Property().name("UserNameListFilter").value("(objectClass=person)"));
+        userStore.addPropertiesItem(new Property().name("UserIdSearchFilter")
+                .value("(&(objectClass=person)(scimId=?))"));
+        userStore.addPropertiesItem(new Property().name("GroupEntryObjectClass").value("groupOfNames"));
+        userStore.addPropertiesItem(new Property().name("GroupNameAttribute").value("cn"));
+        userStore.addPropertiesItem(new Property().name("GroupNameSearchFilter")
+                .value("(&(objectClass=groupOfNames)(cn=?))"));
+        userStore.addPropertiesItem(new Property().name("GroupNameListFilter").value("(objectClass=groupOfNames)"));
+        userStore.addPropertiesItem(new Property().name("MembershipAttribute").value("member"));
+        userStore.addPropertiesItem(new Property().name("ReadGroups").value("true"));
+        userStore.addPropertiesItem(new Property().name("WriteGroups").value("true"));
+        userStore.addPropertiesItem(new Property().name("GroupIDEnabled").value("true"));
+        addUserStore(LDAP_USER_STORE_DOMAIN, userStore);
+    }
+
+    private void addUserStore(String domain, UserStoreReq userStore) throws Exception {
+
+        userStoreIds.put(domain, userStoreMgtRestClient.addUserStore(userStore));
+        Assert.assertTrue(userStoreMgtRestClient.waitForUserStoreDeployment(domain),
+                "User store " + domain + " was not deployed.");
+    }
+
+    private static int[] parseSizes(String sizes) {
+
+        String[] values = sizes.trim().split("\\s*,\\s*");
+        int[] parsed = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            parsed[i] = Integer.parseInt(values[i]);
+        }
+        return parsed;
+    }
+
+    /**
+     * A SCIM2 list request of the benchmark.
+     */
+    private static class BenchmarkQuery {
+
+        private final String name;
+        private final boolean groups;
+        private final String filter;
+        private final Integer startIndex;
+        private final Integer count;
+        private final String domain;
+        private final long expectedResults;
+        // Total results returned by the last execution of the query.
+        private long totalResults;
+
+        private BenchmarkQuery(String name, boolean groups, String filter, Integer startIndex, Integer count,
+                               String domain, long expectedResults) {
+
+            this.name = name;
+            this.groups = groups;
+            this.filter = filter;
+            this.startIndex = startIndex;
+            this.count = count;
+            this.domain = domain;
+            this.expectedResults = expectedResults;
+        }
+
+        static BenchmarkQuery users(String name, String filter, Integer startIndex, Integer count, String domain,
+                                    long expectedResults) {
+
+            return new BenchmarkQuery(name, false, filter, startIndex, count, domain, expectedResults);
+        }
+
+        static BenchmarkQuery groups(String name, String filter, Integer startIndex, Integer count, String domain,
+                                     long expectedResults) {
+
+            return new BenchmarkQuery(name, true, filter, startIndex, count, domain, expectedResults);
+        }
+
+        JSONObject execute(SCIM2RestClient client) throws Exception {
+
+            return groups ? client.listGroups(filter, startIndex, count, domain) :
+                    client.listUsers(filter, startIndex, count, domain);
+        }
+    }
+}
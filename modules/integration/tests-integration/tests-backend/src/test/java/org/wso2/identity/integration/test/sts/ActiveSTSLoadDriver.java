@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.sts;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.wso2.identity.integration.common.clients.sts.ws.trust.util.RequestConstructor;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+import org.wso2.identity.integration.test.utils.LoadRunner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives concurrent WS-Trust requests against the active STS, to measure how many tokens it can issue, renew and
+ * validate.
+ * <p>
+ * Each virtual user issues a SAML token and then renews and validates it, for the operations the driver is created
+ * with. The requests are built from the RST templates in ws-trust-templates, through {@link RequestConstructor}, once
+ * when the driver is created. Only the timestamps, the message id and the token reference are filled in for each
+ * request, so that building the requests does not take a noticeable share of the client time.
+ * <p>
+ * The requests are authenticated with a username token and are not signed, so the only client side cryptography is
+ * TLS. All the virtual users share one SSL context and one pool of keep-alive connections, sized to the number of
+ * virtual users, so that a TLS handshake is done once for each connection instead of once for each request.
+ */
+public class ActiveSTSLoadDriver implements Closeable {
+
+    private static final Log log = LogFactory.getLog(ActiveSTSLoadDriver.class);
+
+    private static final String CREATED_MARKER = "@@CREATED@@";
+    private static final String EXPIRES_MARKER = "@@EXPIRES@@";
+    private static final String URI_MARKER = "@@URI@@";
+    private static final String MESSAGE_ID_MARKER = "@@MESSAGE_ID@@";
+    private static final String SAML20_TOKEN_TYPE = "http://docs.oasis-open.org/wss/oasis-wss-saml-token-profile-1.1" +
+            "#SAMLV2.0";
+    private static final String VALID_STATUS = "http://schemas.xmlsoap.org/ws/2005/02/trust/status/valid";
+    // Requests expire five minutes after they are created, as done by ClientUtils.
+    private static final long REQUEST_VALIDITY_SECONDS = TimeUnit.MINUTES.toSeconds(5);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private static final Pattern MESSAGE_ID_PATTERN = Pattern.compile("<wsa:MessageID>[^<]*</wsa:MessageID>");
+    private static final Pattern ACTION_PATTERN = Pattern.compile("<wsa:Action>([^<]*)</wsa:Action>");
+    private static final Pattern USERNAME_PATTERN = Pattern.compile("(<wsse:Username>)[^<]*(</wsse:Username>)");
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile("(<wsse:Password[^>]*>)[^<]*(</wsse:Password>)");
+    private static final Pattern TOKEN_REFERENCE_PATTERN = Pattern.compile("Reference URI=\"#([^\"]+)\"");
+    private static final Pattern REQUESTED_TOKEN_PATTERN = Pattern.compile("RequestedSecurityToken");
+
+    private final String endpoint;
+    private final TokenType tokenType;
+    private final List<Operation> operations;
+    private final Map<Operation, String> requestTemplates = new EnumMap<>(Operation.class);
+    private final Map<Operation, String> soapActions = new EnumMap<>(Operation.class);
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * Create a driver. The request templates are built and the connection pool is created, but no request is sent.
+     *
+     * @param endpoint       Endpoint of the STS, eg: https://localhost:9853/services/wso2carbon-sts.
+     * @param username       User name of the username token.
+     * @param password       Password of the username token.
+     * @param tokenType      Type of the issued tokens.
+     * @param operations     Operations done by each virtual user in each iteration. A token is always issued, as the
+     *                       other operations need one.
+     * @param maxConnections Maximum number of pooled connections, usually the number of virtual users.
+     */
+    public ActiveSTSLoadDriver(String endpoint, String username, String password, TokenType tokenType,
+                               List<Operation> operations, int maxConnections) {
+
+        this.endpoint = endpoint;
+        this.tokenType = tokenType;
+        this.operations = new ArrayList<>(operations);
+        if (!this.operations.contains(Operation.ISSUE)) {
+            this.operations.add(0, Operation.ISSUE);
+        }
+
+        requestTemplates.put(Operation.ISSUE, prepareTemplate(RequestConstructor.buildRSTToRequestSecurityToken(
+                CREATED_MARKER, EXPIRES_MARKER), username, password));
+        requestTemplates.put(Operation.RENEW, prepareTemplate(RequestConstructor.buildRSTToRenewSecurityToken(
+                CREATED_MARKER, EXPIRES_MARKER, URI_MARKER), username, password));
+        requestTemplates.put(Operation.VALIDATE, prepareTemplate(RequestConstructor.buildRSTToValidateSecurityToken(
+                CREATED_MARKER, EXPIRES_MARKER, URI_MARKER), username, password));
+        for (Map.Entry<Operation, String> template : requestTemplates.entrySet()) {
+            Matcher matcher = ACTION_PATTERN.matcher(template.getValue());
+            if (!matcher.find()) {
+                throw new IllegalStateException("No WS-Addressing action in the " + template.getKey() + " template.");
+            }
+            soapActions.put(template.getKey(), matcher.group(1).trim());
+        }
+
+        connectionManager = LoadRunner.createConnectionManager(maxConnections);
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // The requests carry their own credentials, so the connections can be shared by all virtual users.
+                .disableConnectionState()
+                .disableCookieManagement()
+                .build();
+    }
+
+    /**
+     * Run the virtual users concurrently. Each virtual user runs the warm up iterations, waits for all the others to
+     * be warmed up, and then runs the measured iterations.
+     *
+     * @param virtualUsers     Number of concurrent virtual users.
+     * @param warmupIterations Iterations of each virtual user which are not measured.
+     * @param iterations       Measured iterations of each virtual user.
+     * @return Latencies and failures of the measured iterations.
+     * @throws Exception If a virtual user cannot be run.
+     */
+    public LoadResult run(int virtualUsers, int warmupIterations, int iterations) throws Exception {
+
+        List<VirtualUser> virtualUsersList = new ArrayList<>();
+        for (int i = 0; i < virtualUsers; i++) {
+            virtualUsersList.add(new VirtualUser(iterations));
+        }
+        LoadResult result = new LoadResult(operations, virtualUsers * iterations);
+        result.elapsedNanos = LoadRunner.forIterations(warmupIterations, iterations).run(virtualUsersList);
+        for (VirtualUser virtualUser : virtualUsersList) {
+            for (Operation operation : operations) {
+                result.latencies.get(operation).merge(virtualUser.latencies.get(operation));
+                result.failures.put(operation, result.failures.get(operation) + virtualUser.failures.get(operation));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        httpClient.close();
+        connectionManager.shutdown();
+    }
+
+    /**
+     * Replace the parts of a built RST which change for each request with markers, and set the credentials and the
+     * token type.
+     */
+    private String prepareTemplate(String request, String username, String password) {
+
+        String template = MESSAGE_ID_PATTERN.matcher(request).replaceFirst("<wsa:MessageID>" + MESSAGE_ID_MARKER +
+                "</wsa:MessageID>");
+        template = USERNAME_PATTERN.matcher(template).replaceFirst("$1" + Matcher.quoteReplacement(username) + "$2");
+        template = PASSWORD_PATTERN.matcher(template).replaceFirst("$1" + Matcher.quoteReplacement(password) + "$2");
+        // The templates request SAML 2.0 tokens, and refer to the renewed and validated tokens as SAML 2.0 tokens.
+        template = template.replace("<wst:TokenType>" + SAML20_TOKEN_TYPE, "<wst:TokenType>" + tokenType.getUri());
+        template = template.replace("ValueType=\"" + SAML20_TOKEN_TYPE, "ValueType=\"" +
+                tokenType.getReferenceValueType());
+        // Velocity keeps the whitespace around the values, which the STS does not trim from the timestamps.
+        return template.replaceAll("\\s*" + CREATED_MARKER + "\\s*", CREATED_MARKER)
+                .replaceAll("\\s*" + EXPIRES_MARKER + "\\s*", EXPIRES_MARKER);
+    }
+
+    private String buildRequest(Operation operation, String tokenId) {
+
+        Instant now = Instant.now();
+        String request = requestTemplates.get(operation)
+                .replace(CREATED_MARKER, TIMESTAMP_FORMAT.format(now))
+                .replace(EXPIRES_MARKER, TIMESTAMP_FORMAT.format(now.plusSeconds(REQUEST_VALIDITY_SECONDS)))
+                .replace(MESSAGE_ID_MARKER, "urn:uuid:" + UUID.randomUUID());
+        return tokenId == null ? request : request.replace(URI_MARKER, tokenId);
+    }
+
+    /**
+     * Send a request and return the response, or null if the STS did not respond with a success status.
+     */
+    private String send(Operation operation, String request) throws IOException {
+
+        HttpPost post = new HttpPost(endpoint);
+        post.setEntity(new StringEntity(request, StandardCharsets.UTF_8));
+        post.setHeader(HttpHeaders.CONTENT_TYPE, "application/soap+xml; charset=UTF-8; action=\"" +
+                soapActions.get(operation) + "\"");
+        HttpResponse response = httpClient.execute(post);
+        // Consume the whole response, so that the connection is released back to the pool.
+        String body = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        if (response.getStatusLine().getStatusCode() != 200) {
+            if (log.isDebugEnabled()) {
+                log.debug(operation + " request failed with status " + response.getStatusLine() + ": " + body);
+            }
+            return null;
+        }
+        return body;
+    }
+
+    /**
+     * Type of the tokens issued by the STS.
+     */
+    public enum TokenType {
+
+        SAML11("http://docs.oasis-open.org/wss/oasis-wss-saml-token-profile-1.1#SAMLV1.1",
+                "http://docs.oasis-open.org/wss/oasis-wss-saml-token-profile-1.0#SAMLAssertionID"),
+        SAML20(SAML20_TOKEN_TYPE, SAML20_TOKEN_TYPE);
+
+        private final String uri;
+        private final String referenceValueType;
+
+        TokenType(String uri, String referenceValueType) {
+
+            this.uri = uri;
+            this.referenceValueType = referenceValueType;
+        }
+
+        public String getUri() {
+
+            return uri;
+        }
+
+        public String getReferenceValueType() {
+
+            return referenceValueType;
+        }
+    }
+
+    /**
+     * WS-Trust operations done by the virtual users.
+     */
+    public enum Operation {
+        ISSUE, RENEW, VALIDATE
+    }
+
+    /**
+     * Latencies and failures of a run, for each operation.
+     */
+    public static class LoadResult {
+
+        private final Map<Operation, LatencyStats> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> failures = new EnumMap<>(Operation.class);
+        private long elapsedNanos;
+
+        LoadResult(List<Operation> operations, int expectedSamples) {
+
+            for (Operation operation : operations) {
+                latencies.put(operation, new LatencyStats(expectedSamples));
+                failures.put(operation, 0);
+            }
+        }
+
+        /**
+         * Get the latencies of the successful requests of an operation.
+         *
+         * @param operation Operation.
+         * @return Latencies of the operation.
+         */
+        public LatencyStats getLatencies(Operation operation) {
+
+            return latencies.get(operation);
+        }
+
+        /**
+         * Get the number of failed requests of an operation.
+         *
+         * @param operation Operation.
+         * @return Number of failed requests.
+         */
+        public int getFailures(Operation operation) {
+
+            return failures.get(operation);
+        }
+
+        /**
+         * Get the rate of the successful requests of an operation over the whole run.
+         *
+         * @param operation Operation.
+         * @return Successful requests per second.
+         */
+        public double getThroughput(Operation operation) {
+
+            return LoadRunner.perSecond(latencies.get(operation).getCount(), elapsedNanos);
+        }
+
+        public long getElapsedNanos() {
+
+            return elapsedNanos;
+        }
+    }
+
+    /**
+     * A virtual user, which runs its iterations from its own thread.
+     */
+    private class VirtualUser implements LoadRunner.Worker {
+
+        private final Map<Operation, LatencyStats> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> failures = new EnumMap<>(Operation.class);
+
+        VirtualUser(int iterations) {
+
+            for (Operation operation : operations) {
+                latencies.put(operation, new LatencyStats(iterations));
+                failures.put(operation, 0);
+            }
+        }
+
+        @Override
+        public void runIteration(int iteration, boolean measured) {
+
+            String tokenId = null;
+            for (Operation operation : operations) {
+                if (operation != Operation.ISSUE && tokenId == null) {
+                    // The token was not issued, so it can be neither renewed nor validated.
+                    recordFailure(operation, measured);
+                    continue;
+                }
+                String request = buildRequest(operation, tokenId);
+                long startTime = System.nanoTime();
+                String response;
+                try {
+                    response = send(operation, request);
+                } catch (IOException e) {
+                    // A request which could not be sent, eg: as the connection was reset under load, is a failure of
+                    // the operation instead of the end of the run.
+                    if (log.isDebugEnabled()) {
+                        log.debug(operation + " request could not be sent.", e);
+                    }
+                    response = null;
+                }
+                long latency = System.nanoTime() - startTime;
+
+                boolean success = response != null;
+                if (success && operation == Operation.ISSUE) {
+                    Matcher matcher = TOKEN_REFERENCE_PATTERN.matcher(response);
+                    success = matcher.find();
+                    tokenId = success ? matcher.group(1) : null;
+                } else if (success && operation == Operation.RENEW) {
+                    success = REQUESTED_TOKEN_PATTERN.matcher(response).find();
+                } else if (success && operation == Operation.VALIDATE) {
+                    success = response.contains(VALID_STATUS);
+                }
+
+                if (!success) {
+                    recordFailure(operation, measured);
+                } else if (measured) {
+                    latencies.get(operation).record(latency);
+                }
+            }
+        }
+
+        private void recordFailure(Operation operation, boolean measured) {
+
+            if (measured) {
+                failures.put(operation, failures.get(operation) + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.sts;
+
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.xsd.InboundAuthenticationRequestConfig;
+import org.wso2.carbon.identity.application.common.model.xsd.ServiceProvider;
+import org.wso2.carbon.integration.common.admin.client.SecurityAdminServiceClient;
+import org.wso2.identity.integration.common.clients.application.mgt.ApplicationManagementServiceClient;
+import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.test.sts.ActiveSTSLoadDriver.LoadResult;
+import org.wso2.identity.integration.test.sts.ActiveSTSLoadDriver.Operation;
+import org.wso2.identity.integration.test.sts.ActiveSTSLoadDriver.TokenType;
+import org.wso2.identity.integration.test.utils.BenchmarkReport;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures how many tokens the active STS issues, renews and validates per second, and the latency of each
+ * operation, with concurrent WS-Trust clients.
+ * <p>
+ * The requests are sent by {@link ActiveSTSLoadDriver}, for each token type. The throughput and the latency
+ * percentiles of each operation are logged and written as CSV to {@value #REPORT_FILE_NAME} in the report directory.
+ * <p>
+ * The benchmark is not part of the default test suite. It is run with the benchmark profile, eg:
+ * mvn clean install -DintegrationTests -Dbenchmark=sts -Dsts.benchmark.threads=16
+ * <p>
+ * The benchmark can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #TOKEN_TYPES_PROPERTY} - Comma separated token types, out of SAML11 and SAML20. Default is
+ *     SAML11,SAML20.</li>
+ *     <li>{@value #OPERATIONS_PROPERTY} - Comma separated operations of each iteration, out of ISSUE, RENEW and
+ *     VALIDATE. Default is ISSUE,RENEW,VALIDATE.</li>
+ *     <li>{@value #THREADS_PROPERTY} - Concurrent virtual users. Default is 8.</li>
+ *     <li>{@value #WARMUP_PROPERTY} - Warm up iterations of each virtual user. Default is 20.</li>
+ *     <li>{@value #ITERATIONS_PROPERTY} - Measured iterations of each virtual user. Default is 200.</li>
+ *     <li>{@value #REPORT_DIR_PROPERTY} - Directory of the CSV report. Default is the directory of the benchmark
+ *     profile, or target/sts-benchmark.</li>
+ * </ul>
+ */
+public class ActiveSTSLoadTestCase extends ISIntegrationTest {
+
+    private static final Log log = LogFactory.getLog(ActiveSTSLoadTestCase.class);
+
+    private static final String TOKEN_TYPES_PROPERTY = "sts.benchmark.tokenTypes";
+    private static final String OPERATIONS_PROPERTY = "sts.benchmark.operations";
+    private static final String THREADS_PROPERTY = "sts.benchmark.threads";
+    private static final String WARMUP_PROPERTY = "sts.benchmark.warmup";
+    private static final String ITERATIONS_PROPERTY = "sts.benchmark.iterations";
+    private static final String REPORT_DIR_PROPERTY = "sts.benchmark.reportDir";
+    private static final String REPORT_FILE_NAME = "active-sts.csv";
+    private static final String REPORT_HEADER = "tokenType,operation,threads,requests,failures,requestsPerSecond," +
+            "meanMillis,p50Millis,p90Millis,p99Millis,p999Millis,maxMillis";
+
+    private static final String SERVICE_PROVIDER_NAME = "ActiveSTSLoadTest";
+    private static final String SERVICE_PROVIDER_DESCRIPTION = "ActiveSTS Load Test Service Provider";
+    private static final String SERVICE_NAME = "wso2carbon-sts";
+    private static final String POLICY_ID = "1";
+    private static final String USER_GROUP = "admin";
+    private static final String WS_TRUST_AUTH_TYPE = "wstrust";
+    private static final String INBOUND_CONFIG_TYPE = "standardAPP";
+    // The AppliesTo address of the request_security_token_RST.xml template.
+    private static final String ENDPOINT_ADDRESS_VALUE = "https://localhost:10443/services/echo";
+
+    private final List<TokenType> tokenTypes = new ArrayList<>();
+    private final List<Operation> operations = new ArrayList<>();
+    private final int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+    private final int warmup = Integer.getInteger(WARMUP_PROPERTY, 20);
+    private final int iterations = Integer.getInteger(ITERATIONS_PROPERTY, 200);
+    private ApplicationManagementServiceClient applicationManagementServiceClient;
+    private SecurityAdminServiceClient securityAdminServiceClient;
+    private BenchmarkReport report;
+
+    @BeforeClass(alwaysRun = true)
+    public void testInit() throws Exception {
+
+        super.init();
+        super.login();
+        super.setSystemproperties();
+
+        for (String tokenType : System.getProperty(TOKEN_TYPES_PROPERTY, "SAML11,SAML20").trim()
+                .split("\\s*,\\s*")) {
+            tokenTypes.add(TokenType.valueOf(tokenType.toUpperCase(Locale.ENGLISH)));
+        }
+        for (String operation : System.getProperty(OPERATIONS_PROPERTY, "ISSUE,RENEW,VALIDATE").trim()
+                .split("\\s*,\\s*")) {
+            operations.add(Operation.valueOf(operation.toUpperCase(Locale.ENGLISH)));
+        }
+
+        ConfigurationContext configContext = ConfigurationContextFactory
+                .createConfigurationContextFromFileSystem(null, null);
+        applicationManagementServiceClient = new ApplicationManagementServiceClient(
+                sessionCookie, backendURL, configContext);
+        securityAdminServiceClient = new SecurityAdminServiceClient(backendURL, sessionCookie);
+        securityAdminServiceClient.applySecurity(SERVICE_NAME, POLICY_ID,
+                new String[]{USER_GROUP}, new String[]{}, null);
+        addServiceProvider();
+
+        report = new BenchmarkReport(BenchmarkReport.getReportDir(REPORT_DIR_PROPERTY, "sts-benchmark"),
+                REPORT_FILE_NAME, REPORT_HEADER);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void testClear() throws Exception {
+
+        if (report != null) {
+            report.close();
+        }
+        applicationManagementServiceClient.deleteApplication(SERVICE_PROVIDER_NAME);
+        securityAdminServiceClient.disableSecurity(SERVICE_NAME);
+    }
+
+    @DataProvider(name = "tokenTypes")
+    public Object[][] tokenTypeData() {
+
+        Object[][] data = new Object[tokenTypes.size()][];
+        for (int i = 0; i < tokenTypes.size(); i++) {
+            data[i] = new Object[]{tokenTypes.get(i)};
+        }
+        return data;
+    }
+
+    @Test(description = "Measure the throughput and latency of the WS-Trust operations of the active STS.",
+            dataProvider = "tokenTypes")
+    public void testTokenThroughputAndLatency(TokenType tokenType) throws Exception {
+
+        LoadResult result;
+        try (ActiveSTSLoadDriver driver = new ActiveSTSLoadDriver(backendURL + SERVICE_NAME,
+                tenantInfo.getContextUser().getUserName(), tenantInfo.getContextUser().getPassword(), tokenType,
+                operations, threads)) {
+            result = driver.run(threads, warmup, iterations);
+        }
+
+        for (Operation operation : operations) {
+            LatencyStats stats = result.getLatencies(operation);
+            int failures = result.getFailures(operation);
+            log.info(String.format("tokenType=%s %-8s requests=%d failures=%d requests/s=%.1f mean=%.2fms " +
+                            "p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms", tokenType, operation,
+                    stats.getCount(), failures, result.getThroughput(operation), stats.mean(), stats.percentile(50),
+                    stats.percentile(90), stats.percentile(99), stats.percentile(99.9), stats.percentile(100)));
+            report.addRow("%s,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", tokenType, operation, threads,
+                    stats.getCount(), failures, result.getThroughput(operation), stats.mean(), stats.percentile(50),
+                    stats.percentile(90), stats.percentile(99), stats.percentile(99.9), stats.percentile(100));
+        }
+        for (Operation operation : operations) {
+            Assert.assertEquals(result.getFailures(operation), 0, "Failed " + operation + " requests for " +
+                    tokenType + " tokens.");
+        }
+    }
+
+    private void addServiceProvider() throws Exception {
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationName(SERVICE_PROVIDER_NAME);
+        serviceProvider.setDescription(SERVICE_PROVIDER_DESCRIPTION);
+        applicationManagementServiceClient.createApplication(serviceProvider);
+
+        serviceProvider = applicationManagementServiceClient.getApplication(SERVICE_PROVIDER_NAME);
+        InboundAuthenticationRequestConfig inboundConfig = new InboundAuthenticationRequestConfig();
+        inboundConfig.setInboundAuthKey(ENDPOINT_ADDRESS_VALUE);
+        inboundConfig.setInboundAuthType(WS_TRUST_AUTH_TYPE);
+        inboundConfig.setInboundConfigType(INBOUND_CONFIG_TYPE);
+        serviceProvider.getInboundAuthenticationConfig().setInboundAuthenticationRequestConfigs(
+                new InboundAuthenticationRequestConfig[]{inboundConfig});
+        applicationManagementServiceClient.updateApplicationData(serviceProvider);
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.sts;
+
+import org.apache.commons.lang.StringEscapeUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+import org.wso2.identity.integration.test.utils.HtmlInputExtractor;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+import org.wso2.identity.integration.test.utils.LoadRunner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives concurrent WS-Federation passive sign-in and sign-out cycles against the passive STS, and measures the
+ * latency of each hop of the cycle. This is the Java counterpart of jmeter-tests/passive-sts/sign-in.jmx.
+ * <p>
+ * Each virtual user is a browser of its own, with its own cookie store, so that the sessions of the virtual users do
+ * not leak into each other. A cycle is made of the following hops, built the same way as in {@link TestPassiveSTS}.
+ * Redirects of the GET requests are followed, and are part of the latency of the hop.
+ * <ul>
+ *     <li>SIGN_IN - wsignin1.0 request to the passive STS, which redirects to the login page. The sessionDataKey is
+ *     taken from the login page.</li>
+ *     <li>LOGIN - Credentials posted to commonauth, which redirects back to the passive STS.</li>
+ *     <li>TOKEN - The redirect back to the passive STS, which responds with a form carrying the wa, wresult and wctx
+ *     parameters, to be posted to the relying party.</li>
+ *     <li>RELYING_PARTY - The form posted to its action, the wreply of the relying party. Only done when the
+ *     relying party is deployed.</li>
+ *     <li>SIGN_OUT - wsignout1.0 request to the passive STS.</li>
+ * </ul>
+ * Unlike the regular expressions of the JMeter plan, the form is parsed with {@link HtmlInputExtractor}, so that the
+ * correlated values do not depend on the order of the attributes and are HTML unescaped before they are posted. wctx
+ * is only posted when the STS sends it. Since every cycle starts with a login page, a sign out which left the session
+ * behind fails the SIGN_IN hop of the next cycle. A failed cycle discards the cookies of the virtual user, so that the
+ * next cycle starts with a new session.
+ */
+public class PassiveSTSLoadDriver implements Closeable {
+
+    private static final Log log = LogFactory.getLog(PassiveSTSLoadDriver.class);
+
+    private static final String SESSION_DATA_KEY = "sessionDataKey";
+    private static final String WA = "wa";
+    private static final String WRESULT = "wresult";
+    private static final String WCTX = "wctx";
+    private static final String WA_SIGN_IN = "wsignin1.0";
+    private static final String WA_SIGN_OUT = "wsignout1.0";
+    private static final String CONSENT_PAGE = "consent.do";
+    private static final String AUTHENTICATION_ERROR = "Authentication Error!";
+    private static final Pattern FORM_ACTION_PATTERN = Pattern.compile("<form\\b[^>]*\\baction\\s*=\\s*[\"']([^\"']*)",
+            Pattern.CASE_INSENSITIVE);
+
+    private final String passiveStsUrl;
+    private final String commonAuthUrl;
+    private final String realm;
+    private final String replyUrl;
+    private final String username;
+    private final String password;
+    private final boolean postToRelyingParty;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * Create a driver. The connection pool is created, but no request is sent.
+     *
+     * @param passiveStsUrl      Passive STS endpoint, eg: https://localhost:9853/passivests.
+     * @param commonAuthUrl      Common auth endpoint, eg: https://localhost:9853/commonauth.
+     * @param realm              wtrealm of the relying party, the inbound auth key of its service provider.
+     * @param replyUrl           wreply of the relying party.
+     * @param username           User name the virtual users sign in with.
+     * @param password           Password of the user.
+     * @param postToRelyingParty Whether the token is posted to the relying party, which must then be deployed.
+     * @param maxConnections     Maximum number of pooled connections, usually the number of virtual users.
+     */
+    public PassiveSTSLoadDriver(String passiveStsUrl, String commonAuthUrl, String realm, String replyUrl,
+                                String username, String password, boolean postToRelyingParty, int maxConnections) {
+
+        this.passiveStsUrl = passiveStsUrl;
+        this.commonAuthUrl = commonAuthUrl;
+        this.realm = realm;
+        this.replyUrl = replyUrl;
+        this.username = username;
+        this.password = password;
+        this.postToRelyingParty = postToRelyingParty;
+
+        connectionManager = LoadRunner.createConnectionManager(maxConnections);
+        // The relying party is a host of its own, so the pool holds the connections of both the hosts.
+        connectionManager.setMaxTotal(maxConnections * 2);
+        // The cookies are kept in the context of each virtual user, not in the client, so the pooled connections can
+        // be shared by all the virtual users.
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom().setCookieSpec(CookieSpecs.STANDARD).build())
+                .disableConnectionState()
+                .build();
+    }
+
+    /**
+     * Run the virtual users concurrently. Each virtual user runs the warm up cycles, waits for all the others to be
+     * warmed up, and then runs the measured cycles.
+     *
+     * @param virtualUsers Number of concurrent virtual users.
+     * @param warmupCycles Sign-in and sign-out cycles of each virtual user which are not measured.
+     * @param cycles       Measured cycles of each virtual user.
+     * @return Latencies and failures of the measured cycles.
+     * @throws Exception If a virtual user cannot be run.
+     */
+    public LoadResult run(int virtualUsers, int warmupCycles, int cycles) throws Exception {
+
+        List<VirtualUser> virtualUsersList = new ArrayList<>();
+        for (int i = 0; i < virtualUsers; i++) {
+            virtualUsersList.add(new VirtualUser(cycles));
+        }
+        LoadResult result = new LoadResult(virtualUsers * cycles);
+        result.elapsedNanos = LoadRunner.forIterations(warmupCycles, cycles).run(virtualUsersList);
+        for (VirtualUser virtualUser : virtualUsersList) {
+            for (Hop hop : Hop.values()) {
+                result.latencies.get(hop).merge(virtualUser.latencies.get(hop));
+                result.failures.put(hop, result.failures.get(hop) + virtualUser.failures.get(hop));
+            }
+            result.cycleLatencies.merge(virtualUser.cycleLatencies);
+            result.failedCycles += virtualUser.failedCycles;
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        httpClient.close();
+        connectionManager.shutdown();
+    }
+
+    private String buildPassiveStsUrl(String action) throws IOException {
+
+        try {
+            return new URIBuilder(passiveStsUrl)
+                    .addParameter(WA, action)
+                    .addParameter("wreply", replyUrl)
+                    .addParameter("wtrealm", realm)
+                    .build().toString();
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid passive STS URL: " + passiveStsUrl, e);
+        }
+    }
+
+    /**
+     * Hops of a sign-in and sign-out cycle, in the order they are done.
+     */
+    public enum Hop {
+        SIGN_IN, LOGIN, TOKEN, RELYING_PARTY, SIGN_OUT
+    }
+
+    /**
+     * Latencies and failures of a run, for each hop and for the whole cycle.
+     */
+    public static class LoadResult {
+
+        private final Map<Hop, LatencyStats> latencies = new EnumMap<>(Hop.class);
+        private final Map<Hop, Integer> failures = new EnumMap<>(Hop.class);
+        private final LatencyStats cycleLatencies;
+        private int failedCycles;
+        private long elapsedNanos;
+
+        LoadResult(int expectedCycles) {
+
+            for (Hop hop : Hop.values()) {
+                latencies.put(hop, new LatencyStats(expectedCycles));
+                failures.put(hop, 0);
+            }
+            cycleLatencies = new LatencyStats(expectedCycles);
+        }
+
+        /**
+         * Get the latencies of the successful requests of a hop.
+         *
+         * @param hop Hop of the cycle.
+         * @return Latencies of the hop.
+         */
+        public LatencyStats getLatencies(Hop hop) {
+
+            return latencies.get(hop);
+        }
+
+        /**
+         * Get the number of failed requests of a hop.
+         *
+         * @param hop Hop of the cycle.
+         * @return Number of failed requests.
+         */
+        public int getFailures(Hop hop) {
+
+            return failures.get(hop);
+        }
+
+        /**
+         * Get the latencies of the cycles in which every hop succeeded.
+         *
+         * @return Latencies of the successful cycles.
+         */
+        public LatencyStats getCycleLatencies() {
+
+            return cycleLatencies;
+        }
+
+        public int getFailedCycles() {
+
+            return failedCycles;
+        }
+
+        /**
+         * Get the rate of the successful cycles over the whole run.
+         *
+         * @return Successful cycles per second.
+         */
+        public double getCyclesPerSecond() {
+
+            return LoadRunner.perSecond(cycleLatencies.getCount(), elapsedNanos);
+        }
+
+        public long getElapsedNanos() {
+
+            return elapsedNanos;
+        }
+    }
+
+    /**
+     * A virtual user, which runs its cycles from its own thread, with its own cookies.
+     */
+    private class VirtualUser implements LoadRunner.Worker {
+
+        private final BasicCookieStore cookieStore = new BasicCookieStore();
+        private final HttpClientContext context = HttpClientContext.create();
+        private final HtmlInputExtractor inputExtractor = new HtmlInputExtractor();
+        private final Map<Hop, LatencyStats> latencies = new EnumMap<>(Hop.class);
+        private final Map<Hop, Integer> failures = new EnumMap<>(Hop.class);
+        private final LatencyStats cycleLatencies;
+        private int failedCycles;
+        private boolean measured;
+
+        VirtualUser(int cycles) {
+
+            context.setCookieStore(cookieStore);
+            for (Hop hop : Hop.values()) {
+                latencies.put(hop, new LatencyStats(cycles));
+                failures.put(hop, 0);
+            }
+            cycleLatencies = new LatencyStats(cycles);
+        }
+
+        @Override
+        public void runIteration(int iteration, boolean measured) throws IOException {
+
+            this.measured = measured;
+            long startTime = System.nanoTime();
+            if (signIn() && signOut()) {
+                if (measured) {
+                    cycleLatencies.record(System.nanoTime() - startTime);
+                }
+                return;
+            }
+            if (measured) {
+                failedCycles++;
+            }
+            // Start the next cycle from a new browser session.
+            cookieStore.clear();
+        }
+
+        private boolean signIn() throws IOException {
+
+            HopResponse response = execute(new HttpGet(buildPassiveStsUrl(WA_SIGN_IN)));
+            String sessionDataKey = response.isOk() ? extractInputs(response.body, SESSION_DATA_KEY)
+                    .get(SESSION_DATA_KEY) : null;
+            if (!succeeded(Hop.SIGN_IN, response, sessionDataKey != null)) {
+                return false;
+            }
+
+            List<NameValuePair> credentials = new ArrayList<>();
+            credentials.add(new BasicNameValuePair("username", username));
+            credentials.add(new BasicNameValuePair("password", password));
+            credentials.add(new BasicNameValuePair(SESSION_DATA_KEY, sessionDataKey));
+            HttpPost loginRequest = new HttpPost(commonAuthUrl);
+            loginRequest.setEntity(new UrlEncodedFormEntity(credentials, StandardCharsets.UTF_8));
+            response = execute(loginRequest);
+            // A consent page means the service provider requests claims the user did not consent to, which the
+            // driver does not handle.
+            if (!succeeded(Hop.LOGIN, response, response.status == 302 && isValidLocation(response.location) &&
+                    !response.location.contains(CONSENT_PAGE))) {
+                return false;
+            }
+
+            // The location may be relative, eg: ../passivests?sessionDataKey=..., so it is resolved against the login
+            // request, as a browser would.
+            HttpGet tokenRequest = new HttpGet(URIUtils.resolve(loginRequest.getURI(), response.location));
+            response = execute(tokenRequest);
+            Map<String, String> tokenForm = response.isOk() ? extractInputs(response.body, WA, WRESULT, WCTX) : null;
+            String formAction = response.isOk() ? extractFormAction(response.body) : null;
+            if (!succeeded(Hop.TOKEN, response, tokenForm != null && WA_SIGN_IN.equals(tokenForm.get(WA)) &&
+                    tokenForm.get(WRESULT) != null && isValidLocation(formAction))) {
+                return false;
+            }
+            if (!postToRelyingParty) {
+                return true;
+            }
+
+            List<NameValuePair> tokenParameters = new ArrayList<>();
+            for (String name : new String[]{WA, WRESULT, WCTX}) {
+                if (tokenForm.get(name) != null) {
+                    tokenParameters.add(new BasicNameValuePair(name, tokenForm.get(name)));
+                }
+            }
+            HttpPost relyingPartyRequest = new HttpPost(URIUtils.resolve(tokenRequest.getURI(), formAction));
+            relyingPartyRequest.setEntity(new UrlEncodedFormEntity(tokenParameters, StandardCharsets.UTF_8));
+            response = execute(relyingPartyRequest);
+            return succeeded(Hop.RELYING_PARTY, response, response.status < 400);
+        }
+
+        private boolean signOut() throws IOException {
+
+            HopResponse response = execute(new HttpGet(buildPassiveStsUrl(WA_SIGN_OUT)));
+            return succeeded(Hop.SIGN_OUT, response, response.isOk() && !response.body.contains(AUTHENTICATION_ERROR));
+        }
+
+        /**
+         * Send a request. A request which could not be sent, eg: as the connection was reset under load, gives a
+         * response with the status 0, so that it is counted as a failure of the hop instead of ending the run.
+         */
+        private HopResponse execute(HttpUriRequest request) {
+
+            long startTime = System.nanoTime();
+            try {
+                HttpResponse response = httpClient.execute(request, context);
+                // Read the whole response before the clock stops, so that the connection is released back to the
+                // pool.
+                String body = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+                Header location = response.getFirstHeader("Location");
+                return new HopResponse(response.getStatusLine().getStatusCode(), location == null ? null :
+                        location.getValue(), body, System.nanoTime() - startTime);
+            } catch (IOException e) {
+                return new HopResponse(0, null, e.toString(), System.nanoTime() - startTime);
+            }
+        }
+
+        private boolean succeeded(Hop hop, HopResponse response, boolean success) {
+
+            if (!measured) {
+                return success;
+            }
+            if (success) {
+                latencies.get(hop).record(response.latencyNanos);
+            } else {
+                failures.put(hop, failures.get(hop) + 1);
+                if (log.isDebugEnabled()) {
+                    log.debug(hop + " hop failed with status " + response.status + ": " + response.body);
+                }
+            }
+            return success;
+        }
+
+        private Map<String, String> extractInputs(String body, String... inputNames) throws IOException {
+
+            return inputExtractor.extract(new StringReader(body), inputNames);
+        }
+
+        private boolean isValidLocation(String location) {
+
+            if (location == null) {
+                return false;
+            }
+            try {
+                URI.create(location);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        private String extractFormAction(String body) {
+
+            Matcher matcher = FORM_ACTION_PATTERN.matcher(body);
+            return matcher.find() ? StringEscapeUtils.unescapeHtml(matcher.group(1)) : null;
+        }
+    }
+
+    /**
+     * Response of a hop, read in full.
+     */
+    private static class HopResponse {
+
+        private final int status;
+        private final String location;
+        private final String body;
+        private final long latencyNanos;
+
+        HopResponse(int status, String location, String body, long latencyNanos) {
+
+            this.status = status;
+            this.location = location;
+            this.body = body;
+            this.latencyNanos = latencyNanos;
+        }
+
+        boolean isOk() {
+
+            return status == 200;
+        }
+    }
+}
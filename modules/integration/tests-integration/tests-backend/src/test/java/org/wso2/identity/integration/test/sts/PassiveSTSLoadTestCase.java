@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.sts;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.xsd.InboundAuthenticationRequestConfig;
+import org.wso2.carbon.identity.application.common.model.xsd.Property;
+import org.wso2.carbon.identity.application.common.model.xsd.ServiceProvider;
+import org.wso2.identity.integration.common.clients.application.mgt.ApplicationManagementServiceClient;
+import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.test.sts.PassiveSTSLoadDriver.Hop;
+import org.wso2.identity.integration.test.sts.PassiveSTSLoadDriver.LoadResult;
+import org.wso2.identity.integration.test.utils.BenchmarkReport;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+import org.wso2.identity.integration.test.utils.LoadRunner;
+
+import java.io.File;
+
+/**
+ * Measures the latency of each hop of the passive STS sign-in and sign-out cycle, and the number of cycles per
+ * second, with concurrent virtual users. This replaces jmeter-tests/passive-sts/sign-in.jmx.
+ * <p>
+ * The cycles are run by {@link PassiveSTSLoadDriver}, against a service provider which requests no claims, so that
+ * no consent page is shown. The throughput and the latency percentiles of each hop and of the whole cycle are logged
+ * and written as CSV to {@value #REPORT_FILE_NAME} in the report directory, one row per hop, so that the reports of
+ * two builds can be compared row by row.
+ * <p>
+ * The benchmark is not part of the default test suite. It is run with the benchmark profile, eg:
+ * mvn clean install -DintegrationTests -Dbenchmark=sts -Dsts.benchmark.passive.threads=16
+ * <p>
+ * The benchmark can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #THREADS_PROPERTY} - Concurrent virtual users. Default is 8.</li>
+ *     <li>{@value #WARMUP_PROPERTY} - Warm up cycles of each virtual user. Default is 10.</li>
+ *     <li>{@value #CYCLES_PROPERTY} - Measured cycles of each virtual user. Default is 100.</li>
+ *     <li>{@value #REPLY_URL_PROPERTY} - wreply of the relying party. Default is
+ *     {@value #DEFAULT_REPLY_URL}.</li>
+ *     <li>{@value #POST_TO_RELYING_PARTY_PROPERTY} - Set to true to post the token to the relying party, which must
+ *     then be deployed at the wreply. Default is false.</li>
+ *     <li>{@value #REPORT_DIR_PROPERTY} - Directory of the CSV report. Default is the directory of the benchmark
+ *     profile, or target/sts-benchmark.</li>
+ * </ul>
+ */
+public class PassiveSTSLoadTestCase extends ISIntegrationTest {
+
+    private static final Log log = LogFactory.getLog(PassiveSTSLoadTestCase.class);
+
+    private static final String THREADS_PROPERTY = "sts.benchmark.passive.threads";
+    private static final String WARMUP_PROPERTY = "sts.benchmark.passive.warmup";
+    private static final String CYCLES_PROPERTY = "sts.benchmark.passive.cycles";
+    private static final String REPLY_URL_PROPERTY = "sts.benchmark.passive.replyUrl";
+    private static final String POST_TO_RELYING_PARTY_PROPERTY = "sts.benchmark.passive.postToRelyingParty";
+    private static final String REPORT_DIR_PROPERTY = "sts.benchmark.reportDir";
+    private static final String REPORT_FILE_NAME = "passive-sts.csv";
+    private static final String REPORT_HEADER = "hop,threads,samples,failures,samplesPerSecond,meanMillis," +
+            "p50Millis,p90Millis,p99Millis,p999Millis,maxMillis";
+    private static final String CYCLE = "CYCLE";
+
+    private static final String SERVICE_PROVIDER_NAME = "PassiveSTSLoadTest";
+    private static final String SERVICE_PROVIDER_DESCRIPTION = "PassiveSTS Load Test Service Provider";
+    private static final String DEFAULT_REPLY_URL = "http://localhost:8490/PassiveSTSSampleApp";
+
+    private final int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+    private final int warmup = Integer.getInteger(WARMUP_PROPERTY, 10);
+    private final int cycles = Integer.getInteger(CYCLES_PROPERTY, 100);
+    private final String replyUrl = System.getProperty(REPLY_URL_PROPERTY, DEFAULT_REPLY_URL);
+    private final boolean postToRelyingParty = Boolean.getBoolean(POST_TO_RELYING_PARTY_PROPERTY);
+    private ApplicationManagementServiceClient applicationManagementServiceClient;
+    private File reportDir;
+
+    @BeforeClass(alwaysRun = true)
+    public void testInit() throws Exception {
+
+        super.init();
+        super.setSystemproperties();
+
+        applicationManagementServiceClient = new ApplicationManagementServiceClient(sessionCookie, backendURL, null);
+        addServiceProvider();
+
+        reportDir = BenchmarkReport.getReportDir(REPORT_DIR_PROPERTY, "sts-benchmark");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void testClear() throws Exception {
+
+        applicationManagementServiceClient.deleteApplication(SERVICE_PROVIDER_NAME);
+    }
+
+    @Test(description = "Measure the latency of each hop of the passive STS sign-in and sign-out cycle.")
+    public void testSignInCycleLatency() throws Exception {
+
+        String isURL = backendURL.substring(0, backendURL.indexOf("services/"));
+        String tenantDomain = tenantInfo.getDomain();
+        LoadResult result;
+        try (PassiveSTSLoadDriver driver = new PassiveSTSLoadDriver(
+                getTenantQualifiedURL(isURL + "passivests", tenantDomain),
+                getTenantQualifiedURL(isURL + "commonauth", tenantDomain), SERVICE_PROVIDER_NAME, replyUrl,
+                tenantInfo.getContextUser().getUserName(), tenantInfo.getContextUser().getPassword(),
+                postToRelyingParty, threads)) {
+            result = driver.run(threads, warmup, cycles);
+        }
+
+        try (BenchmarkReport report = new BenchmarkReport(reportDir, REPORT_FILE_NAME, REPORT_HEADER)) {
+            for (Hop hop : Hop.values()) {
+                if (hop == Hop.RELYING_PARTY && !postToRelyingParty) {
+                    continue;
+                }
+                writeStats(report, hop.name(), result.getLatencies(hop), result.getFailures(hop),
+                        result.getElapsedNanos());
+            }
+            writeStats(report, CYCLE, result.getCycleLatencies(), result.getFailedCycles(),
+                    result.getElapsedNanos());
+        }
+        Assert.assertEquals(result.getFailedCycles(), 0, "Failed passive STS sign-in and sign-out cycles.");
+    }
+
+    private void writeStats(BenchmarkReport report, String name, LatencyStats stats, int failures,
+                            long elapsedNanos) {
+
+        double samplesPerSecond = LoadRunner.perSecond(stats.getCount(), elapsedNanos);
+        log.info(String.format("%-13s samples=%d failures=%d samples/s=%.1f mean=%.2fms p50=%.2fms p90=%.2fms " +
+                        "p99=%.2fms p99.9=%.2fms max=%.2fms", name, stats.getCount(), failures, samplesPerSecond,
+                stats.mean(), stats.percentile(50), stats.percentile(90), stats.percentile(99),
+                stats.percentile(99.9), stats.percentile(100)));
+        report.addRow("%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", name, threads, stats.getCount(), failures,
+                samplesPerSecond, stats.mean(), stats.percentile(50), stats.percentile(90), stats.percentile(99),
+                stats.percentile(99.9), stats.percentile(100));
+    }
+
+    private void addServiceProvider() throws Exception {
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationName(SERVICE_PROVIDER_NAME);
+        serviceProvider.setDescription(SERVICE_PROVIDER_DESCRIPTION);
+        applicationManagementServiceClient.createApplication(serviceProvider);
+
+        serviceProvider = applicationManagementServiceClient.getApplication(SERVICE_PROVIDER_NAME);
+        InboundAuthenticationRequestConfig inboundConfig = new InboundAuthenticationRequestConfig();
+        inboundConfig.setInboundAuthKey(SERVICE_PROVIDER_NAME);
+        inboundConfig.setInboundAuthType("passivests");
+        Property replyUrlProperty = new Property();
+        replyUrlProperty.setName("passiveSTSWReply");
+        replyUrlProperty.setValue(replyUrl);
+        Property logoutReplyUrlProperty = new Property();
+        logoutReplyUrlProperty.setName("passiveSTSWReplyLogout");
+        logoutReplyUrlProperty.setValue(replyUrl);
+        inboundConfig.setProperties(new Property[]{replyUrlProperty, logoutReplyUrlProperty});
+        serviceProvider.getInboundAuthenticationConfig().setInboundAuthenticationRequestConfigs(
+                new InboundAuthenticationRequestConfig[]{inboundConfig});
+        applicationManagementServiceClient.updateApplicationData(serviceProvider);
+    }
+}
@@ -27,6 +27,7 @@ import org.wso2.carbon.utils.CarbonUtils;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.assertTrue;
 
@@ -56,8 +57,8 @@ public class SAML2TokenRenweTestCase extends ISIntegrationTest {
 
     @Test(alwaysRun = true, description = "runStsClient", priority = 1)
     public void runStsClient() {
-        ServerLogReader inputStreamHandler;
-        ServerLogReader errorStreamHandler;
+        ServerLogReader inputStreamHandler = null;
+        ServerLogReader errorStreamHandler = null;
         Process tempProcess = null;
         String testPath = getTestArtifactLocation() + File.separator + "stsclient" + File.separator;
         File shFile = new File(testPath);
@@ -88,18 +89,18 @@ public class SAML2TokenRenweTestCase extends ISIntegrationTest {
             if (tempProcess != null) {
                 tempProcess.destroy();
             }
+            if (inputStreamHandler != null) {
+                inputStreamHandler.stop();
+            }
+            if (errorStreamHandler != null) {
+                errorStreamHandler.stop();
+            }
         }
     }
 
     public boolean waitForMessage(ServerLogReader inputStreamHandler,
-                                  String message) {
-        long time = System.currentTimeMillis() + 60 * 1000;
-        while (System.currentTimeMillis() < time) {
-            if (inputStreamHandler.getOutput().contains(message)) {
-                return true;
-            }
-        }
-        return false;
+                                  String message) throws Exception {
+        return inputStreamHandler.waitForMessage(message, 60, TimeUnit.SECONDS);
     }
 
     @AfterClass(alwaysRun = true)
@@ -2,75 +2,192 @@ package org.wso2.identity.integration.test.sts;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.identity.integration.common.utils.WaitSignal;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
+/**
+ * Reads the output or error stream of a process, eg: a script run by a test, logs each line and keeps the most recent
+ * lines, so that tests can wait for a line to be printed.
+ * <p>
+ * The reader thread blocks on the stream while the process prints nothing. Tests waiting for a line are woken up as
+ * soon as a new line is read, and only the lines read since their previous check are searched. To wait for a line in
+ * the carbon log of the server instead, use {@link org.wso2.identity.integration.common.utils.LogTailWatcher}.
+ */
 public class ServerLogReader implements Runnable {
     private String streamType;
     private InputStream inputStream;
-    private StringBuilder stringBuilder;
     private static final String STREAM_TYPE_IN = "inputStream";
     private static final String STREAM_TYPE_ERROR = "errorStream";
+    private static final int DEFAULT_MAX_RETAINED_LINES = 10000;
     private final Object lock = new Object();
+    // Ring buffer of the recent lines. The line with sequence number n is kept at n % lines.length.
+    private final String[] lines;
+    private final WaitSignal signal = new WaitSignal();
+    // Sequence number of the next line to be read, ie: the number of lines read so far.
+    private long nextSequence;
     Thread thread;
     private volatile boolean running = true;
     private static final Log log = LogFactory.getLog(ServerLogReader.class);
 
     public ServerLogReader(String name, InputStream is) {
+        this(name, is, DEFAULT_MAX_RETAINED_LINES);
+    }
+
+    /**
+     * Create a reader for a stream of a process.
+     *
+     * @param name             Type of the stream, inputStream or errorStream.
+     * @param is               Stream to read.
+     * @param maxRetainedLines Maximum number of recent lines to keep.
+     */
+    public ServerLogReader(String name, InputStream is, int maxRetainedLines) {
         this.streamType = name;
         this.inputStream = is;
-        this.stringBuilder = new StringBuilder();
+        this.lines = new String[maxRetainedLines];
     }
 
     public void start() {
-        thread = new Thread(this);
+        thread = new Thread(this, "server-log-reader-" + streamType);
+        thread.setDaemon(true);
         thread.start();
     }
 
+    /**
+     * Stop reading. The stream is closed, so that the reader thread is released if it is blocked on the stream.
+     */
     public void stop() {
         running = false;
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.error("Error occurred while closing the server log stream: " + e.getMessage(), e);
+        }
     }
 
     public void run() {
-        InputStreamReader inputStreamReader = null;
-        try {
-            inputStreamReader = new InputStreamReader(inputStream);
-            BufferedReader bufferedReader = new BufferedReader(inputStreamReader);
-            while (running) {
-                if (bufferedReader.ready()) {
-                    String s = bufferedReader.readLine();
-                    stringBuilder.setLength(0);
-                    if (s == null) {
-                        break;
-                    }
-                    if (STREAM_TYPE_IN.equals(streamType)) {
-                        stringBuilder.append(s).append("\n");
-                        log.info(s);
-                    } else if (STREAM_TYPE_ERROR.equals(streamType)) {
-                        stringBuilder.append(s).append("\n");
-                        log.error(s);
-                    }
+        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream,
+                Charset.defaultCharset()))) {
+            String s;
+            while (running && (s = bufferedReader.readLine()) != null) {
+                if (STREAM_TYPE_IN.equals(streamType)) {
+                    log.info(s);
+                } else if (STREAM_TYPE_ERROR.equals(streamType)) {
+                    log.error(s);
                 }
+                addLine(s);
+            }
+        } catch (IOException ex) {
+            if (running) {
+                log.error("Problem reading the [" + streamType + "] due to: " + ex.getMessage(), ex);
             }
-        } catch (Exception ex) {
-            log.error("Problem reading the [" + streamType + "] due to: " + ex.getMessage(), ex);
         } finally {
-            if (inputStreamReader != null) {
-                try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    log.error("Error occurred while closing the server log stream: " + e.getMessage(), e);
+            running = false;
+            // Wake up the waiting threads, so that they stop waiting for a stream which has ended.
+            signal.signal();
+        }
+    }
+
+    /**
+     * Get the retained lines read from the stream.
+     *
+     * @return Retained lines, each followed by a new line.
+     */
+    public String getOutput() {
+        synchronized (lock) {
+            StringBuilder output = new StringBuilder();
+            for (long sequence = getFirstRetainedSequence(); sequence < nextSequence; sequence++) {
+                output.append(lines[(int) (sequence % lines.length)]).append("\n");
+            }
+            return output.toString();
+        }
+    }
+
+    /**
+     * Check whether a retained line contains the given message.
+     *
+     * @param message Message to search for.
+     * @return True if a retained line contains the message.
+     */
+    public boolean containsMessage(String message) {
+        return findLine(Pattern.compile(Pattern.quote(message)), 0) >= 0;
+    }
+
+    /**
+     * Wait until a line containing the given message is read from the stream.
+     *
+     * @param message Message to wait for.
+     * @param timeout Maximum time to wait.
+     * @param unit    Unit of the timeout.
+     * @return True if a line containing the message was read within the timeout.
+     * @throws Exception If the waiting thread is interrupted.
+     */
+    public boolean waitForMessage(String message, long timeout, TimeUnit unit) throws Exception {
+        return waitForPattern(Pattern.compile(Pattern.quote(message)), timeout, unit);
+    }
+
+    /**
+     * Wait until a line matching the given pattern is read from the stream. The retained lines are searched first,
+     * and then only the new lines are searched each time lines are read.
+     *
+     * @param pattern Pattern to search for in each line.
+     * @param timeout Maximum time to wait.
+     * @param unit    Unit of the timeout.
+     * @return True if a matching line was read within the timeout.
+     * @throws Exception If the waiting thread is interrupted.
+     */
+    public boolean waitForPattern(Pattern pattern, long timeout, TimeUnit unit) throws Exception {
+        long[] searchFrom = {0};
+        boolean[] found = {false};
+        WaitUtils.waitFor("line matching " + pattern.pattern() + " in the " + streamType, () -> {
+            // Checked before searching, so that the last lines read before the stream ended are searched.
+            boolean ended = !running;
+            long sequence = findLine(pattern, searchFrom[0]);
+            if (sequence >= 0) {
+                found[0] = true;
+                return true;
+            }
+            searchFrom[0] = -sequence - 1;
+            // Stop waiting once the stream has ended, as no more lines are going to be read.
+            return ended;
+        }, signal, timeout, unit);
+        return found[0];
+    }
+
+    /**
+     * Find the first retained line which matches the given pattern, starting from the given sequence number.
+     *
+     * @return Sequence number of the matching line, or -(next sequence number + 1) if no line matches, so that the
+     * next search can start from the lines read after this one.
+     */
+    private long findLine(Pattern pattern, long fromSequence) {
+        synchronized (lock) {
+            for (long sequence = Math.max(fromSequence, getFirstRetainedSequence()); sequence < nextSequence;
+                 sequence++) {
+                if (pattern.matcher(lines[(int) (sequence % lines.length)]).find()) {
+                    return sequence;
                 }
             }
+            return -nextSequence - 1;
         }
     }
 
-    public String getOutput() {
+    private long getFirstRetainedSequence() {
+        return Math.max(0, nextSequence - lines.length);
+    }
+
+    private void addLine(String line) {
         synchronized (lock) {
-            return stringBuilder.toString();
+            lines[(int) (nextSequence % lines.length)] = line;
+            nextSequence++;
         }
+        signal.signal();
     }
 }
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.transport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+import org.wso2.carbon.automation.engine.context.TestUserMode;
+import org.wso2.carbon.identity.oauth.stub.dto.OAuthConsumerAppDTO;
+import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
+import org.wso2.identity.integration.test.oauth2.OAuth2ServiceAbstractIntegrationTest;
+import org.wso2.identity.integration.test.scim2.SCIM2BaseTestCase;
+import org.wso2.identity.integration.test.util.Utils;
+import org.wso2.identity.integration.test.utils.BenchmarkReport;
+import org.wso2.identity.integration.test.utils.LatencyStats;
+import org.wso2.identity.integration.test.utils.LoadRunner;
+import org.wso2.identity.integration.test.utils.OAuth2Constant;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the throughput and the latency of the token endpoint and the SCIM2 users endpoint with the default
+ * transport configuration and with the production performance profile of deployment.toml, ie:
+ * <pre>
+ * [transport]
+ * performance_profile = "production"
+ * </pre>
+ * The profile enables the shared connector thread pool, raises the keep alive and accept queue limits, compresses
+ * the static resources and enables HTTP/2 on the https connector.
+ * <p>
+ * The test case is run twice by testng-transport-benchmark.xml. It is first run with the performanceProfile parameter
+ * set to default, to measure the baseline of each endpoint. It is then run with the parameter set to production,
+ * which merges the tables of the profile toml into the deployment.toml of the server, restarts the server, and
+ * restores the configuration at the end. The requests are sent over HTTP/1.1 and accept gzip responses, so the
+ * HTTP/2 upgrade of the profile is not exercised.
+ * <p>
+ * Each token request asks for a scope which was not requested before. Otherwise the server returns the active token
+ * of the application instead of issuing a new one, and the benchmark would measure that lookup.
+ * <p>
+ * One row for each endpoint and run is appended as CSV to {@value #REPORT_FILE_NAME} in the report directory. The
+ * rows of the production run carry the gain of the throughput over the baseline, in percent.
+ * <p>
+ * The benchmark is not part of the default test suite. It is run with the benchmark profile, eg:
+ * mvn clean install -DintegrationTests -Dbenchmark=transport -Dtransport.benchmark.threads=32
+ * <p>
+ * The benchmark can be tuned with the following system properties.
+ * <ul>
+ *     <li>{@value #THREADS_PROPERTY} - Concurrent clients. Default is 16.</li>
+ *     <li>{@value #WARMUP_SECONDS_PROPERTY} - Seconds of warm up requests of each endpoint, which are not measured.
+ *     Default is 10.</li>
+ *     <li>{@value #DURATION_SECONDS_PROPERTY} - Seconds of measured requests of each endpoint. Default is 60.</li>
+ *     <li>{@value #SCIM_COUNT_PROPERTY} - Users requested by each SCIM2 list request. Default is 50.</li>
+ *     <li>{@value #REPORT_DIR_PROPERTY} - Directory of the CSV report. Default is the directory of the benchmark
+ *     profile, or target/transport-benchmark.</li>
+ * </ul>
+ */
+public class TransportTuningBenchmarkTestCase extends OAuth2ServiceAbstractIntegrationTest {
+
+    private static final Log log = LogFactory.getLog(TransportTuningBenchmarkTestCase.class);
+
+    private static final String THREADS_PROPERTY = "transport.benchmark.threads";
+    private static final String WARMUP_SECONDS_PROPERTY = "transport.benchmark.warmupSeconds";
+    private static final String DURATION_SECONDS_PROPERTY = "transport.benchmark.durationSeconds";
+    private static final String SCIM_COUNT_PROPERTY = "transport.benchmark.scimCount";
+    private static final String REPORT_DIR_PROPERTY = "transport.benchmark.reportDir";
+    private static final String REPORT_FILE_NAME = "transport-tuning.csv";
+    private static final String REPORT_HEADER = "profile,endpoint,threads,requests,failures,requestsPerSecond," +
+            "meanMillis,p50Millis,p90Millis,p99Millis,maxMillis,throughputGainPercent";
+    private static final String DEFAULT_PROFILE = "default";
+    private static final String PROFILE_TOML_PREFIX = "performance_profile_";
+    private static final String TOKEN_ENDPOINT = "token";
+    private static final String SCIM2_USERS_ENDPOINT = "scim2-users";
+    private static final String UNIQUE_SCOPE_PREFIX = "transport_benchmark_";
+    private static final int EXPECTED_REQUESTS_PER_SECOND = 500;
+    private static final Pattern TOML_TABLE_HEADER = Pattern.compile("^\\s*\\[([^\\[\\]]+)]\\s*(#.*)?$");
+
+    // Throughput of each endpoint with the default configuration, which the tuned runs are compared to.
+    private static final Map<String, Double> BASELINE_REQUESTS_PER_SECOND =
+            Collections.synchronizedMap(new HashMap<>());
+
+    private final int threads = Integer.getInteger(THREADS_PROPERTY, 16);
+    private final int warmupSeconds = Integer.getInteger(WARMUP_SECONDS_PROPERTY, 10);
+    private final int durationSeconds = Integer.getInteger(DURATION_SECONDS_PROPERTY, 60);
+    private final int scimCount = Integer.getInteger(SCIM_COUNT_PROPERTY, 50);
+    private final AtomicLong requestedScopes = new AtomicLong();
+    private String profile;
+    private ServerConfigurationManager serverConfigurationManager;
+    private String clientAuthorizationHeader;
+    private String userAuthorizationHeader;
+    private File reportDir;
+
+    @BeforeClass(alwaysRun = true)
+    @Parameters({"performanceProfile"})
+    public void testInit(@Optional(DEFAULT_PROFILE) String performanceProfile) throws Exception {
+
+        super.init(TestUserMode.SUPER_TENANT_ADMIN);
+        profile = performanceProfile;
+        if (!DEFAULT_PROFILE.equals(profile)) {
+            applyProfile();
+            // Re-initiating after the restart.
+            super.init(TestUserMode.SUPER_TENANT_ADMIN);
+        }
+        setSystemproperties();
+
+        OAuthConsumerAppDTO appDto = createApplication();
+        consumerKey = appDto.getOauthConsumerKey();
+        consumerSecret = appDto.getOauthConsumerSecret();
+        clientAuthorizationHeader = "Basic " + Base64.getEncoder().encodeToString((consumerKey + ":" +
+                consumerSecret).getBytes(StandardCharsets.UTF_8));
+        userAuthorizationHeader = "Basic " + Base64.getEncoder().encodeToString((userInfo.getUserName() + ":" +
+                userInfo.getPassword()).getBytes(StandardCharsets.UTF_8));
+
+        reportDir = BenchmarkReport.getReportDir(REPORT_DIR_PROPERTY, "transport-benchmark");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void atEnd() throws Exception {
+
+        deleteApplication();
+        removeOAuthApplicationData();
+        if (serverConfigurationManager != null) {
+            serverConfigurationManager.restoreToLastConfiguration(true);
+            serverConfigurationManager = null;
+        }
+    }
+
+    @Test(description = "Measure the token endpoint throughput with the transport configuration of the profile.")
+    public void testTokenEndpointThroughput() throws Exception {
+
+        measure(TOKEN_ENDPOINT, () -> {
+            HttpPost request = new HttpPost(OAuth2Constant.ACCESS_TOKEN_ENDPOINT);
+            request.setHeader(HttpHeaders.AUTHORIZATION, clientAuthorizationHeader);
+            List<BasicNameValuePair> parameters = new ArrayList<>();
+            parameters.add(new BasicNameValuePair("grant_type", OAuth2Constant.OAUTH2_GRANT_TYPE_CLIENT_CREDENTIALS));
+            parameters.add(new BasicNameValuePair("scope", UNIQUE_SCOPE_PREFIX + profile + "_" +
+                    requestedScopes.incrementAndGet()));
+            request.setEntity(new UrlEncodedFormEntity(parameters, StandardCharsets.UTF_8));
+            return request;
+        });
+    }
+
+    @Test(description = "Measure the SCIM2 users endpoint throughput with the transport configuration of the profile.",
+            dependsOnMethods = "testTokenEndpointThroughput")
+    public void testScim2UsersEndpointThroughput() throws Exception {
+
+        String url = SCIM2BaseTestCase.SERVER_URL + SCIM2BaseTestCase.SCIM2_USERS_ENDPOINT + "?startIndex=1&count=" +
+                scimCount;
+        measure(SCIM2_USERS_ENDPOINT, () -> {
+            HttpGet request = new HttpGet(url);
+            request.setHeader(HttpHeaders.AUTHORIZATION, userAuthorizationHeader);
+            request.setHeader(HttpHeaders.ACCEPT, "application/scim+json");
+            return request;
+        });
+    }
+
+    private void applyProfile() throws Exception {
+
+        log.info("Applying the " + profile + " performance profile to deployment.toml.");
+        File defaultTomlFile = getDeploymentTomlFile(Utils.getResidentCarbonHome());
+        File profileTomlFile = new File(getISResourceLocation() + File.separator + "transport" + File.separator +
+                PROFILE_TOML_PREFIX + profile + ".toml");
+        Assert.assertTrue(profileTomlFile.exists(), "No deployment.toml found for the performance profile: " +
+                profile);
+        Path configuredToml = Files.createTempFile(PROFILE_TOML_PREFIX + profile, ".toml");
+        configuredToml.toFile().deleteOnExit();
+        Files.write(configuredToml, mergeTomlTables(Files.readAllLines(defaultTomlFile.toPath(),
+                StandardCharsets.UTF_8), Files.readAllLines(profileTomlFile.toPath(), StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8);
+        serverConfigurationManager = new ServerConfigurationManager(isServer);
+        serverConfigurationManager.applyConfigurationWithoutRestart(configuredToml.toFile(), defaultTomlFile, true);
+        serverConfigurationManager.restartForcefully();
+    }
+
+    /**
+     * Merge the tables of a toml fragment into a toml file. The keys of a table which already exists in the file are
+     * added right after the header of the table, the other tables are appended. The keys of the fragment are not
+     * expected to be present in the file already.
+     *
+     * @param toml     Lines of the toml file.
+     * @param fragment Lines of the toml fragment, where every key is in a table.
+     * @return Lines of the merged toml file.
+     */
+    private static List<String> mergeTomlTables(List<String> toml, List<String> fragment) {
+
+        Map<String, List<String>> fragmentTables = new LinkedHashMap<>();
+        List<String> tableLines = null;
+        for (String line : fragment) {
+            Matcher header = TOML_TABLE_HEADER.matcher(line);
+            if (header.matches()) {
+                tableLines = fragmentTables.computeIfAbsent(header.group(1).trim(), table -> new ArrayList<>());
+            } else if (tableLines != null && !line.trim().isEmpty() && !line.trim().startsWith("#")) {
+                tableLines.add(line);
+            }
+        }
+
+        List<String> merged = new ArrayList<>();
+        for (String line : toml) {
+            merged.add(line);
+            Matcher header = TOML_TABLE_HEADER.matcher(line);
+            if (header.matches()) {
+                List<String> keys = fragmentTables.remove(header.group(1).trim());
+                if (keys != null) {
+                    merged.addAll(keys);
+                }
+            }
+        }
+        for (Map.Entry<String, List<String>> table : fragmentTables.entrySet()) {
+            merged.add("");
+            merged.add("[" + table.getKey() + "]");
+            merged.addAll(table.getValue());
+        }
+        return merged;
+    }
+
+    private void measure(String endpoint, Supplier<HttpUriRequest> requestFactory) throws Exception {
+
+        List<Client> clients = new ArrayList<>();
+        long elapsedNanos;
+        // The client asks for gzip responses and decompresses them, as browsers and SDKs do.
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(LoadRunner.createConnectionManager(threads))
+                .disableConnectionState()
+                .disableCookieManagement()
+                .build()) {
+            for (int i = 0; i < threads; i++) {
+                clients.add(new Client(httpClient, requestFactory));
+            }
+            elapsedNanos = LoadRunner.forDuration(warmupSeconds, durationSeconds, TimeUnit.SECONDS).run(clients);
+        }
+        LatencyStats stats = new LatencyStats(threads * durationSeconds * EXPECTED_REQUESTS_PER_SECOND);
+        int failures = 0;
+        for (Client client : clients) {
+            stats.merge(client.latencies);
+            failures += client.failures;
+        }
+
+        double requestsPerSecond = LoadRunner.perSecond(stats.getCount(), elapsedNanos);
+        double throughputGain = 0;
+        if (DEFAULT_PROFILE.equals(profile)) {
+            BASELINE_REQUESTS_PER_SECOND.put(endpoint, requestsPerSecond);
+        } else {
+            Double baseline = BASELINE_REQUESTS_PER_SECOND.get(endpoint);
+            if (baseline != null && baseline > 0) {
+                throughputGain = (requestsPerSecond / baseline - 1) * 100;
+            }
+        }
+        log.info(String.format("profile=%s endpoint=%s requests=%d failures=%d requests/s=%.1f mean=%.2fms " +
+                        "p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms throughput gain=%.1f%%", profile, endpoint,
+                stats.getCount(), failures, requestsPerSecond, stats.mean(), stats.percentile(50),
+                stats.percentile(90), stats.percentile(99), stats.percentile(100), throughputGain));
+
+        try (BenchmarkReport report = new BenchmarkReport(reportDir, REPORT_FILE_NAME, REPORT_HEADER)) {
+            report.addRow("%s,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", profile, endpoint, threads,
+                    stats.getCount(), failures, requestsPerSecond, stats.mean(), stats.percentile(50),
+                    stats.percentile(90), stats.percentile(99), stats.percentile(100), throughputGain);
+        }
+
+        Assert.assertEquals(failures, 0, "Failed requests to the " + endpoint + " endpoint.");
+    }
+
+    /**
+     * A client which sends requests one after the other, until the end of the warm up and then until the end of the
+     * measured requests.
+     */
+    private class Client implements LoadRunner.Worker {
+
+        private final CloseableHttpClient httpClient;
+        private final Supplier<HttpUriRequest> requestFactory;
+        private final LatencyStats latencies = new LatencyStats(durationSeconds * EXPECTED_REQUESTS_PER_SECOND);
+        private int failures;
+
+        Client(CloseableHttpClient httpClient, Supplier<HttpUriRequest> requestFactory) {
+
+            this.httpClient = httpClient;
+            this.requestFactory = requestFactory;
+        }
+
+        @Override
+        public void runIteration(int iteration, boolean measured) {
+
+            long startTime = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse response = httpClient.execute(requestFactory.get());
+                // The body is read, so that the time to transfer and decompress it is measured.
+                EntityUtils.toByteArray(response.getEntity());
+                success = response.getStatusLine().getStatusCode() == 200;
+            } catch (IOException e) {
+                log.debug("Request failed.", e);
+                success = false;
+            }
+            long latency = System.nanoTime() - startTime;
+            if (!measured) {
+                return;
+            }
+            if (success) {
+                latencies.record(latency);
+            } else {
+                failures++;
+            }
+        }
+    }
+}
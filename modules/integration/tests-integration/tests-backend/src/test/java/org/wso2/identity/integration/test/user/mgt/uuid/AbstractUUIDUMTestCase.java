@@ -18,12 +18,16 @@ package org.wso2.identity.integration.test.user.mgt.uuid;
 
 import org.testng.Assert;
 import org.wso2.carbon.identity.test.integration.service.stub.AuthenticationResultDTO;
+import org.wso2.carbon.identity.test.integration.service.stub.BulkOperationResultDTO;
+import org.wso2.carbon.identity.test.integration.service.stub.BulkUserDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.ClaimDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.ClaimValue;
 import org.wso2.carbon.identity.test.integration.service.stub.ConditionDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.LoginIdentifierDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.PermissionDTO;
+import org.wso2.carbon.identity.test.integration.service.stub.UUIDUserStoreManagerServiceUserStoreExceptionException;
 import org.wso2.carbon.identity.test.integration.service.stub.UniqueIDUserClaimSearchEntryDAO;
+import org.wso2.carbon.identity.test.integration.service.stub.UserClaimValuesDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.UserDTO;
 import org.wso2.carbon.identity.test.integration.service.stub.UserRoleListDTO;
 import org.wso2.carbon.integration.common.admin.client.AuthenticatorClient;
@@ -453,6 +457,93 @@ public abstract class AbstractUUIDUMTestCase extends ISIntegrationTest {
         userMgtClient.updateCredentialByAdminWithID(userId, credential1);
     }
 
+    public void testBulkUserOperations() throws Exception {
+
+        String claimURI = "http://wso2.org/claims/lastname";
+        BulkUserDTO[] users = new BulkUserDTO[3];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = getBulkUser("uuid-bulk-user" + i, "bulk" + i);
+        }
+
+        BulkOperationResultDTO addResult = userMgtClient.addUsersWithID(users, defaultProfile);
+        Assert.assertEquals(addResult.getProcessedCount(), users.length);
+        Assert.assertEquals(addResult.getUsers().length, users.length);
+        Assert.assertTrue(addResult.getUserStoreTimeNanos() >= addResult.getMaxOperationTimeNanos());
+        Assert.assertTrue(addResult.getTotalTimeNanos() >= addResult.getUserStoreTimeNanos());
+
+        String[] userIDs = new String[users.length];
+        UserClaimValuesDTO[] userClaims = new UserClaimValuesDTO[users.length];
+        for (int i = 0; i < users.length; i++) {
+            userIDs[i] = addResult.getUsers()[i].getUserID();
+            Assert.assertEquals(userMgtClient.getUserClaimValueWithID(userIDs[i], claimURI, defaultProfile),
+                    "bulk" + i);
+            userClaims[i] = new UserClaimValuesDTO();
+            userClaims[i].setUserID(userIDs[i]);
+            userClaims[i].setClaims(new ClaimValue[]{getClaimValue(claimURI, "updated" + i)});
+        }
+
+        BulkOperationResultDTO updateResult = userMgtClient.setUsersClaimValuesWithID(userClaims, defaultProfile);
+        Assert.assertEquals(updateResult.getProcessedCount(), users.length);
+        for (int i = 0; i < users.length; i++) {
+            Assert.assertEquals(userMgtClient.getUserClaimValueWithID(userIDs[i], claimURI, defaultProfile),
+                    "updated" + i);
+        }
+
+        BulkOperationResultDTO deleteResult = userMgtClient.deleteUsersWithID(userIDs);
+        Assert.assertEquals(deleteResult.getProcessedCount(), users.length);
+        for (String bulkUserID : userIDs) {
+            Assert.assertFalse(userMgtClient.isExistingUserWithID(bulkUserID));
+        }
+    }
+
+    public void testBulkAddUsersRollback() throws Exception {
+
+        String newUsername = "uuid-bulk-rollback-user";
+        String existingUsername = "uuid-bulk-rollback-existing-user";
+        // Added by the test itself, so that the test does not depend on the users of the other tests.
+        String existingUserID = userMgtClient.addUserWithID(existingUsername, credential1, new String[0],
+                new ClaimValue[0], defaultProfile).getUserID();
+        // The second user already exists, so the first one should be removed again.
+        BulkUserDTO[] users = new BulkUserDTO[]{getBulkUser(newUsername, "rollback"),
+                getBulkUser(existingUsername, "rollback")};
+        try {
+            userMgtClient.addUsersWithID(users, defaultProfile);
+            Assert.fail("Adding an existing user in a bulk request should fail.");
+        } catch (UUIDUserStoreManagerServiceUserStoreExceptionException e) {
+            Assert.assertFalse(userNameExists(userMgtClient.listUsersWithID(newUsername, 10), newUsername),
+                    "The users added before the failure were not removed.");
+        } finally {
+            userMgtClient.deleteUserWithID(existingUserID);
+            // Left behind if the bulk request did not fail, or was not rolled back.
+            UserDTO[] newUsers = userMgtClient.listUsersWithID(newUsername, 10);
+            if (newUsers != null) {
+                for (UserDTO newUser : newUsers) {
+                    if (newUsername.equals(newUser.getUsername())) {
+                        userMgtClient.deleteUserWithID(newUser.getUserID());
+                    }
+                }
+            }
+        }
+    }
+
+    private BulkUserDTO getBulkUser(String username, String lastName) {
+
+        BulkUserDTO user = new BulkUserDTO();
+        user.setUserName(username);
+        user.setCredential(credential1);
+        user.setRoleList(new String[0]);
+        user.setClaims(new ClaimValue[]{getClaimValue("http://wso2.org/claims/lastname", lastName)});
+        return user;
+    }
+
+    private ClaimValue getClaimValue(String claimURI, String value) {
+
+        ClaimValue claimValue = new ClaimValue();
+        claimValue.setClaimUri(claimURI);
+        claimValue.setClaimValue(value);
+        return claimValue;
+    }
+
     /**
      * Checks whether the passed Name exists in the FlaggedName array.
      *
@@ -229,6 +229,18 @@ public class JDBCUUIDUMTestCase extends AbstractUUIDUMTestCase {
         super.testUpdateCredentialByAdminWithID();
     }
 
+    @Test(dependsOnMethods = "testAddUser")
+    public void testBulkUserOperations() throws Exception {
+
+        super.testBulkUserOperations();
+    }
+
+    @Test(dependsOnMethods = "testAddUser")
+    public void testBulkAddUsersRollback() throws Exception {
+
+        super.testBulkAddUsersRollback();
+    }
+
     @AfterClass
     public void deInit() throws IOException, AutomationUtilException {
 
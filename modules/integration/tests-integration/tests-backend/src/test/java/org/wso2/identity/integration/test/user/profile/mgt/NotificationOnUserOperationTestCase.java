@@ -27,6 +27,7 @@ import org.wso2.carbon.integration.common.utils.mgt.ServerConfigurationManager;
 import org.wso2.carbon.user.mgt.stub.types.carbon.FlaggedName;
 import org.wso2.identity.integration.common.clients.UserManagementClient;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 import org.wso2.identity.integration.test.util.Utils;
 
 import java.io.File;
@@ -36,6 +37,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 public class NotificationOnUserOperationTestCase extends ISIntegrationTest {
 
@@ -69,8 +71,8 @@ public class NotificationOnUserOperationTestCase extends ISIntegrationTest {
     @Test(groups = "wso2.is", description = "Check rest endpoint call on adding a policy")
     public void testAddUser() throws Exception {
         userMgtServiceClient.addRemoveRolesOfUser("NotificationUser", new String[]{"NotificationRole"}, new String[]{});
-        Thread.sleep(2000);
-        Assert.assertTrue(isUserExists("scimUser"));
+        Assert.assertTrue(WaitUtils.waitFor("user scimUser is provisioned", () -> isUserExists("scimUser"), 10,
+                TimeUnit.SECONDS));
     }
 
     private void changeISConfiguration() throws Exception {
@@ -32,10 +32,12 @@ import org.wso2.carbon.user.core.jdbc.JDBCUserStoreManager;
 import org.wso2.identity.integration.common.clients.user.store.config.UserStoreConfigAdminServiceClient;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
 import org.wso2.identity.integration.common.utils.UserStoreConfigUtils;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class UserStoreConfigTestForIDENTITY5573 extends ISIntegrationTest {
 
@@ -102,12 +104,9 @@ public class UserStoreConfigTestForIDENTITY5573 extends ISIntegrationTest {
 
     public boolean waitForUserStoreFileDeployment(File file) throws Exception {
 
-        long waitTime = System.currentTimeMillis() + 30000; //wait for max 30 seconds
-        while (System.currentTimeMillis() < waitTime) {
-            if (file.exists()) {
-                return true;
-            }
-            Thread.sleep(500);
+        if (WaitUtils.waitFor("user store config file " + file.getName() + " is deployed", file::exists, 30,
+                TimeUnit.SECONDS)) {
+            return true;
         }
         log.error("Userstore config file is not deployed at " + file.getAbsolutePath());
         return false;
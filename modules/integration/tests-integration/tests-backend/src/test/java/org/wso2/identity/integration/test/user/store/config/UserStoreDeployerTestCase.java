@@ -30,9 +30,11 @@ import org.wso2.carbon.user.mgt.stub.UserAdminUserAdminException;
 import org.wso2.carbon.utils.CarbonUtils;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
 import org.wso2.identity.integration.common.utils.UserStoreConfigUtils;
+import org.wso2.identity.integration.common.utils.WaitUtils;
 
 import java.io.File;
 import java.rmi.RemoteException;
+import java.util.concurrent.TimeUnit;
 
 
 public class UserStoreDeployerTestCase extends ISIntegrationTest {
@@ -85,18 +87,21 @@ public class UserStoreDeployerTestCase extends ISIntegrationTest {
 
     @Test(groups = "wso2.is", description = "Test enable/disable user stores", dependsOnMethods = "testMultipleUserStores")
     public void testChangeUserStoreState() throws Exception {
-        Boolean isDisabled = false;
         userStoreConfigurationClient.changeUserStoreState("wso2.com", true);
-        Thread.sleep(30000);
+        Assert.assertTrue("Disabling user store has failed", WaitUtils.waitFor("user store wso2.com is disabled",
+                () -> isUserStoreDisabled("wso2.com"), 30, TimeUnit.SECONDS));
+    }
+
+    private boolean isUserStoreDisabled(String domain) throws Exception {
         UserStoreDTO[] userStoreDTOs = userStoreConfigurationClient.getActiveDomains();
-        if (userStoreDTOs[0] != null) {
+        if (userStoreDTOs != null && userStoreDTOs[0] != null) {
             for (UserStoreDTO userStoreDTO : userStoreDTOs) {
-                if (userStoreDTO.getDomainId().equalsIgnoreCase("wso2.com")) {
-                    isDisabled = userStoreDTO.getDisabled();
+                if (userStoreDTO.getDomainId().equalsIgnoreCase(domain)) {
+                    return Boolean.TRUE.equals(userStoreDTO.getDisabled());
                 }
             }
         }
-        Assert.assertTrue("Disabling user store has failed", isDisabled);
+        return false;
     }
 
     @Test(groups = "wso2.is", description = "Delete a user store config file", dependsOnMethods = "testChangeUserStoreState")
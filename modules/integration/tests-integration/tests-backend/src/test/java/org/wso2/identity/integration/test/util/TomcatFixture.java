@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.util;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.identity.integration.test.utils.CommonConstants;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Suite wide embedded Tomcat which serves the sample relying party webapps, eg: travelocity.com and playground2.
+ * <p>
+ * The test classes which need a sample webapp ask the fixture to deploy it, instead of starting a Tomcat of their own.
+ * Each webapp is deployed once, whether the Tomcat is started yet or not, and stays deployed for the rest of the
+ * suite, so the later test classes get it without unpacking and deploying the war again. A webapp deployed while the
+ * Tomcat is running is started right away.
+ * <p>
+ * The Tomcat listens on {@link CommonConstants#DEFAULT_TOMCAT_PORT} with an NIO connector, which is sized so that the
+ * webapps can also serve as the relying parties of SSO load runs. The connector can be tuned with the
+ * tomcat.fixture.{attribute} system properties, eg: -Dtomcat.fixture.maxThreads=400.
+ */
+public class TomcatFixture {
+
+    private static final Log log = LogFactory.getLog(TomcatFixture.class);
+    private static final TomcatFixture INSTANCE = new TomcatFixture();
+    private static final String CONNECTOR_PROPERTY_PREFIX = "tomcat.fixture.";
+    private static final String NIO_PROTOCOL = "org.apache.coyote.http11.Http11NioProtocol";
+    private static final Map<String, String> CONNECTOR_DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        CONNECTOR_DEFAULTS.put("maxThreads", "200");
+        CONNECTOR_DEFAULTS.put("minSpareThreads", "25");
+        CONNECTOR_DEFAULTS.put("acceptCount", "200");
+        CONNECTOR_DEFAULTS.put("maxConnections", "8192");
+        // Keep alive connections are not closed after a number of requests, so that load runs reuse them.
+        CONNECTOR_DEFAULTS.put("maxKeepAliveRequests", "-1");
+        CONNECTOR_DEFAULTS.put("connectionTimeout", "20000");
+    }
+
+    private final List<String> applications = new ArrayList<>();
+    private Tomcat tomcat;
+    private boolean started;
+
+    private TomcatFixture() {
+
+    }
+
+    /**
+     * Get the fixture of the suite.
+     *
+     * @return Fixture.
+     */
+    public static TomcatFixture getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Start the Tomcat, unless it is running already.
+     *
+     * @return True if the Tomcat was started by this call, in which case the caller is the one to stop it.
+     * @throws LifecycleException If the Tomcat cannot be started.
+     */
+    public synchronized boolean start() throws LifecycleException {
+
+        if (started) {
+            return false;
+        }
+        try {
+            getTomcat().start();
+        } catch (LifecycleException e) {
+            log.error("Error while starting tomcat server ", e);
+            throw e;
+        }
+        started = true;
+        log.info("Tomcat server started with " + applications.size() + " applications.");
+        return true;
+    }
+
+    /**
+     * Deploy sample webapps of the test resources, eg: playground2 for /samples/playground2.war. The webapps which
+     * are deployed already are skipped.
+     *
+     * @param applicationNames Names of the webapps, which are also their context paths.
+     */
+    public synchronized void deploy(String... applicationNames) {
+
+        for (String application : applicationNames) {
+            if (applications.contains(application)) {
+                continue;
+            }
+            URL resourceUrl = getClass().getResource("/samples/" + application + ".war");
+            if (resourceUrl == null) {
+                throw new IllegalArgumentException("No sample war found for the application: " + application);
+            }
+            Tomcat server = getTomcat();
+            server.addWebapp(server.getHost(), "/" + application, resourceUrl.getPath());
+            applications.add(application);
+            log.info("Deployed tomcat application " + application);
+        }
+    }
+
+    /**
+     * Undeploy a sample webapp, eg: to have it deployed again with a different configuration.
+     *
+     * @param application Name of the webapp.
+     */
+    public synchronized void undeploy(String application) {
+
+        if (!applications.remove(application)) {
+            return;
+        }
+        Container context = tomcat.getHost().findChild("/" + application);
+        if (context instanceof Context) {
+            tomcat.getHost().removeChild(context);
+        }
+        log.info("Undeployed tomcat application " + application);
+    }
+
+    /**
+     * Check whether a sample webapp is deployed.
+     *
+     * @param application Name of the webapp.
+     * @return True if the webapp is deployed.
+     */
+    public synchronized boolean isDeployed(String application) {
+
+        return applications.contains(application);
+    }
+
+    /**
+     * Stop the Tomcat and undeploy all the webapps.
+     *
+     * @throws LifecycleException If the Tomcat cannot be stopped.
+     */
+    public synchronized void stop() throws LifecycleException {
+
+        if (tomcat == null) {
+            return;
+        }
+        try {
+            tomcat.stop();
+            tomcat.destroy();
+        } finally {
+            tomcat = null;
+            started = false;
+            applications.clear();
+        }
+        log.info("Tomcat server stopped.");
+    }
+
+    private Tomcat getTomcat() {
+
+        if (tomcat == null) {
+            tomcat = Utils.getTomcat(getClass());
+            Connector connector = createConnector();
+            // Added to the service as well, as older Tomcat versions only keep the reference on setConnector.
+            tomcat.getService().addConnector(connector);
+            tomcat.setConnector(connector);
+        }
+        return tomcat;
+    }
+
+    private Connector createConnector() {
+
+        Connector connector = new Connector(NIO_PROTOCOL);
+        connector.setPort(CommonConstants.DEFAULT_TOMCAT_PORT);
+        for (Map.Entry<String, String> attribute : CONNECTOR_DEFAULTS.entrySet()) {
+            String value = System.getProperty(CONNECTOR_PROPERTY_PREFIX + attribute.getKey(), attribute.getValue());
+            connector.setProperty(attribute.getKey(), value);
+        }
+        return connector;
+    }
+}
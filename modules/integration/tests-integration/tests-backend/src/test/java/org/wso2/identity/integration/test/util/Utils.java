@@ -44,6 +44,7 @@ import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.mgt.stub.types.carbon.FlaggedName;
 import org.wso2.carbon.utils.CarbonUtils;
 import org.wso2.identity.integration.common.utils.ISIntegrationTest;
+import org.wso2.identity.integration.common.utils.LogTailWatcher;
 import org.wso2.identity.integration.test.provisioning.JustInTimeProvisioningTestCase;
 import org.wso2.identity.integration.test.utils.BasicAuthHandler;
 import org.wso2.identity.integration.test.utils.BasicAuthInfo;
@@ -52,7 +53,6 @@ import org.wso2.identity.integration.test.utils.OAuth2Constant;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URI;
@@ -62,6 +62,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -80,6 +81,7 @@ public class Utils {
     public static final String SET_COOKIE = "Set-Cookie";
 
     private static GreenMail greenMail;
+    private static final Map<String, LogTailWatcher> SERVER_LOG_WATCHERS = new ConcurrentHashMap<>();
 
     private static final Log log = LogFactory.getLog(Utils.class);
 
@@ -662,7 +664,8 @@ public class Utils {
     }
 
     /**
-     * Read audit log lines with a given content.
+     * Read audit log lines with a given content. Only the lines written since the previous read of the audit log are
+     * read from the file, see {@link LogTailWatcher#readLinesWithContent(String)}.
      *
      * @param content Content to be searched in audit log.
      * @return List of lines which contains the given string.
@@ -670,20 +673,26 @@ public class Utils {
      */
     public static List<String> readAuditLogLineWithContent(String content) throws IOException {
 
-        String fileName = CarbonUtils.getCarbonHome()
-                + ISIntegrationTest.URL_SEPARATOR +
-                "repository" + ISIntegrationTest.URL_SEPARATOR + "logs" + ISIntegrationTest.URL_SEPARATOR +
-                "audit.log";
-        List<String> results = new ArrayList<>();
-        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(fileName))) {
-            String currentLine;
-            while ((currentLine = bufferedReader.readLine()) != null) {
-                if (currentLine.contains(content)) {
-                    results.add(currentLine);
-                }
-            }
-        }
-        return results;
+        return getServerLogWatcher("audit.log").readLinesWithContent(content);
+    }
+
+    /**
+     * Read carbon log lines with a given content. Only the lines written since the previous read of the carbon log
+     * are read from the file, see {@link LogTailWatcher#readLinesWithContent(String)}.
+     *
+     * @param content Content to be searched in carbon log.
+     * @return List of lines which contains the given string.
+     * @throws IOException IOException.
+     */
+    public static List<String> readCarbonLogLineWithContent(String content) throws IOException {
+
+        return getServerLogWatcher("wso2carbon.log").readLinesWithContent(content);
+    }
+
+    private static LogTailWatcher getServerLogWatcher(String fileName) {
+
+        return SERVER_LOG_WATCHERS.computeIfAbsent(fileName,
+                name -> LogTailWatcher.forServerLog(CarbonUtils.getCarbonHome(), name));
     }
 
     /**
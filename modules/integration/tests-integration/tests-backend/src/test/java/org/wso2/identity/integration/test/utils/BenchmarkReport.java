@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * CSV report of a benchmark, in the report directory of the benchmark.
+ * <p>
+ * The rows are appended to the report, so that the rows of the runs of a benchmark with different configurations, eg:
+ * with and without a cache, end up in the same report. The header is written only when the report is created. Each
+ * row is flushed once written, so that the rows of a run are kept even if a later run fails.
+ * <p>
+ * The report directory is given with the {@value #REPORT_DIR_PROPERTY} system property, which is set by the benchmark
+ * profile of the pom, or else with the report directory property of the benchmark.
+ */
+public class BenchmarkReport implements Closeable {
+
+    private static final String REPORT_DIR_PROPERTY = "benchmark.reportDir";
+
+    private final PrintWriter writer;
+
+    /**
+     * Open a report in a report directory, creating the report if it does not exist.
+     *
+     * @param reportDir Report directory.
+     * @param fileName  Name of the report file.
+     * @param header    Header of the report, written only when the report is created.
+     * @throws IOException If the report cannot be opened.
+     */
+    public BenchmarkReport(File reportDir, String fileName, String header) throws IOException {
+
+        File reportFile = new File(reportDir, fileName);
+        boolean writeHeader = !reportFile.exists() || reportFile.length() == 0;
+        writer = new PrintWriter(new FileWriter(reportFile, true));
+        if (writeHeader) {
+            writer.println(header);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Get the report directory of a benchmark, and create it if it does not exist.
+     *
+     * @param reportDirProperty System property of the report directory of the benchmark, eg:
+     *                          entitlement.benchmark.reportDir.
+     * @param defaultDirName    Name of the directory under target, used when neither the property of the benchmark
+     *                          nor {@value #REPORT_DIR_PROPERTY} is set.
+     * @return Report directory.
+     * @throws IOException If the report directory cannot be created.
+     */
+    public static File getReportDir(String reportDirProperty, String defaultDirName) throws IOException {
+
+        File reportDir = new File(System.getProperty(reportDirProperty, System.getProperty(REPORT_DIR_PROPERTY,
+                "target" + File.separator + defaultDirName)));
+        if (!reportDir.exists() && !reportDir.mkdirs()) {
+            throw new IOException("Could not create the report directory: " + reportDir.getAbsolutePath());
+        }
+        return reportDir;
+    }
+
+    /**
+     * Append a row to the report. The numbers are formatted with the English locale, so that the decimal separator
+     * is always a dot.
+     *
+     * @param format Format of the row, as of {@link String#format(String, Object...)}.
+     * @param values Values of the row.
+     */
+    public void addRow(String format, Object... values) {
+
+        writer.println(String.format(Locale.ENGLISH, format, values));
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+
+        writer.close();
+    }
+}
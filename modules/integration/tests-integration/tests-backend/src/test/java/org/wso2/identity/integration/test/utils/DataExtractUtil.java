@@ -23,16 +23,20 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.entity.ContentType;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,6 +48,10 @@ import static org.wso2.identity.integration.test.utils.OAuth2Constant.AUTH_CODE_
 public class DataExtractUtil {
 
     private static Log log = LogFactory.getLog(DataExtractUtil.class);
+    private static final Pattern INPUT_VALUE_PATTERN = Pattern.compile("value=\"(\\S+)\"");
+    private static final Pattern LABEL_VALUE_PATTERN = Pattern.compile(">(\\S+)</label>");
+    private static final Pattern TABLE_DATA_PATTERN = Pattern.compile("<td>(\\S+)</td>");
+    private static final Map<String, Pattern> KEY_VALUE_PATTERNS = new ConcurrentHashMap<>();
 
     /**
      * Extract data from http response with the given keywords
@@ -59,38 +67,69 @@ public class DataExtractUtil {
 
         //todo extracting sessionDataKey using this method required key and value to be in the same line
         //todo ex. <input type="hidden" name="sessionDataKey"  value='8a433378-6d1f-434b-b574-a143dbb1a508'/>
-        //todo if the jsp page formatted and value moved to the next line this will break. nice to have this fixed
+        //todo if the jsp page formatted and value moved to the next line this will break. Use
+        //todo extractInputValuesFromResponse for such pages.
 
         List<KeyValue> keyValues = new ArrayList<>();
-        BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()));
-        String line;
-        while ((line = rd.readLine()) != null) {
-            for (String key : keyPositionMap.keySet()) {
-                if (line.contains(key)) {
-                    String[] tokens;
-                    if (line.contains("'")) {
-                        tokens = line.split("'");
-                        KeyValue keyValue = new KeyValue(key, tokens[keyPositionMap.get(key)]);
-                        keyValues.add(keyValue);
-                        return keyValues;
-                    } else {
-                        String regexString = Pattern.quote(key + " value=\"") + "(.*?)" + Pattern.quote("\"");
-                        Pattern pattern = Pattern.compile(regexString);
-                        Matcher matcher = pattern.matcher(line);
-                        if (matcher.find()) {
-                            KeyValue keyValue = new KeyValue(key, matcher.group(1));
+        try (BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()))) {
+            String line;
+            while ((line = rd.readLine()) != null) {
+                for (String key : keyPositionMap.keySet()) {
+                    if (line.contains(key)) {
+                        String[] tokens;
+                        if (line.contains("'")) {
+                            tokens = line.split("'");
+                            KeyValue keyValue = new KeyValue(key, tokens[keyPositionMap.get(key)]);
                             keyValues.add(keyValue);
                             return keyValues;
+                        } else {
+                            Matcher matcher = getKeyValuePattern(key).matcher(line);
+                            if (matcher.find()) {
+                                KeyValue keyValue = new KeyValue(key, matcher.group(1));
+                                keyValues.add(keyValue);
+                                return keyValues;
+                            }
+                            return null;
                         }
-                        return null;
                     }
                 }
             }
         }
-        rd.close();
         return null;
     }
 
+    /**
+     * Get the pattern which extracts the double quoted value following the given key. The patterns are compiled once
+     * per key, as the same keys are looked up for every page of a flow.
+     *
+     * @param key Key preceding the value. eg: name="sessionDataKey"
+     * @return Pattern with the value as the first group.
+     */
+    private static Pattern getKeyValuePattern(String key) {
+
+        return KEY_VALUE_PATTERNS.computeIfAbsent(key, k ->
+                Pattern.compile(Pattern.quote(k + " value=\"") + "(.*?)" + Pattern.quote("\"")));
+    }
+
+    /**
+     * Extract the values of the given hidden inputs from the http response in a single pass. Unlike
+     * {@link #extractDataFromResponse(HttpResponse, Map)}, the extraction does not require the name and the value
+     * of an input to be in the same line, and all the requested inputs are extracted by reading the page once.
+     * The response content is fully read or closed when this method returns.
+     *
+     * @param response   Http response containing the HTML page.
+     * @param inputNames Names of the inputs. eg: sessionDataKey, sessionDataKeyConsent, SAMLResponse, RelayState
+     * @return Map of input name to the value. Inputs which are not found in the page are not included.
+     * @throws IOException If an error occurred while reading the response.
+     */
+    public static Map<String, String> extractInputValuesFromResponse(HttpResponse response, String... inputNames)
+            throws IOException {
+
+        try (Reader reader = new InputStreamReader(response.getEntity().getContent(), getCharset(response))) {
+            return new HtmlInputExtractor().extract(reader, inputNames);
+        }
+    }
+
     /**
      * Extract input values from http response
      *
@@ -104,25 +143,22 @@ public class DataExtractUtil {
             throws IOException {
 
         List<KeyValue> keyValues = new ArrayList<KeyValue>();
-        BufferedReader rd =
-                new BufferedReader(new InputStreamReader(response.getEntity()
-                        .getContent()));
-        String line;
+        try (BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()))) {
+            String line;
 
-        while ((line = rd.readLine()) != null) {
-            for (String key : keyPositionMap.keySet()) {
-                if (line.contains(key)) {
-                    Pattern p = Pattern.compile("value=\"(\\S+)\"");
-                    Matcher m = p.matcher(line);
-                    if (m.find()) {
-                        KeyValue keyValue = new KeyValue(key, m.group(1));
-                        keyValues.add(keyValue);
-                        return keyValues;
+            while ((line = rd.readLine()) != null) {
+                for (String key : keyPositionMap.keySet()) {
+                    if (line.contains(key)) {
+                        Matcher m = INPUT_VALUE_PATTERN.matcher(line);
+                        if (m.find()) {
+                            KeyValue keyValue = new KeyValue(key, m.group(1));
+                            keyValues.add(keyValue);
+                            return keyValues;
+                        }
                     }
                 }
             }
         }
-        rd.close();
 
         return null;
     }
@@ -140,26 +176,23 @@ public class DataExtractUtil {
             throws IOException {
 
         List<KeyValue> keyValues = new ArrayList<KeyValue>();
-        BufferedReader rd =
-                new BufferedReader(new InputStreamReader(response.getEntity()
-                        .getContent()));
+        try (BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()))) {
 
-        String line;
+            String line;
 
-        while ((line = rd.readLine()) != null) {
-            for (String key : keyPositionMap.keySet()) {
-                if (line.contains(key)) {
-                    Pattern p = Pattern.compile(">(\\S+)</label>");
-                    Matcher m = p.matcher(line);
-                    if (m.find()) {
-                        KeyValue keyValue = new KeyValue(key, m.group(1));
-                        keyValues.add(keyValue);
-                        return keyValues;
+            while ((line = rd.readLine()) != null) {
+                for (String key : keyPositionMap.keySet()) {
+                    if (line.contains(key)) {
+                        Matcher m = LABEL_VALUE_PATTERN.matcher(line);
+                        if (m.find()) {
+                            KeyValue keyValue = new KeyValue(key, m.group(1));
+                            keyValues.add(keyValue);
+                            return keyValues;
+                        }
                     }
                 }
             }
         }
-        rd.close();
 
         return null;
     }
@@ -178,30 +211,27 @@ public class DataExtractUtil {
 
         boolean lineReached = false;
         List<KeyValue> keyValues = new ArrayList<KeyValue>();
-        BufferedReader rd =
-                new BufferedReader(new InputStreamReader(response.getEntity()
-                        .getContent()));
-        String line;
-        while ((line = rd.readLine()) != null) {
-            for (String key : keyPositionMap.keySet()) {
-                if (line.contains(key)) {
-                    lineReached = true;
-                    continue;
-                }
-                if (lineReached) {
-                    if (line.contains("<td>")) {
-                        Pattern p = Pattern.compile("<td>(\\S+)</td>");
-                        Matcher m = p.matcher(line);
-                        if (m.find()) {
-                            KeyValue keyValue = new KeyValue(key, m.group(1));
-                            keyValues.add(keyValue);
-                            return keyValues;
+        try (BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()))) {
+            String line;
+            while ((line = rd.readLine()) != null) {
+                for (String key : keyPositionMap.keySet()) {
+                    if (line.contains(key)) {
+                        lineReached = true;
+                        continue;
+                    }
+                    if (lineReached) {
+                        if (line.contains("<td>")) {
+                            Matcher m = TABLE_DATA_PATTERN.matcher(line);
+                            if (m.find()) {
+                                KeyValue keyValue = new KeyValue(key, m.group(1));
+                                keyValues.add(keyValue);
+                                return keyValues;
+                            }
                         }
                     }
                 }
             }
         }
-        rd.close();
 
         return null;
     }
@@ -221,40 +251,37 @@ public class DataExtractUtil {
         boolean lineReached = false;
         boolean isSessionConsentData = true;
         List<KeyValue> keyValues = new ArrayList<KeyValue>();
-        BufferedReader rd =
-                new BufferedReader(new InputStreamReader(response.getEntity()
-                        .getContent()));
-        String line;
-        while ((line = rd.readLine()) != null) {
-            for (String key : keyPositionMap.keySet()) {
-                if (line.contains(key)) {
-                    lineReached = true;
-                    if (AUTH_CODE_BODY_ELEMENT.equals(key)) {
-                        isSessionConsentData = false;
+        try (BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()))) {
+            String line;
+            while ((line = rd.readLine()) != null) {
+                for (String key : keyPositionMap.keySet()) {
+                    if (line.contains(key)) {
+                        lineReached = true;
+                        if (AUTH_CODE_BODY_ELEMENT.equals(key)) {
+                            isSessionConsentData = false;
+                        }
                     }
-                }
-                if (lineReached) {
-                    if (!isSessionConsentData) {
-                        if (line.contains("<td>")) {
-                            Pattern p = Pattern.compile("<td>(\\S+)</td>");
-                            Matcher m = p.matcher(line);
-                            if (m.find()) {
-                                KeyValue keyValue = new KeyValue(AUTH_CODE_BODY_ELEMENT, m.group(1));
-                                keyValues.add(keyValue);
-                                return keyValues;
+                    if (lineReached) {
+                        if (!isSessionConsentData) {
+                            if (line.contains("<td>")) {
+                                Matcher m = TABLE_DATA_PATTERN.matcher(line);
+                                if (m.find()) {
+                                    KeyValue keyValue = new KeyValue(AUTH_CODE_BODY_ELEMENT, m.group(1));
+                                    keyValues.add(keyValue);
+                                    return keyValues;
+                                }
                             }
+                        } else if (line.contains("value")) {
+                            String[] tokens = line.split("\"");
+                            KeyValue keyValue = new KeyValue("name=\"" + OAuth2Constant.SESSION_DATA_KEY_CONSENT + "\"",
+                                    tokens[1]);
+                            keyValues.add(keyValue);
+                            return keyValues;
                         }
-                    } else if (line.contains("value")) {
-                        String[] tokens = line.split("\"");
-                        KeyValue keyValue = new KeyValue("name=\"" + OAuth2Constant.SESSION_DATA_KEY_CONSENT + "\"",
-                                tokens[1]);
-                        keyValues.add(keyValue);
-                        return keyValues;
                     }
                 }
             }
         }
-        rd.close();
 
         return null;
     }
@@ -301,6 +328,15 @@ public class DataExtractUtil {
         return param;
     }
 
+    private static Charset getCharset(HttpResponse response) {
+
+        ContentType contentType = ContentType.get(response.getEntity());
+        if (contentType != null && contentType.getCharset() != null) {
+            return contentType.getCharset();
+        }
+        return StandardCharsets.UTF_8;
+    }
+
     public static class KeyValue {
 
         private String key;
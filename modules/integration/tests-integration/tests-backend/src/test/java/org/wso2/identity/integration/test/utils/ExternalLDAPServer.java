@@ -80,8 +80,17 @@ public class ExternalLDAPServer {
     private String workingDirectoryPath;
     private String schemaZipFilePath;
     private int serverPort;
+    private int transportThreads;
+    private int backlog;
+    private int entryCacheSize;
+    private boolean lookupIndexesEnabled;
 
     public static final String ADMIN_PASSWORD_ALGORITHM = "SHA";
+    public static final String ROOT_PARTITION_SUFFIX = "dc=WSO2,dc=ORG";
+    public static final String USERS_DN = "ou=Users," + ROOT_PARTITION_SUFFIX;
+    public static final String GROUPS_DN = "ou=Groups," + ROOT_PARTITION_SUFFIX;
+    private static final int DEFAULT_TRANSPORT_THREADS = 3;
+    private static final int DEFAULT_BACKLOG = 50;
 
     public ExternalLDAPServer(String workingDirectory, String schemaZipFile, int serverPort) {
 
@@ -90,6 +99,61 @@ public class ExternalLDAPServer {
         this.serverPort = serverPort;
     }
 
+    /**
+     * Set the number of threads serving the LDAP connections. Should be at least the maximum number of pooled
+     * connections opened by the user store managers which connect to the server. Must be set before {@link #init()}.
+     * The transport defaults of ApacheDS are used if not set.
+     *
+     * @param transportThreads Number of I/O threads of the LDAP transport.
+     */
+    public void setTransportThreads(int transportThreads) {
+
+        this.transportThreads = transportThreads;
+    }
+
+    /**
+     * Set the number of pending connections queued by the server, so that a burst of new pooled connections is not
+     * refused. Must be set before {@link #init()}. The transport defaults of ApacheDS are used if not set.
+     *
+     * @param backlog Maximum number of pending connections.
+     */
+    public void setBacklog(int backlog) {
+
+        this.backlog = backlog;
+    }
+
+    /**
+     * Set the number of entries cached by the root partition. Must be set before {@link #startServer(boolean)}. The
+     * partition default is used if not set.
+     *
+     * @param entryCacheSize Number of cached entries.
+     */
+    public void setEntryCacheSize(int entryCacheSize) {
+
+        this.entryCacheSize = entryCacheSize;
+    }
+
+    /**
+     * Index the attributes the user store managers look users and groups up by, ie: mail, member and scimId, in the
+     * root partition. Must be set before {@link #startServer(boolean)}.
+     *
+     * @param lookupIndexesEnabled Whether to index the lookup attributes.
+     */
+    public void setLookupIndexesEnabled(boolean lookupIndexesEnabled) {
+
+        this.lookupIndexesEnabled = lookupIndexesEnabled;
+    }
+
+    public DirectoryService getDirectoryService() {
+
+        return directoryService;
+    }
+
+    public int getServerPort() {
+
+        return serverPort;
+    }
+
     public void init() throws Exception {
 
         initiateDirectoryService();
@@ -125,7 +189,13 @@ public class ExternalLDAPServer {
     private void initiateLDAPServer() {
 
         server = new LdapServer();
-        server.setTransports(new TcpTransport(serverPort));
+        if (transportThreads > 0 || backlog > 0) {
+            server.setTransports(new TcpTransport(null, serverPort,
+                    transportThreads > 0 ? transportThreads : DEFAULT_TRANSPORT_THREADS,
+                    backlog > 0 ? backlog : DEFAULT_BACKLOG));
+        } else {
+            server.setTransports(new TcpTransport(serverPort));
+        }
         server.setDirectoryService(directoryService);
     }
 
@@ -134,7 +204,10 @@ public class ExternalLDAPServer {
         File schemaZipFile = new File(schemaZipFilePath);
         File schemaPartitionDirectory = new File(directoryService.getInstanceLayout().getPartitionsDirectory(),
                 "schema");
-        unzipSchemaFile(schemaZipFile, schemaPartitionDirectory);
+        // The schema is already extracted when the working directory is restored from a snapshot.
+        if (!schemaPartitionDirectory.exists()) {
+            unzipSchemaFile(schemaZipFile, schemaPartitionDirectory);
+        }
         SchemaLoader loader = new LdifSchemaLoader(schemaPartitionDirectory);
         SchemaManager schemaManager = new DefaultSchemaManager(loader);
         schemaManager.loadAllEnabled();
@@ -265,7 +338,7 @@ public class ExternalLDAPServer {
     private void addPartition(String workingDirectory) throws Exception {
 
         try {
-            JdbmPartition partition = createNewPartition("root", "dc=WSO2,dc=ORG", workingDirectory);
+            JdbmPartition partition = createNewPartition("root", ROOT_PARTITION_SUFFIX, workingDirectory);
             this.directoryService.addPartition(partition);
             CoreSession adminSession = this.directoryService.getAdminSession();
 
@@ -330,7 +403,15 @@ public class ExternalLDAPServer {
             indexedAttrs.add(new JdbmIndex<Entry>("objectClass", true));
             indexedAttrs.add(new JdbmIndex<Entry>("cn", true));
             indexedAttrs.add(new JdbmIndex<Entry>("uid", true));
+            if (lookupIndexesEnabled) {
+                indexedAttrs.add(new JdbmIndex<Entry>("mail", true));
+                indexedAttrs.add(new JdbmIndex<Entry>("member", true));
+                indexedAttrs.add(new JdbmIndex<Entry>("scimId", true));
+            }
             partition.setIndexedAttributes(indexedAttrs);
+            if (entryCacheSize > 0) {
+                partition.setCacheSize(entryCacheSize);
+            }
 
             return partition;
         } catch (LdapInvalidDnException e) {
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single pass, streaming extractor for the values of named {@code <input>} elements in an HTML page.
+ * <p>
+ * The page is tokenized character by character, so the extraction does not depend on how the page is split into
+ * lines or on the order of the attributes of an element. Comments and the bodies of {@code <script>} and
+ * {@code <style>} elements are skipped, so that markup inside them is not taken for an input. Only the values of
+ * the requested inputs are materialized as strings, and reading stops as soon as all the requested inputs are found.
+ * An instance is not thread safe, but can be reused to extract values from multiple pages.
+ */
+public class HtmlInputExtractor {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EOF = -1;
+    private static final String INPUT_TAG = "input";
+    private static final String SCRIPT_TAG = "script";
+    private static final String STYLE_TAG = "style";
+    private static final String NAME_ATTRIBUTE = "name";
+    private static final String VALUE_ATTRIBUTE = "value";
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder token = new StringBuilder();
+    private final StringBuilder nameValue = new StringBuilder();
+    private final StringBuilder valueValue = new StringBuilder();
+    private Reader reader;
+    private int position;
+    private int limit;
+
+    /**
+     * Extract the values of the given inputs from the page.
+     *
+     * @param reader     Reader of the HTML page. The reader is not closed by this method.
+     * @param inputNames Names of the inputs to be extracted. eg: sessionDataKey, SAMLResponse, RelayState
+     * @return Map of input name to the value. Inputs which are not found in the page are not included.
+     * @throws IOException If an error occurred while reading the page.
+     */
+    public Map<String, String> extract(Reader reader, String... inputNames) throws IOException {
+
+        Map<String, String> values = new HashMap<>();
+        this.reader = reader;
+        this.position = 0;
+        this.limit = 0;
+        try {
+            int c;
+            while (values.size() < inputNames.length && (c = read()) != EOF) {
+                if (c == '<') {
+                    readTag(values, inputNames);
+                }
+            }
+        } finally {
+            this.reader = null;
+        }
+        return values;
+    }
+
+    private void readTag(Map<String, String> values, String[] inputNames) throws IOException {
+
+        token.setLength(0);
+        int c = read();
+        if (c == '!') {
+            skipDeclaration();
+            return;
+        }
+        while (c != EOF && isNameChar(c)) {
+            token.append((char) c);
+            c = read();
+        }
+        if (!equalsIgnoreCase(token, INPUT_TAG)) {
+            String rawTextTag = equalsIgnoreCase(token, SCRIPT_TAG) ? SCRIPT_TAG :
+                    equalsIgnoreCase(token, STYLE_TAG) ? STYLE_TAG : null;
+            skipTag(c);
+            if (rawTextTag != null) {
+                skipRawText(rawTextTag);
+            }
+            return;
+        }
+
+        nameValue.setLength(0);
+        valueValue.setLength(0);
+        boolean hasName = false;
+        boolean hasValue = false;
+        while (true) {
+            while (c != EOF && (Character.isWhitespace(c) || c == '/')) {
+                c = read();
+            }
+            if (c == EOF || c == '>') {
+                break;
+            }
+            token.setLength(0);
+            while (c != EOF && c != '=' && c != '>' && c != '/' && !Character.isWhitespace(c)) {
+                token.append((char) c);
+                c = read();
+            }
+            while (c != EOF && Character.isWhitespace(c)) {
+                c = read();
+            }
+            if (c != '=') {
+                continue;
+            }
+            c = read();
+            while (c != EOF && Character.isWhitespace(c)) {
+                c = read();
+            }
+            StringBuilder target = null;
+            if (!hasName && equalsIgnoreCase(token, NAME_ATTRIBUTE)) {
+                target = nameValue;
+                hasName = true;
+            } else if (!hasValue && equalsIgnoreCase(token, VALUE_ATTRIBUTE)) {
+                target = valueValue;
+                hasValue = true;
+            }
+            c = readAttributeValue(c, target);
+        }
+
+        if (hasName) {
+            for (String inputName : inputNames) {
+                if (!values.containsKey(inputName) && contentEquals(nameValue, inputName)) {
+                    values.put(inputName, hasValue ? unescape(valueValue) : "");
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read an attribute value, appending it to the target if one is given.
+     *
+     * @return The first character after the attribute value.
+     */
+    private int readAttributeValue(int c, StringBuilder target) throws IOException {
+
+        if (c == '"' || c == '\'') {
+            int quote = c;
+            c = read();
+            while (c != EOF && c != quote) {
+                if (target != null) {
+                    target.append((char) c);
+                }
+                c = read();
+            }
+            return c == EOF ? EOF : read();
+        }
+        while (c != EOF && c != '>' && !Character.isWhitespace(c)) {
+            if (target != null) {
+                target.append((char) c);
+            }
+            c = read();
+        }
+        return c;
+    }
+
+    private void skipTag(int c) throws IOException {
+
+        while (c != EOF && c != '>') {
+            if (c == '"' || c == '\'') {
+                c = readAttributeValue(c, null);
+            } else {
+                c = read();
+            }
+        }
+    }
+
+    /**
+     * Skip the body of a script or style element up to and including its end tag. The body is raw text, so a
+     * {@code <} in it does not start a tag.
+     */
+    private void skipRawText(String tagName) throws IOException {
+
+        String endTag = "</" + tagName;
+        int matched = 0;
+        int c;
+        while ((c = read()) != EOF) {
+            if (Character.toLowerCase(c) == endTag.charAt(matched)) {
+                matched++;
+                if (matched == endTag.length()) {
+                    skipTag(read());
+                    return;
+                }
+            } else {
+                // The end tag starts with the only '<' in it, so a mismatch can only restart the match at a '<'.
+                matched = c == '<' ? 1 : 0;
+            }
+        }
+    }
+
+    /**
+     * Skip a comment, doctype or CDATA section, so that markup inside a comment is not treated as an input.
+     */
+    private void skipDeclaration() throws IOException {
+
+        int c = read();
+        if (c != '-') {
+            skipTag(c);
+            return;
+        }
+        int dashes = 0;
+        while ((c = read()) != EOF) {
+            if (c == '>' && dashes >= 2) {
+                return;
+            }
+            dashes = c == '-' ? dashes + 1 : 0;
+        }
+    }
+
+    private int read() throws IOException {
+
+        if (position == limit) {
+            limit = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private static boolean isNameChar(int c) {
+
+        return Character.isLetterOrDigit(c) || c == '-' || c == ':' || c == '_';
+    }
+
+    private static boolean equalsIgnoreCase(StringBuilder builder, String value) {
+
+        if (builder.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.toLowerCase(builder.charAt(i)) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contentEquals(StringBuilder builder, String value) {
+
+        if (builder.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (builder.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode the character references which the authentication endpoint uses when encoding attribute values.
+     */
+    private static String unescape(StringBuilder builder) {
+
+        int ampersand = builder.indexOf("&");
+        if (ampersand < 0) {
+            return builder.toString();
+        }
+        StringBuilder result = new StringBuilder(builder.length());
+        result.append(builder, 0, ampersand);
+        int i = ampersand;
+        while (i < builder.length()) {
+            char c = builder.charAt(i);
+            int semicolon = c == '&' ? builder.indexOf(";", i) : -1;
+            String decoded = semicolon > i ? decodeReference(builder.substring(i + 1, semicolon)) : null;
+            if (decoded == null) {
+                result.append(c);
+                i++;
+            } else {
+                result.append(decoded);
+                i = semicolon + 1;
+            }
+        }
+        return result.toString();
+    }
+
+    private static String decodeReference(String reference) {
+
+        switch (reference) {
+            case "amp":
+                return "&";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            default:
+                break;
+        }
+        if (reference.length() < 2 || reference.charAt(0) != '#') {
+            return null;
+        }
+        try {
+            int codePoint;
+            if (reference.charAt(1) == 'x' || reference.charAt(1) == 'X') {
+                codePoint = Integer.parseInt(reference.substring(2), 16);
+            } else {
+                codePoint = Integer.parseInt(reference.substring(1));
+            }
+            return new String(Character.toChars(codePoint));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+/**
+ * Tests the extraction of input values from HTML pages by {@link HtmlInputExtractor}.
+ */
+public class HtmlInputExtractorTestCase {
+
+    @Test(description = "Attribute values are read whether they are double quoted, single quoted or unquoted, and " +
+            "in any order.")
+    public void testAttributeQuoting() throws Exception {
+
+        Map<String, String> values = extract("<form><input type=\"hidden\" name=\"sessionDataKey\" " +
+                        "value=\"a b\"/><INPUT value='c\"d' NAME='RelayState'><input name=SAMLResponse value=e>" +
+                        "<input name=\"empty\"></form>", "sessionDataKey", "RelayState", "SAMLResponse", "empty",
+                "missing");
+
+        Assert.assertEquals(values.get("sessionDataKey"), "a b");
+        Assert.assertEquals(values.get("RelayState"), "c\"d");
+        Assert.assertEquals(values.get("SAMLResponse"), "e");
+        Assert.assertEquals(values.get("empty"), "", "An input without a value should have an empty value.");
+        Assert.assertFalse(values.containsKey("missing"), "An input which is not in the page was extracted.");
+    }
+
+    @Test(description = "Named and numeric character references in values are decoded.")
+    public void testEntityDecoding() throws Exception {
+
+        Map<String, String> values = extract("<input name=\"url\" value=\"https://localhost/a?x=1&amp;y=&quot;2" +
+                "&quot;&#43;&#x2F;&lt;&gt;&apos;\"><input name=\"raw\" value=\"a&b&unknown;&#xZZ;\">", "url", "raw");
+
+        Assert.assertEquals(values.get("url"), "https://localhost/a?x=1&y=\"2\"+/<>'");
+        Assert.assertEquals(values.get("raw"), "a&b&unknown;&#xZZ;", "Unknown references should be kept as they are.");
+    }
+
+    @Test(description = "Inputs written by a script, or in a style, are not taken for inputs of the page.")
+    public void testScriptSkipped() throws Exception {
+
+        Map<String, String> values = extract("<script type=\"text/javascript\">if (a < b) { document.write(" +
+                "'<input name=\"sessionDataKey\" value=\"script\">'); } var s = '</scrip';</SCRIPT>" +
+                "<style>p:before { content: \"<input name='sessionDataKey' value='style'>\"; }</style>" +
+                "<input name=\"sessionDataKey\" value=\"page\">", "sessionDataKey");
+
+        Assert.assertEquals(values.get("sessionDataKey"), "page");
+    }
+
+    @Test(description = "Inputs within comments are not taken for inputs of the page.")
+    public void testCommentSkipped() throws Exception {
+
+        Map<String, String> values = extract("<!DOCTYPE html><!-- <input name=\"sessionDataKey\" value=\"comment\"> " +
+                "-- still a comment --><!----><input name=\"sessionDataKey\" value=\"page\">", "sessionDataKey");
+
+        Assert.assertEquals(values.get("sessionDataKey"), "page");
+    }
+
+    @Test(description = "The extractor can be reused across pages, and reads pages larger than its buffer.")
+    public void testReusedForLargePages() throws Exception {
+
+        HtmlInputExtractor extractor = new HtmlInputExtractor();
+        StringBuilder page = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            page.append("<div class=\"filler\">").append(i).append("</div>");
+        }
+        page.append("<input name=\"code\" value=\"last\">");
+
+        Assert.assertEquals(extractor.extract(new StringReader(page.toString()), "code").get("code"), "last");
+        Assert.assertEquals(extractor.extract(new StringReader("<input name=\"code\" value=\"next\">"), "code")
+                .get("code"), "next");
+    }
+
+    private static Map<String, String> extract(String page, String... inputNames) throws IOException {
+
+        return new HtmlInputExtractor().extract(new StringReader(page), inputNames);
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.utils;
+
+import org.apache.axiom.om.util.Base64;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.apache.directory.server.core.api.CoreSession;
+import org.apache.directory.server.core.api.DirectoryService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process LDAP server fixture, backed by {@link ExternalLDAPServer}, which can be pre-populated with users and
+ * groups and snapshotted, so that the suites which need a populated LDAP do not pay the population cost each run.
+ * <p>
+ * The first start with a given data set populates the root partition through the directory service itself, without
+ * going through the LDAP protocol, and then copies the working directory, including the built indexes, to the
+ * snapshot directory. Later starts with the same data set restore the working directory from the snapshot and start
+ * the server on it, hence skipping the schema extraction, the partition creation and the population. A snapshot is
+ * keyed on the data set and a hash of the content of the schema zip, so that a changed schema is never restored.
+ * <p>
+ * Without users and groups, the fixture starts the server the same way as {@link ExternalLDAPServer} is started on
+ * its own: the server is neither tuned nor snapshotted.
+ * <p>
+ * User {@code i} is created as uid=ldapuser{i},ou=Users,dc=WSO2,dc=ORG and is a member of the group
+ * cn=ldapgroup{i % groups},ou=Groups,dc=WSO2,dc=ORG.
+ */
+public class LDAPFixture {
+
+    private static final Log log = LogFactory.getLog(LDAPFixture.class);
+    // Increment when the layout of the partition or the generated data changes, to invalidate the old snapshots.
+    private static final int SNAPSHOT_FORMAT_VERSION = 1;
+    private static final String SNAPSHOT_COMPLETE_MARKER = ".complete";
+    private static final String[] EXCLUDED_DIRECTORIES = {"run", "log"};
+    private static final String USER_PREFIX = "ldapuser";
+    private static final String GROUP_PREFIX = "ldapgroup";
+    private static final String EMAIL_DOMAIN = "@ldap.example.com";
+    private static final String ADMIN_DN = "uid=admin," + ExternalLDAPServer.USERS_DN;
+    private static final String[] USER_OBJECT_CLASSES = {"identityPerson", "inetOrgPerson", "top",
+            "organizationalPerson", "wso2Person", "scimPerson", "person"};
+    private static final String[] GROUP_OBJECT_CLASSES = {"groupOfNames", "top"};
+    private static final String[] GIVEN_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "Nimal", "Kamala", "Ravi", "Priya", "Chen", "Mei", "Ahmed", "Fatima"};
+    private static final String[] FAMILY_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Perera", "Fernando",
+            "Silva", "Wang", "Li", "Khan", "Tanaka", "Muller", "Rossi", "Dubois", "Kowalski", "Nielsen"};
+    private static final int PROGRESS_LOG_INTERVAL = 10000;
+    private static final String SNAPSHOT_HASH_ALGORITHM = "SHA-256";
+    private static final int SNAPSHOT_HASH_LENGTH = 16;
+
+    private final String workingDirectoryPath;
+    private final String schemaZipFilePath;
+    private final int serverPort;
+    private int userCount = 0;
+    private int groupCount = 0;
+    private String userPassword = "Wso2@test123";
+    private File snapshotRootDirectory;
+    private int transportThreads = 16;
+    private int backlog = 200;
+    private int entryCacheSize = 10000;
+    private ExternalLDAPServer ldapServer;
+
+    public LDAPFixture(String workingDirectory, String schemaZipFile, int serverPort) {
+
+        this.workingDirectoryPath = workingDirectory;
+        this.schemaZipFilePath = schemaZipFile;
+        this.serverPort = serverPort;
+    }
+
+    public LDAPFixture users(int userCount) {
+
+        this.userCount = userCount;
+        return this;
+    }
+
+    public LDAPFixture groups(int groupCount) {
+
+        this.groupCount = groupCount;
+        return this;
+    }
+
+    public LDAPFixture userPassword(String userPassword) {
+
+        this.userPassword = userPassword;
+        return this;
+    }
+
+    /**
+     * Set the directory to keep the snapshots in. Snapshots are neither taken nor restored if not set. The directory
+     * should be outside of the build output, so that the snapshots outlive a clean build.
+     *
+     * @param snapshotRootDirectory Directory of the snapshots, eg: ~/.wso2-is-integration/ldap-snapshots.
+     * @return This fixture.
+     */
+    public LDAPFixture snapshotDirectory(File snapshotRootDirectory) {
+
+        this.snapshotRootDirectory = snapshotRootDirectory;
+        return this;
+    }
+
+    /**
+     * Set the number of threads serving the LDAP connections, which should not be less than the maximum number of
+     * pooled connections of the user store managers connecting to the fixture. Only applied if the fixture is
+     * populated.
+     *
+     * @param transportThreads Number of I/O threads of the LDAP transport.
+     * @return This fixture.
+     */
+    public LDAPFixture transportThreads(int transportThreads) {
+
+        this.transportThreads = transportThreads;
+        return this;
+    }
+
+    public LDAPFixture backlog(int backlog) {
+
+        this.backlog = backlog;
+        return this;
+    }
+
+    public LDAPFixture entryCacheSize(int entryCacheSize) {
+
+        this.entryCacheSize = entryCacheSize;
+        return this;
+    }
+
+    /**
+     * Start the LDAP server, restoring the working directory from the snapshot of the data set if there is one, or
+     * populating the server and taking the snapshot otherwise. The working directory is deleted first. Without users
+     * and groups, the server is only started.
+     *
+     * @throws Exception If the server could not be started or populated.
+     */
+    public void start() throws Exception {
+
+        File workingDirectory = new File(workingDirectoryPath);
+        if (workingDirectory.exists()) {
+            FileUtils.deleteDirectory(workingDirectory);
+        }
+        File snapshot = isPopulated() && snapshotRootDirectory != null ?
+                new File(snapshotRootDirectory, getSnapshotName()) : null;
+        if (snapshot != null && new File(snapshot, SNAPSHOT_COMPLETE_MARKER).exists()) {
+            long start = System.nanoTime();
+            copyDirectory(snapshot, workingDirectory);
+            ldapServer = startServer();
+            log.info("Started the LDAP server from the snapshot " + snapshot.getName() + " in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " millis.");
+            return;
+        }
+
+        if (!workingDirectory.mkdirs()) {
+            throw new IOException("Unable to create directory - " + workingDirectory.getAbsolutePath());
+        }
+        ldapServer = startServer();
+        if (!isPopulated()) {
+            return;
+        }
+        populate(ldapServer.getDirectoryService());
+        if (snapshot != null) {
+            ldapServer.stopServer();
+            // Flush the partitions, so that the working directory can be copied.
+            ldapServer.getDirectoryService().shutdown();
+            takeSnapshot(workingDirectory, snapshot);
+            ldapServer = startServer();
+        }
+    }
+
+    /**
+     * Stop the LDAP server.
+     *
+     * @throws Exception If the server could not be stopped.
+     */
+    public void stop() throws Exception {
+
+        if (ldapServer != null) {
+            ldapServer.stopServer();
+            ldapServer = null;
+        }
+    }
+
+    public String getUserName(int index) {
+
+        return USER_PREFIX + index;
+    }
+
+    public String getGroupName(int index) {
+
+        return GROUP_PREFIX + index;
+    }
+
+    public String getUserPassword() {
+
+        return userPassword;
+    }
+
+    public String getConnectionURL() {
+
+        return "ldap://localhost:" + serverPort;
+    }
+
+    /**
+     * Get the properties of a read write LDAP user store which connects to the fixture. Connection pooling is
+     * enabled, so that read heavy tests and benchmarks reuse the connections to the fixture.
+     *
+     * @return User store properties.
+     */
+    public Map<String, String> getUserStoreProperties() {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("ConnectionURL", getConnectionURL());
+        properties.put("ConnectionName", "uid=admin,ou=system");
+        properties.put("ConnectionPassword", "admin");
+        properties.put("UserSearchBase", ExternalLDAPServer.USERS_DN);
+        properties.put("GroupSearchBase", ExternalLDAPServer.GROUPS_DN);
+        properties.put("UserEntryObjectClass", "identityPerson");
+        properties.put("UserNameAttribute", "uid");
+        properties.put("UserIDAttribute", "scimId");
+        properties.put("GroupEntryObjectClass", "groupOfNames");
+        properties.put("GroupNameAttribute", "cn");
+        properties.put("MembershipAttribute", "member");
+        properties.put("ConnectionPoolingEnabled", "true");
+        properties.put("LDAPConnectionTimeout", "5000");
+        return properties;
+    }
+
+    private ExternalLDAPServer startServer() throws Exception {
+
+        ExternalLDAPServer server = new ExternalLDAPServer(workingDirectoryPath, schemaZipFilePath, serverPort);
+        if (isPopulated()) {
+            server.setTransportThreads(transportThreads);
+            server.setBacklog(backlog);
+            server.setEntryCacheSize(entryCacheSize);
+            server.setLookupIndexesEnabled(true);
+        }
+        server.init();
+        server.startServer(true);
+        return server;
+    }
+
+    private void populate(DirectoryService directoryService) throws Exception {
+
+        long start = System.nanoTime();
+        CoreSession adminSession = directoryService.getAdminSession();
+        byte[] password = hashPassword(userPassword);
+        for (int i = 0; i < userCount; i++) {
+            String userName = getUserName(i);
+            Entry user = directoryService.newEntry(new Dn("uid=" + userName + "," + ExternalLDAPServer.USERS_DN));
+            user.add("objectClass", USER_OBJECT_CLASSES);
+            user.add("uid", userName);
+            user.add("cn", userName);
+            user.add("givenName", GIVEN_NAMES[i % GIVEN_NAMES.length]);
+            user.add("sn", FAMILY_NAMES[(i / GIVEN_NAMES.length) % FAMILY_NAMES.length]);
+            user.add("mail", userName + EMAIL_DOMAIN);
+            user.add("scimId", UUID.nameUUIDFromBytes(userName.getBytes(StandardCharsets.UTF_8)).toString());
+            user.add("userPassword", password);
+            adminSession.add(user);
+            if ((i + 1) % PROGRESS_LOG_INTERVAL == 0) {
+                log.info("Added " + (i + 1) + " users to the LDAP server.");
+            }
+        }
+        for (int i = 0; i < groupCount; i++) {
+            String groupName = getGroupName(i);
+            Entry group = directoryService.newEntry(new Dn("cn=" + groupName + "," + ExternalLDAPServer.GROUPS_DN));
+            group.add("objectClass", GROUP_OBJECT_CLASSES);
+            group.add("cn", groupName);
+            // A group of names needs at least one member.
+            if (i >= userCount) {
+                group.add("member", ADMIN_DN);
+            }
+            for (int member = i; member < userCount; member += groupCount) {
+                group.add("member", "uid=" + getUserName(member) + "," + ExternalLDAPServer.USERS_DN);
+            }
+            adminSession.add(group);
+        }
+        directoryService.sync();
+        log.info("Populated the LDAP server with " + userCount + " users and " + groupCount + " groups in " +
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) + " seconds.");
+    }
+
+    /**
+     * Copy the working directory to a temporary directory next to the snapshot and then move it in place, so that an
+     * incomplete snapshot is never restored, even if two builds populate the same data set at the same time.
+     */
+    private void takeSnapshot(File workingDirectory, File snapshot) throws IOException {
+
+        File temporarySnapshot = new File(snapshot.getParentFile(), snapshot.getName() + ".tmp-" +
+                UUID.randomUUID());
+        copyDirectory(workingDirectory, temporarySnapshot);
+        if (!new File(temporarySnapshot, SNAPSHOT_COMPLETE_MARKER).createNewFile()) {
+            throw new IOException("Unable to mark the LDAP snapshot as complete - " +
+                    temporarySnapshot.getAbsolutePath());
+        }
+        try {
+            Files.move(temporarySnapshot.toPath(), snapshot.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved the LDAP snapshot " + snapshot.getAbsolutePath());
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            log.info("The LDAP snapshot " + snapshot.getName() + " was saved by another build.");
+            FileUtils.deleteDirectory(temporarySnapshot);
+        }
+    }
+
+    private void copyDirectory(File source, File destination) throws IOException {
+
+        FileUtils.copyDirectory(source, destination, file -> {
+            if (file.isDirectory()) {
+                for (String excludedDirectory : EXCLUDED_DIRECTORIES) {
+                    if (excludedDirectory.equals(file.getName())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        });
+    }
+
+    private boolean isPopulated() {
+
+        return userCount > 0 || groupCount > 0;
+    }
+
+    private String getSnapshotName() throws Exception {
+
+        MessageDigest messageDigest = MessageDigest.getInstance(SNAPSHOT_HASH_ALGORITHM);
+        try (InputStream schemaZip = Files.newInputStream(new File(schemaZipFilePath).toPath())) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = schemaZip.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+        messageDigest.update(userPassword.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hash = new StringBuilder();
+        for (byte b : messageDigest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return "v" + SNAPSHOT_FORMAT_VERSION + "-" + userCount + "u-" + groupCount + "g-" +
+                hash.substring(0, SNAPSHOT_HASH_LENGTH);
+    }
+
+    private byte[] hashPassword(String password) throws Exception {
+
+        MessageDigest messageDigest = MessageDigest.getInstance(ExternalLDAPServer.ADMIN_PASSWORD_ALGORITHM);
+        messageDigest.update(password.getBytes(StandardCharsets.UTF_8));
+        return ("{" + ExternalLDAPServer.ADMIN_PASSWORD_ALGORITHM + "}" + Base64.encode(messageDigest.digest()))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
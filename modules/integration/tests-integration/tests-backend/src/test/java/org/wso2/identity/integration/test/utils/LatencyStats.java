@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies recorded by a benchmark, with the mean and percentiles computed over all the samples.
+ * <p>
+ * An instance is not thread safe. Concurrent benchmarks record the latencies of each thread to its own instance and
+ * merge them once the threads are done.
+ */
+public class LatencyStats {
+
+    private long[] samples;
+    private int recorded;
+
+    /**
+     * Create an instance for the given number of samples. More samples can be recorded, at the cost of growing the
+     * sample array while recording.
+     *
+     * @param expectedSamples Number of samples expected to be recorded.
+     */
+    public LatencyStats(int expectedSamples) {
+
+        this.samples = new long[Math.max(1, expectedSamples)];
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param latencyNanos Latency in nanoseconds.
+     */
+    public void record(long latencyNanos) {
+
+        if (recorded == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[recorded++] = latencyNanos;
+    }
+
+    /**
+     * Add the samples of the given instance to this one.
+     *
+     * @param other Latencies to add.
+     */
+    public void merge(LatencyStats other) {
+
+        if (recorded + other.recorded > samples.length) {
+            samples = Arrays.copyOf(samples, recorded + other.recorded);
+        }
+        System.arraycopy(other.samples, 0, samples, recorded, other.recorded);
+        recorded += other.recorded;
+    }
+
+    public int getCount() {
+
+        return recorded;
+    }
+
+    /**
+     * Get the mean latency.
+     *
+     * @return Mean latency in milliseconds, or 0 if nothing was recorded.
+     */
+    public double mean() {
+
+        if (recorded == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < recorded; i++) {
+            total += samples[i];
+        }
+        return toMillis(total / recorded);
+    }
+
+    /**
+     * Get a percentile of the latency, using the nearest rank.
+     *
+     * @param percentile Percentile between 0 and 100. 100 gives the maximum latency.
+     * @return Latency at the percentile in milliseconds, or 0 if nothing was recorded.
+     */
+    public double percentile(double percentile) {
+
+        if (recorded == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, recorded);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * recorded) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, recorded - 1))]);
+    }
+
+    private static double toMillis(long nanos) {
+
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
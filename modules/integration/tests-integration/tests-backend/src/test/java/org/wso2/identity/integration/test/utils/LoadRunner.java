@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.utils;
+
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the workers of a benchmark concurrently, each from its own thread, and measures the time of the run.
+ * <p>
+ * Each worker is prepared and runs its warm up iterations, and then waits until all the other workers are warmed up,
+ * so that the measured iterations of all the workers start together. The run is either a number of measured
+ * iterations of each worker, or a time during which the workers run their iterations one after the other.
+ * <p>
+ * The runner only measures the elapsed time of the measured iterations. The workers record their own latencies and
+ * failures, usually to their own {@link LatencyStats}, which are merged once the run is done.
+ */
+public class LoadRunner {
+
+    private final int warmupIterations;
+    private final int iterations;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final boolean timed;
+    private Action beforeMeasurement;
+
+    private LoadRunner(int warmupIterations, int iterations, long warmupNanos, long durationNanos, boolean timed) {
+
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.warmupNanos = warmupNanos;
+        this.durationNanos = durationNanos;
+        this.timed = timed;
+    }
+
+    /**
+     * Create a runner which runs a number of iterations of each worker.
+     *
+     * @param warmupIterations Iterations of each worker which are not measured.
+     * @param iterations       Measured iterations of each worker.
+     * @return Runner.
+     */
+    public static LoadRunner forIterations(int warmupIterations, int iterations) {
+
+        if (warmupIterations < 0 || iterations < 0) {
+            throw new IllegalArgumentException("Iterations cannot be negative: " + warmupIterations + ", " +
+                    iterations);
+        }
+        return new LoadRunner(warmupIterations, iterations, 0, 0, false);
+    }
+
+    /**
+     * Create a runner which runs the iterations of each worker for a time.
+     *
+     * @param warmup   Time of the iterations which are not measured.
+     * @param duration Time of the measured iterations.
+     * @param unit     Unit of the times.
+     * @return Runner.
+     */
+    public static LoadRunner forDuration(long warmup, long duration, TimeUnit unit) {
+
+        if (warmup < 0 || duration <= 0) {
+            throw new IllegalArgumentException("Invalid warm up or measured time: " + warmup + ", " + duration);
+        }
+        return new LoadRunner(0, 0, unit.toNanos(warmup), unit.toNanos(duration), true);
+    }
+
+    /**
+     * Set an action to run once all the workers are warmed up, before the measured iterations start, eg: to reset
+     * the counters of a server.
+     *
+     * @param action Action to run.
+     * @return This runner.
+     */
+    public LoadRunner beforeMeasurement(Action action) {
+
+        this.beforeMeasurement = action;
+        return this;
+    }
+
+    /**
+     * Run the workers concurrently, each from its own thread.
+     *
+     * @param workers Workers to run.
+     * @return Elapsed time of the measured iterations of all the workers, in nanoseconds.
+     * @throws Exception If a worker fails, or the action before the measurement fails.
+     */
+    public long run(List<? extends Worker> workers) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        CountDownLatch ready = new CountDownLatch(workers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        long warmupEnd = System.nanoTime() + warmupNanos;
+        // End of the measured iterations, which is set once all the workers are warmed up.
+        long[] measureEnd = new long[1];
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Worker worker : workers) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        worker.prepare();
+                        for (int i = 0; timed ? System.nanoTime() < warmupEnd : i < warmupIterations; i++) {
+                            worker.runIteration(i, false);
+                        }
+                    } finally {
+                        ready.countDown();
+                    }
+                    start.await();
+                    for (int i = 0; timed ? System.nanoTime() < measureEnd[0] : i < iterations; i++) {
+                        worker.runIteration(i, true);
+                    }
+                    return null;
+                }));
+            }
+            ready.await();
+            if (beforeMeasurement != null) {
+                beforeMeasurement.run();
+            }
+            long startTime = System.nanoTime();
+            measureEnd[0] = startTime + durationNanos;
+            // Counting down the latch publishes the end of the measured iterations to the workers.
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startTime;
+        } finally {
+            start.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Get the rate of a number of events over an elapsed time.
+     *
+     * @param count        Number of events.
+     * @param elapsedNanos Elapsed time in nanoseconds.
+     * @return Events per second, or 0 if no time has elapsed.
+     */
+    public static double perSecond(long count, long elapsedNanos) {
+
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return count / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Create a pool of keep-alive connections for the HTTP clients of the workers. The pool uses one SSL context,
+     * which honours the javax.net.ssl system properties set by the tests and caches the TLS sessions of all the
+     * pooled connections, so that a TLS handshake is done once for each connection instead of once for each request.
+     *
+     * @param maxConnections Maximum number of pooled connections, in total and to each host, usually the number of
+     *                       workers.
+     * @return Connection pool.
+     */
+    public static PoolingHttpClientConnectionManager createConnectionManager(int maxConnections) {
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(SSLContexts.createSystemDefault()))
+                .build();
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        return connectionManager;
+    }
+
+    /**
+     * A worker of a benchmark. The iterations of a worker are run from a single thread, so a worker does not need to
+     * be thread safe.
+     */
+    public interface Worker {
+
+        /**
+         * Prepare the worker before its warm up iterations, eg: create its clients. The preparation is not measured.
+         *
+         * @throws Exception If the worker cannot be prepared.
+         */
+        default void prepare() throws Exception {
+
+        }
+
+        /**
+         * Run an iteration of the worker.
+         *
+         * @param iteration Index of the iteration, counted separately for the warm up and the measured iterations.
+         * @param measured  Whether the iteration is measured, or is a warm up iteration.
+         * @throws Exception If the iteration fails in a way which should fail the run.
+         */
+        void runIteration(int iteration, boolean measured) throws Exception;
+    }
+
+    /**
+     * An action run by the runner.
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        /**
+         * Run the action.
+         *
+         * @throws Exception If the action fails.
+         */
+        void run() throws Exception;
+    }
+}
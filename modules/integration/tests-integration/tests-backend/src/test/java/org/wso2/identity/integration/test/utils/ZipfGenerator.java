@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.utils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks ranks between 0 and n - 1 with a Zipf distribution, where the rank k is picked with a probability proportional
+ * to 1 / (k + 1)^exponent. Used by benchmarks to model skewed access patterns, where a few users or resources get most
+ * of the requests.
+ * <p>
+ * An exponent of 0 gives a uniform distribution, and the skew grows with the exponent. An instance is thread safe,
+ * given that each thread passes its own {@link Random}.
+ */
+public class ZipfGenerator {
+
+    private final double[] cumulativeProbabilities;
+    private final double exponent;
+
+    /**
+     * Create a generator for the given number of ranks.
+     *
+     * @param size     Number of ranks.
+     * @param exponent Skew of the distribution, 0 or more.
+     */
+    public ZipfGenerator(int size, double exponent) {
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive: " + size);
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative: " + exponent);
+        }
+        this.exponent = exponent;
+        this.cumulativeProbabilities = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulativeProbabilities[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulativeProbabilities[rank] /= total;
+        }
+    }
+
+    /**
+     * Pick a rank.
+     *
+     * @param random Source of randomness.
+     * @return Rank between 0 and size - 1.
+     */
+    public int next(Random random) {
+
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        // A negative index is -(insertion point) - 1, where the insertion point is the first rank with a larger
+        // cumulative probability.
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+
+    /**
+     * Get the share of the picks which go to the most popular ranks.
+     *
+     * @param ranks Number of the most popular ranks.
+     * @return Probability of picking one of the given number of most popular ranks.
+     */
+    public double getTopShare(int ranks) {
+
+        if (ranks <= 0) {
+            return 0;
+        }
+        return cumulativeProbabilities[Math.min(ranks, cumulativeProbabilities.length) - 1];
+    }
+
+    public int getSize() {
+
+        return cumulativeProbabilities.length;
+    }
+
+    public double getExponent() {
+
+        return exponent;
+    }
+}
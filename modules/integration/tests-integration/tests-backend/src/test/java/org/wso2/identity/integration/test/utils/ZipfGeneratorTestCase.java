@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.integration.test.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * Tests the distribution of the ranks picked by {@link ZipfGenerator}.
+ */
+public class ZipfGeneratorTestCase {
+
+    private static final int SAMPLES = 200000;
+
+    @Test(description = "An exponent of 0 picks every rank equally often.")
+    public void testUniformDistribution() {
+
+        ZipfGenerator generator = new ZipfGenerator(10, 0);
+        long[] counts = sample(generator, new Random(7));
+
+        for (int rank = 0; rank < counts.length; rank++) {
+            assertShare(counts, rank, 0.1);
+        }
+        Assert.assertEquals(generator.getTopShare(5), 0.5, 1e-9);
+    }
+
+    @Test(description = "Rank k is picked with a probability proportional to 1 / (k + 1)^exponent.")
+    public void testSkewedDistribution() {
+
+        int size = 100;
+        double exponent = 1.2;
+        ZipfGenerator generator = new ZipfGenerator(size, exponent);
+        long[] counts = sample(generator, new Random(11));
+
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+        }
+        for (int rank = 0; rank < 5; rank++) {
+            assertShare(counts, rank, 1 / Math.pow(rank + 1, exponent) / total);
+        }
+        long topCount = 0;
+        for (int rank = 0; rank < 10; rank++) {
+            topCount += counts[rank];
+        }
+        Assert.assertEquals(topCount / (double) SAMPLES, generator.getTopShare(10), 0.01,
+                "The top share does not match the share of the picks of the top ranks.");
+        Assert.assertTrue(counts[0] > counts[1] && counts[1] > counts[2], "The most popular ranks are not picked " +
+                "most often.");
+    }
+
+    @Test(description = "The top share grows with the number of ranks, and is 1 for all the ranks.")
+    public void testTopShare() {
+
+        ZipfGenerator generator = new ZipfGenerator(1000, 0.8);
+
+        Assert.assertEquals(generator.getTopShare(0), 0.0);
+        Assert.assertTrue(generator.getTopShare(10) > 10 / 1000.0, "A skewed distribution should favour the top " +
+                "ranks.");
+        Assert.assertTrue(generator.getTopShare(100) > generator.getTopShare(10));
+        Assert.assertEquals(generator.getTopShare(1000), 1.0, 1e-9);
+        Assert.assertEquals(generator.getTopShare(2000), 1.0, 1e-9);
+    }
+
+    @Test(description = "A generator without ranks is rejected.",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidSize() {
+
+        new ZipfGenerator(0, 1);
+    }
+
+    @Test(description = "A negative exponent is rejected.", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidExponent() {
+
+        new ZipfGenerator(10, -0.5);
+    }
+
+    private static long[] sample(ZipfGenerator generator, Random random) {
+
+        long[] counts = new long[generator.getSize()];
+        for (int i = 0; i < SAMPLES; i++) {
+            int rank = generator.next(random);
+            Assert.assertTrue(rank >= 0 && rank < counts.length, "Rank out of range: " + rank);
+            counts[rank]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Assert that a rank is picked within 5% of its expected share of the samples, which is over 4 standard
+     * deviations of the share for the ranks and the number of samples checked.
+     */
+    private static void assertShare(long[] counts, int rank, double expectedShare) {
+
+        double share = counts[rank] / (double) SAMPLES;
+        Assert.assertEquals(share, expectedShare, expectedShare * 0.05,
+                "Share of rank " + rank + " is off: " + share);
+    }
+}
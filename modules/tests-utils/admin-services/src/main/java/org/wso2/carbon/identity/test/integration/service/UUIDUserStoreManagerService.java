@@ -21,6 +21,8 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.test.integration.service.dao.Attribute;
 import org.wso2.carbon.identity.test.integration.service.dao.AuthenticationResultDTO;
+import org.wso2.carbon.identity.test.integration.service.dao.BulkOperationResultDTO;
+import org.wso2.carbon.identity.test.integration.service.dao.BulkUserDTO;
 import org.wso2.carbon.identity.test.integration.service.dao.ClaimDTO;
 import org.wso2.carbon.identity.test.integration.service.dao.ClaimValue;
 import org.wso2.carbon.identity.test.integration.service.dao.ConditionDTO;
@@ -28,6 +30,7 @@ import org.wso2.carbon.identity.test.integration.service.dao.FailureReasonDTO;
 import org.wso2.carbon.identity.test.integration.service.dao.LoginIdentifierDTO;
 import org.wso2.carbon.identity.test.integration.service.dao.PermissionDTO;
 import org.wso2.carbon.identity.test.integration.service.dao.UniqueIDUserClaimSearchEntryDAO;
+import org.wso2.carbon.identity.test.integration.service.dao.UserClaimValuesDTO;
 import org.wso2.carbon.identity.test.integration.service.dao.UserClaimSearchEntryDAO;
 import org.wso2.carbon.identity.test.integration.service.dao.UserDTO;
 import org.wso2.carbon.identity.test.integration.service.dao.UserRoleListDTO;
@@ -46,9 +49,11 @@ import org.wso2.carbon.user.core.model.UserClaimSearchEntry;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -419,6 +424,168 @@ public class UUIDUserStoreManagerService {
         }
     }
 
+    /**
+     * Add the given users in one call. The users are added one after the other in the same user store manager, and if
+     * a user cannot be added, the users already added by the call are deleted, so that either all or none of the users
+     * are added.
+     *
+     * @param users       Users to add.
+     * @param profileName Profile name of the claims.
+     * @return Added users, in the order of the request, with the time taken to add them.
+     * @throws UserStoreException If a user cannot be added.
+     */
+    public BulkOperationResultDTO addUsersWithID(BulkUserDTO[] users, String profileName)
+            throws UserStoreException {
+
+        long start = System.nanoTime();
+        AbstractUserStoreManager userStoreManager = getUserStoreManager();
+        OperationTimer timer = new OperationTimer(start);
+        List<UserDTO> addedUsers = new ArrayList<>();
+        for (BulkUserDTO user : nullToEmpty(users)) {
+            long operationStart = System.nanoTime();
+            try {
+                addedUsers.add(getUserDTO(userStoreManager.addUserWithID(user.getUserName(), user.getCredential(),
+                        user.getRoleList(), convertClaimValueToMap(user.getClaims()), profileName)));
+            } catch (org.wso2.carbon.user.core.UserStoreException e) {
+                log.error("Error while adding the user " + user.getUserName() + " of the bulk request.", e);
+                int removedCount = removeAddedUsers(userStoreManager, addedUsers);
+                throw new UserStoreException("Error while adding the user " + user.getUserName() + ". Removed " +
+                        removedCount + " of the " + addedUsers.size() + " users added before it. " + e.getMessage(),
+                        e.getErrorCode(), e.getCause());
+            }
+            timer.recordOperation(operationStart);
+        }
+        BulkOperationResultDTO result = timer.getResult();
+        result.setUsers(addedUsers.toArray(new UserDTO[0]));
+        return result;
+    }
+
+    /**
+     * Delete the given users in one call. A deleted user cannot be restored, as its credential is not known, so the
+     * call stops at the first user which cannot be deleted and the error reports how many users were deleted.
+     *
+     * @param userIDs Ids of the users to delete.
+     * @return Number of deleted users, with the time taken to delete them.
+     * @throws UserStoreException If a user cannot be deleted.
+     */
+    public BulkOperationResultDTO deleteUsersWithID(String[] userIDs) throws UserStoreException {
+
+        long start = System.nanoTime();
+        AbstractUserStoreManager userStoreManager = getUserStoreManager();
+        OperationTimer timer = new OperationTimer(start);
+        for (String userID : nullToEmpty(userIDs)) {
+            long operationStart = System.nanoTime();
+            try {
+                userStoreManager.deleteUserWithID(userID);
+            } catch (org.wso2.carbon.user.core.UserStoreException e) {
+                log.error("Error while deleting the user " + userID + " of the bulk request.", e);
+                throw new UserStoreException("Error while deleting the user " + userID + ". Deleted " +
+                        timer.getResult().getProcessedCount() + " users before it. " + e.getMessage(),
+                        e.getErrorCode(), e.getCause());
+            }
+            timer.recordOperation(operationStart);
+        }
+        return timer.getResult();
+    }
+
+    /**
+     * Set the claim values of the given users in one call. The existing values of the claims of a user are read before
+     * they are set, and if the claims of a user cannot be set, the users already updated by the call get their
+     * previous values back, so that either all or none of the users are updated.
+     *
+     * @param userClaims  Claim values of each user.
+     * @param profileName Profile name of the claims.
+     * @return Number of updated users, with the time taken to update them.
+     * @throws UserStoreException If the claims of a user cannot be set.
+     */
+    public BulkOperationResultDTO setUsersClaimValuesWithID(UserClaimValuesDTO[] userClaims, String profileName)
+            throws UserStoreException {
+
+        long start = System.nanoTime();
+        AbstractUserStoreManager userStoreManager = getUserStoreManager();
+        OperationTimer timer = new OperationTimer(start);
+        Map<String, Map<String, String>> previousClaims = new LinkedHashMap<>();
+        Map<String, String[]> updatedClaimURIs = new HashMap<>();
+        for (UserClaimValuesDTO userClaim : nullToEmpty(userClaims)) {
+            String userID = userClaim.getUserID();
+            Map<String, String> claims = convertClaimValueToMap(userClaim.getClaims());
+            String[] claimURIs = claims.keySet().toArray(new String[0]);
+            try {
+                long snapshotStart = System.nanoTime();
+                Map<String, String> existingClaims = userStoreManager.getUserClaimValuesWithID(userID, claimURIs,
+                        profileName);
+                timer.recordSnapshot(snapshotStart);
+
+                long operationStart = System.nanoTime();
+                userStoreManager.setUserClaimValuesWithID(userID, claims, profileName);
+                timer.recordOperation(operationStart);
+                previousClaims.put(userID, existingClaims);
+                updatedClaimURIs.put(userID, claimURIs);
+            } catch (org.wso2.carbon.user.core.UserStoreException e) {
+                log.error("Error while setting the claims of the user " + userID + " of the bulk request.", e);
+                int revertedCount = revertClaimValues(userStoreManager, previousClaims, updatedClaimURIs,
+                        profileName);
+                throw new UserStoreException("Error while setting the claims of the user " + userID + ". Reverted " +
+                        revertedCount + " of the " + previousClaims.size() + " users updated before it. " +
+                        e.getMessage(), e.getErrorCode(), e.getCause());
+            }
+        }
+        return timer.getResult();
+    }
+
+    private int removeAddedUsers(AbstractUserStoreManager userStoreManager, List<UserDTO> addedUsers) {
+
+        int removedCount = 0;
+        for (UserDTO addedUser : addedUsers) {
+            try {
+                userStoreManager.deleteUserWithID(addedUser.getUserID());
+                removedCount++;
+            } catch (org.wso2.carbon.user.core.UserStoreException e) {
+                log.error("Error while removing the user " + addedUser.getUserID() + " added by the failed bulk " +
+                        "request.", e);
+            }
+        }
+        return removedCount;
+    }
+
+    private int revertClaimValues(AbstractUserStoreManager userStoreManager,
+                                  Map<String, Map<String, String>> previousClaims,
+                                  Map<String, String[]> updatedClaimURIs, String profileName) {
+
+        int revertedCount = 0;
+        for (Map.Entry<String, Map<String, String>> entry : previousClaims.entrySet()) {
+            String userID = entry.getKey();
+            Map<String, String> existingClaims = entry.getValue();
+            // Claims which had no value before the update are deleted, the others are set back.
+            List<String> addedClaimURIs = new ArrayList<>();
+            for (String claimURI : updatedClaimURIs.get(userID)) {
+                if (!existingClaims.containsKey(claimURI)) {
+                    addedClaimURIs.add(claimURI);
+                }
+            }
+            try {
+                if (!existingClaims.isEmpty()) {
+                    userStoreManager.setUserClaimValuesWithID(userID, existingClaims, profileName);
+                }
+                if (!addedClaimURIs.isEmpty()) {
+                    userStoreManager.deleteUserClaimValuesWithID(userID, addedClaimURIs.toArray(new String[0]),
+                            profileName);
+                }
+                revertedCount++;
+            } catch (org.wso2.carbon.user.core.UserStoreException e) {
+                log.error("Error while reverting the claims of the user " + userID + " updated by the failed bulk " +
+                        "request.", e);
+            }
+        }
+        return revertedCount;
+    }
+
+    private static <T> List<T> nullToEmpty(T[] values) {
+
+        // Axis2 sends an empty array as null.
+        return values == null ? Collections.<T>emptyList() : Arrays.asList(values);
+    }
+
     private UserDTO getUserDTO(User user) {
 
         UserDTO userDTO = new UserDTO();
@@ -584,6 +751,9 @@ public class UUIDUserStoreManagerService {
     private Map<String, String> convertClaimValueToMap(ClaimValue[] values) {
 
         Map<String, String> map = new HashMap<>();
+        if (values == null) {
+            return map;
+        }
         for (ClaimValue claimValue : values) {
             map.put(claimValue.getClaimUri(), claimValue.getClaimValue());
         }
@@ -644,4 +814,38 @@ public class UUIDUserStoreManagerService {
         userClaimSearchEntryDAO.setClaims(claimValues);
         return userClaimSearchEntryDAO;
     }
+
+    /**
+     * Collects the time spent in each phase of a bulk operation.
+     */
+    private static class OperationTimer {
+
+        private final long start;
+        private final BulkOperationResultDTO result = new BulkOperationResultDTO();
+
+        OperationTimer(long start) {
+
+            this.start = start;
+            result.setRealmLookupTimeNanos(System.nanoTime() - start);
+        }
+
+        void recordSnapshot(long snapshotStart) {
+
+            result.setSnapshotTimeNanos(result.getSnapshotTimeNanos() + System.nanoTime() - snapshotStart);
+        }
+
+        void recordOperation(long operationStart) {
+
+            long elapsed = System.nanoTime() - operationStart;
+            result.setUserStoreTimeNanos(result.getUserStoreTimeNanos() + elapsed);
+            result.setMaxOperationTimeNanos(Math.max(result.getMaxOperationTimeNanos(), elapsed));
+            result.setProcessedCount(result.getProcessedCount() + 1);
+        }
+
+        BulkOperationResultDTO getResult() {
+
+            result.setTotalTimeNanos(System.nanoTime() - start);
+            return result;
+        }
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.test.integration.service.dao;
+
+/**
+ * Result of a bulk operation, with the time spent in each phase of the operation on the server. All the times are in
+ * nanoseconds, so that the cost of a single user store operation can be told apart from the SOAP round trip.
+ */
+public class BulkOperationResultDTO {
+
+    private UserDTO[] users;
+    private int processedCount;
+    private long realmLookupTimeNanos;
+    private long snapshotTimeNanos;
+    private long userStoreTimeNanos;
+    private long maxOperationTimeNanos;
+    private long totalTimeNanos;
+
+    /**
+     * Get the users added by the operation. Empty for operations which do not add users.
+     *
+     * @return Added users.
+     */
+    public UserDTO[] getUsers() {
+
+        return users;
+    }
+
+    public void setUsers(UserDTO[] users) {
+
+        this.users = users;
+    }
+
+    /**
+     * Get the number of users processed by the operation.
+     *
+     * @return Number of processed users.
+     */
+    public int getProcessedCount() {
+
+        return processedCount;
+    }
+
+    public void setProcessedCount(int processedCount) {
+
+        this.processedCount = processedCount;
+    }
+
+    /**
+     * Get the time taken to look up the user realm and the user store manager.
+     *
+     * @return Realm lookup time.
+     */
+    public long getRealmLookupTimeNanos() {
+
+        return realmLookupTimeNanos;
+    }
+
+    public void setRealmLookupTimeNanos(long realmLookupTimeNanos) {
+
+        this.realmLookupTimeNanos = realmLookupTimeNanos;
+    }
+
+    /**
+     * Get the time taken to read the existing values needed to revert the operation if it fails. Zero for operations
+     * which do not read existing values.
+     *
+     * @return Snapshot time.
+     */
+    public long getSnapshotTimeNanos() {
+
+        return snapshotTimeNanos;
+    }
+
+    public void setSnapshotTimeNanos(long snapshotTimeNanos) {
+
+        this.snapshotTimeNanos = snapshotTimeNanos;
+    }
+
+    /**
+     * Get the time spent in the user store manager for all the users.
+     *
+     * @return User store time.
+     */
+    public long getUserStoreTimeNanos() {
+
+        return userStoreTimeNanos;
+    }
+
+    public void setUserStoreTimeNanos(long userStoreTimeNanos) {
+
+        this.userStoreTimeNanos = userStoreTimeNanos;
+    }
+
+    /**
+     * Get the time spent in the user store manager for the slowest user.
+     *
+     * @return Maximum time of a single user store operation.
+     */
+    public long getMaxOperationTimeNanos() {
+
+        return maxOperationTimeNanos;
+    }
+
+    public void setMaxOperationTimeNanos(long maxOperationTimeNanos) {
+
+        this.maxOperationTimeNanos = maxOperationTimeNanos;
+    }
+
+    /**
+     * Get the time taken by the whole operation on the server.
+     *
+     * @return Total time.
+     */
+    public long getTotalTimeNanos() {
+
+        return totalTimeNanos;
+    }
+
+    public void setTotalTimeNanos(long totalTimeNanos) {
+
+        this.totalTimeNanos = totalTimeNanos;
+    }
+}
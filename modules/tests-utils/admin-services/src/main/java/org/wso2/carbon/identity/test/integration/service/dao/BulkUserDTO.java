@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.test.integration.service.dao;
+
+/**
+ * A user to be added by a bulk add operation.
+ */
+public class BulkUserDTO {
+
+    private String userName;
+    private String credential;
+    private String[] roleList;
+    private ClaimValue[] claims;
+
+    public String getUserName() {
+
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+
+        this.userName = userName;
+    }
+
+    public String getCredential() {
+
+        return credential;
+    }
+
+    public void setCredential(String credential) {
+
+        this.credential = credential;
+    }
+
+    public String[] getRoleList() {
+
+        return roleList;
+    }
+
+    public void setRoleList(String[] roleList) {
+
+        this.roleList = roleList;
+    }
+
+    public ClaimValue[] getClaims() {
+
+        return claims;
+    }
+
+    public void setClaims(ClaimValue[] claims) {
+
+        this.claims = claims;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.scenarios.sso.test.saml;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.xml.security.signature.XMLSignature;
+import org.opensaml.common.xml.SAMLConstants;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.xsd.ServiceProvider;
+import org.wso2.carbon.identity.sso.saml.stub.types.SAMLSSOServiceProviderDTO;
+import org.wso2.identity.scenarios.commons.SAML2SSOTestBase;
+import org.wso2.identity.scenarios.commons.SAMLConfig;
+import org.wso2.identity.scenarios.commons.ScenarioTestBase;
+import org.wso2.identity.scenarios.commons.TestConfig;
+import org.wso2.identity.scenarios.commons.TestUserMode;
+import org.wso2.identity.scenarios.commons.clients.usermgt.remote.RemoteUserStoreManagerServiceClient;
+import org.wso2.identity.scenarios.commons.load.LatencyRecorder;
+import org.wso2.identity.scenarios.commons.load.OpenModelLoadGenerator;
+import org.wso2.identity.scenarios.commons.load.SAML2SSOLoadDriver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.carbon.utils.multitenancy.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+import static org.wso2.identity.scenarios.commons.util.Constants.SigningProperties.SIGNATURE_ALGORITHM_SHA1_RSA;
+import static org.wso2.identity.scenarios.commons.util.Constants.SigningProperties.XML_DIGEST_ALGORITHM_SHA1;
+
+/**
+ * Measures the SAML2 SSO login capacity of the identity server with an open workload model.
+ * <p>
+ * This test is not part of the default scenario suite. Run it with the load profile, eg:
+ * mvn clean install -Pload -Dload.arrival.rate=200 -Dload.duration.seconds=300 -Dload.users=500
+ * <p>
+ * Supported system properties are load.users, load.arrival.rate, load.duration.seconds, load.workers,
+ * load.poisson.arrivals, load.validate.signatures and load.report.dir.
+ */
+public class SAMLSSOLoadTestCase extends ScenarioTestBase {
+
+    private static final Log log = LogFactory.getLog(SAMLSSOLoadTestCase.class);
+    private static final String[] SP_CONFIG_FILES = {"sso-saml-app.xml", "sso-saml-app-2.xml"};
+    private static final String USER_AGENT = "Apache-HttpClient/4.2.5 (java 1.5)";
+    private static final String DEFAULT_PROFILE_NAME = "default";
+    private static final String LOAD_USER_PREFIX = "samlloaduser";
+    private static final String LOAD_USER_PASSWORD = "Loadpass#1";
+    private static final String ARTIFACT = "travelocity.com";
+
+    private final List<SAMLConfig> samlConfigs = new ArrayList<>();
+    private final List<String> spNames = new ArrayList<>();
+    private final List<SAMLSSOServiceProviderDTO> serviceProviders = new ArrayList<>();
+    private SAML2SSOTestBase saml2SSOTestBase;
+    private RemoteUserStoreManagerServiceClient remoteUSMServiceClient;
+    private SAML2SSOLoadDriver loadDriver;
+    private LatencyRecorder recorder;
+
+    @BeforeClass(alwaysRun = true)
+    public void testInit() throws Exception {
+
+        super.init();
+        loginAndObtainSessionCookie();
+        this.saml2SSOTestBase = new SAML2SSOTestBase(backendURL, backendServiceURL, sessionCookie, configContext);
+        this.remoteUSMServiceClient = new RemoteUserStoreManagerServiceClient(backendServiceURL, sessionCookie);
+
+        int userCount = Integer.getInteger("load.users", 10);
+        for (int i = 0; i < userCount; i++) {
+            String username = LOAD_USER_PREFIX + i;
+            SAMLConfig samlConfig = new SAMLConfig(TestUserMode.SUPER_TENANT_USER, new TestConfig.User(username,
+                    LOAD_USER_PASSWORD, SUPER_TENANT_DOMAIN_NAME, username, new HashMap<>(), null),
+                    TestConfig.ClaimType.NONE, SAMLConstants.SAML2_REDIRECT_BINDING_URI, new HashMap<>(), ARTIFACT,
+                    SIGNATURE_ALGORITHM_SHA1_RSA, XMLSignature.ALGO_ID_SIGNATURE_RSA, XML_DIGEST_ALGORITHM_SHA1, true);
+            Assert.assertTrue(createUser(samlConfig, remoteUSMServiceClient, DEFAULT_PROFILE_NAME),
+                    "Failed to create the load test user: " + username);
+            samlConfigs.add(samlConfig);
+        }
+
+        for (String spConfigFile : SP_CONFIG_FILES) {
+            String spName = saml2SSOTestBase.createServiceProvider(spConfigFile);
+            Assert.assertNotNull(spName, "Failed to create service provider from file: " + spConfigFile);
+            spNames.add(spName);
+            ServiceProvider serviceProvider = saml2SSOTestBase.getServiceProvider(spName);
+            SAMLSSOServiceProviderDTO samlssoServiceProviderDTO =
+                    saml2SSOTestBase.getSAMLSSOServiceProvider(serviceProvider);
+            Assert.assertNotNull(samlssoServiceProviderDTO, "Failed to load SAML2 application in SP : " + spName);
+            serviceProviders.add(samlssoServiceProviderDTO);
+        }
+
+        int workers = Integer.getInteger("load.workers", 50);
+        this.recorder = new LatencyRecorder();
+        this.loadDriver = new SAML2SSOLoadDriver(saml2SSOTestBase, samlConfigs, serviceProviders, recorder,
+                USER_AGENT, Boolean.parseBoolean(System.getProperty("load.validate.signatures", "true")), workers);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void clear() throws Exception {
+
+        if (loadDriver != null) {
+            loadDriver.close();
+        }
+        for (String spName : spNames) {
+            saml2SSOTestBase.deleteServiceProvider(spName);
+        }
+        for (SAMLConfig samlConfig : samlConfigs) {
+            deleteUser(samlConfig, remoteUSMServiceClient);
+        }
+        saml2SSOTestBase.clearRuntimeVariables();
+    }
+
+    @Test(description = "SAML2 SSO login load test")
+    public void testSAMLSSOLoginLoad() throws Exception {
+
+        double arrivalRate = Double.parseDouble(System.getProperty("load.arrival.rate", "10"));
+        long durationSeconds = Long.getLong("load.duration.seconds", 60);
+        int workers = Integer.getInteger("load.workers", 50);
+        boolean poissonArrivals = Boolean.getBoolean("load.poisson.arrivals");
+
+        OpenModelLoadGenerator loadGenerator = new OpenModelLoadGenerator(arrivalRate, workers, workers * 10,
+                poissonArrivals, recorder);
+        loadGenerator.run(SAML2SSOLoadDriver.SSO_LOGIN_OPERATION, loadDriver, durationSeconds, TimeUnit.SECONDS);
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        recorder.printSummary(new PrintStream(summary, true, StandardCharsets.UTF_8.name()));
+        log.info("SAML2 SSO load test results for " + samlConfigs.size() + " users and " + serviceProviders.size()
+                + " service providers:\n" + summary.toString(StandardCharsets.UTF_8.name()));
+        recorder.writePercentileDistributions(new File(System.getProperty("load.report.dir", "load-reports"),
+                "saml2-sso"));
+
+        Assert.assertTrue(recorder.getCount(SAML2SSOLoadDriver.SSO_LOGIN_OPERATION) > 0,
+                "No SAML2 SSO login completed successfully during the load test.");
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.scenarios.access.delegation.oauth2.load;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.identity.scenarios.commons.HTTPCommonClient;
+import org.wso2.identity.scenarios.commons.OAuth2CommonClient;
+import org.wso2.identity.scenarios.commons.ScenarioTestBase;
+import org.wso2.identity.scenarios.commons.load.LatencyRecorder;
+import org.wso2.identity.scenarios.commons.load.OAuth2GrantLoadDriver;
+import org.wso2.identity.scenarios.commons.load.OpenModelLoadGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertTrue;
+import static org.wso2.identity.scenarios.commons.util.Constants.IS_HTTPS_URL;
+import static org.wso2.identity.scenarios.commons.util.Constants.IS_SAMPLES_HTTP_URL;
+
+/**
+ * Measures the token endpoint capacity of the identity server with a mixed OAuth2 grant workload and an open
+ * workload model.
+ * <p>
+ * This test is not part of the default scenario suite. Run it with the load profile, eg:
+ * mvn clean install -Pload -Dload.mix=client_credentials:4,password:3,refresh_token:2,authorization_code:1
+ * -Dload.arrival.rate=500 -Dload.duration.seconds=300
+ * <p>
+ * Supported system properties are load.mix, load.applications, load.refresh.tokens, load.arrival.rate,
+ * load.duration.seconds, load.workers, load.poisson.arrivals and load.report.dir.
+ */
+public class OAuth2GrantLoadTestCase extends ScenarioTestBase {
+
+    private static final Log log = LogFactory.getLog(OAuth2GrantLoadTestCase.class);
+    private static final String APPLICATION_NAME_PREFIX = "oauth2-load-app-";
+    private static final String DEFAULT_MIX = "client_credentials:4,password:3,refresh_token:2,authorization_code:1," +
+            "introspect:2";
+
+    private HTTPCommonClient httpCommonClient;
+    private OAuth2CommonClient oAuth2CommonClient;
+    private List<OAuth2GrantLoadDriver.Application> applications = new ArrayList<>();
+    private Map<OAuth2GrantLoadDriver.Grant, Integer> mix;
+    private OAuth2GrantLoadDriver loadDriver;
+    private LatencyRecorder recorder;
+
+    @BeforeClass(alwaysRun = true)
+    public void testInit() throws Exception {
+
+        httpCommonClient = new HTTPCommonClient();
+        oAuth2CommonClient = new OAuth2CommonClient(httpCommonClient, getDeploymentProperty(IS_HTTPS_URL),
+                SUPER_TENANT_DOMAIN);
+        applications = OAuth2GrantLoadDriver.registerApplications(oAuth2CommonClient, httpCommonClient,
+                APPLICATION_NAME_PREFIX, Integer.getInteger("load.applications", 10),
+                getDeploymentProperty(IS_SAMPLES_HTTP_URL), ADMIN_USERNAME, ADMIN_PASSWORD);
+
+        mix = OAuth2GrantLoadDriver.parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+        recorder = new LatencyRecorder();
+        loadDriver = new OAuth2GrantLoadDriver(getDeploymentProperty(IS_HTTPS_URL), SUPER_TENANT_DOMAIN,
+                applications, ADMIN_USERNAME, ADMIN_PASSWORD, mix, recorder, Integer.getInteger("load.workers", 50));
+        if (mix.containsKey(OAuth2GrantLoadDriver.Grant.REFRESH_TOKEN)) {
+            loadDriver.seedRefreshTokens(Integer.getInteger("load.refresh.tokens", 1000));
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void atEnd() throws Exception {
+
+        if (loadDriver != null) {
+            loadDriver.close();
+        }
+        OAuth2GrantLoadDriver.deleteApplications(oAuth2CommonClient, httpCommonClient, applications,
+                ADMIN_USERNAME, ADMIN_PASSWORD);
+        httpCommonClient.closeHttpClient();
+    }
+
+    @Test(description = "OAuth2 token endpoint load test")
+    public void testOAuth2GrantLoad() throws Exception {
+
+        double arrivalRate = Double.parseDouble(System.getProperty("load.arrival.rate", "50"));
+        long durationSeconds = Long.getLong("load.duration.seconds", 60);
+        int workers = Integer.getInteger("load.workers", 50);
+        boolean poissonArrivals = Boolean.getBoolean("load.poisson.arrivals");
+
+        OpenModelLoadGenerator loadGenerator = new OpenModelLoadGenerator(arrivalRate, workers, workers * 10,
+                poissonArrivals, recorder);
+        loadGenerator.run("oauth2-token", loadDriver, durationSeconds, TimeUnit.SECONDS);
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        recorder.printSummary(new PrintStream(summary, true, StandardCharsets.UTF_8.name()));
+        log.info("OAuth2 grant load test results for mix " + mix + " over " + applications.size() +
+                " applications:\n" + summary.toString(StandardCharsets.UTF_8.name()));
+        recorder.writePercentileDistributions(new File(System.getProperty("load.report.dir", "load-reports"),
+                "oauth2-grants"));
+
+        for (OAuth2GrantLoadDriver.Grant grant : mix.keySet()) {
+            assertTrue(mix.get(grant) == 0 || recorder.getCount(grant.getOperation()) > 0,
+                    "No " + grant.getName() + " request completed successfully during the load test.");
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.config.Lookup;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.cookie.CookieSpecProvider;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -47,25 +48,40 @@ import java.net.URISyntaxException;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.wso2.identity.scenarios.commons.util.Constants.BASIC;
 
 public class HTTPCommonClient {
 
+    private static final int SHARED_CONNECTION_REQUEST_TIMEOUT_IN_SECONDS = 30;
+
     private CloseableHttpClient client;
 
     public HTTPCommonClient() {
 
-        Lookup<CookieSpecProvider> cookieSpecRegistry = RegistryBuilder.<CookieSpecProvider>create()
-                .register(CookieSpecs.DEFAULT, new RFC6265CookieSpecProvider())
-                .build();
-        RequestConfig requestConfig = RequestConfig.custom()
-                .setCookieSpec(CookieSpecs.DEFAULT)
-                .build();
-        this.client = HttpClientBuilder.create()
-                .setDefaultCookieSpecRegistry(cookieSpecRegistry)
-                .setDefaultRequestConfig(requestConfig)
-                .build();
+        this.client = createHttpClientBuilder(RequestConfig.custom()).build();
+    }
+
+    /**
+     * Create a client which uses the given connection manager instead of creating its own connections. Each client
+     * keeps its own cookies, hence multiple clients can share a connection pool while acting as separate browsers.
+     * Closing the client does not shut down the connection manager. Leasing a connection from the shared pool times
+     * out instead of blocking forever when all the connections are in use.
+     *
+     * @param connectionManager Shared connection manager.
+     * @param followRedirects   Whether redirects should be followed.
+     */
+    public HTTPCommonClient(HttpClientConnectionManager connectionManager, boolean followRedirects) {
+
+        HttpClientBuilder builder = createHttpClientBuilder(RequestConfig.custom().setConnectionRequestTimeout(
+                (int) TimeUnit.SECONDS.toMillis(SHARED_CONNECTION_REQUEST_TIMEOUT_IN_SECONDS)))
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true);
+        if (!followRedirects) {
+            builder.disableRedirectHandling();
+        }
+        this.client = builder.build();
     }
 
     /**
@@ -217,4 +233,17 @@ public class HTTPCommonClient {
         String encodedHeader = encoder.encodeToString(String.join(":", key, secret).getBytes());
         return String.join(" ", BASIC, encodedHeader);
     }
+
+    private static HttpClientBuilder createHttpClientBuilder(RequestConfig.Builder requestConfigBuilder) {
+
+        Lookup<CookieSpecProvider> cookieSpecRegistry = RegistryBuilder.<CookieSpecProvider>create()
+                .register(CookieSpecs.DEFAULT, new RFC6265CookieSpecProvider())
+                .build();
+        RequestConfig requestConfig = requestConfigBuilder
+                .setCookieSpec(CookieSpecs.DEFAULT)
+                .build();
+        return HttpClientBuilder.create()
+                .setDefaultCookieSpecRegistry(cookieSpecRegistry)
+                .setDefaultRequestConfig(requestConfig);
+    }
 }
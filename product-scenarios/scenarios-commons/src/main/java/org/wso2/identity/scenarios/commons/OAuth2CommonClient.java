@@ -252,17 +252,16 @@ public class OAuth2CommonClient {
         if (params != null) {
             requestParams.putAll(params);
         }
-        log.info("###>: " + authorizeEndpoint);
-        log.info("###>: " + responseType);
-        log.info("###>: " + clientId);
-        log.info("###>: " + redirectUri);
-        log.info("###>: " + scope);
+        if (log.isDebugEnabled()) {
+            log.debug("Sending authorize request to: " + authorizeEndpoint + ", response type: " + responseType +
+                    ", client id: " + clientId + ", redirect uri: " + redirectUri + ", scope: " + scope);
+        }
         HttpResponse response = httpCommonClient.sendGetRequest(authorizeEndpoint, requestParams, null);
-        Header locationHeader = response.getFirstHeader(HTTP_RESPONSE_HEADER_LOCATION);
-        if (locationHeader != null) {
-            log.info("###>: " + locationHeader.getValue());
+        if (log.isDebugEnabled()) {
+            Header locationHeader = response.getFirstHeader(HTTP_RESPONSE_HEADER_LOCATION);
+            log.debug("Authorize response status: " + response.getStatusLine().getStatusCode() + ", location: " +
+                    (locationHeader != null ? locationHeader.getValue() : null));
         }
-        log.info(response.getStatusLine().getStatusCode());
         return response;
     }
 
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.scenarios.commons.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the latency of named operations of a load run in HdrHistograms.
+ * <p>
+ * Recording is thread safe and does not allocate once an operation has been seen, hence the same recorder can be
+ * shared by all the workers of a load run. Latencies are recorded in nanoseconds and reported in milliseconds.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String HISTOGRAM_FILE_EXTENSION = ".hgrm";
+
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentSkipListMap<>();
+    private volatile long startTime;
+    private volatile long endTime;
+
+    /**
+     * Mark the start of the measurement window. Throughput is calculated for the time between start and stop.
+     */
+    public void start() {
+
+        startTime = System.nanoTime();
+        endTime = 0;
+    }
+
+    /**
+     * Mark the end of the measurement window.
+     */
+    public void stop() {
+
+        endTime = System.nanoTime();
+    }
+
+    /**
+     * Record a successful execution of an operation.
+     *
+     * @param operation    Name of the operation. eg: authn-request
+     * @param latencyNanos Latency of the operation in nanoseconds.
+     */
+    public void record(String operation, long latencyNanos) {
+
+        getHistogram(operation).recordValue(Math.max(0, Math.min(latencyNanos, HIGHEST_TRACKABLE_LATENCY)));
+    }
+
+    /**
+     * Run an operation and record its latency, or record it as failed if it throws.
+     *
+     * @param operation Name of the operation.
+     * @param action    Operation to run.
+     * @param <T>       Type of the result of the operation.
+     * @return Result of the operation.
+     * @throws Exception If the operation fails. The failure is recorded before it is thrown.
+     */
+    public <T> T measure(String operation, Callable<T> action) throws Exception {
+
+        long start = System.nanoTime();
+        try {
+            T result = action.call();
+            record(operation, System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            recordError(operation);
+            throw e;
+        }
+    }
+
+    /**
+     * Record a failed execution of an operation.
+     *
+     * @param operation Name of the operation.
+     */
+    public void recordError(String operation) {
+
+        getHistogram(operation);
+        errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Get the histogram of an operation.
+     *
+     * @param operation Name of the operation.
+     * @return Histogram with the latencies of the operation in nanoseconds.
+     */
+    public Histogram getHistogram(String operation) {
+
+        return histograms.computeIfAbsent(operation,
+                key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY, SIGNIFICANT_DIGITS));
+    }
+
+    /**
+     * Get the number of successful executions of an operation.
+     *
+     * @param operation Name of the operation.
+     * @return Number of successful executions.
+     */
+    public long getCount(String operation) {
+
+        Histogram histogram = histograms.get(operation);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    /**
+     * Get the number of failed executions of an operation.
+     *
+     * @param operation Name of the operation.
+     * @return Number of failed executions.
+     */
+    public long getErrorCount(String operation) {
+
+        LongAdder errorCount = errors.get(operation);
+        return errorCount == null ? 0 : errorCount.sum();
+    }
+
+    /**
+     * Get the number of successful executions of an operation per second within the measurement window.
+     *
+     * @param operation Name of the operation.
+     * @return Throughput of the operation.
+     */
+    public double getThroughput(String operation) {
+
+        long end = endTime == 0 ? System.nanoTime() : endTime;
+        double elapsedSeconds = (end - startTime) / (double) TimeUnit.SECONDS.toNanos(1);
+        return elapsedSeconds <= 0 ? 0 : getCount(operation) / elapsedSeconds;
+    }
+
+    /**
+     * Get a latency percentile of an operation.
+     *
+     * @param operation  Name of the operation.
+     * @param percentile Percentile. eg: 99.9
+     * @return Latency in milliseconds.
+     */
+    public double getPercentileMillis(String operation, double percentile) {
+
+        return getHistogram(operation).getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Print a summary line per operation with the count, errors, throughput and latency percentiles.
+     *
+     * @param out Stream to print the summary to.
+     */
+    public void printSummary(PrintStream out) {
+
+        out.printf("%-32s %10s %8s %10s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "tps", "mean(ms)",
+                "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            String operation = entry.getKey();
+            Histogram histogram = entry.getValue();
+            out.printf("%-32s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation,
+                    histogram.getTotalCount(), getErrorCount(operation), getThroughput(operation),
+                    histogram.getMean() / NANOS_PER_MILLI, histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Write the percentile distribution of each operation to a separate .hgrm file in the given directory. The
+     * files can be plotted with the HdrHistogram plotter.
+     *
+     * @param directory Output directory.
+     * @throws IOException If an error occurred while writing the files.
+     */
+    public void writePercentileDistributions(File directory) throws IOException {
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create the directory: " + directory.getAbsolutePath());
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            File file = new File(directory, entry.getKey() + HISTOGRAM_FILE_EXTENSION);
+            try (PrintStream out = new PrintStream(new FileOutputStream(file), false,
+                    StandardCharsets.UTF_8.name())) {
+                entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Clear all the recorded values.
+     */
+    public void reset() {
+
+        histograms.clear();
+        errors.clear();
+        startTime = 0;
+        endTime = 0;
+    }
+}
@@ -0,0 +1,573 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.scenarios.commons.load;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.wso2.identity.scenarios.commons.HTTPCommonClient;
+import org.wso2.identity.scenarios.commons.OAuth2CommonClient;
+import org.wso2.identity.scenarios.commons.SSOCommonClient;
+import org.wso2.identity.scenarios.commons.ScenarioTestException;
+import org.wso2.identity.scenarios.commons.util.OAuth2Constants;
+import org.wso2.identity.scenarios.commons.util.SSOConstants;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.wso2.identity.scenarios.commons.util.DataExtractUtil.getParamFromURIString;
+import static org.wso2.identity.scenarios.commons.util.OAuth2Constants.DCRResponseElements.CLIENT_ID;
+import static org.wso2.identity.scenarios.commons.util.OAuth2Constants.DCRResponseElements.CLIENT_SECRET;
+
+/**
+ * Load driver for the OAuth2 token endpoint, built on top of {@link OAuth2CommonClient}.
+ * <p>
+ * Each iteration executes one of the grants of the configured mix. The mix is a set of relative weights, eg: with
+ * client_credentials:6, password:3, refresh_token:1 six out of every ten iterations request a token with the client
+ * credentials grant. Grants are interleaved evenly instead of being executed in bursts, and applications are picked
+ * in a round robin manner.
+ * <p>
+ * The identity server returns the active token when a token is requested again for the same application, user and
+ * scope, instead of issuing a new one. To measure token issuance rather than that lookup, every token request of the
+ * client credentials, password and authorization code grants, and of the refresh token seeding, asks for a scope which
+ * was not requested before. This relies on the server keeping unregistered scopes in the issued token, which is the
+ * default behaviour.
+ * <p>
+ * Refresh token iterations use the refresh tokens issued by the password and authorization code grants of earlier
+ * iterations, hence the refresh token pool should be seeded with {@link #seedRefreshTokens(int)} before the run when
+ * the mix contains the refresh token grant. Introspection iterations introspect the most recently issued access
+ * token. The authorization code grant is executed as a new browser session and the latency of each of its legs is
+ * recorded separately in addition to the end to end latency of the grant.
+ */
+public class OAuth2GrantLoadDriver implements OpenModelLoadGenerator.Task, Closeable {
+
+    public static final String AUTHORIZE_LEG = "oauth2-code-authorize";
+    public static final String LOGIN_LEG = "oauth2-code-login";
+    public static final String CODE_TOKEN_LEG = "oauth2-code-token";
+
+    private static final int REFRESH_TOKEN_POOL_SIZE = 10000;
+    private static final int ACCESS_TOKEN_POOL_SIZE = 1024;
+    private static final String MIX_SEPARATOR = ",";
+    private static final String WEIGHT_SEPARATOR = ":";
+    private static final String UNIQUE_SCOPE_PREFIX = "load_";
+
+    /**
+     * Operations which can be part of the workload mix.
+     */
+    public enum Grant {
+
+        CLIENT_CREDENTIALS(OAuth2Constants.GrantTypes.CLIENT_CREDENTIALS),
+        PASSWORD(OAuth2Constants.GrantTypes.PASSWORD),
+        REFRESH_TOKEN(OAuth2Constants.GrantTypes.REFRESH_TOKEN),
+        AUTHORIZATION_CODE(OAuth2Constants.GrantTypes.AUTHORIZATION_CODE),
+        INTROSPECT("introspect");
+
+        private final String name;
+
+        Grant(String name) {
+
+            this.name = name;
+        }
+
+        /**
+         * Get the name used in the workload mix. eg: client_credentials
+         *
+         * @return Name of the grant.
+         */
+        public String getName() {
+
+            return name;
+        }
+
+        /**
+         * Get the operation name under which the latency of the grant is recorded.
+         *
+         * @return Operation name. eg: oauth2-client_credentials
+         */
+        public String getOperation() {
+
+            return "oauth2-" + name;
+        }
+
+        /**
+         * Get the grant by the name used in the workload mix.
+         *
+         * @param name Name of the grant.
+         * @return Grant.
+         */
+        public static Grant fromName(String name) {
+
+            for (Grant grant : values()) {
+                if (grant.name.equalsIgnoreCase(name.trim())) {
+                    return grant;
+                }
+            }
+            throw new IllegalArgumentException("Unknown grant: " + name);
+        }
+    }
+
+    /**
+     * OAuth2 application the tokens are requested for.
+     */
+    public static class Application {
+
+        private final String clientId;
+        private final String clientSecret;
+        private final String redirectUri;
+
+        public Application(String clientId, String clientSecret, String redirectUri) {
+
+            this.clientId = clientId;
+            this.clientSecret = clientSecret;
+            this.redirectUri = redirectUri;
+        }
+
+        public String getClientId() {
+
+            return clientId;
+        }
+
+        public String getClientSecret() {
+
+            return clientSecret;
+        }
+
+        public String getRedirectUri() {
+
+            return redirectUri;
+        }
+    }
+
+    private final String serverHTTPsUrl;
+    private final String tenantDomain;
+    private final List<Application> applications;
+    private final String username;
+    private final String password;
+    private final Grant[] schedule;
+    private final LatencyRecorder recorder;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final HTTPCommonClient httpCommonClient;
+    private final OAuth2CommonClient oAuth2CommonClient;
+    private final BlockingQueue<RefreshToken> refreshTokens = new LinkedBlockingQueue<>(REFRESH_TOKEN_POOL_SIZE);
+    private final AtomicReferenceArray<String> accessTokens = new AtomicReferenceArray<>(ACCESS_TOKEN_POOL_SIZE);
+    private final AtomicLong issuedAccessTokens = new AtomicLong();
+    private final AtomicLong requestedScopes = new AtomicLong();
+    private final String scopePrefix = UNIQUE_SCOPE_PREFIX + UUID.randomUUID().toString().replace("-", "") + "_";
+
+    /**
+     * Create an OAuth2 grant load driver.
+     *
+     * @param serverHTTPsUrl HTTPS URL of the identity server.
+     * @param tenantDomain   Tenant domain of the applications.
+     * @param applications   Applications to request the tokens for.
+     * @param username       Username used for the password and authorization code grants and for introspection.
+     * @param password       Password of the user.
+     * @param mix            Relative weight of each grant in the workload.
+     * @param recorder       Recorder for the latency of each grant.
+     * @param maxConnections Maximum number of connections to the identity server.
+     */
+    public OAuth2GrantLoadDriver(String serverHTTPsUrl, String tenantDomain, List<Application> applications,
+                                 String username, String password, Map<Grant, Integer> mix, LatencyRecorder recorder,
+                                 int maxConnections) {
+
+        if (applications.isEmpty()) {
+            throw new IllegalArgumentException("At least one application is required.");
+        }
+        this.serverHTTPsUrl = serverHTTPsUrl;
+        this.tenantDomain = tenantDomain;
+        this.applications = new ArrayList<>(applications);
+        this.username = username;
+        this.password = password;
+        this.schedule = buildSchedule(mix);
+        this.recorder = recorder;
+
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(maxConnections);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnections);
+        this.httpCommonClient = new HTTPCommonClient(connectionManager, false);
+        this.oAuth2CommonClient = new OAuth2CommonClient(httpCommonClient, serverHTTPsUrl, tenantDomain);
+    }
+
+    /**
+     * Parse a workload mix. eg: client_credentials:4,password:3,refresh_token:2,authorization_code:1,introspect:2
+     *
+     * @param mix Comma separated list of grant names and weights. A grant without a weight gets a weight of 1.
+     * @return Weight of each grant.
+     */
+    public static Map<Grant, Integer> parseMix(String mix) {
+
+        Map<Grant, Integer> weights = new EnumMap<>(Grant.class);
+        for (String entry : StringUtils.split(mix, MIX_SEPARATOR)) {
+            String[] grantAndWeight = StringUtils.split(entry, WEIGHT_SEPARATOR);
+            int weight = grantAndWeight.length > 1 ? Integer.parseInt(grantAndWeight[1].trim()) : 1;
+            weights.put(Grant.fromName(grantAndWeight[0]), weight);
+        }
+        return weights;
+    }
+
+    /**
+     * Register OAuth2 applications which allow all the grants of this driver, using the DCR endpoint.
+     *
+     * @param oAuth2CommonClient OAuth2 client used to call the DCR endpoint.
+     * @param httpCommonClient   HTTP client of the OAuth2 client.
+     * @param namePrefix         Prefix of the application names.
+     * @param count              Number of applications to register.
+     * @param redirectUri        Redirect URI of the applications.
+     * @param username           Username of the application creator.
+     * @param password           Password of the application creator.
+     * @return Registered applications.
+     * @throws Exception If an application could not be registered.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Application> registerApplications(OAuth2CommonClient oAuth2CommonClient,
+                                                         HTTPCommonClient httpCommonClient, String namePrefix,
+                                                         int count, String redirectUri, String username,
+                                                         String password) throws Exception {
+
+        List<Application> applications = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                JSONArray grantTypes = new JSONArray();
+                grantTypes.add(OAuth2Constants.GrantTypes.AUTHORIZATION_CODE);
+                grantTypes.add(OAuth2Constants.GrantTypes.PASSWORD);
+                grantTypes.add(OAuth2Constants.GrantTypes.CLIENT_CREDENTIALS);
+                grantTypes.add(OAuth2Constants.GrantTypes.REFRESH_TOKEN);
+                JSONArray redirectUris = new JSONArray();
+                redirectUris.add(redirectUri);
+                JSONObject dcrRequestJSON = new JSONObject();
+                dcrRequestJSON.put(OAuth2Constants.DCRRequestElements.CLIENT_NAME, namePrefix + i);
+                dcrRequestJSON.put(OAuth2Constants.DCRRequestElements.GRANT_TYPES, grantTypes);
+                dcrRequestJSON.put(OAuth2Constants.DCRRequestElements.REDIRECT_URIS, redirectUris);
+
+                HttpResponse response = oAuth2CommonClient.createOAuth2Application(dcrRequestJSON, username,
+                        password);
+                try {
+                    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_CREATED) {
+                        throw new ScenarioTestException("OAuth2 application creation failed for: " + namePrefix + i +
+                                ". Response status: " + response.getStatusLine().getStatusCode());
+                    }
+                    JSONObject responseJSON = httpCommonClient.getJSONFromResponse(response);
+                    applications.add(new Application(responseJSON.get(CLIENT_ID).toString(),
+                            responseJSON.get(CLIENT_SECRET).toString(), redirectUri));
+                } finally {
+                    httpCommonClient.consume(response);
+                }
+            }
+        } catch (Exception e) {
+            // Do not leave the applications registered before the failure behind, as the caller never gets them.
+            try {
+                deleteApplications(oAuth2CommonClient, httpCommonClient, applications, username, password);
+            } catch (IOException deleteError) {
+                e.addSuppressed(deleteError);
+            }
+            throw e;
+        }
+        return applications;
+    }
+
+    /**
+     * Delete OAuth2 applications registered with {@link #registerApplications}.
+     *
+     * @param oAuth2CommonClient OAuth2 client used to call the DCR endpoint.
+     * @param httpCommonClient   HTTP client of the OAuth2 client.
+     * @param applications       Applications to be deleted.
+     * @param username           Username of the application creator.
+     * @param password           Password of the application creator.
+     * @throws IOException If an error occurred while deleting an application.
+     */
+    public static void deleteApplications(OAuth2CommonClient oAuth2CommonClient, HTTPCommonClient httpCommonClient,
+                                          List<Application> applications, String username, String password)
+            throws IOException {
+
+        for (Application application : applications) {
+            httpCommonClient.consume(oAuth2CommonClient.deleteOAuth2Application(application.getClientId(), username,
+                    password));
+        }
+    }
+
+    /**
+     * Fill the refresh token pool using the password grant. Each token is requested with a new scope, so every
+     * refresh token in the pool is distinct. These requests are not recorded.
+     *
+     * @param count Number of refresh tokens to obtain.
+     * @throws Exception If a token request failed.
+     */
+    public void seedRefreshTokens(int count) throws Exception {
+
+        for (int i = 0; i < count; i++) {
+            Application application = applications.get(i % applications.size());
+            storeTokens(application, requestToken(oAuth2CommonClient.sendPasswordGrantTokenRequest(username, password,
+                    application.getClientId(), application.getClientSecret(), nextUniqueScope())));
+        }
+    }
+
+    /**
+     * Execute the grant scheduled for the iteration.
+     *
+     * @param iteration Sequence number of the iteration, used to pick the grant and the application.
+     * @throws Exception If the grant failed.
+     */
+    @Override
+    public void execute(long iteration) throws Exception {
+
+        Grant grant = schedule[(int) (iteration % schedule.length)];
+        Application application = applications.get((int) ((iteration / schedule.length) % applications.size()));
+        switch (grant) {
+            case CLIENT_CREDENTIALS:
+                recorder.measure(grant.getOperation(), () -> requestToken(oAuth2CommonClient
+                        .sendClientCredentialsGrantTokenRequest(application.getClientId(),
+                                application.getClientSecret(), nextUniqueScope())));
+                break;
+            case PASSWORD:
+                storeTokens(application, recorder.measure(grant.getOperation(), () -> requestToken(oAuth2CommonClient
+                        .sendPasswordGrantTokenRequest(username, password, application.getClientId(),
+                                application.getClientSecret(), nextUniqueScope()))));
+                break;
+            case REFRESH_TOKEN:
+                executeRefreshTokenGrant();
+                break;
+            case AUTHORIZATION_CODE:
+                storeTokens(application, recorder.measure(grant.getOperation(), () -> executeAuthorizationCodeGrant(
+                        application)));
+                break;
+            case INTROSPECT:
+                executeIntrospection();
+                break;
+            default:
+                throw new IllegalStateException("Unsupported grant: " + grant);
+        }
+    }
+
+    /**
+     * Release the pooled connections.
+     */
+    @Override
+    public void close() throws IOException {
+
+        httpCommonClient.closeHttpClient();
+        connectionManager.shutdown();
+    }
+
+    private void executeRefreshTokenGrant() throws Exception {
+
+        RefreshToken refreshToken = refreshTokens.poll();
+        if (refreshToken == null) {
+            recorder.recordError(Grant.REFRESH_TOKEN.getOperation());
+            throw new ScenarioTestException("No refresh token available. Seed the refresh tokens before the run.");
+        }
+        Application application = refreshToken.application;
+        storeTokens(application, recorder.measure(Grant.REFRESH_TOKEN.getOperation(), () ->
+                requestToken(oAuth2CommonClient.sendRefreshTokenRequest(application.getClientId(),
+                        application.getClientSecret(), refreshToken.token, null))));
+    }
+
+    private void executeIntrospection() throws Exception {
+
+        long issued = issuedAccessTokens.get();
+        String accessToken = issued == 0 ? null : accessTokens.get((int) ((issued - 1) % ACCESS_TOKEN_POOL_SIZE));
+        if (accessToken == null) {
+            recorder.recordError(Grant.INTROSPECT.getOperation());
+            throw new ScenarioTestException("No access token available to introspect.");
+        }
+        recorder.measure(Grant.INTROSPECT.getOperation(), () -> {
+            HttpResponse response = oAuth2CommonClient.sendIntrospectRequest(accessToken, username, password);
+            JSONObject responseJSON = readJSON(response, Grant.INTROSPECT);
+            if (!Boolean.parseBoolean(String.valueOf(
+                    responseJSON.get(OAuth2Constants.IntrospectResponseElements.ACTIVE)))) {
+                throw new ScenarioTestException("Introspected access token is not active.");
+            }
+            return responseJSON;
+        });
+    }
+
+    /**
+     * Obtain a token with the authorization code grant, acting as a new browser session. The authorize request is
+     * not redirected to the login page, the session data key is taken from the redirect URL instead.
+     */
+    private JSONObject executeAuthorizationCodeGrant(Application application) throws Exception {
+
+        HTTPCommonClient browser = new HTTPCommonClient(connectionManager, false);
+        String scope = nextUniqueScope();
+        try {
+            OAuth2CommonClient browserOAuth2Client = new OAuth2CommonClient(browser, serverHTTPsUrl, tenantDomain);
+            SSOCommonClient browserSSOClient = new SSOCommonClient(browser, serverHTTPsUrl, tenantDomain);
+
+            String sessionDataKey = recorder.measure(AUTHORIZE_LEG, () -> {
+                HttpResponse response = browserOAuth2Client.sendAuthorizeGet(application.getClientId(), scope,
+                        application.getRedirectUri(), OAuth2Constants.ResponseTypes.CODE, null);
+                String location = getLocation(browser, browserSSOClient, response);
+                return getRequiredParam(location, SSOConstants.CommonAuthParams.SESSION_DATA_KEY);
+            });
+
+            String authorizationCode = recorder.measure(LOGIN_LEG, () -> {
+                HttpResponse response = browserSSOClient.sendLoginPost(sessionDataKey, username, password);
+                String location = getLocation(browser, browserSSOClient, response);
+                location = getLocation(browser, browserSSOClient, browser.sendGetRequest(location, null, null));
+                String sessionDataKeyConsent = getParamFromURIString(location,
+                        SSOConstants.CommonAuthParams.SESSION_DATA_KEY_CONSENT);
+                if (StringUtils.isNotBlank(sessionDataKeyConsent)) {
+                    location = getLocation(browser, browserSSOClient, browserOAuth2Client.sendOAuthConsentApprovePost(
+                            sessionDataKeyConsent, SSOConstants.ApprovalType.APPROVE_ALWAYS));
+                }
+                return getRequiredParam(location, OAuth2Constants.ResponseTypes.CODE);
+            });
+
+            return recorder.measure(CODE_TOKEN_LEG, () -> requestToken(oAuth2CommonClient.sendCodeGrantTokenRequest(
+                    authorizationCode, application.getRedirectUri(), application.getClientId(),
+                    application.getClientSecret(), null)));
+        } finally {
+            browser.closeHttpClient();
+        }
+    }
+
+    /**
+     * Get a scope which was not requested before by any driver, so that the server issues a new token instead of
+     * returning the active token of an earlier request.
+     */
+    private String nextUniqueScope() {
+
+        return scopePrefix + requestedScopes.incrementAndGet();
+    }
+
+    private JSONObject requestToken(HttpResponse response) throws Exception {
+
+        JSONObject responseJSON = readJSON(response, null);
+        Object accessToken = responseJSON.get(OAuth2Constants.TokenResponseElements.ACCESS_TOKEN);
+        if (accessToken == null) {
+            throw new ScenarioTestException("access_token parameter is not available in the token response.");
+        }
+        accessTokens.set((int) (issuedAccessTokens.getAndIncrement() % ACCESS_TOKEN_POOL_SIZE),
+                accessToken.toString());
+        return responseJSON;
+    }
+
+    private JSONObject readJSON(HttpResponse response, Grant grant) throws Exception {
+
+        try {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode != HttpStatus.SC_OK) {
+                throw new ScenarioTestException((grant == null ? "Token" : grant.getName()) +
+                        " request failed with status: " + statusCode);
+            }
+            JSONObject responseJSON = httpCommonClient.getJSONFromResponse(response);
+            if (responseJSON == null) {
+                throw new ScenarioTestException("Unable to parse the response of the " +
+                        (grant == null ? "token" : grant.getName()) + " request.");
+            }
+            return responseJSON;
+        } finally {
+            httpCommonClient.consume(response);
+        }
+    }
+
+    private void storeTokens(Application application, JSONObject tokenResponse) {
+
+        Object refreshToken = tokenResponse.get(OAuth2Constants.TokenResponseElements.REFRESH_TOKEN);
+        if (refreshToken != null) {
+            refreshTokens.offer(new RefreshToken(application, refreshToken.toString()));
+        }
+    }
+
+    private static String getLocation(HTTPCommonClient client, SSOCommonClient ssoCommonClient,
+                                      HttpResponse response) throws Exception {
+
+        try {
+            String location = ssoCommonClient.getLocationHeader(response);
+            if (StringUtils.isBlank(location)) {
+                throw new ScenarioTestException("Location header is not available in the response. Response " +
+                        "status: " + response.getStatusLine().getStatusCode());
+            }
+            return location;
+        } finally {
+            client.consume(response);
+        }
+    }
+
+    private static String getRequiredParam(String url, String param) throws Exception {
+
+        String value = getParamFromURIString(url, param);
+        if (StringUtils.isBlank(value)) {
+            throw new ScenarioTestException(param + " parameter is not available in: " + url);
+        }
+        return value;
+    }
+
+    /**
+     * Build the order in which the grants are executed, using smooth weighted round robin so that the grants with a
+     * lower weight are spread evenly among the grants with a higher weight.
+     */
+    private static Grant[] buildSchedule(Map<Grant, Integer> mix) {
+
+        List<Grant> grants = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int totalWeight = 0;
+        for (Map.Entry<Grant, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Weight of a grant cannot be negative: " + entry.getKey());
+            }
+            if (entry.getValue() > 0) {
+                grants.add(entry.getKey());
+                weights.add(entry.getValue());
+                totalWeight += entry.getValue();
+            }
+        }
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("At least one grant should have a positive weight.");
+        }
+
+        Grant[] schedule = new Grant[totalWeight];
+        int[] current = new int[grants.size()];
+        for (int slot = 0; slot < totalWeight; slot++) {
+            int selected = 0;
+            for (int i = 0; i < grants.size(); i++) {
+                current[i] += weights.get(i);
+                if (current[i] > current[selected]) {
+                    selected = i;
+                }
+            }
+            current[selected] -= totalWeight;
+            schedule[slot] = grants.get(selected);
+        }
+        return schedule;
+    }
+
+    private static class RefreshToken {
+
+        private final Application application;
+        private final String token;
+
+        RefreshToken(Application application, String token) {
+
+            this.application = application;
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.scenarios.commons.load;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a task at a given arrival rate, independent of how long each execution takes (open workload model).
+ * <p>
+ * Executions are scheduled at their intended start times and their latency is measured from the intended start
+ * time, so queueing delays caused by a slow server are included in the recorded latency instead of silently lowering
+ * the offered load. Arrivals which cannot be queued because all the workers are busy and the queue is full are
+ * counted as dropped.
+ */
+public class OpenModelLoadGenerator {
+
+    private static final Log log = LogFactory.getLog(OpenModelLoadGenerator.class);
+    private static final String DROPPED_SUFFIX = "-dropped";
+
+    private final double arrivalRate;
+    private final int workers;
+    private final int queueCapacity;
+    private final boolean poissonArrivals;
+    private final LatencyRecorder recorder;
+    private final LongAdder dropped = new LongAdder();
+    private final Random random = new Random(0);
+
+    /**
+     * Task executed for each arrival.
+     */
+    public interface Task {
+
+        /**
+         * Execute a single iteration.
+         *
+         * @param iteration Sequence number of the arrival, starting from 0.
+         * @throws Exception If the iteration failed. The failure is recorded as an error of the operation.
+         */
+        void execute(long iteration) throws Exception;
+    }
+
+    /**
+     * Create a load generator.
+     *
+     * @param arrivalRate     Number of arrivals per second.
+     * @param workers         Maximum number of concurrent executions.
+     * @param queueCapacity   Maximum number of arrivals waiting for a worker.
+     * @param poissonArrivals Whether the inter-arrival times are exponentially distributed instead of constant.
+     * @param recorder        Recorder for the end to end latencies.
+     */
+    public OpenModelLoadGenerator(double arrivalRate, int workers, int queueCapacity, boolean poissonArrivals,
+                                  LatencyRecorder recorder) {
+
+        if (arrivalRate <= 0 || workers <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Arrival rate, workers and queue capacity should be positive.");
+        }
+        this.arrivalRate = arrivalRate;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.poissonArrivals = poissonArrivals;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Run the task for the given duration and wait until all the accepted arrivals complete.
+     *
+     * @param operation Name of the operation used to record the end to end latency of an iteration.
+     * @param task      Task to be executed for each arrival.
+     * @param duration  Duration of the run.
+     * @param unit      Unit of the duration.
+     * @throws InterruptedException If the run is interrupted.
+     */
+    public void run(String operation, Task task, long duration, TimeUnit unit) throws InterruptedException {
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new WorkerThreadFactory(operation));
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / arrivalRate;
+        long start = System.nanoTime();
+        long end = start + unit.toNanos(duration);
+        long intendedStart = start;
+        long iteration = 0;
+        log.info("Starting " + operation + " at " + arrivalRate + " arrivals per second with " + workers +
+                " workers for " + duration + " " + unit);
+        recorder.start();
+        try {
+            while (intendedStart < end) {
+                waitUntil(intendedStart);
+                final long scheduledAt = intendedStart;
+                final long currentIteration = iteration;
+                try {
+                    executor.execute(() -> executeIteration(operation, task, currentIteration, scheduledAt));
+                } catch (RejectedExecutionException e) {
+                    dropped.increment();
+                    recorder.recordError(operation + DROPPED_SUFFIX);
+                }
+                iteration++;
+                intendedStart += nextInterval(meanIntervalNanos);
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.HOURS);
+            recorder.stop();
+        }
+        log.info("Completed " + operation + " with " + iteration + " arrivals, " + dropped.sum() + " dropped.");
+    }
+
+    /**
+     * Get the number of arrivals which were dropped because the queue was full.
+     *
+     * @return Number of dropped arrivals.
+     */
+    public long getDroppedCount() {
+
+        return dropped.sum();
+    }
+
+    private void executeIteration(String operation, Task task, long iteration, long intendedStart) {
+
+        try {
+            task.execute(iteration);
+            recorder.record(operation, System.nanoTime() - intendedStart);
+        } catch (Exception e) {
+            recorder.recordError(operation);
+            if (log.isDebugEnabled()) {
+                log.debug("Iteration " + iteration + " of " + operation + " failed.", e);
+            }
+        }
+    }
+
+    private long nextInterval(double meanIntervalNanos) {
+
+        if (!poissonArrivals) {
+            return Math.max(1, Math.round(meanIntervalNanos));
+        }
+        return Math.max(1, Math.round(-Math.log(1 - random.nextDouble()) * meanIntervalNanos));
+    }
+
+    private static void waitUntil(long deadline) throws InterruptedException {
+
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        WorkerThreadFactory(String operation) {
+
+            this.prefix = "load-" + operation + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.scenarios.commons.load;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Lookup;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.cookie.CookieSpecProvider;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.cookie.RFC6265CookieSpecProvider;
+import org.apache.http.util.EntityUtils;
+import org.opensaml.saml2.core.AuthnRequest;
+import org.opensaml.saml2.core.Response;
+import org.opensaml.xml.security.x509.X509Credential;
+import org.wso2.carbon.identity.sso.saml.stub.types.SAMLSSOServiceProviderDTO;
+import org.wso2.identity.scenarios.commons.SAML2SSOTestBase;
+import org.wso2.identity.scenarios.commons.SAMLConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.identity.scenarios.commons.util.DataExtractUtil.getCookieFromResponse;
+import static org.wso2.identity.scenarios.commons.util.DataExtractUtil.getRedirectUrlFromResponse;
+import static org.wso2.identity.scenarios.commons.util.DataExtractUtil.isConsentRequested;
+import static org.wso2.identity.scenarios.commons.util.SSOUtil.sendPOSTConsentMessage;
+import static org.wso2.identity.scenarios.commons.util.SSOUtil.sendRedirectRequest;
+
+/**
+ * Load driver for the SAML2 web browser SSO flow, built on top of {@link SAML2SSOTestBase}.
+ * <p>
+ * Each iteration acts as a new browser: it sends an authentication request for one of the service providers, posts
+ * the credentials of one of the users, and retrieves and processes the SAML response which would be posted to the
+ * assertion consumer service of the service provider. The latency of each leg is recorded separately in the given
+ * {@link LatencyRecorder}. Users and service providers are picked in a round robin manner, so all the combinations
+ * are exercised when the number of iterations is large enough.
+ * <p>
+ * All the iterations share a single connection pool. Each worker thread reuses its own client, and the cookies of the
+ * client are cleared before every iteration so that iterations do not share a session. Every response is released
+ * back to the pool even when a leg fails, and leasing a connection from an exhausted pool times out instead of
+ * blocking the worker forever.
+ */
+public class SAML2SSOLoadDriver implements OpenModelLoadGenerator.Task, Closeable {
+
+    public static final String AUTHN_REQUEST_LEG = "saml-authn-request";
+    public static final String LOGIN_POST_LEG = "saml-login-post";
+    public static final String SAML_RESPONSE_LEG = "saml-response";
+    public static final String SSO_LOGIN_OPERATION = "saml-sso-login";
+
+    private static final Log log = LogFactory.getLog(SAML2SSOLoadDriver.class);
+    private static final String PASTR_COOKIE = "pastr";
+    private static final int DEFAULT_TIMEOUT_IN_SECONDS = 30;
+
+    private final SAML2SSOTestBase saml2SSOTestBase;
+    private final List<SAMLConfig> samlConfigs;
+    private final List<SAMLSSOServiceProviderDTO> serviceProviders;
+    private final LatencyRecorder recorder;
+    private final X509Credential x509Credential;
+    private final String userAgent;
+    private final boolean validateSignatures;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Lookup<CookieSpecProvider> cookieSpecRegistry;
+    private final RequestConfig requestConfig;
+    private final Queue<BrowserClient> browserClients = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<BrowserClient> workerClient = ThreadLocal.withInitial(this::createBrowserClient);
+
+    /**
+     * Create a SAML2 SSO load driver.
+     *
+     * @param saml2SSOTestBase   SAML2 SSO test base used to build and send the SAML messages.
+     * @param samlConfigs        SAML configurations, one per user which logs in.
+     * @param serviceProviders   SAML SSO service providers to log in to.
+     * @param recorder           Recorder for the latency of each leg.
+     * @param userAgent          User agent sent with the requests.
+     * @param validateSignatures Whether the response and assertion signatures should be validated.
+     * @param maxConnections     Maximum number of connections to the identity server.
+     */
+    public SAML2SSOLoadDriver(SAML2SSOTestBase saml2SSOTestBase, List<SAMLConfig> samlConfigs,
+                              List<SAMLSSOServiceProviderDTO> serviceProviders, LatencyRecorder recorder,
+                              String userAgent, boolean validateSignatures, int maxConnections) {
+
+        if (samlConfigs.isEmpty() || serviceProviders.isEmpty()) {
+            throw new IllegalArgumentException("At least one user and one service provider is required.");
+        }
+        this.saml2SSOTestBase = saml2SSOTestBase;
+        this.samlConfigs = new ArrayList<>(samlConfigs);
+        this.serviceProviders = new ArrayList<>(serviceProviders);
+        this.recorder = recorder;
+        this.x509Credential = saml2SSOTestBase.getDefaultX509Cred();
+        this.userAgent = userAgent;
+        this.validateSignatures = validateSignatures;
+
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(maxConnections);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnections);
+        this.cookieSpecRegistry = RegistryBuilder.<CookieSpecProvider>create()
+                .register(CookieSpecs.DEFAULT, new RFC6265CookieSpecProvider())
+                .build();
+        this.requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) TimeUnit.SECONDS.toMillis(DEFAULT_TIMEOUT_IN_SECONDS))
+                .setConnectionRequestTimeout((int) TimeUnit.SECONDS.toMillis(DEFAULT_TIMEOUT_IN_SECONDS))
+                .setSocketTimeout((int) TimeUnit.SECONDS.toMillis(DEFAULT_TIMEOUT_IN_SECONDS))
+                .setCookieSpec(CookieSpecs.DEFAULT)
+                .build();
+    }
+
+    /**
+     * Run a single SSO login as a new browser session.
+     *
+     * @param iteration Sequence number of the iteration, used to pick the user and the service provider.
+     * @throws Exception If any leg of the login fails.
+     */
+    @Override
+    public void execute(long iteration) throws Exception {
+
+        SAMLConfig samlConfig = samlConfigs.get((int) (iteration % samlConfigs.size()));
+        SAMLSSOServiceProviderDTO serviceProvider = serviceProviders.get(
+                (int) ((iteration / samlConfigs.size()) % serviceProviders.size()));
+
+        BrowserClient browserClient = workerClient.get();
+        browserClient.cookieStore.clear();
+        CloseableHttpClient client = browserClient.client;
+        List<HttpResponse> responses = new ArrayList<>();
+        try {
+            HttpResponse authnResponse = recorder.measure(AUTHN_REQUEST_LEG, () -> {
+                AuthnRequest authnRequest = saml2SSOTestBase.buildAuthnRequest(serviceProvider, false, false,
+                        samlConfig);
+                return track(responses, saml2SSOTestBase.sendSAMLAuthenticationRequest(client, authnRequest,
+                        samlConfig, serviceProvider, x509Credential, userAgent));
+            });
+
+            HttpResponse loginResponse = recorder.measure(LOGIN_POST_LEG, () -> {
+                HttpResponse response = track(responses, saml2SSOTestBase.sendLoginPostMessage(authnResponse,
+                        serviceProvider.getDefaultAssertionConsumerUrl(), samlConfig.getArtifact(),
+                        samlConfig.getUser().getUsername(), samlConfig.getUser().getPassword(), client, userAgent));
+                return handleUserConsent(response, client, serviceProvider, samlConfig, responses);
+            });
+
+            recorder.measure(SAML_RESPONSE_LEG, () -> {
+                HttpResponse response = loginResponse;
+                if (StringUtils.isNotBlank(getRedirectUrlFromResponse(response))) {
+                    EntityUtils.consume(response.getEntity());
+                    response = track(responses, sendRedirectRequest(response, userAgent,
+                            serviceProvider.getDefaultAssertionConsumerUrl(), client));
+                }
+                Response samlResponse = saml2SSOTestBase.extractAndProcessSAMLResponse(response);
+                if (validateSignatures) {
+                    validateSignatures(samlResponse, serviceProvider);
+                }
+                return samlResponse;
+            });
+        } finally {
+            release(responses);
+        }
+    }
+
+    /**
+     * Close the clients of the workers and release the pooled connections.
+     */
+    @Override
+    public void close() {
+
+        BrowserClient browserClient;
+        while ((browserClient = browserClients.poll()) != null) {
+            try {
+                browserClient.client.close();
+            } catch (IOException e) {
+                log.warn("Error while closing the HTTP client of a SAML2 SSO load worker.", e);
+            }
+        }
+        connectionManager.shutdown();
+    }
+
+    private BrowserClient createBrowserClient() {
+
+        BasicCookieStore cookieStore = new BasicCookieStore();
+        CloseableHttpClient client = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultCookieStore(cookieStore)
+                .setDefaultCookieSpecRegistry(cookieSpecRegistry)
+                .setDefaultRequestConfig(requestConfig)
+                .build();
+        BrowserClient browserClient = new BrowserClient(client, cookieStore);
+        browserClients.add(browserClient);
+        return browserClient;
+    }
+
+    private static HttpResponse track(List<HttpResponse> responses, HttpResponse response) {
+
+        responses.add(response);
+        return response;
+    }
+
+    /**
+     * Close the responses of an iteration, so that the connections of the responses whose entities were not consumed
+     * because a leg failed are returned to the pool.
+     */
+    private static void release(List<HttpResponse> responses) {
+
+        for (HttpResponse response : responses) {
+            if (response instanceof CloseableHttpResponse) {
+                try {
+                    ((CloseableHttpResponse) response).close();
+                } catch (IOException e) {
+                    log.debug("Error while releasing the connection of a SAML2 SSO response.", e);
+                }
+            } else {
+                EntityUtils.consumeQuietly(response.getEntity());
+            }
+        }
+    }
+
+    private HttpResponse handleUserConsent(HttpResponse response, CloseableHttpClient client,
+                                           SAMLSSOServiceProviderDTO serviceProvider, SAMLConfig samlConfig,
+                                           List<HttpResponse> responses) throws Exception {
+
+        if (!isConsentRequested(response)) {
+            return response;
+        }
+        String pastrCookie = getCookieFromResponse(response, PASTR_COOKIE);
+        EntityUtils.consume(response.getEntity());
+        HttpResponse consentResponse = track(responses, sendPOSTConsentMessage(response,
+                saml2SSOTestBase.getCommonauthEndpoint(), userAgent,
+                String.format(serviceProvider.getDefaultAssertionConsumerUrl(), samlConfig.getArtifact()), client,
+                pastrCookie));
+        EntityUtils.consume(consentResponse.getEntity());
+        return consentResponse;
+    }
+
+    private void validateSignatures(Response samlResponse, SAMLSSOServiceProviderDTO serviceProvider)
+            throws Exception {
+
+        if (serviceProvider.isDoSignResponseSpecified()) {
+            saml2SSOTestBase.validateSAMLResponseSignature(samlResponse, serviceProvider, x509Credential);
+        }
+        if (serviceProvider.isDoSignAssertionsSpecified()) {
+            saml2SSOTestBase.validateSAMLAssertionSignature(samlResponse, serviceProvider, x509Credential);
+        }
+    }
+
+    /**
+     * HTTP client of a worker thread together with its cookie store.
+     */
+    private static class BrowserClient {
+
+        private final CloseableHttpClient client;
+        private final BasicCookieStore cookieStore;
+
+        BrowserClient(CloseableHttpClient client, BasicCookieStore cookieStore) {
+
+            this.client = client;
+            this.cookieStore = cookieStore;
+        }
+    }
+}